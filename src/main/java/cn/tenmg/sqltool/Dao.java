@@ -1,11 +1,19 @@
 package cn.tenmg.sqltool;
 
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Stream;
 
 import javax.sql.DataSource;
 
 import cn.tenmg.dsql.DSQLFactory;
+import cn.tenmg.sqltool.data.BatchResult;
+import cn.tenmg.sqltool.data.KeysetPage;
 import cn.tenmg.sqltool.data.Page;
+import cn.tenmg.sqltool.exception.BatchCheckpointException;
+import cn.tenmg.sqltool.sql.LoadMode;
 
 /**
  * 数据库访问对象
@@ -38,6 +46,53 @@ public interface Dao {
 	 */
 	DataSource getDataSource(String name);
 
+	/**
+	 * 获取默认数据源下实体类的批容量。启用自适应批容量（{@code sqltool.batchTargetMillis} 大于0）且该实体类已执行过批处理时，
+	 * 返回当前根据实际耗时调整后的批容量，否则返回默认批容量
+	 * 
+	 * @param type 实体类
+	 * @return 返回批容量
+	 */
+	int getBatchSize(Class<?> type);
+
+	/**
+	 * 获取指定数据源下实体类的批容量。启用自适应批容量（{@code sqltool.batchTargetMillis} 大于0）且该实体类已执行过批处理时，
+	 * 返回当前根据实际耗时调整后的批容量，否则返回默认批容量
+	 * 
+	 * @param dataSource 数据源
+	 * @param type       实体类
+	 * @return 返回批容量
+	 */
+	int getBatchSize(DataSource dataSource, Class<?> type);
+
+	/**
+	 * 设置并行批处理（{@code sqltool.batchParallelism} 大于1）使用的线程池。设置后批处理不再使用内置线程池，该线程池的生命周期由调用方管理；
+	 * 设置为 {@code null} 则恢复使用内置线程池
+	 * 
+	 * @param batchExecutor 线程池
+	 */
+	void setBatchExecutor(ExecutorService batchExecutor);
+
+	/**
+	 * 关闭内置的并行批处理线程池。之后再次并行执行批处理时将重新创建
+	 */
+	void shutdownBatchExecutor();
+
+	/**
+	 * 预热实体类。并行解析并缓存实体类元数据，以及所有数据源方言下的插入、更新、删除、查询和保存语句，避免首次操作实体类时的延迟
+	 * 
+	 * @param types 实体类
+	 */
+	void warmUp(Collection<Class<?>> types);
+
+	/**
+	 * 预热实体类。并行解析并缓存实体类元数据，以及所有数据源方言下的插入、更新、删除、查询和保存语句，避免首次操作实体类时的延迟
+	 * 
+	 * @param types   实体类
+	 * @param prepare 是否同时在各数据源的连接上预编译这些语句
+	 */
+	void warmUp(Collection<Class<?>> types, boolean prepare);
+
 	/**
 	 * 插入操作
 	 * 
@@ -108,6 +163,164 @@ public interface Dao {
 	 */
 	<T> void insertBatch(DataSource dataSource, List<T> rows, int batchSize);
 
+	/**
+	 * 
+	 * 批量插入操作。按块读取实体对象，每块与实体对象列表一样分批执行并提交，内存中最多只保留一块（批容量与批处理并行度之积个）实体对象
+	 * 
+	 * @param rows      实体对象迭代器
+	 * @param batchSize 批容量
+	 * @return 返回执行的实体对象数
+	 */
+	<T> long insertBatch(Iterator<T> rows, int batchSize);
+
+	/**
+	 * 
+	 * 批量插入操作。按块读取实体对象，每块与实体对象列表一样分批执行并提交，内存中最多只保留一块（批容量与批处理并行度之积个）实体对象
+	 * 
+	 * @param dataSource 数据源
+	 * @param rows       实体对象迭代器
+	 * @param batchSize  批容量
+	 * @return 返回执行的实体对象数
+	 */
+	<T> long insertBatch(DataSource dataSource, Iterator<T> rows, int batchSize);
+
+	/**
+	 * 
+	 * 批量插入操作。按块读取实体对象，每块与实体对象列表一样分批执行并提交，内存中最多只保留一块（批容量与批处理并行度之积个）实体对象
+	 * 
+	 * @param rows      实体对象流（执行结束或失败后关闭）
+	 * @param batchSize 批容量
+	 * @return 返回执行的实体对象数
+	 */
+	<T> long insertBatch(Stream<T> rows, int batchSize);
+
+	/**
+	 * 
+	 * 批量插入操作。按块读取实体对象，每块与实体对象列表一样分批执行并提交，内存中最多只保留一块（批容量与批处理并行度之积个）实体对象
+	 * 
+	 * @param dataSource 数据源
+	 * @param rows       实体对象流（执行结束或失败后关闭）
+	 * @param batchSize  批容量
+	 * @return 返回执行的实体对象数
+	 */
+	<T> long insertBatch(DataSource dataSource, Stream<T> rows, int batchSize);
+
+	/**
+	 * 
+	 * 检查点批量插入操作。从偏移量开始按批容量对齐的批逐批执行并提交，失败的行被隔离并记录，不影响其他行；
+	 * 执行中断时抛出 {@link BatchCheckpointException}，可使用其结果的偏移量继续执行
+	 * 
+	 * @param rows      实体对象集
+	 * @param offset    偏移量，即开始执行的实体对象的下标
+	 * @param batchSize 批容量
+	 * @return 返回检查点批处理结果，包含继续执行的偏移量、最后提交的批的序号及失败的行
+	 */
+	<T> BatchResult<T> checkpointInsertBatch(List<T> rows, int offset, int batchSize);
+
+	/**
+	 * 
+	 * 检查点批量插入操作。从偏移量开始按批容量对齐的批逐批执行并提交，失败的行被隔离并记录，不影响其他行；
+	 * 执行中断时抛出 {@link BatchCheckpointException}，可使用其结果的偏移量继续执行
+	 * 
+	 * @param dataSource 数据源
+	 * @param rows       实体对象集
+	 * @param offset     偏移量，即开始执行的实体对象的下标
+	 * @param batchSize  批容量
+	 * @return 返回检查点批处理结果，包含继续执行的偏移量、最后提交的批的序号及失败的行
+	 */
+	<T> BatchResult<T> checkpointInsertBatch(DataSource dataSource, List<T> rows, int offset, int batchSize);
+
+	/**
+	 * 插入操作，并将数据库生成的主键写回实体对象的主键属性。值为 {@code null} 的主键由数据库生成（例如自增列、序列默认值），插入语句不包含这些主键列；已赋值的主键正常插入
+	 * 
+	 * @param obj 实体对象（不能为 {@code null}）
+	 * @return 返回受影响行数
+	 */
+	<T> int insertReturningKeys(T obj);
+
+	/**
+	 * 插入操作，并将数据库生成的主键写回实体对象的主键属性。值为 {@code null} 的主键由数据库生成（例如自增列、序列默认值），插入语句不包含这些主键列；已赋值的主键正常插入
+	 * 
+	 * @param dataSource 数据源
+	 * @param obj        实体对象（不能为 {@code null}）
+	 * @return 返回受影响行数
+	 */
+	<T> int insertReturningKeys(DataSource dataSource, T obj);
+
+	/**
+	 * 
+	 * 批量插入操作，并将数据库生成的主键写回实体对象的主键属性。值为 {@code null} 的主键由数据库生成，插入语句不包含这些主键列；
+	 * 已赋值的主键正常插入。驱动程序支持时（例如MySQL、PostgreSQL）每批执行后获取该批生成的主键，否则逐行插入并获取
+	 * 
+	 * @param rows 实体对象集
+	 */
+	<T> void insertBatchReturningKeys(List<T> rows);
+
+	/**
+	 * 
+	 * 批量插入操作，并将数据库生成的主键写回实体对象的主键属性。值为 {@code null} 的主键由数据库生成，插入语句不包含这些主键列；
+	 * 已赋值的主键正常插入。驱动程序支持时（例如MySQL、PostgreSQL）每批执行后获取该批生成的主键，否则逐行插入并获取
+	 * 
+	 * @param dataSource 数据源
+	 * @param rows       实体对象集
+	 */
+	<T> void insertBatchReturningKeys(DataSource dataSource, List<T> rows);
+
+	/**
+	 * 
+	 * 批量插入操作，并将数据库生成的主键写回实体对象的主键属性。值为 {@code null} 的主键由数据库生成，插入语句不包含这些主键列；
+	 * 已赋值的主键正常插入。驱动程序支持时（例如MySQL、PostgreSQL）每批执行后获取该批生成的主键，否则逐行插入并获取
+	 * 
+	 * @param rows      实体对象集
+	 * @param batchSize 批容量
+	 */
+	<T> void insertBatchReturningKeys(List<T> rows, int batchSize);
+
+	/**
+	 * 
+	 * 批量插入操作，并将数据库生成的主键写回实体对象的主键属性。值为 {@code null} 的主键由数据库生成，插入语句不包含这些主键列；
+	 * 已赋值的主键正常插入。驱动程序支持时（例如MySQL、PostgreSQL）每批执行后获取该批生成的主键，否则逐行插入并获取
+	 * 
+	 * @param dataSource 数据源
+	 * @param rows       实体对象集
+	 * @param batchSize  批容量
+	 */
+	<T> void insertBatchReturningKeys(DataSource dataSource, List<T> rows, int batchSize);
+
+	/**
+	 * 使用数据库特有的批量装载方式（例如PostgreSQL的 {@code COPY}、MySQL的 {@code LOAD DATA LOCAL INFILE}）插入数据。方言不支持或实体含有无法编码的属性类型时，回退为批量插入
+	 * 
+	 * @param rows 实体对象集
+	 */
+	<T> void bulkInsert(List<T> rows);
+
+	/**
+	 * 使用数据库特有的批量装载方式（例如PostgreSQL的 {@code COPY}、MySQL的 {@code LOAD DATA LOCAL INFILE}）插入数据。方言不支持或实体含有无法编码的属性类型时，回退为批量插入
+	 * 
+	 * @param dataSource 数据源
+	 * @param rows       实体对象集
+	 */
+	<T> void bulkInsert(DataSource dataSource, List<T> rows);
+
+	/**
+	 * 使用数据库特有的批量装载方式（例如MySQL的 {@code LOAD DATA LOCAL INFILE}）及指定的装载方式插入数据。方言不支持时，
+	 * {@link LoadMode#INSERT} 回退为批量插入，其他装载方式不支持回退（替换与硬保存的语义不同）
+	 * 
+	 * @param rows 实体对象集
+	 * @param mode 装载方式
+	 */
+	<T> void bulkInsert(List<T> rows, LoadMode mode);
+
+	/**
+	 * 使用数据库特有的批量装载方式（例如MySQL的 {@code LOAD DATA LOCAL INFILE}）及指定的装载方式插入数据。方言不支持时，
+	 * {@link LoadMode#INSERT} 回退为批量插入，其他装载方式不支持回退（替换与硬保存的语义不同）
+	 * 
+	 * @param dataSource 数据源
+	 * @param rows       实体对象集
+	 * @param mode       装载方式
+	 */
+	<T> void bulkInsert(DataSource dataSource, List<T> rows, LoadMode mode);
+
 	/**
 	 * 软更新操作
 	 * 
@@ -252,6 +465,48 @@ public interface Dao {
 	 */
 	<T> void updateBatch(DataSource dataSource, List<T> rows, int batchSize, String... hardFields);
 
+	/**
+	 * 
+	 * 批量软更新操作。按块读取实体对象，每块与实体对象列表一样分批执行并提交，内存中最多只保留一块（批容量与批处理并行度之积个）实体对象
+	 * 
+	 * @param rows      实体对象迭代器
+	 * @param batchSize 批容量
+	 * @return 返回执行的实体对象数
+	 */
+	<T> long updateBatch(Iterator<T> rows, int batchSize);
+
+	/**
+	 * 
+	 * 批量软更新操作。按块读取实体对象，每块与实体对象列表一样分批执行并提交，内存中最多只保留一块（批容量与批处理并行度之积个）实体对象
+	 * 
+	 * @param dataSource 数据源
+	 * @param rows       实体对象迭代器
+	 * @param batchSize  批容量
+	 * @return 返回执行的实体对象数
+	 */
+	<T> long updateBatch(DataSource dataSource, Iterator<T> rows, int batchSize);
+
+	/**
+	 * 
+	 * 批量软更新操作。按块读取实体对象，每块与实体对象列表一样分批执行并提交，内存中最多只保留一块（批容量与批处理并行度之积个）实体对象
+	 * 
+	 * @param rows      实体对象流（执行结束或失败后关闭）
+	 * @param batchSize 批容量
+	 * @return 返回执行的实体对象数
+	 */
+	<T> long updateBatch(Stream<T> rows, int batchSize);
+
+	/**
+	 * 
+	 * 批量软更新操作。按块读取实体对象，每块与实体对象列表一样分批执行并提交，内存中最多只保留一块（批容量与批处理并行度之积个）实体对象
+	 * 
+	 * @param dataSource 数据源
+	 * @param rows       实体对象流（执行结束或失败后关闭）
+	 * @param batchSize  批容量
+	 * @return 返回执行的实体对象数
+	 */
+	<T> long updateBatch(DataSource dataSource, Stream<T> rows, int batchSize);
+
 	/**
 	 * 硬更新操作
 	 * 
@@ -464,6 +719,73 @@ public interface Dao {
 	 */
 	<T> void saveBatch(DataSource dataSource, List<T> rows, int batchSize, String... hardFields);
 
+	/**
+	 * 
+	 * 批量软保存操作。按块读取实体对象，每块与实体对象列表一样分批执行并提交，内存中最多只保留一块（批容量与批处理并行度之积个）实体对象
+	 * 
+	 * @param rows      实体对象迭代器
+	 * @param batchSize 批容量
+	 * @return 返回执行的实体对象数
+	 */
+	<T> long saveBatch(Iterator<T> rows, int batchSize);
+
+	/**
+	 * 
+	 * 批量软保存操作。按块读取实体对象，每块与实体对象列表一样分批执行并提交，内存中最多只保留一块（批容量与批处理并行度之积个）实体对象
+	 * 
+	 * @param dataSource 数据源
+	 * @param rows       实体对象迭代器
+	 * @param batchSize  批容量
+	 * @return 返回执行的实体对象数
+	 */
+	<T> long saveBatch(DataSource dataSource, Iterator<T> rows, int batchSize);
+
+	/**
+	 * 
+	 * 批量软保存操作。按块读取实体对象，每块与实体对象列表一样分批执行并提交，内存中最多只保留一块（批容量与批处理并行度之积个）实体对象
+	 * 
+	 * @param rows      实体对象流（执行结束或失败后关闭）
+	 * @param batchSize 批容量
+	 * @return 返回执行的实体对象数
+	 */
+	<T> long saveBatch(Stream<T> rows, int batchSize);
+
+	/**
+	 * 
+	 * 批量软保存操作。按块读取实体对象，每块与实体对象列表一样分批执行并提交，内存中最多只保留一块（批容量与批处理并行度之积个）实体对象
+	 * 
+	 * @param dataSource 数据源
+	 * @param rows       实体对象流（执行结束或失败后关闭）
+	 * @param batchSize  批容量
+	 * @return 返回执行的实体对象数
+	 */
+	<T> long saveBatch(DataSource dataSource, Stream<T> rows, int batchSize);
+
+	/**
+	 * 
+	 * 检查点批量软保存操作。从偏移量开始按批容量对齐的批逐批执行并提交，失败的行被隔离并记录，不影响其他行；
+	 * 执行中断时抛出 {@link BatchCheckpointException}，可使用其结果的偏移量继续执行
+	 * 
+	 * @param rows      实体对象集
+	 * @param offset    偏移量，即开始执行的实体对象的下标
+	 * @param batchSize 批容量
+	 * @return 返回检查点批处理结果，包含继续执行的偏移量、最后提交的批的序号及失败的行
+	 */
+	<T> BatchResult<T> checkpointSaveBatch(List<T> rows, int offset, int batchSize);
+
+	/**
+	 * 
+	 * 检查点批量软保存操作。从偏移量开始按批容量对齐的批逐批执行并提交，失败的行被隔离并记录，不影响其他行；
+	 * 执行中断时抛出 {@link BatchCheckpointException}，可使用其结果的偏移量继续执行
+	 * 
+	 * @param dataSource 数据源
+	 * @param rows       实体对象集
+	 * @param offset     偏移量，即开始执行的实体对象的下标
+	 * @param batchSize  批容量
+	 * @return 返回检查点批处理结果，包含继续执行的偏移量、最后提交的批的序号及失败的行
+	 */
+	<T> BatchResult<T> checkpointSaveBatch(DataSource dataSource, List<T> rows, int offset, int batchSize);
+
 	/**
 	 * 硬保存。对所有字段执行插入/更新操作
 	 * 
@@ -532,6 +854,73 @@ public interface Dao {
 	 */
 	<T> void hardSaveBatch(DataSource dataSource, List<T> rows, int batchSize);
 
+	/**
+	 * 
+	 * 批量硬保存操作。按块读取实体对象，每块与实体对象列表一样分批执行并提交，内存中最多只保留一块（批容量与批处理并行度之积个）实体对象
+	 * 
+	 * @param rows      实体对象迭代器
+	 * @param batchSize 批容量
+	 * @return 返回执行的实体对象数
+	 */
+	<T> long hardSaveBatch(Iterator<T> rows, int batchSize);
+
+	/**
+	 * 
+	 * 批量硬保存操作。按块读取实体对象，每块与实体对象列表一样分批执行并提交，内存中最多只保留一块（批容量与批处理并行度之积个）实体对象
+	 * 
+	 * @param dataSource 数据源
+	 * @param rows       实体对象迭代器
+	 * @param batchSize  批容量
+	 * @return 返回执行的实体对象数
+	 */
+	<T> long hardSaveBatch(DataSource dataSource, Iterator<T> rows, int batchSize);
+
+	/**
+	 * 
+	 * 批量硬保存操作。按块读取实体对象，每块与实体对象列表一样分批执行并提交，内存中最多只保留一块（批容量与批处理并行度之积个）实体对象
+	 * 
+	 * @param rows      实体对象流（执行结束或失败后关闭）
+	 * @param batchSize 批容量
+	 * @return 返回执行的实体对象数
+	 */
+	<T> long hardSaveBatch(Stream<T> rows, int batchSize);
+
+	/**
+	 * 
+	 * 批量硬保存操作。按块读取实体对象，每块与实体对象列表一样分批执行并提交，内存中最多只保留一块（批容量与批处理并行度之积个）实体对象
+	 * 
+	 * @param dataSource 数据源
+	 * @param rows       实体对象流（执行结束或失败后关闭）
+	 * @param batchSize  批容量
+	 * @return 返回执行的实体对象数
+	 */
+	<T> long hardSaveBatch(DataSource dataSource, Stream<T> rows, int batchSize);
+
+	/**
+	 * 
+	 * 检查点批量硬保存操作。从偏移量开始按批容量对齐的批逐批执行并提交，失败的行被隔离并记录，不影响其他行；
+	 * 执行中断时抛出 {@link BatchCheckpointException}，可使用其结果的偏移量继续执行
+	 * 
+	 * @param rows      实体对象集
+	 * @param offset    偏移量，即开始执行的实体对象的下标
+	 * @param batchSize 批容量
+	 * @return 返回检查点批处理结果，包含继续执行的偏移量、最后提交的批的序号及失败的行
+	 */
+	<T> BatchResult<T> checkpointHardSaveBatch(List<T> rows, int offset, int batchSize);
+
+	/**
+	 * 
+	 * 检查点批量硬保存操作。从偏移量开始按批容量对齐的批逐批执行并提交，失败的行被隔离并记录，不影响其他行；
+	 * 执行中断时抛出 {@link BatchCheckpointException}，可使用其结果的偏移量继续执行
+	 * 
+	 * @param dataSource 数据源
+	 * @param rows       实体对象集
+	 * @param offset     偏移量，即开始执行的实体对象的下标
+	 * @param batchSize  批容量
+	 * @return 返回检查点批处理结果，包含继续执行的偏移量、最后提交的批的序号及失败的行
+	 */
+	<T> BatchResult<T> checkpointHardSaveBatch(DataSource dataSource, List<T> rows, int offset, int batchSize);
+
 	/**
 	 * 删除操作
 	 * 
@@ -600,6 +989,48 @@ public interface Dao {
 	 */
 	<T> void deleteBatch(DataSource dataSource, List<T> rows, int batchSize);
 
+	/**
+	 * 
+	 * 批量删除操作。按块读取实体对象，每块与实体对象列表一样分批执行并提交，内存中最多只保留一块（批容量与批处理并行度之积个）实体对象
+	 * 
+	 * @param rows      实体对象迭代器
+	 * @param batchSize 批容量
+	 * @return 返回执行的实体对象数
+	 */
+	<T> long deleteBatch(Iterator<T> rows, int batchSize);
+
+	/**
+	 * 
+	 * 批量删除操作。按块读取实体对象，每块与实体对象列表一样分批执行并提交，内存中最多只保留一块（批容量与批处理并行度之积个）实体对象
+	 * 
+	 * @param dataSource 数据源
+	 * @param rows       实体对象迭代器
+	 * @param batchSize  批容量
+	 * @return 返回执行的实体对象数
+	 */
+	<T> long deleteBatch(DataSource dataSource, Iterator<T> rows, int batchSize);
+
+	/**
+	 * 
+	 * 批量删除操作。按块读取实体对象，每块与实体对象列表一样分批执行并提交，内存中最多只保留一块（批容量与批处理并行度之积个）实体对象
+	 * 
+	 * @param rows      实体对象流（执行结束或失败后关闭）
+	 * @param batchSize 批容量
+	 * @return 返回执行的实体对象数
+	 */
+	<T> long deleteBatch(Stream<T> rows, int batchSize);
+
+	/**
+	 * 
+	 * 批量删除操作。按块读取实体对象，每块与实体对象列表一样分批执行并提交，内存中最多只保留一块（批容量与批处理并行度之积个）实体对象
+	 * 
+	 * @param dataSource 数据源
+	 * @param rows       实体对象流（执行结束或失败后关闭）
+	 * @param batchSize  批容量
+	 * @return 返回执行的实体对象数
+	 */
+	<T> long deleteBatch(DataSource dataSource, Stream<T> rows, int batchSize);
+
 	/**
 	 * 从数据库查询并组装实体对象
 	 * 
@@ -726,6 +1157,102 @@ public interface Dao {
 	 */
 	<T> List<T> select(DataSource dataSource, Class<T> type, String dsql, Object params);
 
+	/**
+	 * 使用动态结构化查询语言（DSQL）流式查询，并将每一行组装为对象后交给行处理器处理，不会在内存中保留整个结果列表。其中类型可以是实体对象，
+	 * 也可以是String、Number、Date、BigDecimal类型，这时将处理结果集中的第1列的值
+	 *
+	 * @param type       对象类型
+	 * @param dsql       动态结构化查询语言
+	 * @param rowHandler 行处理器
+	 * @param params     参数对象
+	 * @return 返回处理的行数
+	 */
+	<T> long forEach(Class<T> type, String dsql, RowHandler<T> rowHandler, Object... params);
+
+	/**
+	 * 使用动态结构化查询语言（DSQL）流式查询，并将每一行组装为对象后交给行处理器处理，不会在内存中保留整个结果列表。其中类型可以是实体对象，
+	 * 也可以是String、Number、Date、BigDecimal类型，这时将处理结果集中的第1列的值
+	 *
+	 * @param dataSource 数据源
+	 * @param type       对象类型
+	 * @param dsql       动态结构化查询语言
+	 * @param rowHandler 行处理器
+	 * @param params     参数对象
+	 * @return 返回处理的行数
+	 */
+	<T> long forEach(DataSource dataSource, Class<T> type, String dsql, RowHandler<T> rowHandler, Object... params);
+
+	/**
+	 * 使用动态结构化查询语言（DSQL）流式查询，并将每一行组装为对象后交给行处理器处理，不会在内存中保留整个结果列表。其中类型可以是实体对象，
+	 * 也可以是String、Number、Date、BigDecimal类型，这时将处理结果集中的第1列的值
+	 *
+	 * @param type       对象类型
+	 * @param dsql       动态结构化查询语言
+	 * @param rowHandler 行处理器
+	 * @param params     参数对象
+	 * @return 返回处理的行数
+	 */
+	<T> long forEach(Class<T> type, String dsql, RowHandler<T> rowHandler, Object params);
+
+	/**
+	 * 使用动态结构化查询语言（DSQL）流式查询，并将每一行组装为对象后交给行处理器处理，不会在内存中保留整个结果列表。其中类型可以是实体对象，
+	 * 也可以是String、Number、Date、BigDecimal类型，这时将处理结果集中的第1列的值
+	 *
+	 * @param dataSource 数据源
+	 * @param type       对象类型
+	 * @param dsql       动态结构化查询语言
+	 * @param rowHandler 行处理器
+	 * @param params     参数对象
+	 * @return 返回处理的行数
+	 */
+	<T> long forEach(DataSource dataSource, Class<T> type, String dsql, RowHandler<T> rowHandler, Object params);
+
+	/**
+	 * 使用动态结构化查询语言（DSQL）流式查询，返回逐行组装对象的流。流持有数据库连接，使用完毕后必须关闭（建议使用
+	 * try-with-resources），遍历结束时也会自动释放资源
+	 *
+	 * @param type   对象类型
+	 * @param dsql   动态结构化查询语言
+	 * @param params 参数对象
+	 * @return 返回对象流
+	 */
+	<T> Stream<T> stream(Class<T> type, String dsql, Object... params);
+
+	/**
+	 * 使用动态结构化查询语言（DSQL）流式查询，返回逐行组装对象的流。流持有数据库连接，使用完毕后必须关闭（建议使用
+	 * try-with-resources），遍历结束时也会自动释放资源
+	 *
+	 * @param dataSource 数据源
+	 * @param type       对象类型
+	 * @param dsql       动态结构化查询语言
+	 * @param params     参数对象
+	 * @return 返回对象流
+	 */
+	<T> Stream<T> stream(DataSource dataSource, Class<T> type, String dsql, Object... params);
+
+	/**
+	 * 使用动态结构化查询语言（DSQL）流式查询，返回逐行组装对象的流。流持有数据库连接，使用完毕后必须关闭（建议使用
+	 * try-with-resources），遍历结束时也会自动释放资源
+	 *
+	 * @param type   对象类型
+	 * @param dsql   动态结构化查询语言
+	 * @param params 参数对象
+	 * @return 返回对象流
+	 */
+	<T> Stream<T> stream(Class<T> type, String dsql, Object params);
+
+	/**
+	 * 使用动态结构化查询语言（DSQL）流式查询，返回逐行组装对象的流。流持有数据库连接，使用完毕后必须关闭（建议使用
+	 * try-with-resources），遍历结束时也会自动释放资源
+	 *
+	 * @param dataSource 数据源
+	 * @param type       对象类型
+	 * @param dsql       动态结构化查询语言
+	 * @param params     参数对象
+	 * @return 返回对象流
+	 */
+	<T> Stream<T> stream(DataSource dataSource, Class<T> type, String dsql, Object params);
+
 	/**
 	 * 使用指定类，指定动态结构化查询语言（DSQL），指定页码，指定页容量和指定参数（分别列出参数名和参数值）分页查询对象。
 	 * 该方法将根据DSQL中的别名将对象映射为指定类的对象， 需要保证DSQL中的别名和对象属性名保持一致。
@@ -849,6 +1376,188 @@ public interface Dao {
 	<T> Page<T> page(DataSource dataSource, Class<T> type, String dsql, String cntDsql, long currentPage, int pageSize,
 			Object params);
 
+	/**
+	 * 使用指定类，指定动态结构化查询语言（DSQL），指定页码，指定页容量和指定参数（分别列出参数名和参数值）不计数分页查询对象。
+	 * 与 {@link #page(Class, String, long, int, Object...)} 不同，该方法不执行计数查询，而是从当前页第一行开始多查询一行，
+	 * 以判断是否存在下一页。返回的Page对象总记录数和总页数均为 {@code null}，{@link Page#isTotalUnknown()} 为 {@code true}。
+	 * DSQL中的分页宏 {@code #[page(……)]} 同样适用
+	 * 
+	 * @param <T>         实体类
+	 * @param type        指定类
+	 * @param dsql        指定动态结构化查询语言（DSQL）
+	 * @param currentPage 指定页码
+	 * @param pageSize    指定页容量
+	 * @param params      指定参数（分别列出参数名和参数值）
+	 * @return 返回查询到的对象并封装为Page对象
+	 */
+	<T> Page<T> pageWithoutCount(Class<T> type, String dsql, long currentPage, int pageSize, Object... params);
+
+	/**
+	 * 使用指定类，指定动态结构化查询语言（DSQL），指定页码，指定页容量和指定参数（分别列出参数名和参数值）不计数分页查询对象
+	 * 
+	 * @param <T>         实体类
+	 * @param dataSource  数据源
+	 * @param type        指定类
+	 * @param dsql        指定动态结构化查询语言（DSQL）
+	 * @param currentPage 指定页码
+	 * @param pageSize    指定页容量
+	 * @param params      指定参数（分别列出参数名和参数值）
+	 * @return 返回查询到的对象并封装为Page对象
+	 */
+	<T> Page<T> pageWithoutCount(DataSource dataSource, Class<T> type, String dsql, long currentPage, int pageSize,
+			Object... params);
+
+	/**
+	 * 使用指定类，指定动态结构化查询语言（DSQL），指定页码，指定页容量和参数对象不计数分页查询对象
+	 * 
+	 * @param <T>         实体类
+	 * @param type        指定类
+	 * @param dsql        指定动态结构化查询语言（DSQL）
+	 * @param currentPage 指定页码
+	 * @param pageSize    指定页容量
+	 * @param params      参数对象
+	 * @return 返回查询到的对象并封装为Page对象
+	 */
+	<T> Page<T> pageWithoutCount(Class<T> type, String dsql, long currentPage, int pageSize, Object params);
+
+	/**
+	 * 使用指定类，指定动态结构化查询语言（DSQL），指定页码，指定页容量和参数对象不计数分页查询对象
+	 * 
+	 * @param <T>         实体类
+	 * @param dataSource  数据源
+	 * @param type        指定类
+	 * @param dsql        指定动态结构化查询语言（DSQL）
+	 * @param currentPage 指定页码
+	 * @param pageSize    指定页容量
+	 * @param params      参数对象
+	 * @return 返回查询到的对象并封装为Page对象
+	 */
+	<T> Page<T> pageWithoutCount(DataSource dataSource, Class<T> type, String dsql, long currentPage, int pageSize,
+			Object params);
+
+	/**
+	 * 使用指定类，指定动态结构化查询语言（DSQL），指定页码，指定页容量和指定参数（分别列出参数名和参数值）窗口函数分页查询对象。
+	 * 与 {@link #page(Class, String, long, int, Object...)} 不同，该方法使用窗口函数 {@code COUNT(*) OVER()}
+	 * 在一次查询中同时得到当前页的记录和总记录数，过滤条件只执行一次。数据库不支持窗口函数、无法为DSQL附加总记录数列或当前页没有记录时，
+	 * 回退为执行计数查询。DSQL中的分页宏 {@code #[page(……)]} 同样适用，但外层查询需选择宏内查询的全部列（例如 {@code X.*}），否则同样回退为执行计数查询
+	 * 
+	 * @param <T>         实体类
+	 * @param type        指定类
+	 * @param dsql        指定动态结构化查询语言（DSQL）
+	 * @param currentPage 指定页码
+	 * @param pageSize    指定页容量
+	 * @param params      指定参数（分别列出参数名和参数值）
+	 * @return 返回查询到的对象并封装为Page对象
+	 */
+	<T> Page<T> pageWithWindowCount(Class<T> type, String dsql, long currentPage, int pageSize, Object... params);
+
+	/**
+	 * 使用指定类，指定动态结构化查询语言（DSQL），指定页码，指定页容量和指定参数（分别列出参数名和参数值）窗口函数分页查询对象
+	 * 
+	 * @param <T>         实体类
+	 * @param dataSource  数据源
+	 * @param type        指定类
+	 * @param dsql        指定动态结构化查询语言（DSQL）
+	 * @param currentPage 指定页码
+	 * @param pageSize    指定页容量
+	 * @param params      指定参数（分别列出参数名和参数值）
+	 * @return 返回查询到的对象并封装为Page对象
+	 */
+	<T> Page<T> pageWithWindowCount(DataSource dataSource, Class<T> type, String dsql, long currentPage, int pageSize,
+			Object... params);
+
+	/**
+	 * 使用指定类，指定动态结构化查询语言（DSQL），指定页码，指定页容量和参数对象窗口函数分页查询对象
+	 * 
+	 * @param <T>         实体类
+	 * @param type        指定类
+	 * @param dsql        指定动态结构化查询语言（DSQL）
+	 * @param currentPage 指定页码
+	 * @param pageSize    指定页容量
+	 * @param params      参数对象
+	 * @return 返回查询到的对象并封装为Page对象
+	 */
+	<T> Page<T> pageWithWindowCount(Class<T> type, String dsql, long currentPage, int pageSize, Object params);
+
+	/**
+	 * 使用指定类，指定动态结构化查询语言（DSQL），指定页码，指定页容量和参数对象窗口函数分页查询对象
+	 * 
+	 * @param <T>         实体类
+	 * @param dataSource  数据源
+	 * @param type        指定类
+	 * @param dsql        指定动态结构化查询语言（DSQL）
+	 * @param currentPage 指定页码
+	 * @param pageSize    指定页容量
+	 * @param params      参数对象
+	 * @return 返回查询到的对象并封装为Page对象
+	 */
+	<T> Page<T> pageWithWindowCount(DataSource dataSource, Class<T> type, String dsql, long currentPage, int pageSize,
+			Object params);
+
+	/**
+	 * 使用指定类，指定动态结构化查询语言（DSQL），指定排序键，指定游标，指定页容量和指定参数（分别列出参数名和参数值）键集分页（seek）查询对象。
+	 * 与按页码分页不同，键集分页根据上一页最后一行的排序键值定位下一页，无论翻到第几页代价都相同，但不统计总数，也不能跳页。
+	 * DSQL不应包含 {@code ORDER BY} 子句，排序键组合必须唯一且不为 {@code null}
+	 * 
+	 * @param <T>        实体类
+	 * @param type       指定类
+	 * @param dsql       指定动态结构化查询语言（DSQL）
+	 * @param orderKeys  指定排序键，即查询结果的列名，列名后可附加 {@code ASC} 或 {@code DESC}
+	 * @param lastKey    指定游标，即上一页返回的 {@link KeysetPage#getNextKey()}。为 {@code null} 时查询第一页
+	 * @param pageSize   指定页容量
+	 * @param params     指定参数（分别列出参数名和参数值）
+	 * @return 返回查询到的对象并封装为KeysetPage对象
+	 */
+	<T> KeysetPage<T> seek(Class<T> type, String dsql, String[] orderKeys, String lastKey, int pageSize,
+			Object... params);
+
+	/**
+	 * 使用指定类，指定动态结构化查询语言（DSQL），指定排序键，指定游标，指定页容量和指定参数（分别列出参数名和参数值）键集分页（seek）查询对象
+	 * 
+	 * @param <T>        实体类
+	 * @param dataSource 数据源
+	 * @param type       指定类
+	 * @param dsql       指定动态结构化查询语言（DSQL）
+	 * @param orderKeys  指定排序键，即查询结果的列名，列名后可附加 {@code ASC} 或 {@code DESC}
+	 * @param lastKey    指定游标，即上一页返回的 {@link KeysetPage#getNextKey()}。为 {@code null} 时查询第一页
+	 * @param pageSize   指定页容量
+	 * @param params     指定参数（分别列出参数名和参数值）
+	 * @return 返回查询到的对象并封装为KeysetPage对象
+	 */
+	<T> KeysetPage<T> seek(DataSource dataSource, Class<T> type, String dsql, String[] orderKeys, String lastKey,
+			int pageSize, Object... params);
+
+	/**
+	 * 使用指定类，指定动态结构化查询语言（DSQL），指定排序键，指定游标，指定页容量和参数对象键集分页（seek）查询对象
+	 * 
+	 * @param <T>        实体类
+	 * @param type       指定类
+	 * @param dsql       指定动态结构化查询语言（DSQL）
+	 * @param orderKeys  指定排序键，即查询结果的列名，列名后可附加 {@code ASC} 或 {@code DESC}
+	 * @param lastKey    指定游标，即上一页返回的 {@link KeysetPage#getNextKey()}。为 {@code null} 时查询第一页
+	 * @param pageSize   指定页容量
+	 * @param params     参数对象
+	 * @return 返回查询到的对象并封装为KeysetPage对象
+	 */
+	<T> KeysetPage<T> seek(Class<T> type, String dsql, String[] orderKeys, String lastKey, int pageSize,
+			Object params);
+
+	/**
+	 * 使用指定类，指定动态结构化查询语言（DSQL），指定排序键，指定游标，指定页容量和参数对象键集分页（seek）查询对象
+	 * 
+	 * @param <T>        实体类
+	 * @param dataSource 数据源
+	 * @param type       指定类
+	 * @param dsql       指定动态结构化查询语言（DSQL）
+	 * @param orderKeys  指定排序键，即查询结果的列名，列名后可附加 {@code ASC} 或 {@code DESC}
+	 * @param lastKey    指定游标，即上一页返回的 {@link KeysetPage#getNextKey()}。为 {@code null} 时查询第一页
+	 * @param pageSize   指定页容量
+	 * @param params     参数对象
+	 * @return 返回查询到的对象并封装为KeysetPage对象
+	 */
+	<T> KeysetPage<T> seek(DataSource dataSource, Class<T> type, String dsql, String[] orderKeys, String lastKey,
+			int pageSize, Object params);
+
 	/**
 	 * 使用动态结构化查询语言（DSQL）执行插入、修改、删除操作
 	 * 
@@ -0,0 +1,24 @@
+package cn.tenmg.sqltool;
+
+/**
+ * 行处理器。流式查询时逐行回调，处理完的行对象不会被保留
+ * 
+ * @author June wjzhao@aliyun.com
+ *
+ * @param <T>
+ *            行数据类型
+ * 
+ * @since 1.6.0
+ */
+public interface RowHandler<T> {
+
+	/**
+	 * 处理一行数据
+	 * 
+	 * @param row
+	 *            行对象
+	 * @throws Exception
+	 *             处理过程中发生的异常，将终止查询
+	 */
+	void handle(T row) throws Exception;
+}
@@ -1,50 +1,85 @@
 package cn.tenmg.sqltool.dao;
 
 import java.io.Closeable;
+import java.lang.reflect.Field;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import javax.sql.DataSource;
 
 import cn.tenmg.dsl.Script;
 import cn.tenmg.dsl.utils.CollectionUtils;
+import cn.tenmg.dsl.utils.StringUtils;
 import cn.tenmg.dsql.NamedSQL;
-import cn.tenmg.sql.paging.SQLMetaData;
 import cn.tenmg.sql.paging.utils.JDBCUtils;
-import cn.tenmg.sql.paging.utils.SQLUtils;
 import cn.tenmg.sqltool.Dao;
+import cn.tenmg.sqltool.RowHandler;
 import cn.tenmg.sqltool.Transaction;
+import cn.tenmg.sqltool.data.BatchResult;
+import cn.tenmg.sqltool.data.KeysetPage;
 import cn.tenmg.sqltool.data.Page;
+import cn.tenmg.sqltool.exception.ConvertException;
 import cn.tenmg.sqltool.exception.DetermineSQLDialectException;
+import cn.tenmg.sqltool.exception.IllegalCallException;
 import cn.tenmg.sqltool.exception.IllegalConfigException;
 import cn.tenmg.sqltool.exception.SQLExecutorException;
 import cn.tenmg.sqltool.exception.TransactionException;
 import cn.tenmg.sqltool.macro.Paging;
+import cn.tenmg.sqltool.sql.BatchSizeController;
+import cn.tenmg.sqltool.sql.BulkLoader;
 import cn.tenmg.sqltool.sql.DML;
 import cn.tenmg.sqltool.sql.DMLParser;
+import cn.tenmg.sqltool.sql.DSQLPlanCache;
+import cn.tenmg.sqltool.sql.DSQLPlanCache.PagePlan;
+import cn.tenmg.sqltool.sql.JDBCSQL;
+import cn.tenmg.sqltool.sql.LoadMode;
 import cn.tenmg.sqltool.sql.MergeSQL;
+import cn.tenmg.sqltool.sql.PageSQLParser;
 import cn.tenmg.sqltool.sql.SQLDialect;
 import cn.tenmg.sqltool.sql.SQLExecuter;
 import cn.tenmg.sqltool.sql.UpdateSQL;
 import cn.tenmg.sqltool.sql.executer.ExecuteSQLExecuter;
 import cn.tenmg.sqltool.sql.executer.ExecuteUpdateSQLExecuter;
+import cn.tenmg.sqltool.sql.executer.ForEachSQLExecuter;
 import cn.tenmg.sqltool.sql.executer.GetSQLExecuter;
 import cn.tenmg.sqltool.sql.executer.LongResultSQLExecuter;
+import cn.tenmg.sqltool.sql.executer.SeekSQLExecuter;
 import cn.tenmg.sqltool.sql.executer.SelectSQLExecuter;
+import cn.tenmg.sqltool.sql.executer.WindowPageSQLExecuter;
+import cn.tenmg.sqltool.sql.meta.FieldMeta;
 import cn.tenmg.sqltool.sql.parser.DeleteDMLParser;
 import cn.tenmg.sqltool.sql.parser.GetDMLParser;
 import cn.tenmg.sqltool.sql.parser.InsertDMLParser;
 import cn.tenmg.sqltool.sql.parser.UpdateDMLParser;
 import cn.tenmg.sqltool.sql.utils.EntityUtils;
+import cn.tenmg.sqltool.sql.utils.KeysetUtils;
+import cn.tenmg.sqltool.sql.utils.ParamsUtils;
 import cn.tenmg.sqltool.transaction.CurrentConnectionHolder;
 import cn.tenmg.sqltool.transaction.TransactionExecutor;
+import cn.tenmg.sqltool.utils.EntityScanUtils;
 import cn.tenmg.sqltool.utils.JDBCExecuteUtils;
+import cn.tenmg.sqltool.utils.ParallelBatchUtils;
 import cn.tenmg.sqltool.utils.SQLDialectUtils;
+import cn.tenmg.sqltool.utils.WarmUpUtils;
 
 /**
  * 抽象数据库访问对象
@@ -55,14 +90,202 @@ import cn.tenmg.sqltool.utils.SQLDialectUtils;
  */
 public abstract class AbstractDao implements Dao {
 
-	private static final Map<DataSource, SQLDialect> DIALECTS = new HashMap<DataSource, SQLDialect>();
+	/**
+	 * 数据源配置中批量插入方式的参数名
+	 */
+	protected static final String BULK_MODE = "bulkMode";
+
+	private static final Map<DataSource, SQLDialect> DIALECTS = new ConcurrentHashMap<DataSource, SQLDialect>();
+
+	private static final Map<DataSource, String> BULK_MODES = new ConcurrentHashMap<DataSource, String>();
+
+	private static final Map<DataSource, Map<Class<?>, BatchSizeController>> BATCH_SIZE_CONTROLLERS = new ConcurrentHashMap<DataSource, Map<Class<?>, BatchSizeController>>();
+
+	/**
+	 * 键集分页查询中上一页最后一行排序键值的参数名前缀
+	 */
+	private static final String SEEK_KEY_PARAM_PREFIX = "sqltoolSeekKey";
+
+	private volatile DSQLPlanCache dsqlPlanCache;
+
+	/**
+	 * 调用方提供的并行批处理线程池
+	 */
+	private volatile ExecutorService batchExecutor;
+
+	/**
+	 * 内置的并行批处理线程池，首次并行执行批处理时创建
+	 */
+	private volatile ExecutorService defaultBatchExecutor;
 
 	abstract boolean isShowSql();
 
 	abstract int getDefaultBatchSize();
 
-	protected static synchronized void cacheSQLDialect(DataSource dataSource, SQLDialect dialect) {
-		DIALECTS.put(dataSource, dialect);
+	abstract int getDefaultFetchSize();
+
+	/**
+	 * 获取批处理的并行度。大于1时，批处理方法将实体对象拆分为多个分区，使用各自的连接并行执行
+	 * 
+	 * @return 返回批处理的并行度
+	 */
+	abstract int getBatchParallelism();
+
+	/**
+	 * 获取并行批处理是否根据主键属性值的哈希值分区
+	 * 
+	 * @return 是返回 {@code true}，否则返回 {@code false}
+	 */
+	abstract boolean isBatchPartitionById();
+
+	/**
+	 * 获取每批的目标耗时（毫秒）。大于0时启用自适应批容量，批处理根据每批执行并提交的实际耗时调整各数据源及实体类的批容量
+	 * 
+	 * @return 返回每批的目标耗时
+	 */
+	abstract long getBatchTargetMillis();
+
+	/**
+	 * 获取自适应批容量的下限
+	 * 
+	 * @return 返回最小批容量
+	 */
+	abstract int getMinBatchSize();
+
+	/**
+	 * 获取自适应批容量的上限
+	 * 
+	 * @return 返回最大批容量
+	 */
+	abstract int getMaxBatchSize();
+
+	/**
+	 * 获取所有已命名的数据源
+	 * 
+	 * @return 返回所有已命名的数据源
+	 */
+	abstract Collection<DataSource> getAllDataSources();
+
+	/**
+	 * 获取DSQL执行计划缓存的最大形态数。大于0时，对 {@link #getDSQLPlanCacheIds()} 中的DSQL，按DSQL及参数形态缓存最终的JDBC SQL（含分页查询的计数查询SQL和分页查询SQL模板）及参数提取顺序
+	 * 
+	 * @return 返回DSQL执行计划缓存的最大形态数
+	 */
+	abstract int getDSQLPlanCacheSize();
+
+	/**
+	 * 获取启用DSQL执行计划缓存的DSQL编号，多个编号之间使用逗号分隔。执行计划只取决于参数形态，宏或过滤器依赖参数具体值的DSQL不应启用
+	 * 
+	 * @return 返回启用DSQL执行计划缓存的DSQL编号
+	 */
+	abstract String getDSQLPlanCacheIds();
+
+	/**
+	 * 获取是否补齐 {@code IN} 列表参数。为 {@code true} 时，构成 {@code IN (:ids)} 列表的集合、数组参数重复最后一个元素补齐至2的幂个元素；
+	 * 查询、逐行处理及更新时，若JDBC参数个数超过方言允许的上限，还将按元素最多的 {@code IN} 列表参数拆分为多条SQL分别执行并合并结果（更新在同一事务中执行），
+	 * 含排序、分页、去重、分组或聚合的SQL不能拆分，将抛出异常
+	 * 
+	 * @return 是返回 {@code true}，否则返回 {@code false}
+	 */
+	abstract boolean isInListPadding();
+
+	protected static void cacheSQLDialect(DataSource dataSource, SQLDialect dialect) {
+		if (dialect == null) {
+			DIALECTS.remove(dataSource);
+		} else {
+			DIALECTS.put(dataSource, dialect);
+		}
+	}
+
+	/**
+	 * 缓存数据源的批量插入方式。批量插入方式与数据源方言的批量装载器名称相同（例如PostgreSQL的 {@code copy}、MySQL的 {@code load}）时，批量插入使用该批量装载器
+	 * 
+	 * @param dataSource
+	 *            数据源
+	 * @param bulkMode
+	 *            批量插入方式
+	 */
+	protected static void cacheBulkMode(DataSource dataSource, String bulkMode) {
+		if (bulkMode == null) {
+			BULK_MODES.remove(dataSource);
+		} else {
+			BULK_MODES.put(dataSource, bulkMode);
+		}
+	}
+
+	@Override
+	public int getBatchSize(Class<?> type) {
+		return getBatchSize(getDefaultDataSource(), type);
+	}
+
+	@Override
+	public int getBatchSize(DataSource dataSource, Class<?> type) {
+		Map<Class<?>, BatchSizeController> batchSizeControllers = BATCH_SIZE_CONTROLLERS.get(dataSource);
+		if (batchSizeControllers != null) {
+			BatchSizeController batchSizeController = batchSizeControllers.get(type);
+			if (batchSizeController != null && batchSizeController.isAdaptive()) {
+				return batchSizeController.getBatchSize();
+			}
+		}
+		return getDefaultBatchSize();
+	}
+
+	@Override
+	public void setBatchExecutor(ExecutorService batchExecutor) {
+		this.batchExecutor = batchExecutor;
+	}
+
+	@Override
+	public void shutdownBatchExecutor() {
+		ExecutorService executor;
+		synchronized (this) {
+			executor = defaultBatchExecutor;
+			defaultBatchExecutor = null;
+		}
+		if (executor != null) {
+			executor.shutdown();
+		}
+	}
+
+	@Override
+	public void warmUp(Collection<Class<?>> types) {
+		warmUp(types, false);
+	}
+
+	@Override
+	public void warmUp(Collection<Class<?>> types, boolean prepare) {
+		Map<DataSource, SQLDialect> dialects = new LinkedHashMap<DataSource, SQLDialect>();
+		DataSource defaultDataSource = getDefaultDataSource();
+		if (defaultDataSource != null) {
+			dialects.put(defaultDataSource, getSQLDialect(defaultDataSource));
+		}
+		for (DataSource dataSource : getAllDataSources()) {
+			if (!dialects.containsKey(dataSource)) {
+				dialects.put(dataSource, getSQLDialect(dataSource));
+			}
+		}
+		Map<SQLDialect, Set<String>> sqls = WarmUpUtils.warmUp(types,
+				new LinkedHashSet<SQLDialect>(dialects.values()));
+		if (prepare) {
+			for (Map.Entry<DataSource, SQLDialect> entry : dialects.entrySet()) {
+				WarmUpUtils.prepare(entry.getKey(), sqls.get(entry.getValue()));
+			}
+		}
+	}
+
+	/**
+	 * 根据配置预热实体类。配置了 {@code sqltool.entityPackages} 时扫描这些包（多个包之间使用逗号分隔）下的实体类并预热，
+	 * {@code sqltool.warmUpPrepare} 为 {@code true} 时同时在各数据源的连接上预编译语句
+	 * 
+	 * @param properties
+	 *            配置
+	 */
+	protected void warmUp(Properties properties) {
+		String entityPackages = properties.getProperty("sqltool.entityPackages");
+		if (entityPackages != null && !entityPackages.trim().isEmpty()) {
+			warmUp(EntityScanUtils.scan(entityPackages),
+					Boolean.valueOf(properties.getProperty("sqltool.warmUpPrepare", "false")));
+		}
 	}
 
 	protected SQLDialect getSQLDialect(DataSource dataSource) {
@@ -156,7 +379,119 @@ public abstract class AbstractDao implements Dao {
 	@Override
 	public <T> void insertBatch(DataSource dataSource, List<T> rows, int batchSize) {
 		if (!CollectionUtils.isEmpty(rows)) {
-			executeBatch(dataSource, rows, InsertDMLParser.getInstance(), batchSize);
+			SQLDialect dialect = getSQLDialect(dataSource);
+			String bulkMode = BULK_MODES.get(dataSource);
+			if (bulkMode != null) {
+				BulkLoader bulkLoader = dialect.getBulkLoader();
+				if (bulkLoader != null && bulkMode.equals(bulkLoader.getName())
+						&& bulkLoader.supports(rows.get(0).getClass(), LoadMode.INSERT)) {
+					batch(dataSource, rows, batchSize, (part, batchSizeController) -> JDBCExecuteUtils.load(dataSource,
+							bulkLoader, LoadMode.INSERT, part, batchSizeController.getBatchSize(), isShowSql()));
+					return;
+				}
+			}
+			batch(dataSource, rows, batchSize, (part, batchSizeController) -> JDBCExecuteUtils.insertBatch(dataSource,
+					dialect, part, batchSizeController, isShowSql()));
+		}
+	}
+
+	@Override
+	public <T> long insertBatch(Iterator<T> rows, int batchSize) {
+		return insertBatch(getDefaultDataSource(), rows, batchSize);
+	}
+
+	@Override
+	public <T> long insertBatch(DataSource dataSource, Iterator<T> rows, int batchSize) {
+		return batch(dataSource, rows, batchSize, chunk -> insertBatch(dataSource, chunk, batchSize));
+	}
+
+	@Override
+	public <T> long insertBatch(Stream<T> rows, int batchSize) {
+		return insertBatch(getDefaultDataSource(), rows, batchSize);
+	}
+
+	@Override
+	public <T> long insertBatch(DataSource dataSource, Stream<T> rows, int batchSize) {
+		try (Stream<T> stream = rows) {
+			return insertBatch(dataSource, stream.iterator(), batchSize);
+		}
+	}
+
+	@Override
+	public <T> BatchResult<T> checkpointInsertBatch(List<T> rows, int offset, int batchSize) {
+		return checkpointInsertBatch(getDefaultDataSource(), rows, offset, batchSize);
+	}
+
+	@Override
+	public <T> BatchResult<T> checkpointInsertBatch(DataSource dataSource, List<T> rows, int offset, int batchSize) {
+		return checkpointBatch(dataSource, rows, offset, batchSize, type -> InsertDMLParser.getInstance().parse(type));
+	}
+
+	@Override
+	public <T> int insertReturningKeys(T obj) {
+		return insertReturningKeys(getDefaultDataSource(), obj);
+	}
+
+	@Override
+	public <T> int insertReturningKeys(DataSource dataSource, T obj) {
+		return JDBCExecuteUtils.insertReturningKeys(dataSource, getSQLDialect(dataSource), Collections.singletonList(obj),
+				1, isShowSql());
+	}
+
+	@Override
+	public <T> void insertBatchReturningKeys(List<T> rows) {
+		insertBatchReturningKeys(rows, getDefaultBatchSize());
+	}
+
+	@Override
+	public <T> void insertBatchReturningKeys(DataSource dataSource, List<T> rows) {
+		insertBatchReturningKeys(dataSource, rows, getDefaultBatchSize());
+	}
+
+	@Override
+	public <T> void insertBatchReturningKeys(List<T> rows, int batchSize) {
+		insertBatchReturningKeys(getDefaultDataSource(), rows, batchSize);
+	}
+
+	@Override
+	public <T> void insertBatchReturningKeys(DataSource dataSource, List<T> rows, int batchSize) {
+		if (!CollectionUtils.isEmpty(rows)) {
+			SQLDialect dialect = getSQLDialect(dataSource);
+			batch(dataSource, rows, batchSize, (part, batchSizeController) -> JDBCExecuteUtils
+					.insertReturningKeys(dataSource, dialect, part, batchSizeController.getBatchSize(), isShowSql()));
+		}
+	}
+
+	@Override
+	public <T> void bulkInsert(List<T> rows) {
+		bulkInsert(getDefaultDataSource(), rows);
+	}
+
+	@Override
+	public <T> void bulkInsert(DataSource dataSource, List<T> rows) {
+		bulkInsert(dataSource, rows, LoadMode.INSERT);
+	}
+
+	@Override
+	public <T> void bulkInsert(List<T> rows, LoadMode mode) {
+		bulkInsert(getDefaultDataSource(), rows, mode);
+	}
+
+	@Override
+	public <T> void bulkInsert(DataSource dataSource, List<T> rows, LoadMode mode) {
+		if (CollectionUtils.isEmpty(rows)) {
+			return;
+		}
+		SQLDialect dialect = getSQLDialect(dataSource);
+		BulkLoader bulkLoader = dialect.getBulkLoader();
+		Class<?> type = rows.get(0).getClass();
+		if (bulkLoader != null && bulkLoader.supports(type, mode)) {
+			JDBCExecuteUtils.load(dataSource, bulkLoader, mode, rows, rows.size(), isShowSql());
+		} else if (LoadMode.INSERT.equals(mode)) {
+			insertBatch(dataSource, rows, getDefaultBatchSize());
+		} else {
+			throw new IllegalCallException("Bulk loading of ".concat(type.getName()).concat(" in mode ")
+					.concat(mode.name()).concat(" is not supported by ").concat(dialect.getClass().getSimpleName()));
 		}
 	}
 
@@ -239,8 +574,9 @@ public abstract class AbstractDao implements Dao {
 		if (CollectionUtils.isEmpty(rows)) {
 			return;
 		}
-		JDBCExecuteUtils.updateBatch(dataSource, getSQLDialect(dataSource).update(rows.get(0).getClass()), rows,
-				batchSize, isShowSql());
+		UpdateSQL updateSQL = getSQLDialect(dataSource).update(rows.get(0).getClass());
+		batch(dataSource, rows, batchSize, (part, batchSizeController) -> JDBCExecuteUtils.updateBatch(dataSource,
+				updateSQL, part, batchSizeController, isShowSql()));
 	}
 
 	@Override
@@ -253,6 +589,28 @@ public abstract class AbstractDao implements Dao {
 		updateBatch(dataSource, batchSize, rows, hardFields);
 	}
 
+	@Override
+	public <T> long updateBatch(Iterator<T> rows, int batchSize) {
+		return updateBatch(getDefaultDataSource(), rows, batchSize);
+	}
+
+	@Override
+	public <T> long updateBatch(DataSource dataSource, Iterator<T> rows, int batchSize) {
+		return batch(dataSource, rows, batchSize, chunk -> updateBatch(dataSource, chunk, batchSize));
+	}
+
+	@Override
+	public <T> long updateBatch(Stream<T> rows, int batchSize) {
+		return updateBatch(getDefaultDataSource(), rows, batchSize);
+	}
+
+	@Override
+	public <T> long updateBatch(DataSource dataSource, Stream<T> rows, int batchSize) {
+		try (Stream<T> stream = rows) {
+			return updateBatch(dataSource, stream.iterator(), batchSize);
+		}
+	}
+
 	@Override
 	public <T> int hardUpdate(T obj) {
 		return hardUpdate(getDefaultDataSource(), obj);
@@ -311,8 +669,7 @@ public abstract class AbstractDao implements Dao {
 	@Override
 	public <T> void hardUpdateBatch(DataSource dataSource, List<T> rows, int batchSize) {
 		if (!CollectionUtils.isEmpty(rows)) {
-			DML dml = UpdateDMLParser.getInstance().parse(rows.get(0).getClass());
-			JDBCExecuteUtils.executeBatch(dataSource, dml.getSql(), rows, dml.getFields(), batchSize, isShowSql());
+			executeBatch(dataSource, rows, UpdateDMLParser.getInstance(), batchSize);
 		}
 	}
 
@@ -394,8 +751,7 @@ public abstract class AbstractDao implements Dao {
 		if (CollectionUtils.isEmpty(rows)) {
 			return;
 		}
-		JDBCExecuteUtils.saveBatch(dataSource, getSQLDialect(dataSource).save(rows.get(0).getClass()), rows, batchSize,
-				isShowSql());
+		saveBatch(dataSource, rows, getSQLDialect(dataSource).save(rows.get(0).getClass()), batchSize);
 	}
 
 	@Override
@@ -408,8 +764,39 @@ public abstract class AbstractDao implements Dao {
 		if (CollectionUtils.isEmpty(rows)) {
 			return;
 		}
-		JDBCExecuteUtils.saveBatch(dataSource, getSQLDialect(dataSource).save(rows.get(0).getClass(), hardFields), rows,
-				batchSize, isShowSql());
+		saveBatch(dataSource, rows, getSQLDialect(dataSource).save(rows.get(0).getClass(), hardFields), batchSize);
+	}
+
+	@Override
+	public <T> long saveBatch(Iterator<T> rows, int batchSize) {
+		return saveBatch(getDefaultDataSource(), rows, batchSize);
+	}
+
+	@Override
+	public <T> long saveBatch(DataSource dataSource, Iterator<T> rows, int batchSize) {
+		return batch(dataSource, rows, batchSize, chunk -> saveBatch(dataSource, chunk, batchSize));
+	}
+
+	@Override
+	public <T> long saveBatch(Stream<T> rows, int batchSize) {
+		return saveBatch(getDefaultDataSource(), rows, batchSize);
+	}
+
+	@Override
+	public <T> long saveBatch(DataSource dataSource, Stream<T> rows, int batchSize) {
+		try (Stream<T> stream = rows) {
+			return saveBatch(dataSource, stream.iterator(), batchSize);
+		}
+	}
+
+	@Override
+	public <T> BatchResult<T> checkpointSaveBatch(List<T> rows, int offset, int batchSize) {
+		return checkpointSaveBatch(getDefaultDataSource(), rows, offset, batchSize);
+	}
+
+	@Override
+	public <T> BatchResult<T> checkpointSaveBatch(DataSource dataSource, List<T> rows, int offset, int batchSize) {
+		return checkpointBatch(dataSource, rows, offset, batchSize, type -> toDML(getSQLDialect(dataSource).save(type)));
 	}
 
 	@Override
@@ -473,8 +860,39 @@ public abstract class AbstractDao implements Dao {
 		if (CollectionUtils.isEmpty(rows)) {
 			return;
 		}
-		JDBCExecuteUtils.saveBatch(dataSource, getSQLDialect(dataSource).hardSave(rows.get(0).getClass()), rows,
-				batchSize, isShowSql());
+		saveBatch(dataSource, rows, getSQLDialect(dataSource).hardSave(rows.get(0).getClass()), batchSize);
+	}
+
+	@Override
+	public <T> long hardSaveBatch(Iterator<T> rows, int batchSize) {
+		return hardSaveBatch(getDefaultDataSource(), rows, batchSize);
+	}
+
+	@Override
+	public <T> long hardSaveBatch(DataSource dataSource, Iterator<T> rows, int batchSize) {
+		return batch(dataSource, rows, batchSize, chunk -> hardSaveBatch(dataSource, chunk, batchSize));
+	}
+
+	@Override
+	public <T> long hardSaveBatch(Stream<T> rows, int batchSize) {
+		return hardSaveBatch(getDefaultDataSource(), rows, batchSize);
+	}
+
+	@Override
+	public <T> long hardSaveBatch(DataSource dataSource, Stream<T> rows, int batchSize) {
+		try (Stream<T> stream = rows) {
+			return hardSaveBatch(dataSource, stream.iterator(), batchSize);
+		}
+	}
+
+	@Override
+	public <T> BatchResult<T> checkpointHardSaveBatch(List<T> rows, int offset, int batchSize) {
+		return checkpointHardSaveBatch(getDefaultDataSource(), rows, offset, batchSize);
+	}
+
+	@Override
+	public <T> BatchResult<T> checkpointHardSaveBatch(DataSource dataSource, List<T> rows, int offset, int batchSize) {
+		return checkpointBatch(dataSource, rows, offset, batchSize, type -> toDML(getSQLDialect(dataSource).hardSave(type)));
 	}
 
 	@Override
@@ -519,6 +937,28 @@ public abstract class AbstractDao implements Dao {
 		}
 	}
 
+	@Override
+	public <T> long deleteBatch(Iterator<T> rows, int batchSize) {
+		return deleteBatch(getDefaultDataSource(), rows, batchSize);
+	}
+
+	@Override
+	public <T> long deleteBatch(DataSource dataSource, Iterator<T> rows, int batchSize) {
+		return batch(dataSource, rows, batchSize, chunk -> deleteBatch(dataSource, chunk, batchSize));
+	}
+
+	@Override
+	public <T> long deleteBatch(Stream<T> rows, int batchSize) {
+		return deleteBatch(getDefaultDataSource(), rows, batchSize);
+	}
+
+	@Override
+	public <T> long deleteBatch(DataSource dataSource, Stream<T> rows, int batchSize) {
+		try (Stream<T> stream = rows) {
+			return deleteBatch(dataSource, stream.iterator(), batchSize);
+		}
+	}
+
 	@Override
 	public <T> T get(T obj) {
 		return get(getDefaultDataSource(), obj);
@@ -532,22 +972,22 @@ public abstract class AbstractDao implements Dao {
 
 	@Override
 	public <T> T get(Class<T> type, String dsql, Object... params) {
-		return get(getDefaultDataSource(), parse(dsql, params), type);
+		return get(getDefaultDataSource(), toJDBCSQL(dsql, params), type);
 	}
 
 	@Override
 	public <T> T get(DataSource dataSource, Class<T> type, String dsql, Object... params) {
-		return get(dataSource, parse(dsql, params), type);
+		return get(dataSource, toJDBCSQL(dsql, params), type);
 	}
 
 	@Override
 	public <T> T get(Class<T> type, String dsql, Object params) {
-		return get(getDefaultDataSource(), parse(dsql, params), type);
+		return get(getDefaultDataSource(), toJDBCSQL(dsql, params), type);
 	}
 
 	@Override
 	public <T> T get(DataSource dataSource, Class<T> type, String dsql, Object params) {
-		return get(dataSource, parse(dsql, params), type);
+		return get(dataSource, toJDBCSQL(dsql, params), type);
 	}
 
 	@Override
@@ -565,22 +1005,68 @@ public abstract class AbstractDao implements Dao {
 
 	@Override
 	public <T> List<T> select(Class<T> type, String dsql, Object... params) {
-		return select(getDefaultDataSource(), parse(dsql, params), type);
+		DataSource dataSource = getDefaultDataSource();
+		return select(dataSource, toJDBCSQLs(dataSource, dsql, params), type);
 	}
 
 	@Override
 	public <T> List<T> select(DataSource dataSource, Class<T> type, String dsql, Object... params) {
-		return select(dataSource, parse(dsql, params), type);
+		return select(dataSource, toJDBCSQLs(dataSource, dsql, params), type);
 	}
 
 	@Override
 	public <T> List<T> select(Class<T> type, String dsql, Object params) {
-		return select(getDefaultDataSource(), parse(dsql, params), type);
+		DataSource dataSource = getDefaultDataSource();
+		return select(dataSource, toJDBCSQLs(dataSource, dsql, params), type);
 	}
 
 	@Override
 	public <T> List<T> select(DataSource dataSource, Class<T> type, String dsql, Object params) {
-		return select(dataSource, parse(dsql, params), type);
+		return select(dataSource, toJDBCSQLs(dataSource, dsql, params), type);
+	}
+
+	@Override
+	public <T> long forEach(Class<T> type, String dsql, RowHandler<T> rowHandler, Object... params) {
+		DataSource dataSource = getDefaultDataSource();
+		return forEach(dataSource, toJDBCSQLs(dataSource, dsql, params), type, rowHandler);
+	}
+
+	@Override
+	public <T> long forEach(DataSource dataSource, Class<T> type, String dsql, RowHandler<T> rowHandler,
+			Object... params) {
+		return forEach(dataSource, toJDBCSQLs(dataSource, dsql, params), type, rowHandler);
+	}
+
+	@Override
+	public <T> long forEach(Class<T> type, String dsql, RowHandler<T> rowHandler, Object params) {
+		DataSource dataSource = getDefaultDataSource();
+		return forEach(dataSource, toJDBCSQLs(dataSource, dsql, params), type, rowHandler);
+	}
+
+	@Override
+	public <T> long forEach(DataSource dataSource, Class<T> type, String dsql, RowHandler<T> rowHandler,
+			Object params) {
+		return forEach(dataSource, toJDBCSQLs(dataSource, dsql, params), type, rowHandler);
+	}
+
+	@Override
+	public <T> Stream<T> stream(Class<T> type, String dsql, Object... params) {
+		return stream(getDefaultDataSource(), toJDBCSQL(dsql, params), type);
+	}
+
+	@Override
+	public <T> Stream<T> stream(DataSource dataSource, Class<T> type, String dsql, Object... params) {
+		return stream(dataSource, toJDBCSQL(dsql, params), type);
+	}
+
+	@Override
+	public <T> Stream<T> stream(Class<T> type, String dsql, Object params) {
+		return stream(getDefaultDataSource(), toJDBCSQL(dsql, params), type);
+	}
+
+	@Override
+	public <T> Stream<T> stream(DataSource dataSource, Class<T> type, String dsql, Object params) {
+		return stream(dataSource, toJDBCSQL(dsql, params), type);
 	}
 
 	@Override
@@ -591,61 +1077,8 @@ public abstract class AbstractDao implements Dao {
 	@Override
 	public <T> Page<T> page(DataSource dataSource, Class<T> type, String dsql, long currentPage, int pageSize,
 			Object... params) {
-		Connection con = null;
-		Page<T> page = new Page<T>();
-		page.setCurrentPage(currentPage);
-		page.setPageSize(pageSize);
-		try {
-			con = dataSource.getConnection();
-			con.setAutoCommit(true);
-			boolean showSql = isShowSql();
-			SQLDialect dialect = getSQLDialect(dataSource);
-			Paging.initCountEnv(dialect);// 初始化Paging的计数查询SQL解析环境
-			NamedSQL namedSQL = parse(dsql, params);// 假设存在#[page(……)]，尝试解析COUNT查询SQL
-			Script<List<Object>> sql;
-			String id = namedSQL.getId();
-			SQLMetaData sqlMetaData;
-			if (Paging.isCounted()) {// 已被Paging解析为COUNT查询SQL
-				sql = toJDBC(namedSQL.getScript(), namedSQL.getParams());
-				Long total = JDBCExecuteUtils.execute(con, LongResultSQLExecuter.getInstance(), id, sql.getValue(),
-						sql.getParams(), showSql);
-				page.setTotal(total);
-				if (total != null && total > 0) {
-					page.setTotalPage(total % pageSize == 0 ? total / pageSize : total / pageSize + 1);
-					Paging.initPageEnv(dialect, con, page);// 初始化Paging的分页查询SQL解析环境
-					namedSQL = parse(dsql, params);// 解析分页查询SQL
-					sql = toJDBC(namedSQL.getScript(), namedSQL.getParams());
-					page.setRows(JDBCExecuteUtils.execute(con, new SelectSQLExecuter<T>(type), id, sql.getValue(),
-							sql.getParams(), showSql));
-				} else {
-					page.setTotalPage(0L);
-				}
-			} else {// 重新按普通场景解析
-				namedSQL = parse(dsql, params);
-				String script = namedSQL.getScript();
-				sqlMetaData = SQLUtils.getSQLMetaData(script);
-				Map<String, Object> usedParams = namedSQL.getParams();
-				sql = toJDBC(dialect.countSql(script, sqlMetaData), usedParams);
-				Long total = JDBCExecuteUtils.execute(con, LongResultSQLExecuter.getInstance(), id, sql.getValue(),
-						sql.getParams(), showSql);
-				page.setTotal(total);
-				if (total != null && total > 0) {
-					page.setTotalPage(total % pageSize == 0 ? total / pageSize : total / pageSize + 1);
-					sql = toJDBC(dialect.pageSql(con, script, usedParams, sqlMetaData, pageSize, currentPage),
-							usedParams);
-					page.setRows(JDBCExecuteUtils.execute(con, new SelectSQLExecuter<T>(type), id, sql.getValue(),
-							sql.getParams(), showSql));
-				} else {
-					page.setTotalPage(0L);
-				}
-			}
-		} catch (SQLException e) {
-			throw new SQLExecutorException(e);
-		} finally {
-			Paging.clear();
-			JDBCUtils.close(con);
-		}
-		return page;
+		return page(dataSource, type, dsql, null, currentPage, pageSize, ParamsUtils.toMap(params),
+				sql -> parse(sql, params));
 	}
 
 	@Override
@@ -657,50 +1090,8 @@ public abstract class AbstractDao implements Dao {
 	@Override
 	public <T> Page<T> page(DataSource dataSource, Class<T> type, String dsql, String cntDsql, long currentPage,
 			int pageSize, Object... params) {
-		Connection con = null;
-		Page<T> page = new Page<T>();
-		page.setCurrentPage(currentPage);
-		page.setPageSize(pageSize);
-		try {
-			con = dataSource.getConnection();
-			con.setAutoCommit(true);
-			boolean showSql = isShowSql();
-			SQLDialect dialect = getSQLDialect(dataSource);
-			Paging.initCountEnv(dialect);// 初始化Paging的计数查询SQL解析环境
-			NamedSQL countNamedSQL = parse(cntDsql, params);
-			Script<List<Object>> sql;
-			if (Paging.isCounted()) {
-				sql = toJDBC(countNamedSQL.getScript(), countNamedSQL.getParams());
-			} else {
-				String script = countNamedSQL.getScript();
-				sql = toJDBC(dialect.countSql(script, SQLUtils.getSQLMetaData(script)), countNamedSQL.getParams());
-			}
-			Long total = JDBCExecuteUtils.execute(con, LongResultSQLExecuter.getInstance(), countNamedSQL.getId(),
-					sql.getValue(), sql.getParams(), showSql);
-			page.setTotal(total);
-			if (total != null && total > 0) {
-				page.setTotalPage(total % pageSize == 0 ? total / pageSize : total / pageSize + 1);
-				Paging.initPageEnv(dialect, con, page);// 初始化Paging的分页查询SQL解析环境
-				NamedSQL namedSQL = parse(dsql, params);// 假设存在#[page(……)]，尝试解析分页查询SQL
-				if (Paging.isPaged()) {// DSL已被Paging解析为分页查询SQL
-					sql = toJDBC(namedSQL.getScript(), namedSQL.getParams());
-				} else {
-					String script = namedSQL.getScript();
-					sql = toJDBC(dialect.pageSql(con, script, namedSQL.getParams(), SQLUtils.getSQLMetaData(script),
-							pageSize, currentPage), namedSQL.getParams());
-				}
-				page.setRows(JDBCExecuteUtils.execute(con, new SelectSQLExecuter<T>(type), namedSQL.getId(),
-						sql.getValue(), sql.getParams(), showSql));
-			} else {
-				page.setTotalPage(0L);
-			}
-		} catch (SQLException e) {
-			throw new SQLExecutorException(e);
-		} finally {
-			Paging.clear();
-			JDBCUtils.close(con);
-		}
-		return page;
+		return page(dataSource, type, dsql, cntDsql, currentPage, pageSize, ParamsUtils.toMap(params),
+				sql -> parse(sql, params));
 	}
 
 	@Override
@@ -711,60 +1102,7 @@ public abstract class AbstractDao implements Dao {
 	@Override
 	public <T> Page<T> page(DataSource dataSource, Class<T> type, String dsql, long currentPage, int pageSize,
 			Object params) {
-		Connection con = null;
-		Page<T> page = new Page<T>();
-		page.setCurrentPage(currentPage);
-		page.setPageSize(pageSize);
-		try {
-			con = dataSource.getConnection();
-			con.setAutoCommit(true);
-			boolean showSql = isShowSql();
-			SQLDialect dialect = getSQLDialect(dataSource);
-			Paging.initCountEnv(dialect);// 初始化Paging的计数查询SQL解析环境
-			NamedSQL namedSQL = parse(dsql, params);// 假设存在#[page(……)]，尝试解析COUNT查询SQL
-			Script<List<Object>> sql;
-			String id = namedSQL.getId();
-			SQLMetaData sqlMetaData;
-			if (Paging.isCounted()) {// 已被Paging解析为COUNT查询SQL
-				sql = toJDBC(namedSQL.getScript(), namedSQL.getParams());
-				Long total = JDBCExecuteUtils.execute(con, LongResultSQLExecuter.getInstance(), id, sql.getValue(),
-						sql.getParams(), showSql);
-				page.setTotal(total);
-				if (total == null || total <= 0) {
-					page.setTotalPage(0L);
-				} else {
-					page.setTotalPage(total % pageSize == 0 ? total / pageSize : total / pageSize + 1);
-					Paging.initPageEnv(dialect, con, page);// 初始化Paging的分页查询SQL解析环境
-					namedSQL = parse(dsql, params);// 解析分页查询SQL
-					sql = toJDBC(namedSQL.getScript(), namedSQL.getParams());
-					page.setRows(JDBCExecuteUtils.execute(con, new SelectSQLExecuter<T>(type), id, sql.getValue(),
-							sql.getParams(), showSql));
-				}
-			} else {
-				String script = namedSQL.getScript();
-				sqlMetaData = SQLUtils.getSQLMetaData(script);
-				Map<String, Object> usedParams = namedSQL.getParams();
-				sql = toJDBC(dialect.countSql(script, sqlMetaData), usedParams);
-				Long total = JDBCExecuteUtils.execute(con, LongResultSQLExecuter.getInstance(), id, sql.getValue(),
-						sql.getParams(), showSql);
-				page.setTotal(total);
-				if (total == null || total <= 0) {
-					page.setTotalPage(0L);
-				} else {
-					page.setTotalPage(total % pageSize == 0 ? total / pageSize : total / pageSize + 1);
-					sql = toJDBC(dialect.pageSql(con, script, usedParams, sqlMetaData, pageSize, currentPage),
-							usedParams);
-					page.setRows(JDBCExecuteUtils.execute(con, new SelectSQLExecuter<T>(type), id, sql.getValue(),
-							sql.getParams(), showSql));
-				}
-			}
-		} catch (SQLException e) {
-			throw new SQLExecutorException(e);
-		} finally {
-			Paging.clear();
-			JDBCUtils.close(con);
-		}
-		return page;
+		return page(dataSource, type, dsql, null, currentPage, pageSize, toMap(params), sql -> parse(sql, params));
 	}
 
 	@Override
@@ -775,90 +1113,120 @@ public abstract class AbstractDao implements Dao {
 	@Override
 	public <T> Page<T> page(DataSource dataSource, Class<T> type, String dsql, String cntDsql, long currentPage,
 			int pageSize, Object params) {
-		Connection con = null;
-		Page<T> page = new Page<T>();
-		page.setCurrentPage(currentPage);
-		page.setPageSize(pageSize);
-		try {
-			con = dataSource.getConnection();
-			con.setAutoCommit(true);
-			boolean showSql = isShowSql();
-			SQLDialect dialect = getSQLDialect(dataSource);
-			Paging.initCountEnv(dialect);// 初始化Paging的计数查询SQL解析环境
-			NamedSQL countNamedSQL = parse(cntDsql, params);
-			Script<List<Object>> sql;
-			if (Paging.isCounted()) {
-				sql = toJDBC(countNamedSQL.getScript(), countNamedSQL.getParams());
-			} else {
-				String script = countNamedSQL.getScript();
-				sql = toJDBC(dialect.countSql(script, SQLUtils.getSQLMetaData(script)), countNamedSQL.getParams());
-			}
-			Long total = JDBCExecuteUtils.execute(con, LongResultSQLExecuter.getInstance(), countNamedSQL.getId(),
-					sql.getValue(), sql.getParams(), showSql);
-			page.setTotal(total);
-			if (total != null && total > 0) {
-				page.setTotalPage(total % pageSize == 0 ? total / pageSize : total / pageSize + 1);
-				Paging.initPageEnv(dialect, con, page);// 初始化Paging的分页查询SQL解析环境
-				NamedSQL namedSQL = parse(dsql, params);// 假设存在#[page(……)]，尝试解析分页查询SQL
-				if (Paging.isPaged()) {// DSL已被Paging解析为分页查询SQL
-					sql = toJDBC(namedSQL.getScript(), namedSQL.getParams());
-				} else {
-					String script = namedSQL.getScript();
-					sql = toJDBC(dialect.pageSql(con, script, namedSQL.getParams(), SQLUtils.getSQLMetaData(script),
-							pageSize, currentPage), namedSQL.getParams());
-				}
-				page.setRows(JDBCExecuteUtils.execute(con, new SelectSQLExecuter<T>(type), namedSQL.getId(),
-						sql.getValue(), sql.getParams(), showSql));
-			} else {
-				page.setTotalPage(0L);
-			}
-		} catch (SQLException e) {
-			throw new SQLExecutorException(e);
-		} finally {
-			Paging.clear();
-			JDBCUtils.close(con);
-		}
-		return page;
+		return page(dataSource, type, dsql, cntDsql, currentPage, pageSize, toMap(params),
+				sql -> parse(sql, params));
+	}
+
+	@Override
+	public <T> Page<T> pageWithoutCount(Class<T> type, String dsql, long currentPage, int pageSize, Object... params) {
+		return pageWithoutCount(getDefaultDataSource(), type, dsql, currentPage, pageSize, params);
+	}
+
+	@Override
+	public <T> Page<T> pageWithoutCount(DataSource dataSource, Class<T> type, String dsql, long currentPage,
+			int pageSize, Object... params) {
+		return pageWithoutCount(dataSource, type, dsql, currentPage, pageSize, sql -> parse(sql, params));
+	}
+
+	@Override
+	public <T> Page<T> pageWithoutCount(Class<T> type, String dsql, long currentPage, int pageSize, Object params) {
+		return pageWithoutCount(getDefaultDataSource(), type, dsql, currentPage, pageSize, params);
+	}
+
+	@Override
+	public <T> Page<T> pageWithoutCount(DataSource dataSource, Class<T> type, String dsql, long currentPage,
+			int pageSize, Object params) {
+		return pageWithoutCount(dataSource, type, dsql, currentPage, pageSize, sql -> parse(sql, params));
+	}
+
+	@Override
+	public <T> Page<T> pageWithWindowCount(Class<T> type, String dsql, long currentPage, int pageSize,
+			Object... params) {
+		return pageWithWindowCount(getDefaultDataSource(), type, dsql, currentPage, pageSize, params);
+	}
+
+	@Override
+	public <T> Page<T> pageWithWindowCount(DataSource dataSource, Class<T> type, String dsql, long currentPage,
+			int pageSize, Object... params) {
+		return pageWithWindowCount(dataSource, type, dsql, currentPage, pageSize, sql -> parse(sql, params));
+	}
+
+	@Override
+	public <T> Page<T> pageWithWindowCount(Class<T> type, String dsql, long currentPage, int pageSize,
+			Object params) {
+		return pageWithWindowCount(getDefaultDataSource(), type, dsql, currentPage, pageSize, params);
+	}
+
+	@Override
+	public <T> Page<T> pageWithWindowCount(DataSource dataSource, Class<T> type, String dsql, long currentPage,
+			int pageSize, Object params) {
+		return pageWithWindowCount(dataSource, type, dsql, currentPage, pageSize, sql -> parse(sql, params));
+	}
+
+	@Override
+	public <T> KeysetPage<T> seek(Class<T> type, String dsql, String[] orderKeys, String lastKey, int pageSize,
+			Object... params) {
+		return seek(getDefaultDataSource(), type, dsql, orderKeys, lastKey, pageSize, params);
+	}
+
+	@Override
+	public <T> KeysetPage<T> seek(DataSource dataSource, Class<T> type, String dsql, String[] orderKeys,
+			String lastKey, int pageSize, Object... params) {
+		return seek(dataSource, type, parse(dsql, params), orderKeys, lastKey, pageSize);
+	}
+
+	@Override
+	public <T> KeysetPage<T> seek(Class<T> type, String dsql, String[] orderKeys, String lastKey, int pageSize,
+			Object params) {
+		return seek(getDefaultDataSource(), type, dsql, orderKeys, lastKey, pageSize, params);
+	}
+
+	@Override
+	public <T> KeysetPage<T> seek(DataSource dataSource, Class<T> type, String dsql, String[] orderKeys,
+			String lastKey, int pageSize, Object params) {
+		return seek(dataSource, type, parse(dsql, params), orderKeys, lastKey, pageSize);
 	}
 
 	@Override
 	public boolean execute(String dsql, Object... params) {
-		return execute(getDefaultDataSource(), parse(dsql, params));
+		return execute(getDefaultDataSource(), toJDBCSQL(dsql, params));
 	}
 
 	@Override
 	public boolean execute(DataSource dataSource, String dsql, Object... params) {
-		return execute(dataSource, parse(dsql, params));
+		return execute(dataSource, toJDBCSQL(dsql, params));
 	}
 
 	@Override
 	public boolean execute(String dsql, Object params) {
-		return execute(getDefaultDataSource(), parse(dsql, params));
+		return execute(getDefaultDataSource(), toJDBCSQL(dsql, params));
 	}
 
 	@Override
 	public boolean execute(DataSource dataSource, String dsql, Object params) {
-		return execute(dataSource, parse(dsql, params));
+		return execute(dataSource, toJDBCSQL(dsql, params));
 	}
 
 	@Override
 	public int executeUpdate(String dsql, Object... params) {
-		return executeUpdate(getDefaultDataSource(), parse(dsql, params));
+		DataSource dataSource = getDefaultDataSource();
+		return executeUpdate(dataSource, toJDBCSQLs(dataSource, dsql, params));
 	}
 
 	@Override
 	public int executeUpdate(DataSource dataSource, String dsql, Object... params) {
-		return executeUpdate(dataSource, parse(dsql, params));
+		return executeUpdate(dataSource, toJDBCSQLs(dataSource, dsql, params));
 	}
 
 	@Override
 	public int executeUpdate(String dsql, Object params) {
-		return executeUpdate(getDefaultDataSource(), parse(dsql, params));
+		DataSource dataSource = getDefaultDataSource();
+		return executeUpdate(dataSource, toJDBCSQLs(dataSource, dsql, params));
 	}
 
 	@Override
 	public int executeUpdate(DataSource dataSource, String dsql, Object params) {
-		return executeUpdate(dataSource, parse(dsql, params));
+		return executeUpdate(dataSource, toJDBCSQLs(dataSource, dsql, params));
 	}
 
 	@Override
@@ -873,7 +1241,8 @@ public abstract class AbstractDao implements Dao {
 			con = dataSource.getConnection();
 			con.setAutoCommit(false);
 			CurrentConnectionHolder.set(con);
-			transaction.execute(new TransactionExecutor(isShowSql(), getDSQLFactory(), getSQLDialect(dataSource)));
+			transaction.execute(new TransactionExecutor(isShowSql(), getDSQLFactory(), getSQLDialect(dataSource),
+					getDefaultFetchSize(), getDSQLPlanCache(), isInListPadding()));
 			con.commit();
 		} catch (Exception e) {
 			try {
@@ -901,12 +1270,76 @@ public abstract class AbstractDao implements Dao {
 		return getDSQLFactory().parse(dsql, params);
 	}
 
-	private Script<List<Object>> toJDBC(NamedSQL namedSQL) {
-		return getDSQLFactory().toJDBC(namedSQL);
+	private JDBCSQL toJDBCSQL(String dsql, Object... params) {
+		DSQLPlanCache dsqlPlanCache = getDSQLPlanCache();
+		Map<String, Object> map = dsqlPlanCache == null ? null : ParamsUtils.toMap(params);
+		if (map == null) {
+			return DSQLPlanCache.toJDBC(getDSQLFactory(), parse(dsql, params), isInListPadding());
+		}
+		return dsqlPlanCache.toJDBC(getDSQLFactory(), dsql, map, isInListPadding());
+	}
+
+	@SuppressWarnings("unchecked")
+	private JDBCSQL toJDBCSQL(String dsql, Object params) {
+		DSQLPlanCache dsqlPlanCache = getDSQLPlanCache();
+		if (dsqlPlanCache == null || !(params instanceof Map)) {
+			return DSQLPlanCache.toJDBC(getDSQLFactory(), parse(dsql, params), isInListPadding());
+		}
+		return dsqlPlanCache.toJDBC(getDSQLFactory(), dsql, (Map<String, ?>) params, isInListPadding());
+	}
+
+	private List<JDBCSQL> toJDBCSQLs(DataSource dataSource, String dsql, Object... params) {
+		return toJDBCSQLs(dataSource, toJDBCSQL(dsql, params), () -> parse(dsql, params));
+	}
+
+	private List<JDBCSQL> toJDBCSQLs(DataSource dataSource, String dsql, Object params) {
+		return toJDBCSQLs(dataSource, toJDBCSQL(dsql, params), () -> parse(dsql, params));
+	}
+
+	/**
+	 * 参数个数超过方言允许的上限时，重新解析DSQL并按 {@code IN} 列表参数拆分
+	 */
+	private List<JDBCSQL> toJDBCSQLs(DataSource dataSource, JDBCSQL sql, Supplier<NamedSQL> parser) {
+		int maxParameters = getSQLDialect(dataSource).getMaxParameters();
+		if (!isInListPadding() || sql.getParams() == null || sql.getParams().size() <= maxParameters) {
+			return Collections.singletonList(sql);
+		}
+		NamedSQL namedSQL = parser.get();
+		return ParamsUtils.splitInList(sql, namedSQL.getScript(), namedSQL.getParams(), maxParameters,
+				chunkParams -> DSQLPlanCache.toJDBC(getDSQLFactory(), namedSQL.getId(), namedSQL.getScript(),
+						chunkParams));
 	}
 
-	private Script<List<Object>> toJDBC(String namedscript, Map<String, ?> params) {
-		return getDSQLFactory().toJDBC(namedscript, params);
+	@SuppressWarnings("unchecked")
+	private static Map<String, ?> toMap(Object params) {
+		return params instanceof Map ? (Map<String, ?>) params : null;
+	}
+
+	/**
+	 * 获取DSQL执行计划缓存
+	 * 
+	 * @return 返回DSQL执行计划缓存。未启用时返回 {@code null}
+	 */
+	DSQLPlanCache getDSQLPlanCache() {
+		int size = getDSQLPlanCacheSize();
+		String ids = getDSQLPlanCacheIds();
+		if (size <= 0 || StringUtils.isBlank(ids)) {
+			return null;
+		}
+		if (dsqlPlanCache == null) {
+			synchronized (this) {
+				if (dsqlPlanCache == null) {
+					Set<String> idSet = new HashSet<String>();
+					for (String id : ids.split(",")) {
+						if (!(id = id.trim()).isEmpty()) {
+							idSet.add(id);
+						}
+					}
+					dsqlPlanCache = new DSQLPlanCache(size, idSet);
+				}
+			}
+		}
+		return dsqlPlanCache;
 	}
 
 	private <T> T execute(DataSource dataSource, Object obj, DMLParser dmlParser, SQLExecuter<T> sqlExecuter) {
@@ -952,7 +1385,136 @@ public abstract class AbstractDao implements Dao {
 
 	private <T> void executeBatch(DataSource dataSource, List<T> rows, DMLParser dmlParser, int batchSize) {
 		DML dml = dmlParser.parse(rows.get(0).getClass());
-		JDBCExecuteUtils.executeBatch(dataSource, dml.getSql(), rows, dml.getFields(), batchSize, isShowSql());
+		batch(dataSource, rows, batchSize, (part, batchSizeController) -> JDBCExecuteUtils.executeBatch(dataSource,
+				dml.getSql(), part, dml.getFields(), batchSizeController, isShowSql()));
+	}
+
+	private <T> void saveBatch(DataSource dataSource, List<T> rows, MergeSQL mergeSql, int batchSize) {
+		batch(dataSource, rows, batchSize, (part, batchSizeController) -> JDBCExecuteUtils.saveBatch(dataSource,
+				mergeSql, part, batchSizeController, isShowSql()));
+	}
+
+	private <T> BatchResult<T> checkpointBatch(DataSource dataSource, List<T> rows, int offset, int batchSize,
+			Function<Class<?>, DML> dmlResolver) {
+		if (offset >= rows.size()) {
+			return new BatchResult<T>(offset, Math.floorDiv(offset - 1, batchSize));
+		}
+		DML dml = dmlResolver.apply(rows.get(0).getClass());
+		return JDBCExecuteUtils.checkpointBatch(dataSource, dml.getSql(), rows, dml.getFields(), offset, batchSize,
+				isShowSql());
+	}
+
+	private static DML toDML(MergeSQL mergeSql) {
+		List<FieldMeta> fieldMetas = mergeSql.getFieldMetas();
+		List<Field> fields = new ArrayList<Field>(fieldMetas.size());
+		for (int i = 0, size = fieldMetas.size(); i < size; i++) {
+			fields.add(fieldMetas.get(i).getField());
+		}
+		return toDML(mergeSql.getScript(), fields);
+	}
+
+	private static DML toDML(String sql, List<Field> fields) {
+		DML dml = new DML();
+		dml.setSql(sql);
+		dml.setFields(fields);
+		return dml;
+	}
+
+	/**
+	 * 执行批处理。批处理并行度大于1时，拆分为多个分区并行执行，各分区共用同一批容量控制器；并行度不超过数据源连接池的最大连接数
+	 * 
+	 * @param dataSource
+	 *            数据源
+	 * @param rows
+	 *            实体对象列表
+	 * @param batchSize
+	 *            批容量。启用自适应批容量时，仅作为数据源及实体类的初始批容量
+	 * @param batch
+	 *            批处理，参数为分区的实体对象列表及批容量控制器
+	 */
+	private <T> void batch(DataSource dataSource, List<T> rows, int batchSize,
+			BiConsumer<List<T>, BatchSizeController> batch) {
+		BatchSizeController batchSizeController = getBatchSizeController(dataSource, rows.get(0).getClass(),
+				batchSize);
+		int parallelism = ParallelBatchUtils.getParallelism(dataSource, getBatchParallelism());
+		ParallelBatchUtils.execute(rows, batchSizeController.getBatchSize(), parallelism, isBatchPartitionById(),
+				parallelism > 1 ? getBatchExecutor() : null, part -> batch.accept(part, batchSizeController));
+	}
+
+	/**
+	 * 按块读取实体对象迭代器，每块使用实体对象列表的批处理方法执行，因此同样支持多行插入、批量装载器及并行批处理。
+	 * 块容量为批容量与批处理并行度之积，内存中最多只保留一块实体对象
+	 * 
+	 * @param dataSource
+	 *            数据源
+	 * @param rows
+	 *            实体对象迭代器
+	 * @param batchSize
+	 *            批容量。启用自适应批容量时，仅作为数据源及实体类的初始批容量，块容量使用每块开始时的批容量计算
+	 * @param batch
+	 *            实体对象列表的批处理，参数为一块实体对象
+	 * @return 返回执行的实体对象数
+	 */
+	private <T> long batch(DataSource dataSource, Iterator<T> rows, int batchSize, Consumer<List<T>> batch) {
+		int parallelism = Math.max(getBatchParallelism(), 1), chunkSize = 0;
+		List<T> chunk = new ArrayList<T>();
+		long count = 0;
+		while (rows.hasNext()) {
+			T row = rows.next();
+			if (chunk.isEmpty()) {
+				chunkSize = getBatchSizeController(dataSource, row.getClass(), batchSize).getBatchSize() * parallelism;
+			}
+			chunk.add(row);
+			if (chunk.size() >= chunkSize || !rows.hasNext()) {
+				batch.accept(chunk);
+				count += chunk.size();
+				chunk.clear();
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * 获取并行批处理线程池。调用方提供了线程池时返回该线程池，否则返回内置线程池，其线程数为批处理并行度减1
+	 * 
+	 * @return 返回并行批处理线程池
+	 */
+	private ExecutorService getBatchExecutor() {
+		ExecutorService executor = batchExecutor;
+		if (executor != null) {
+			return executor;
+		}
+		executor = defaultBatchExecutor;
+		if (executor == null) {
+			synchronized (this) {
+				executor = defaultBatchExecutor;
+				if (executor == null) {
+					defaultBatchExecutor = executor = ParallelBatchUtils.newExecutor(getBatchParallelism());
+				}
+			}
+		}
+		return executor;
+	}
+
+	/**
+	 * 获取批容量控制器。未启用自适应批容量时，返回指定批容量的固定控制器；否则返回数据源及实体类共用的自适应控制器，
+	 * 首次获取时使用指定批容量作为初始批容量
+	 * 
+	 * @param dataSource
+	 *            数据源
+	 * @param type
+	 *            实体类
+	 * @param batchSize
+	 *            批容量
+	 * @return 返回批容量控制器
+	 */
+	private BatchSizeController getBatchSizeController(DataSource dataSource, Class<?> type, int batchSize) {
+		long targetMillis = getBatchTargetMillis();
+		if (targetMillis <= 0) {
+			return new BatchSizeController(batchSize);
+		}
+		return BATCH_SIZE_CONTROLLERS.computeIfAbsent(dataSource, key -> new ConcurrentHashMap<>()).computeIfAbsent(
+				type, key -> new BatchSizeController(batchSize, getMinBatchSize(), getMaxBatchSize(), targetMillis));
 	}
 
 	private static <T> int update(DataSource dataSource, boolean showSql, List<T> rows, UpdateSQL updateSQL) {
@@ -979,8 +1541,9 @@ public abstract class AbstractDao implements Dao {
 		if (CollectionUtils.isEmpty(rows)) {
 			return;
 		}
-		JDBCExecuteUtils.updateBatch(dataSource, getSQLDialect(dataSource).update(rows.get(0).getClass(), hardFields),
-				rows, batchSize, isShowSql());
+		UpdateSQL updateSQL = getSQLDialect(dataSource).update(rows.get(0).getClass(), hardFields);
+		batch(dataSource, rows, batchSize, (part, batchSizeController) -> JDBCExecuteUtils.updateBatch(dataSource,
+				updateSQL, part, batchSizeController, isShowSql()));
 	}
 
 	private static <T> int save(DataSource dataSource, boolean showSql, List<T> rows, MergeSQL mergeSql) {
@@ -1003,25 +1566,281 @@ public abstract class AbstractDao implements Dao {
 		}
 	}
 
-	private <T> T get(DataSource dataSource, NamedSQL namedSQL, Class<T> type) {
-		return execute(dataSource, namedSQL, new GetSQLExecuter<T>(type));
+	/**
+	 * 分页查询。启用DSQL执行计划缓存且查询参数为键值对时，相同DSQL、参数形态、方言的后续分页查询直接使用缓存的计数查询和分页查询SQL，不再解析DSQL
+	 */
+	private <T> Page<T> page(DataSource dataSource, Class<T> type, String dsql, String cntDsql, long currentPage,
+			int pageSize, Map<String, ?> planParams, Function<String, NamedSQL> parser) {
+		Connection con = null;
+		Page<T> page = new Page<T>();
+		page.setCurrentPage(currentPage);
+		page.setPageSize(pageSize);
+		try {
+			con = dataSource.getConnection();
+			con.setAutoCommit(true);
+			boolean showSql = isShowSql();
+			SQLDialect dialect = getSQLDialect(dataSource);
+			DSQLPlanCache dsqlPlanCache = planParams == null ? null : getDSQLPlanCache();
+			PagePlan plan = dsqlPlanCache == null ? null
+					: dsqlPlanCache.getPagePlan(dialect, dsql, cntDsql, planParams, currentPage);
+			PageSQLParser pageSQLParser = null;
+			JDBCSQL countSQL;
+			if (plan == null) {
+				pageSQLParser = new PageSQLParser(getDSQLFactory(), dialect, dsql, cntDsql, parser);
+				countSQL = pageSQLParser.countSQL();
+			} else {
+				countSQL = plan.countSQL(planParams);
+			}
+			Long total = JDBCExecuteUtils.execute(con, LongResultSQLExecuter.getInstance(), countSQL.getId(),
+					countSQL.getSql(), countSQL.getParams(), showSql);
+			page.setTotal(total);
+			if (total != null && total > 0) {
+				page.setTotalPage(total % pageSize == 0 ? total / pageSize : total / pageSize + 1);
+				page.setHasNext(currentPage < page.getTotalPage());
+				JDBCSQL sql = plan == null ? pageSQLParser.pageSQL(con, page)
+						: plan.pageSQL(planParams, pageSize, currentPage);
+				page.setRows(JDBCExecuteUtils.execute(con, new SelectSQLExecuter<T>(type), sql.getId(), sql.getSql(),
+						sql.getParams(), showSql));
+				if (plan == null && dsqlPlanCache != null) {
+					dsqlPlanCache.cachePagePlan(dialect, dsql, cntDsql, planParams, page, countSQL, sql, con,
+							probes -> new PageSQLParser(getDSQLFactory(), dialect, dsql, cntDsql,
+									probeDsql -> getDSQLFactory().parse(probeDsql, probes)));
+				}
+			} else {
+				page.setTotalPage(0L);
+			}
+		} catch (SQLException e) {
+			throw new SQLExecutorException(e);
+		} finally {
+			Paging.clear();
+			JDBCUtils.close(con);
+		}
+		return page;
 	}
 
-	private <T> T execute(DataSource dataSource, NamedSQL namedSQL, SQLExecuter<T> sqlExecuter) {
-		Script<List<Object>> sql = toJDBC(namedSQL);
-		return execute(dataSource, namedSQL.getId(), sql.getValue(), sql.getParams(), sqlExecuter);
+	/**
+	 * 不计数分页查询。从当前页第一行开始查询页容量加1行，多出的一行不返回，仅用于判断是否存在下一页；SQL方言无法按偏移量分页时，
+	 * 则查询当前页后再查询下一页的第一行
+	 */
+	private <T> Page<T> pageWithoutCount(DataSource dataSource, Class<T> type, String dsql, long currentPage,
+			int pageSize, Function<String, NamedSQL> parser) {
+		Connection con = null;
+		Page<T> page = new Page<T>(currentPage, pageSize);
+		page.setTotalUnknown(true);
+		try {
+			con = dataSource.getConnection();
+			con.setAutoCommit(true);
+			boolean showSql = isShowSql();
+			PageSQLParser pageSQLParser = new PageSQLParser(getDSQLFactory(), getSQLDialect(dataSource), dsql, null,
+					parser);
+			JDBCSQL sql = pageSQLParser.pageSQL(con, page, true);
+			List<T> rows = JDBCExecuteUtils.execute(con, new SelectSQLExecuter<T>(type), sql.getId(), sql.getSql(),
+					sql.getParams(), showSql);
+			if (pageSQLParser.isProbed()) {
+				if (rows.size() > pageSize) {
+					page.setHasNext(true);
+					rows.remove(pageSize);
+				}
+			} else if (rows.size() >= pageSize) {// 下一页的第一行，即第 currentPage * pageSize + 1 行
+				sql = pageSQLParser.pageSQL(con, new Page<T>(currentPage * pageSize + 1, 1));
+				page.setHasNext(!JDBCExecuteUtils.execute(con, new SelectSQLExecuter<T>(type), sql.getId(),
+						sql.getSql(), sql.getParams(), showSql).isEmpty());
+			}
+			page.setRows(rows);
+		} catch (SQLException e) {
+			throw new SQLExecutorException(e);
+		} finally {
+			Paging.clear();
+			JDBCUtils.close(con);
+		}
+		return page;
 	}
 
-	private <T> List<T> select(DataSource dataSource, NamedSQL namedSQL, Class<T> type) {
-		return execute(dataSource, namedSQL, new SelectSQLExecuter<T>(type));
+	/**
+	 * 窗口函数分页查询。使用窗口函数在分页查询的每一行附加总记录数，一次查询同时得到记录和总记录数；无法使用窗口函数或当前页没有记录时，
+	 * 回退为先计数再分页查询
+	 */
+	private <T> Page<T> pageWithWindowCount(DataSource dataSource, Class<T> type, String dsql, long currentPage,
+			int pageSize, Function<String, NamedSQL> parser) {
+		Connection con = null;
+		Page<T> page = new Page<T>(currentPage, pageSize);
+		try {
+			con = dataSource.getConnection();
+			con.setAutoCommit(true);
+			boolean showSql = isShowSql();
+			PageSQLParser pageSQLParser = new PageSQLParser(getDSQLFactory(), getSQLDialect(dataSource), dsql, null,
+					parser);
+			JDBCSQL sql = pageSQLParser.windowPageSQL(con, page);
+			Long total = null;
+			if (sql != null) {
+				WindowPageSQLExecuter<T> sqlExecuter = new WindowPageSQLExecuter<T>(type,
+						SQLDialect.WINDOW_TOTAL_LABEL);
+				page.setRows(
+						JDBCExecuteUtils.execute(con, sqlExecuter, sql.getId(), sql.getSql(), sql.getParams(), showSql));
+				total = sqlExecuter.getTotal();
+			}
+			if (total == null) {// 回退为执行计数查询
+				JDBCSQL countSQL = pageSQLParser.countSQL();
+				total = JDBCExecuteUtils.execute(con, LongResultSQLExecuter.getInstance(), countSQL.getId(),
+						countSQL.getSql(), countSQL.getParams(), showSql);
+				if (sql == null && total != null && total > 0) {
+					sql = pageSQLParser.pageSQL(con, page);
+					page.setRows(JDBCExecuteUtils.execute(con, new SelectSQLExecuter<T>(type), sql.getId(),
+							sql.getSql(), sql.getParams(), showSql));
+				}
+			}
+			page.setTotal(total);
+			if (total != null && total > 0) {
+				page.setTotalPage(total % pageSize == 0 ? total / pageSize : total / pageSize + 1);
+				page.setHasNext(currentPage < page.getTotalPage());
+			} else {
+				page.setTotalPage(0L);
+			}
+		} catch (SQLException e) {
+			throw new SQLExecutorException(e);
+		} finally {
+			Paging.clear();
+			JDBCUtils.close(con);
+		}
+		return page;
+	}
+
+	private <T> KeysetPage<T> seek(DataSource dataSource, Class<T> type, NamedSQL namedSQL, String[] orderKeys,
+			String lastKey, int pageSize) {
+		Map<String, Object> params = new HashMap<String, Object>();
+		if (namedSQL.getParams() != null) {
+			params.putAll(namedSQL.getParams());
+		}
+		String[] keyColumns = new String[orderKeys.length], keyParamNames = null;
+		for (int i = 0; i < orderKeys.length; i++) {
+			keyColumns[i] = KeysetUtils.getColumn(orderKeys[i]);
+		}
+		if (lastKey != null) {
+			Object[] keys = KeysetUtils.decode(lastKey);
+			if (keys.length != orderKeys.length) {
+				throw new ConvertException("The keyset token does not match the order keys: ".concat(lastKey));
+			}
+			keyParamNames = new String[keys.length];
+			for (int i = 0; i < keys.length; i++) {
+				keyParamNames[i] = SEEK_KEY_PARAM_PREFIX.concat(String.valueOf(i));
+				params.put(keyParamNames[i], keys[i]);
+			}
+		}
+		String namedscript = getSQLDialect(dataSource).seekSql(namedSQL.getScript(), orderKeys, keyParamNames,
+				pageSize + 1);// 多查询一行，用于判断是否存在下一页
+		Script<List<Object>> sql = getDSQLFactory().toJDBC(namedscript, params);
+		SeekSQLExecuter<T> sqlExecuter = new SeekSQLExecuter<T>(type, keyColumns, pageSize);
+		KeysetPage<T> page = new KeysetPage<T>(pageSize);
+		page.setRows(execute(dataSource, namedSQL.getId(), sql.getValue(), sql.getParams(), sqlExecuter));
+		Object[] nextKeys = sqlExecuter.getNextKeys();
+		if (nextKeys != null) {
+			page.setNextKey(KeysetUtils.encode(nextKeys));
+		}
+		return page;
+	}
+
+	private <T> T get(DataSource dataSource, JDBCSQL sql, Class<T> type) {
+		return execute(dataSource, sql, new GetSQLExecuter<T>(type));
+	}
+
+	private <T> T execute(DataSource dataSource, JDBCSQL sql, SQLExecuter<T> sqlExecuter) {
+		return execute(dataSource, sql.getId(), sql.getSql(), sql.getParams(), sqlExecuter);
+	}
+
+	private <T> List<T> select(DataSource dataSource, List<JDBCSQL> sqls, Class<T> type) {
+		if (sqls.size() == 1) {
+			return select(dataSource, sqls.get(0), type);
+		}
+		List<T> rows = new ArrayList<T>();
+		for (int i = 0, size = sqls.size(); i < size; i++) {
+			rows.addAll(select(dataSource, sqls.get(i), type));
+		}
+		return rows;
+	}
+
+	private <T> List<T> select(DataSource dataSource, JDBCSQL sql, Class<T> type) {
+		return execute(dataSource, sql, new SelectSQLExecuter<T>(type));
+	}
+
+	private <T> long forEach(DataSource dataSource, List<JDBCSQL> sqls, Class<T> type, RowHandler<T> rowHandler) {
+		long count = 0;
+		for (int i = 0, size = sqls.size(); i < size; i++) {
+			count += forEach(dataSource, sqls.get(i), type, rowHandler);
+		}
+		return count;
+	}
+
+	private <T> long forEach(DataSource dataSource, JDBCSQL sql, Class<T> type, RowHandler<T> rowHandler) {
+		SQLDialect dialect = getSQLDialect(dataSource);
+		Connection con = null;
+		boolean configured = false;
+		try {
+			con = dataSource.getConnection();
+			con.setAutoCommit(true);
+			configured = dialect.configureCursorRead(con);
+			return JDBCExecuteUtils.execute(con,
+					new ForEachSQLExecuter<T>(type, rowHandler, dialect, getDefaultFetchSize(), true), sql.getId(),
+					sql.getSql(), sql.getParams(), isShowSql());
+		} catch (SQLException e) {
+			throw new SQLExecutorException(e);
+		} finally {
+			if (configured) {
+				restoreCursorRead(dialect, con);
+			}
+			JDBCUtils.close(con);
+		}
+	}
+
+	private <T> Stream<T> stream(DataSource dataSource, JDBCSQL sql, Class<T> type) {
+		SQLDialect dialect = getSQLDialect(dataSource);
+		Connection con = null;
+		boolean configured;
+		try {
+			con = dataSource.getConnection();
+			con.setAutoCommit(true);
+			configured = dialect.configureCursorRead(con);
+		} catch (SQLException e) {
+			JDBCUtils.close(con);
+			throw new SQLExecutorException(e);
+		}
+		final Connection connection = con;
+		try {
+			return JDBCExecuteUtils.iterator(con, dialect, type, sql.getId(), sql.getSql(), sql.getParams(),
+					getDefaultFetchSize(), isShowSql(), true, () -> {
+						if (configured) {
+							restoreCursorRead(dialect, connection);
+						}
+						JDBCUtils.close(connection);
+					}).stream();
+		} catch (SQLException e) {
+			throw new SQLExecutorException(e);
+		}
 	}
 
-	private boolean execute(DataSource dataSource, NamedSQL namedSQL) {
-		return execute(dataSource, namedSQL, ExecuteSQLExecuter.getInstance());
+	private static void restoreCursorRead(SQLDialect dialect, Connection con) {
+		try {
+			dialect.restoreCursorRead(con);
+		} catch (SQLException e) {
+			e.printStackTrace();
+		}
+	}
+
+	private boolean execute(DataSource dataSource, JDBCSQL sql) {
+		return execute(dataSource, sql, ExecuteSQLExecuter.getInstance());
+	}
+
+	/**
+	 * 执行拆分后的更新语句。多条语句在同一连接的同一事务中执行，任意一条失败时全部回滚
+	 */
+	private int executeUpdate(DataSource dataSource, List<JDBCSQL> sqls) {
+		if (sqls.size() == 1) {
+			return executeUpdate(dataSource, sqls.get(0));
+		}
+		return JDBCExecuteUtils.executeUpdate(dataSource, sqls, isShowSql());
 	}
 
-	private int executeUpdate(DataSource dataSource, NamedSQL namedSQL) {
-		return execute(dataSource, namedSQL, ExecuteUpdateSQLExecuter.getInstance());
+	private int executeUpdate(DataSource dataSource, JDBCSQL sql) {
+		return execute(dataSource, sql, ExecuteUpdateSQLExecuter.getInstance());
 	}
 
 }
@@ -1,5 +1,6 @@
 package cn.tenmg.sqltool.dao;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
@@ -41,6 +42,24 @@ public class BasicDao extends AbstractDao {
 
 	private int defaultBatchSize = 500;
 
+	private int defaultFetchSize = 1000;
+
+	private int batchParallelism = 1;
+
+	private boolean batchPartitionById;
+
+	private long batchTargetMillis;
+
+	private int minBatchSize = 50;
+
+	private int maxBatchSize = 10000;
+
+	private int dsqlPlanCacheSize;
+
+	private String dsqlPlanCacheIds;
+
+	private boolean inListPadding;
+
 	public void setDefaultDataSource(DataSource defaultDataSource) {
 		this.defaultDataSource = defaultDataSource;
 	}
@@ -90,6 +109,92 @@ public class BasicDao extends AbstractDao {
 		return defaultBatchSize;
 	}
 
+	public void setDefaultFetchSize(int defaultFetchSize) {
+		this.defaultFetchSize = defaultFetchSize;
+	}
+
+	@Override
+	public int getDefaultFetchSize() {
+		return defaultFetchSize;
+	}
+
+	public void setBatchParallelism(int batchParallelism) {
+		this.batchParallelism = batchParallelism;
+	}
+
+	@Override
+	public int getBatchParallelism() {
+		return batchParallelism;
+	}
+
+	public void setBatchPartitionById(boolean batchPartitionById) {
+		this.batchPartitionById = batchPartitionById;
+	}
+
+	@Override
+	public boolean isBatchPartitionById() {
+		return batchPartitionById;
+	}
+
+	public void setBatchTargetMillis(long batchTargetMillis) {
+		this.batchTargetMillis = batchTargetMillis;
+	}
+
+	@Override
+	public long getBatchTargetMillis() {
+		return batchTargetMillis;
+	}
+
+	public void setMinBatchSize(int minBatchSize) {
+		this.minBatchSize = minBatchSize;
+	}
+
+	@Override
+	public int getMinBatchSize() {
+		return minBatchSize;
+	}
+
+	public void setMaxBatchSize(int maxBatchSize) {
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	@Override
+	public int getMaxBatchSize() {
+		return maxBatchSize;
+	}
+
+	public void setDSQLPlanCacheSize(int dsqlPlanCacheSize) {
+		this.dsqlPlanCacheSize = dsqlPlanCacheSize;
+	}
+
+	@Override
+	public int getDSQLPlanCacheSize() {
+		return dsqlPlanCacheSize;
+	}
+
+	public void setDSQLPlanCacheIds(String dsqlPlanCacheIds) {
+		this.dsqlPlanCacheIds = dsqlPlanCacheIds;
+	}
+
+	@Override
+	public String getDSQLPlanCacheIds() {
+		return dsqlPlanCacheIds;
+	}
+
+	public void setInListPadding(boolean inListPadding) {
+		this.inListPadding = inListPadding;
+	}
+
+	@Override
+	public boolean isInListPadding() {
+		return inListPadding;
+	}
+
+	@Override
+	Collection<DataSource> getAllDataSources() {
+		return dataSources.values();
+	}
+
 	public BasicDao() {
 		super();
 	}
@@ -109,6 +214,15 @@ public class BasicDao extends AbstractDao {
 		}
 		this.showSql = Boolean.valueOf(properties.getProperty("sqltool.showSql", "false"));
 		this.defaultBatchSize = Integer.valueOf(properties.getProperty("sqltool.defaultBatchSize", "500"));
+		this.defaultFetchSize = Integer.valueOf(properties.getProperty("sqltool.defaultFetchSize", "1000"));
+		this.batchParallelism = Integer.valueOf(properties.getProperty("sqltool.batchParallelism", "1"));
+		this.batchPartitionById = Boolean.valueOf(properties.getProperty("sqltool.batchPartitionById", "false"));
+		this.batchTargetMillis = Long.valueOf(properties.getProperty("sqltool.batchTargetMillis", "0"));
+		this.minBatchSize = Integer.valueOf(properties.getProperty("sqltool.minBatchSize", "50"));
+		this.maxBatchSize = Integer.valueOf(properties.getProperty("sqltool.maxBatchSize", "10000"));
+		this.dsqlPlanCacheSize = Integer.valueOf(properties.getProperty("sqltool.dsqlPlanCacheSize", "0"));
+		this.dsqlPlanCacheIds = properties.getProperty("sqltool.dsqlPlanCacheIds");
+		this.inListPadding = Boolean.valueOf(properties.getProperty("sqltool.inListPadding", "false"));
 		Map<String, Properties> dataSourceConfigs = new HashMap<String, Properties>();
 		String key, name, param, firstName = null;
 		Object value;
@@ -147,21 +261,26 @@ public class BasicDao extends AbstractDao {
 			dataSourceConfig = dataSourceConfigs.get(firstName);
 		}
 		try {
+			String bulkMode = (String) dataSourceConfig.remove(BULK_MODE);
 			defaultDataSource = DataSourceFactory.createDataSource(dataSourceConfig);
 			dataSources.put(defaultName, defaultDataSource);
 			cacheSQLDialect(defaultDataSource, SQLDialectUtils.getSQLDialect(dataSourceConfig));
+			cacheBulkMode(defaultDataSource, bulkMode);
 			dataSourceConfigs.remove(defaultName);
 			DataSource dataSource;
 			for (Iterator<Entry<String, Properties>> it = dataSourceConfigs.entrySet().iterator(); it.hasNext();) {
 				Entry<String, Properties> entry = it.next();
 				dataSourceConfig = entry.getValue();
+				bulkMode = (String) dataSourceConfig.remove(BULK_MODE);
 				dataSource = DataSourceFactory.createDataSource(dataSourceConfig);
 				dataSources.put(entry.getKey(), dataSource);
 				cacheSQLDialect(dataSource, SQLDialectUtils.getSQLDialect(dataSourceConfig));
+				cacheBulkMode(dataSource, bulkMode);
 			}
 		} catch (Exception e) {
 			throw new InitializeDataSourceException("An exception occurred while initializing datasource(s)", e);
 		}
 		closeDataSourcesWhenShutdown(dataSources.values());
+		warmUp(properties);
 	}
 }
@@ -1,6 +1,7 @@
 package cn.tenmg.sqltool.dao;
 
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
@@ -54,6 +55,24 @@ public class DistributedDao extends AbstractDao implements Serializable {
 
 	private int defaultBatchSize = 500;
 
+	private int defaultFetchSize = 1000;
+
+	private int batchParallelism = 1;
+
+	private boolean batchPartitionById;
+
+	private long batchTargetMillis;
+
+	private int minBatchSize = 50;
+
+	private int maxBatchSize = 10000;
+
+	private int dsqlPlanCacheSize;
+
+	private String dsqlPlanCacheIds;
+
+	private boolean inListPadding;
+
 	private DistributedDao(Properties properties) {
 		super();
 		if (defaultDataSource != null) {
@@ -72,6 +91,15 @@ public class DistributedDao extends AbstractDao implements Serializable {
 		}
 		this.showSql = Boolean.valueOf(properties.getProperty("sqltool.showSql", "false"));
 		this.defaultBatchSize = Integer.valueOf(properties.getProperty("sqltool.defaultBatchSize", "500"));
+		this.defaultFetchSize = Integer.valueOf(properties.getProperty("sqltool.defaultFetchSize", "1000"));
+		this.batchParallelism = Integer.valueOf(properties.getProperty("sqltool.batchParallelism", "1"));
+		this.batchPartitionById = Boolean.valueOf(properties.getProperty("sqltool.batchPartitionById", "false"));
+		this.batchTargetMillis = Long.valueOf(properties.getProperty("sqltool.batchTargetMillis", "0"));
+		this.minBatchSize = Integer.valueOf(properties.getProperty("sqltool.minBatchSize", "50"));
+		this.maxBatchSize = Integer.valueOf(properties.getProperty("sqltool.maxBatchSize", "10000"));
+		this.dsqlPlanCacheSize = Integer.valueOf(properties.getProperty("sqltool.dsqlPlanCacheSize", "0"));
+		this.dsqlPlanCacheIds = properties.getProperty("sqltool.dsqlPlanCacheIds");
+		this.inListPadding = Boolean.valueOf(properties.getProperty("sqltool.inListPadding", "false"));
 	}
 
 	public static DistributedDao build(Properties properties) {
@@ -117,6 +145,59 @@ public class DistributedDao extends AbstractDao implements Serializable {
 		return defaultBatchSize;
 	}
 
+	@Override
+	int getDefaultFetchSize() {
+		return defaultFetchSize;
+	}
+
+	@Override
+	int getBatchParallelism() {
+		return batchParallelism;
+	}
+
+	@Override
+	boolean isBatchPartitionById() {
+		return batchPartitionById;
+	}
+
+	@Override
+	long getBatchTargetMillis() {
+		return batchTargetMillis;
+	}
+
+	@Override
+	int getMinBatchSize() {
+		return minBatchSize;
+	}
+
+	@Override
+	int getMaxBatchSize() {
+		return maxBatchSize;
+	}
+
+	@Override
+	int getDSQLPlanCacheSize() {
+		return dsqlPlanCacheSize;
+	}
+
+	@Override
+	String getDSQLPlanCacheIds() {
+		return dsqlPlanCacheIds;
+	}
+
+	@Override
+	boolean isInListPadding() {
+		return inListPadding;
+	}
+
+	@Override
+	Collection<DataSource> getAllDataSources() {
+		if (defaultDataSource == null) {
+			initialized(properties);
+		}
+		return dataSources.values();
+	}
+
 	/**
 	 * 初始化
 	 */
@@ -160,23 +241,28 @@ public class DistributedDao extends AbstractDao implements Serializable {
 			name = DEFAULT_NAME;
 		}
 		try {
+			String bulkMode = (String) datasourceConfig.remove(BULK_MODE);
 			defaultDataSource = DataSourceFactory.createDataSource(datasourceConfig);
 			dataSources.put(name, defaultDataSource);
 			cacheSQLDialect(defaultDataSource, SQLDialectUtils.getSQLDialect(datasourceConfig));
+			cacheBulkMode(defaultDataSource, bulkMode);
 			datasourceConfigs.remove(name);
 			DataSource dataSource;
 			for (Iterator<Entry<String, Properties>> it = datasourceConfigs.entrySet().iterator(); it.hasNext();) {
 				Entry<String, Properties> entry = it.next();
 				name = entry.getKey();
 				datasourceConfig = entry.getValue();
+				bulkMode = (String) datasourceConfig.remove(BULK_MODE);
 				dataSource = DataSourceFactory.createDataSource(datasourceConfig);
 				dataSources.put(name, dataSource);
 				cacheSQLDialect(dataSource, SQLDialectUtils.getSQLDialect(datasourceConfig));
+				cacheBulkMode(dataSource, bulkMode);
 			}
 		} catch (Exception e) {
 			throw new InitializeDataSourceException("An exception occurred while initializing datasource(s)", e);
 		}
 		closeDataSourcesWhenShutdown(dataSources.values());
+		warmUp(properties);
 	}
 
 }
@@ -0,0 +1,138 @@
+package cn.tenmg.sqltool.data;
+
+import java.io.Serializable;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 检查点批处理结果模型。实体对象列表按批容量划分为固定的批（第N批为下标从 {@code N * batchSize} 开始的实体对象），
+ * 每批执行后提交；执行失败的行被隔离并记录，不影响同批其他行的提交
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @param <T>
+ *            实体类型
+ * @since 1.6.0
+ */
+public class BatchResult<T> implements Serializable {
+
+	/**
+	 *
+	 */
+	private static final long serialVersionUID = -3160473735914532766L;
+
+	private int offset;
+
+	private int lastCommittedChunk;
+
+	private List<Failure<T>> failures = new ArrayList<Failure<T>>();
+
+	public BatchResult() {
+		super();
+	}
+
+	public BatchResult(int offset, int lastCommittedChunk) {
+		super();
+		this.offset = offset;
+		this.lastCommittedChunk = lastCommittedChunk;
+	}
+
+	/**
+	 * 获取断点续传的偏移量，即下一个尚未处理的实体对象的下标。该下标之前的实体对象均已提交或已记录为失败
+	 *
+	 * @return 返回偏移量
+	 */
+	public int getOffset() {
+		return offset;
+	}
+
+	public void setOffset(int offset) {
+		this.offset = offset;
+	}
+
+	/**
+	 * 获取最后一个已提交的批的序号（从0开始），尚无已提交的批时返回-1
+	 *
+	 * @return 返回最后一个已提交的批的序号
+	 */
+	public int getLastCommittedChunk() {
+		return lastCommittedChunk;
+	}
+
+	public void setLastCommittedChunk(int lastCommittedChunk) {
+		this.lastCommittedChunk = lastCommittedChunk;
+	}
+
+	/**
+	 * 获取执行失败的行
+	 *
+	 * @return 返回执行失败的行，按下标排序
+	 */
+	public List<Failure<T>> getFailures() {
+		return failures;
+	}
+
+	public void setFailures(List<Failure<T>> failures) {
+		this.failures = failures;
+	}
+
+	public void addFailure(int index, T row, SQLException exception) {
+		failures.add(new Failure<T>(index, row, exception));
+	}
+
+	/**
+	 * 执行失败的行
+	 *
+	 * @author June wjzhao@aliyun.com
+	 *
+	 * @param <T>
+	 *            实体类型
+	 * @since 1.6.0
+	 */
+	public static class Failure<T> implements Serializable {
+
+		/**
+		 *
+		 */
+		private static final long serialVersionUID = 4409281576236573190L;
+
+		private final int index;
+
+		private final T row;
+
+		private final SQLException exception;
+
+		public Failure(int index, T row, SQLException exception) {
+			super();
+			this.index = index;
+			this.row = row;
+			this.exception = exception;
+		}
+
+		/**
+		 * 获取实体对象在列表中的下标
+		 *
+		 * @return 返回下标
+		 */
+		public int getIndex() {
+			return index;
+		}
+
+		public T getRow() {
+			return row;
+		}
+
+		/**
+		 * 获取单独执行该行时发生的异常。部分驱动程序（例如PostgreSQL）的具体原因需通过
+		 * {@link SQLException#getNextException()} 获取
+		 *
+		 * @return 返回异常
+		 */
+		public SQLException getException() {
+			return exception;
+		}
+
+	}
+
+}
@@ -0,0 +1,64 @@
+package cn.tenmg.sqltool.data;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 键集分页（seek）查询结果模型。与 {@link Page} 不同，键集分页不统计总数，也没有页码，而是通过游标（上一页最后一行排序键值的编码）定位下一页
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @param <T>
+ *            行数据类型
+ * @since 1.6.0
+ */
+public class KeysetPage<T> implements Serializable {
+
+	/**
+	 *
+	 */
+	private static final long serialVersionUID = 3604738196152412785L;
+
+	private int pageSize;
+
+	private String nextKey;
+
+	private List<T> rows;
+
+	public KeysetPage() {
+	}
+
+	public KeysetPage(int pageSize) {
+		this.pageSize = pageSize;
+	}
+
+	public int getPageSize() {
+		return pageSize;
+	}
+
+	public void setPageSize(int pageSize) {
+		this.pageSize = pageSize;
+	}
+
+	/**
+	 * 获取下一页的游标，查询下一页时作为 {@code lastKey} 传入
+	 *
+	 * @return 返回下一页的游标。已是最后一页时返回 {@code null}
+	 */
+	public String getNextKey() {
+		return nextKey;
+	}
+
+	public void setNextKey(String nextKey) {
+		this.nextKey = nextKey;
+	}
+
+	public List<T> getRows() {
+		return rows;
+	}
+
+	public void setRows(List<T> rows) {
+		this.rows = rows;
+	}
+
+}
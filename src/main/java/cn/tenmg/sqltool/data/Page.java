@@ -29,6 +29,10 @@ public class Page<T> implements Serializable {
 
 	private List<T> rows;
 
+	private boolean hasNext;
+
+	private boolean totalUnknown;
+
 	public Page() {
 	}
 
@@ -81,4 +85,32 @@ public class Page<T> implements Serializable {
 		this.rows = rows;
 	}
 
+	/**
+	 * 判断是否存在下一页
+	 * 
+	 * @return 存在下一页返回 {@code true}，否则返回 {@code false}
+	 * @since 1.6.0
+	 */
+	public boolean isHasNext() {
+		return hasNext;
+	}
+
+	public void setHasNext(boolean hasNext) {
+		this.hasNext = hasNext;
+	}
+
+	/**
+	 * 判断总记录数是否未知。不计数分页查询不统计总记录数，此时总记录数和总页数均为 {@code null}，仅能通过 {@link #isHasNext()} 判断是否存在下一页
+	 * 
+	 * @return 总记录数未知返回 {@code true}，否则返回 {@code false}
+	 * @since 1.6.0
+	 */
+	public boolean isTotalUnknown() {
+		return totalUnknown;
+	}
+
+	public void setTotalUnknown(boolean totalUnknown) {
+		this.totalUnknown = totalUnknown;
+	}
+
 }
\ No newline at end of file
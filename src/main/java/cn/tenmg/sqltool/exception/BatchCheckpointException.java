@@ -0,0 +1,37 @@
+package cn.tenmg.sqltool.exception;
+
+import cn.tenmg.sqltool.data.BatchResult;
+
+/**
+ * 检查点批处理中断异常。发生无法隔离到行的错误（例如连接中断）时抛出，可通过 {@link #getResult()}
+ * 获取中断前已提交的进度，并使用其偏移量继续执行
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public class BatchCheckpointException extends SQLExecutorException {
+
+	/**
+	 *
+	 */
+	private static final long serialVersionUID = -1482301665926414573L;
+
+	private final BatchResult<?> result;
+
+	public BatchCheckpointException(Throwable cause, BatchResult<?> result) {
+		super("Batch interrupted after chunk " + result.getLastCommittedChunk() + ", resume from offset "
+				+ result.getOffset(), cause);
+		this.result = result;
+	}
+
+	/**
+	 * 获取中断前的检查点批处理结果
+	 *
+	 * @return 返回检查点批处理结果
+	 */
+	public BatchResult<?> getResult() {
+		return result;
+	}
+
+}
@@ -8,6 +8,7 @@ import cn.tenmg.dsl.NamedScript;
 import cn.tenmg.dsl.annotion.Macro;
 import cn.tenmg.dsl.utils.DSLUtils;
 import cn.tenmg.dsl.utils.StringUtils;
+import cn.tenmg.sql.paging.SQLMetaData;
 import cn.tenmg.sql.paging.utils.SQLUtils;
 import cn.tenmg.sqltool.data.Page;
 import cn.tenmg.sqltool.sql.SQLDialect;
@@ -28,7 +29,9 @@ public class Paging implements cn.tenmg.dsl.Macro {
 
 	private static final ThreadLocal<Page<?>> currentPage = new ThreadLocal<Page<?>>();
 
-	private static final ThreadLocal<Boolean> counted = new ThreadLocal<Boolean>(), paged = new ThreadLocal<Boolean>();
+	private static final ThreadLocal<Boolean> counted = new ThreadLocal<Boolean>(), paged = new ThreadLocal<Boolean>(),
+			probe = new ThreadLocal<Boolean>(), probed = new ThreadLocal<Boolean>(), window = new ThreadLocal<Boolean>(),
+			windowed = new ThreadLocal<Boolean>();
 
 	/**
 	 * 是否已生成计数查询SQL语句
@@ -48,6 +51,26 @@ public class Paging implements cn.tenmg.dsl.Macro {
 		return paged.get();
 	}
 
+	/**
+	 * 生成的分页查询SQL是否多查询了一行（不计数分页）
+	 * 
+	 * @return 返回{@code true}表示生成的分页查询SQL从当前页第一行开始查询页容量加1行，否则仅查询当前页。
+	 * @since 1.6.0
+	 */
+	public static boolean isProbed() {
+		return Boolean.TRUE.equals(probed.get());
+	}
+
+	/**
+	 * 生成的分页查询SQL是否使用窗口函数附加了总记录数列
+	 * 
+	 * @return 返回{@code true}表示生成的分页查询SQL每一行都附加了总记录数列 {@link SQLDialect#WINDOW_TOTAL_LABEL}，否则未附加。
+	 * @since 1.6.0
+	 */
+	public static boolean isWindowed() {
+		return Boolean.TRUE.equals(windowed.get());
+	}
+
 	/**
 	 * 初始化计数查询SQL解析环境
 	 * 
@@ -65,6 +88,10 @@ public class Paging implements cn.tenmg.dsl.Macro {
 	public static void clear() {
 		counted.remove();
 		paged.remove();
+		probe.remove();
+		probed.remove();
+		window.remove();
+		windowed.remove();
 		currentDialect.remove();
 		currentConnection.remove();
 		currentPage.remove();
@@ -81,10 +108,48 @@ public class Paging implements cn.tenmg.dsl.Macro {
 	 *            分页对象
 	 */
 	public static void initPageEnv(SQLDialect dialect, Connection con, Page<?> page) {
+		initPageEnv(dialect, con, page, false);
+	}
+
+	/**
+	 * 初始化分页查询SQL解析环境
+	 * 
+	 * @param dialect
+	 *            SQL方言
+	 * @param con
+	 *            数据库连接
+	 * @param page
+	 *            分页对象
+	 * @param countless
+	 *            是否不计数分页。不计数分页时尽可能从当前页第一行开始查询页容量加1行，用于判断是否存在下一页，是否成功参见 {@link #isProbed()}
+	 * @since 1.6.0
+	 */
+	public static void initPageEnv(SQLDialect dialect, Connection con, Page<?> page, boolean countless) {
 		currentDialect.set(dialect);
 		currentConnection.set(con);
 		currentPage.set(page);
 		paged.set(Boolean.FALSE);
+		probe.set(countless);
+		probed.set(Boolean.FALSE);
+		window.set(Boolean.FALSE);
+		windowed.set(Boolean.FALSE);
+	}
+
+	/**
+	 * 初始化窗口函数分页查询SQL解析环境。尽可能使用窗口函数在分页查询SQL的每一行附加总记录数列，是否成功参见 {@link #isWindowed()}。
+	 * 总记录数列附加在宏内的查询上，外层查询需选择该列（例如 {@code SELECT X.* FROM #[page(……)] X}），否则仍需执行计数查询
+	 * 
+	 * @param dialect
+	 *            SQL方言
+	 * @param con
+	 *            数据库连接
+	 * @param page
+	 *            分页对象
+	 * @since 1.6.0
+	 */
+	public static void initWindowPageEnv(SQLDialect dialect, Connection con, Page<?> page) {
+		initPageEnv(dialect, con, page, false);
+		window.set(Boolean.TRUE);
 	}
 
 	@Override
@@ -107,8 +172,22 @@ public class Paging implements cn.tenmg.dsl.Macro {
 			paged.set(Boolean.TRUE);
 			NamedScript namedScript = DSLUtils.parse(logic.trim(), params);
 			String namedSql = namedScript.getScript();
-			String pageSql = dialect.pageSql(currentConnection.get(), namedSql, namedScript.getParams(),
-					SQLUtils.getSQLMetaData(namedSql), page.getPageSize(), page.getCurrentPage());
+			Connection con = currentConnection.get();
+			SQLMetaData sqlMetaData = SQLUtils.getSQLMetaData(namedSql);
+			String pageSql = null;
+			if (Boolean.TRUE.equals(window.get())) {// 窗口函数分页，每一行附加总记录数列
+				pageSql = dialect.windowPageSql(con, namedSql, namedScript.getParams(), sqlMetaData, page.getPageSize(),
+						page.getCurrentPage());
+				windowed.set(pageSql != null);
+			} else if (Boolean.TRUE.equals(probe.get())) {// 不计数分页，多查询一行用于判断是否存在下一页
+				pageSql = dialect.offsetSql(con, namedSql, namedScript.getParams(), sqlMetaData,
+						(page.getCurrentPage() - 1) * page.getPageSize(), page.getPageSize() + 1);
+				probed.set(pageSql != null);
+			}
+			if (pageSql == null) {
+				pageSql = dialect.pageSql(con, namedSql, namedScript.getParams(), sqlMetaData, page.getPageSize(),
+						page.getCurrentPage());
+			}
 			dslf.insert(0, StringUtils.concat("(", pageSql, ")"));
 		}
 		return false;
@@ -0,0 +1,436 @@
+package cn.tenmg.sqltool.processor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import cn.tenmg.sqltool.config.annotion.Column;
+import cn.tenmg.sqltool.config.annotion.Id;
+import cn.tenmg.sqltool.config.annotion.Table;
+import cn.tenmg.sqltool.sql.EntityMapper;
+
+/**
+ * 实体映射器注解处理器。在编译期为使用 {@link Table} 注解或含有使用 {@link Column} 注解的属性的实体类生成
+ * {@link EntityMapper}，并注册到 {@code META-INF/services/cn.tenmg.sqltool.sql.EntityMapper}。
+ * 生成的实体映射器与实体类位于同一包，直接访问属性或其getter/setter方法，因此运行时无需扫描注解或通过反射访问属性。
+ * 该处理器已注册到 {@code META-INF/services/javax.annotation.processing.Processor}，sqltool 位于编译类路径时由 javac
+ * 自动发现并启用（JDK 23 及以上版本默认不再自动发现，需使用 {@code -proc:full} 或 {@code -processor} 显式启用），可使用
+ * {@code -proc:none} 禁用；属性既不能直接访问也没有可访问的getter/setter方法的实体类不生成实体映射器，运行时仍使用反射
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+@SupportedAnnotationTypes({ "cn.tenmg.sqltool.config.annotion.Table", "cn.tenmg.sqltool.config.annotion.Column" })
+public class EntityMapperProcessor extends AbstractProcessor {
+
+	private static final String SERVICE_FILE = "META-INF/services/".concat(EntityMapper.class.getName()),
+			MAPPER_SUFFIX = "EntityMapper", GET_PREFIX = "get", IS_PREFIX = "is", SET_PREFIX = "set";
+
+	private final Set<String> mappers = new TreeSet<String>();
+
+	private final Set<String> processed = new HashSet<String>();
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		if (roundEnv.processingOver()) {
+			writeServiceFile();
+			return false;
+		}
+		Map<String, TypeElement> types = new LinkedHashMap<String, TypeElement>();
+		for (Element element : roundEnv.getElementsAnnotatedWith(Table.class)) {
+			if (element.getKind() == ElementKind.CLASS) {
+				TypeElement type = (TypeElement) element;
+				types.put(type.getQualifiedName().toString(), type);
+			}
+		}
+		for (Element element : roundEnv.getElementsAnnotatedWith(Column.class)) {
+			Element enclosing = element.getEnclosingElement();
+			if (enclosing.getKind() == ElementKind.CLASS) {
+				TypeElement type = (TypeElement) enclosing;
+				types.put(type.getQualifiedName().toString(), type);
+			}
+		}
+		for (TypeElement type : types.values()) {
+			if (processed.add(type.getQualifiedName().toString()) && isMappable(type)) {
+				generate(type);
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * 判断能否生成实体映射器。实体类需为非抽象的顶层类或静态嵌套类，且具有公共的无参构造方法
+	 */
+	private boolean isMappable(TypeElement type) {
+		Set<Modifier> modifiers = type.getModifiers();
+		if (modifiers.contains(Modifier.ABSTRACT) || modifiers.contains(Modifier.PRIVATE)) {
+			return false;
+		}
+		Element current = type;
+		while (current.getKind() == ElementKind.CLASS && ((TypeElement) current).getNestingKind() == NestingKind.MEMBER) {
+			if (!current.getModifiers().contains(Modifier.STATIC) || current.getModifiers().contains(Modifier.PRIVATE)) {
+				return false;
+			}
+			current = current.getEnclosingElement();
+		}
+		if (type.getNestingKind() != NestingKind.TOP_LEVEL && type.getNestingKind() != NestingKind.MEMBER) {
+			return false;
+		}
+		for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+			if (constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void generate(TypeElement type) {
+		String packageName = getPackage(type).getQualifiedName().toString(),
+				typeName = type.getQualifiedName().toString(), mapperName = getMapperName(type, packageName);
+		List<Property> properties = new ArrayList<Property>();
+		Set<String> fieldNames = new HashSet<String>();
+		TypeElement current = type;
+		while (current != null && !Object.class.getName().equals(current.getQualifiedName().toString())) {
+			for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+				String fieldName = field.getSimpleName().toString();
+				if (!fieldNames.add(fieldName)) {// 与反射一致，同名属性以子类为准
+					continue;
+				}
+				Set<Modifier> modifiers = field.getModifiers();
+				if (modifiers.contains(Modifier.STATIC)) {
+					continue;
+				}
+				Column column = field.getAnnotation(Column.class);
+				Property property = modifiers.contains(Modifier.FINAL) ? null : property(type, field, packageName);
+				if (property == null) {
+					if (column != null) {
+						processingEnv.getMessager().printMessage(Kind.WARNING, "Column ".concat(fieldName)
+								.concat(" is not accessible, entity mapper will not be generated for ").concat(typeName),
+								field);
+						return;
+					}
+					continue;
+				}
+				property.columnName = column == null ? null : column.name();
+				property.id = field.getAnnotation(Id.class) != null;
+				properties.add(property);
+			}
+			current = getSuperclass(current);
+		}
+		Table table = type.getAnnotation(Table.class);
+		String tableName = table == null || table.name().trim().isEmpty() ? null : table.name();
+		String qualifiedMapperName = packageName.isEmpty() ? mapperName : packageName.concat(".").concat(mapperName);
+		try {
+			Writer writer = processingEnv.getFiler().createSourceFile(qualifiedMapperName, type).openWriter();
+			try {
+				writer.write(source(packageName, typeName, mapperName, tableName, properties));
+			} finally {
+				writer.close();
+			}
+			mappers.add(qualifiedMapperName);
+		} catch (IOException e) {
+			processingEnv.getMessager().printMessage(Kind.ERROR,
+					"Unable to generate entity mapper for ".concat(typeName).concat(": ").concat(e.getMessage()),
+					type);
+		}
+	}
+
+	/**
+	 * 确定属性的访问方式。属性可从同一包中直接访问时直接读写，否则使用可访问的getter/setter方法；均不可行时返回 {@code null}
+	 */
+	private Property property(TypeElement type, VariableElement field, String packageName) {
+		Property property = new Property();
+		property.name = field.getSimpleName().toString();
+		TypeMirror fieldType = field.asType();
+		property.primitive = fieldType.getKind().isPrimitive();
+		property.typeName = processingEnv.getTypeUtils().erasure(fieldType).toString();
+		if (isAccessible(field, packageName)) {
+			property.getter = "obj.".concat(property.name);
+			property.setter = "%1$s.".concat(property.name).concat(" = %2$s");
+			return property;
+		}
+		String suffix = Character.toUpperCase(property.name.charAt(0)) + property.name.substring(1);
+		ExecutableElement getter = null, setter = null;
+		for (ExecutableElement method : ElementFilter
+				.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+			if (method.getModifiers().contains(Modifier.STATIC) || !isAccessible(method, packageName)) {
+				continue;
+			}
+			String methodName = method.getSimpleName().toString();
+			if (method.getParameters().isEmpty()
+					&& (methodName.equals(GET_PREFIX.concat(suffix))
+							|| (fieldType.getKind() == TypeKind.BOOLEAN && methodName.equals(IS_PREFIX.concat(suffix))))
+					&& processingEnv.getTypeUtils().isSameType(method.getReturnType(), fieldType)) {
+				getter = method;
+			} else if (method.getParameters().size() == 1 && methodName.equals(SET_PREFIX.concat(suffix))
+					&& processingEnv.getTypeUtils().isSameType(method.getParameters().get(0).asType(), fieldType)) {
+				setter = method;
+			}
+		}
+		if (getter == null || setter == null) {
+			return null;
+		}
+		property.getter = "obj.".concat(getter.getSimpleName().toString()).concat("()");
+		property.setter = "%1$s.".concat(setter.getSimpleName().toString()).concat("(%2$s)");
+		return property;
+	}
+
+	private boolean isAccessible(Element element, String packageName) {
+		Set<Modifier> modifiers = element.getModifiers();
+		if (modifiers.contains(Modifier.PRIVATE)) {
+			return false;
+		}
+		TypeElement declaring = (TypeElement) element.getEnclosingElement();
+		if (!declaring.getModifiers().contains(Modifier.PUBLIC)
+				&& !getPackage(declaring).getQualifiedName().contentEquals(packageName)) {
+			return false;
+		}
+		return modifiers.contains(Modifier.PUBLIC)
+				|| getPackage(declaring).getQualifiedName().contentEquals(packageName);
+	}
+
+	private String source(String packageName, String typeName, String mapperName, String tableName,
+			List<Property> properties) {
+		StringBuilder fieldNames = new StringBuilder(), columnNames = new StringBuilder(), ids = new StringBuilder(),
+				resultGetters = new StringBuilder(), get = new StringBuilder(), set = new StringBuilder(),
+				mapRow = new StringBuilder();
+		for (int i = 0, size = properties.size(); i < size; i++) {
+			Property property = properties.get(i);
+			if (i > 0) {
+				fieldNames.append(", ");
+				columnNames.append(", ");
+				ids.append(", ");
+				resultGetters.append(",\n\t\t\t");
+			}
+			fieldNames.append(literal(property.name));
+			columnNames.append(property.columnName == null ? "null" : literal(property.columnName));
+			ids.append(property.id);
+			resultGetters.append("ReadOnlySQLExecuter.getResultGetter(").append(property.typeName).append(".class)");
+			String cast = "(" + wrap(property.typeName) + ") value";
+			get.append("\t\tcase ").append(i).append(":\n\t\t\treturn ").append(property.getter).append(";\n");
+			set.append("\t\tcase ").append(i).append(":\n");
+			if (property.primitive) {// 基本类型保留默认值
+				set.append("\t\t\tif (value != null) {\n\t\t\t\t").append(String.format(property.setter, "obj", cast))
+						.append(";\n\t\t\t}\n");
+			} else {
+				set.append("\t\t\t").append(String.format(property.setter, "obj", cast)).append(";\n");
+			}
+			set.append("\t\t\tbreak;\n");
+			mapRow.append("\t\tif (columnIndexes[").append(i).append("] > 0");
+			if (property.primitive) {
+				mapRow.append("\n\t\t\t\t&& (value = RESULT_GETTERS[").append(i).append("].getValue(rs, columnIndexes[")
+						.append(i).append("])) != null) {\n");
+			} else {
+				mapRow.append(") {\n\t\t\tvalue = RESULT_GETTERS[").append(i).append("].getValue(rs, columnIndexes[")
+						.append(i).append("]);\n");
+			}
+			mapRow.append("\t\t\t").append(String.format(property.setter, "row", cast))
+					.append(";\n\t\t}\n");
+		}
+		StringBuilder source = new StringBuilder();
+		if (!packageName.isEmpty()) {
+			source.append("package ").append(packageName).append(";\n\n");
+		}
+		source.append("import java.sql.ResultSet;\n").append("import java.sql.SQLException;\n\n")
+				.append("import cn.tenmg.sqltool.sql.EntityMapper;\n")
+				.append("import cn.tenmg.sqltool.sql.ResultGetter;\n")
+				.append("import cn.tenmg.sqltool.sql.executer.ReadOnlySQLExecuter;\n\n")
+				.append("/**\n * Entity mapper of {@link ").append(typeName).append("}, generated by {@code ")
+				.append(EntityMapperProcessor.class.getName()).append("}, do not edit\n */\n")// 生成的代码仅含ASCII字符，与编译编码无关
+				.append("public final class ").append(mapperName).append(" implements EntityMapper<").append(typeName)
+				.append("> {\n\n")
+				.append("\tprivate static final String[] FIELD_NAMES = { ").append(fieldNames).append(" },\n")
+				.append("\t\t\tCOLUMN_NAMES = { ").append(columnNames).append(" };\n\n")
+				.append("\tprivate static final boolean[] IDS = { ").append(ids).append(" };\n\n")
+				.append("\tprivate static final ResultGetter<?>[] RESULT_GETTERS = { ").append(resultGetters)
+				.append(" };\n\n")
+				.append("\t@Override\n\tpublic Class<").append(typeName).append("> getType() {\n\t\treturn ")
+				.append(typeName).append(".class;\n\t}\n\n")
+				.append("\t@Override\n\tpublic String getTableName() {\n\t\treturn ")
+				.append(tableName == null ? "null" : literal(tableName)).append(";\n\t}\n\n")
+				.append("\t@Override\n\tpublic String[] getFieldNames() {\n\t\treturn FIELD_NAMES;\n\t}\n\n")
+				.append("\t@Override\n\tpublic String[] getColumnNames() {\n\t\treturn COLUMN_NAMES;\n\t}\n\n")
+				.append("\t@Override\n\tpublic boolean isId(int index) {\n\t\treturn IDS[index];\n\t}\n\n")
+				.append("\t@Override\n\tpublic Object get(").append(typeName)
+				.append(" obj, int index) {\n\t\tswitch (index) {\n").append(get)
+				.append("\t\tdefault:\n\t\t\tthrow new IndexOutOfBoundsException(String.valueOf(index));\n\t\t}\n\t}\n\n")
+				.append("\t@Override\n\tpublic void set(").append(typeName)
+				.append(" obj, int index, Object value) {\n\t\tswitch (index) {\n").append(set)
+				.append("\t\tdefault:\n\t\t\tthrow new IndexOutOfBoundsException(String.valueOf(index));\n\t\t}\n\t}\n\n")
+				.append("\t@Override\n\tpublic ").append(typeName)
+				.append(" mapRow(ResultSet rs, int[] columnIndexes) throws SQLException {\n\t\t").append(typeName)
+				.append(" row = new ").append(typeName).append("();\n\t\tObject value;\n").append(mapRow)
+				.append("\t\treturn row;\n\t}\n\n}\n");
+		return source.toString();
+	}
+
+	/**
+	 * 写入服务注册文件。增量编译时保留此前已注册的实体映射器
+	 */
+	private void writeServiceFile() {
+		if (mappers.isEmpty()) {
+			return;
+		}
+		Set<String> services = new TreeSet<String>(mappers);
+		try {
+			FileObject existing = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "",
+					SERVICE_FILE);
+			BufferedReader reader = new BufferedReader(
+					new InputStreamReader(existing.openInputStream(), StandardCharsets.UTF_8));
+			try {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					line = line.trim();
+					if (!line.isEmpty() && !line.startsWith("#")) {
+						services.add(line);
+					}
+				}
+			} finally {
+				reader.close();
+			}
+		} catch (IOException | IllegalArgumentException e) {// 首次编译时注册文件不存在
+		}
+		try {
+			FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+					SERVICE_FILE);
+			PrintWriter writer = new PrintWriter(
+					new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8));
+			try {
+				for (String service : services) {
+					writer.println(service);
+				}
+			} finally {
+				writer.close();
+			}
+		} catch (IOException e) {
+			processingEnv.getMessager().printMessage(Kind.ERROR,
+					"Unable to write ".concat(SERVICE_FILE).concat(": ").concat(e.getMessage()));
+		}
+	}
+
+	private static PackageElement getPackage(Element element) {
+		while (element.getKind() != ElementKind.PACKAGE) {
+			element = element.getEnclosingElement();
+		}
+		return (PackageElement) element;
+	}
+
+	/**
+	 * 实体映射器的类名。嵌套类使用外部类名与类名以下划线连接，例如 {@code Outer.Inner} 的实体映射器为 {@code Outer_InnerEntityMapper}
+	 */
+	private static String getMapperName(TypeElement type, String packageName) {
+		String name = type.getQualifiedName().toString();
+		if (!packageName.isEmpty()) {
+			name = name.substring(packageName.length() + 1);
+		}
+		return name.replace('.', '_').concat(MAPPER_SUFFIX);
+	}
+
+	private static TypeElement getSuperclass(TypeElement type) {
+		TypeMirror superclass = type.getSuperclass();
+		if (superclass.getKind() != TypeKind.DECLARED) {
+			return null;
+		}
+		return (TypeElement) ((DeclaredType) superclass).asElement();
+	}
+
+	private static String wrap(String typeName) {
+		switch (typeName) {
+		case "boolean":
+			return "Boolean";
+		case "byte":
+			return "Byte";
+		case "short":
+			return "Short";
+		case "int":
+			return "Integer";
+		case "long":
+			return "Long";
+		case "float":
+			return "Float";
+		case "double":
+			return "Double";
+		case "char":
+			return "Character";
+		default:
+			return typeName;
+		}
+	}
+
+	private static String literal(String value) {
+		StringBuilder literal = new StringBuilder("\"");
+		for (int i = 0, len = value.length(); i < len; i++) {
+			char c = value.charAt(i);
+			if (c == '"' || c == '\\') {
+				literal.append('\\');
+			}
+			literal.append(c);
+		}
+		return literal.append('"').toString();
+	}
+
+	/**
+	 * 属性的访问方式
+	 */
+	private static class Property {
+
+		private String name;
+
+		private String typeName;
+
+		private boolean primitive;
+
+		/**
+		 * 读取属性值的表达式
+		 */
+		private String getter;
+
+		/**
+		 * 设置属性值的语句模板，{@code %1$s} 为实体对象变量名，{@code %2$s} 为属性值表达式
+		 */
+		private String setter;
+
+		private String columnName;
+
+		private boolean id;
+
+	}
+
+}
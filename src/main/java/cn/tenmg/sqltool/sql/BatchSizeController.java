@@ -0,0 +1,106 @@
+package cn.tenmg.sqltool.sql;
+
+/**
+ * 批容量控制器。固定模式下总是使用初始批容量；自适应模式下根据每批执行并提交的耗时，在最小和最大批容量之间增大或减小批容量，
+ * 使每批的耗时接近目标耗时。每次调整最多将批容量增大为原来的2倍或减小为原来的一半，且只有满批的耗时才会使批容量增大
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public class BatchSizeController {
+
+	private final int minBatchSize;
+
+	private final int maxBatchSize;
+
+	private final long targetNanos;
+
+	private volatile int batchSize;
+
+	/**
+	 * 构造固定批容量的控制器
+	 *
+	 * @param batchSize
+	 *            批容量
+	 */
+	public BatchSizeController(int batchSize) {
+		this(batchSize, batchSize, batchSize, 0);
+	}
+
+	/**
+	 * 构造自适应批容量的控制器
+	 *
+	 * @param batchSize
+	 *            初始批容量
+	 * @param minBatchSize
+	 *            最小批容量
+	 * @param maxBatchSize
+	 *            最大批容量
+	 * @param targetMillis
+	 *            每批的目标耗时（毫秒），小于等于0时批容量固定不变
+	 */
+	public BatchSizeController(int batchSize, int minBatchSize, int maxBatchSize, long targetMillis) {
+		super();
+		this.minBatchSize = Math.max(1, minBatchSize);
+		this.maxBatchSize = Math.max(this.minBatchSize, maxBatchSize);
+		this.targetNanos = targetMillis * 1000000L;
+		this.batchSize = clamp(batchSize);
+	}
+
+	/**
+	 * 获取当前批容量
+	 *
+	 * @return 返回当前批容量
+	 */
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	public int getMinBatchSize() {
+		return minBatchSize;
+	}
+
+	public int getMaxBatchSize() {
+		return maxBatchSize;
+	}
+
+	/**
+	 * 判断是否为自适应批容量
+	 *
+	 * @return 是返回 {@code true}，否则返回 {@code false}
+	 */
+	public boolean isAdaptive() {
+		return targetNanos > 0;
+	}
+
+	/**
+	 * 记录一批的执行情况，并据此调整批容量
+	 *
+	 * @param rows
+	 *            该批的行数
+	 * @param nanos
+	 *            该批绑定参数、执行并提交的耗时（纳秒）
+	 */
+	public void record(int rows, long nanos) {
+		if (targetNanos <= 0 || rows <= 0 || nanos <= 0) {
+			return;
+		}
+		int current = batchSize;
+		long ideal = (long) ((double) targetNanos * rows / nanos), next = (current + ideal) / 2;
+		if (next > current) {
+			if (rows < current) {// 未满批（通常是最后一批）的耗时不足以说明可以增大批容量
+				return;
+			}
+			next = Math.min(next, current * 2L);
+		} else {
+			next = Math.max(next, current / 2);
+		}
+		batchSize = clamp(next);
+	}
+
+	private int clamp(long size) {
+		return (int) Math.max(minBatchSize, Math.min(maxBatchSize, size));
+	}
+
+}
@@ -0,0 +1,63 @@
+package cn.tenmg.sqltool.sql;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * 批量装载器。使用数据库特有的装载方式（例如PostgreSQL的 {@code COPY}）将实体对象以数据流的形式写入数据库，而不是逐行执行插入语句
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public interface BulkLoader {
+
+	/**
+	 * 获取装载方式名称。数据源配置的 {@code bulkMode} 与之相同时，批量插入使用该装载器
+	 *
+	 * @return 返回装载方式名称
+	 */
+	String getName();
+
+	/**
+	 * 判断是否支持使用指定装载方式装载指定类型的实体对象。驱动程序不可用、不支持该装载方式或实体含有无法编码的属性类型时返回
+	 * {@code false}，此时应回退为批量插入（或批量硬保存）
+	 *
+	 * @param type
+	 *            实体类型
+	 * @param mode
+	 *            装载方式
+	 * @return 支持返回 {@code true}，否则返回 {@code false}
+	 */
+	boolean supports(Class<?> type, LoadMode mode);
+
+	/**
+	 * 获取使用指定装载方式装载指定类型实体对象的SQL
+	 *
+	 * @param type
+	 *            实体类型
+	 * @param mode
+	 *            装载方式
+	 * @return 返回装载SQL
+	 */
+	String getSql(Class<?> type, LoadMode mode);
+
+	/**
+	 * 装载实体对象
+	 *
+	 * @param con
+	 *            连接对象
+	 * @param sql
+	 *            装载SQL
+	 * @param mode
+	 *            装载方式，即获取装载SQL时使用的装载方式
+	 * @param rows
+	 *            实体对象列表
+	 * @return 返回装载的行数
+	 * @throws SQLException
+	 *             SQL异常。装载方式为 {@link LoadMode#INSERT} 时，数据库未报错但未装载全部行也视为异常
+	 */
+	<T> long load(Connection con, String sql, LoadMode mode, List<T> rows) throws SQLException;
+
+}
@@ -0,0 +1,550 @@
+package cn.tenmg.sqltool.sql;
+
+import java.lang.reflect.Array;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import cn.tenmg.dsl.Script;
+import cn.tenmg.dsql.DSQLFactory;
+import cn.tenmg.dsql.NamedSQL;
+import cn.tenmg.sqltool.data.Page;
+import cn.tenmg.sqltool.sql.utils.ParamsUtils;
+
+/**
+ * 动态结构化查询语言（DSQL）执行计划缓存。以DSQL（编号或脚本）及参数形态（各参数是否为 {@code null}、集合或数组参数的元素个数）为键，
+ * 缓存最终的JDBC SQL及每个JDBC参数取自哪个参数（的第几个元素）。命中时不再解析宏、转换器和过滤器，也不再将命名参数改写为位置参数，只需按顺序提取参数值。
+ * <p>
+ * 仅当DSQL的解析结果只取决于参数形态时才能使用计划：首次遇到某一形态时，使用互不相同的探针对象代替参数值再次解析，只有探针解析得到的SQL与实际解析结果一致、
+ * 每个JDBC参数都是原样传递的探针且按计划提取的参数与实际解析结果一致时才缓存计划，否则该形态始终正常解析。
+ * </p>
+ * <p>
+ * 探针只能验证首次调用，无法发现宏或过滤器依赖参数具体值（例如 {@code #[if(:type == 'A') ...]}）的DSQL：首次调用未进入的分支在后续调用中可能进入，
+ * 此时命中的计划是错误的。因此只有显式启用的DSQL编号才使用该缓存，其他DSQL始终正常解析，宏或过滤器依赖参数具体值的DSQL不应启用
+ * </p>
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public class DSQLPlanCache {
+
+	private static final int NULL = -2, SCALAR = -1;
+
+	/**
+	 * 不能使用计划的形态
+	 */
+	private static final Plan UNCACHEABLE = new Plan(null, null, null, null);
+
+	/**
+	 * 不能使用计划的分页查询形态
+	 */
+	private static final PagePlan UNCACHEABLE_PAGE = new PagePlan(null, null, null);
+
+	private final Map<Key, Plan> plans = new ConcurrentHashMap<Key, Plan>();
+
+	private final Map<Key, PagePlan> pagePlans = new ConcurrentHashMap<Key, PagePlan>();
+
+	private final int maxSize;
+
+	private final Set<String> ids;
+
+	/**
+	 * 构造执行计划缓存
+	 *
+	 * @param maxSize
+	 *            最大缓存的形态数，达到后不再缓存新的形态
+	 * @param ids
+	 *            启用执行计划缓存的DSQL编号
+	 */
+	public DSQLPlanCache(int maxSize, Set<String> ids) {
+		super();
+		this.maxSize = maxSize;
+		this.ids = ids;
+	}
+
+	/**
+	 * 判断DSQL是否启用执行计划缓存
+	 *
+	 * @param dsql
+	 *            DSQL编号或脚本
+	 * @return 已启用返回 {@code true}，否则返回 {@code false}
+	 */
+	public boolean isEnabled(String dsql) {
+		return dsql != null && ids.contains(dsql);
+	}
+
+	/**
+	 * 解析DSQL并转换为JDBC SQL（不使用缓存）
+	 *
+	 * @param factory
+	 *            DSQL工厂
+	 * @param namedSQL
+	 *            使用命名参数的SQL
+	 * @return 返回JDBC SQL
+	 */
+	public static JDBCSQL toJDBC(DSQLFactory factory, NamedSQL namedSQL) {
+		Script<List<Object>> script = factory.toJDBC(namedSQL);
+		return new JDBCSQL(namedSQL.getId(), script.getValue(), script.getParams());
+	}
+
+	/**
+	 * 将解析后的DSQL转换为JDBC SQL（不使用缓存）
+	 *
+	 * @param factory
+	 *            DSQL工厂
+	 * @param namedSQL
+	 *            使用命名参数的SQL
+	 * @param inListPadding
+	 *            是否补齐 {@code IN} 列表参数
+	 * @return 返回JDBC SQL
+	 */
+	public static JDBCSQL toJDBC(DSQLFactory factory, NamedSQL namedSQL, boolean inListPadding) {
+		if (inListPadding) {
+			Set<String> names = ParamsUtils.getInListParamNames(namedSQL.getScript());
+			if (!names.isEmpty()) {
+				return toJDBC(factory, namedSQL.getId(), namedSQL.getScript(),
+						ParamsUtils.padInLists(namedSQL.getParams(), names));
+			}
+		}
+		return toJDBC(factory, namedSQL);
+	}
+
+	/**
+	 * 将使用命名参数的脚本转换为JDBC SQL（不使用缓存）
+	 *
+	 * @param factory
+	 *            DSQL工厂
+	 * @param id
+	 *            DSQL编号
+	 * @param namedScript
+	 *            使用命名参数的脚本
+	 * @param params
+	 *            参数
+	 * @return 返回JDBC SQL
+	 */
+	public static JDBCSQL toJDBC(DSQLFactory factory, String id, String namedScript, Map<String, ?> params) {
+		Script<List<Object>> script = factory.toJDBC(namedScript, params);
+		return new JDBCSQL(id, script.getValue(), script.getParams());
+	}
+
+	/**
+	 * 获取DSQL对应的JDBC SQL
+	 *
+	 * @param factory
+	 *            DSQL工厂
+	 * @param dsql
+	 *            DSQL编号或脚本
+	 * @param params
+	 *            参数
+	 * @param inListPadding
+	 *            是否补齐 {@code IN} 列表参数。补齐在解析后进行，执行计划仍以补齐前的参数形态为键
+	 * @return 返回JDBC SQL
+	 */
+	public JDBCSQL toJDBC(DSQLFactory factory, String dsql, Map<String, ?> params, boolean inListPadding) {
+		return toJDBC(dsql, params, map -> toJDBC(factory, factory.parse(dsql, map), inListPadding));
+	}
+
+	/**
+	 * 获取DSQL对应的JDBC SQL
+	 *
+	 * @param dsql
+	 *            DSQL编号或脚本
+	 * @param params
+	 *            参数
+	 * @param parser
+	 *            将参数（或探针参数）解析为JDBC SQL的函数
+	 * @return 返回JDBC SQL
+	 */
+	JDBCSQL toJDBC(String dsql, Map<String, ?> params, Function<Map<String, ?>, JDBCSQL> parser) {
+		if (params == null || !isEnabled(dsql)) {
+			return parser.apply(params);
+		}
+		Key key = key(dsql, params);
+		Plan plan = plans.get(key);
+		if (plan != null && plan != UNCACHEABLE) {
+			return plan.toJDBC(params);
+		}
+		JDBCSQL jdbcSQL = parser.apply(params);
+		if (plan == null && plans.size() < maxSize) {
+			plans.putIfAbsent(key, compile(parser, params, jdbcSQL));
+		}
+		return jdbcSQL;
+	}
+
+	/**
+	 * 获取分页查询的执行计划
+	 *
+	 * @param dialect
+	 *            SQL方言
+	 * @param dsql
+	 *            查询的DSQL编号或脚本
+	 * @param cntDsql
+	 *            计数的DSQL编号或脚本，可以为 {@code null}
+	 * @param params
+	 *            查询参数
+	 * @param currentPage
+	 *            当前页码
+	 * @return 返回分页查询的执行计划。未启用、尚未缓存或不能使用计划时返回 {@code null}
+	 */
+	public PagePlan getPagePlan(SQLDialect dialect, String dsql, String cntDsql, Map<String, ?> params,
+			long currentPage) {
+		if (!isEnabled(dsql, cntDsql)) {
+			return null;
+		}
+		PagePlan plan = pagePlans.get(key(dsql, params, dialect, cntDsql, currentPage == 1));
+		return plan == UNCACHEABLE_PAGE ? null : plan;
+	}
+
+	/**
+	 * 编译并缓存分页查询的执行计划（查询DSQL及计数DSQL均已启用时）。使用探针参数及探针页码重新解析计数查询和分页查询SQL，将页容量、偏移量等字面量替换为占位后，只有按计划生成的SQL及参数与本次实际使用的完全一致时才缓存
+	 *
+	 * @param dialect
+	 *            SQL方言
+	 * @param dsql
+	 *            查询的DSQL编号或脚本
+	 * @param cntDsql
+	 *            计数的DSQL编号或脚本，可以为 {@code null}
+	 * @param params
+	 *            查询参数
+	 * @param page
+	 *            分页对象，提供本次查询的页容量和当前页码
+	 * @param countSQL
+	 *            本次实际执行的计数查询SQL
+	 * @param pageSQL
+	 *            本次实际执行的分页查询SQL
+	 * @param con
+	 *            数据库连接
+	 * @param parsers
+	 *            根据查询参数构造分页查询SQL解析器的函数
+	 */
+	public void cachePagePlan(SQLDialect dialect, String dsql, String cntDsql, Map<String, ?> params, Page<?> page,
+			JDBCSQL countSQL, JDBCSQL pageSQL, Connection con, Function<Map<String, ?>, PageSQLParser> parsers) {
+		if (isEnabled(dsql, cntDsql) && pagePlans.size() < maxSize) {
+			Key key = key(dsql, params, dialect, cntDsql, page.getCurrentPage() == 1);
+			if (!pagePlans.containsKey(key)) {
+				pagePlans.putIfAbsent(key, compile(params, page, countSQL, pageSQL, con, parsers));
+			}
+		}
+	}
+
+	/**
+	 * 获取已缓存的形态数（含不能使用计划的形态）
+	 *
+	 * @return 返回已缓存的形态数
+	 */
+	public int size() {
+		return plans.size() + pagePlans.size();
+	}
+
+	private boolean isEnabled(String dsql, String cntDsql) {
+		return isEnabled(dsql) && (cntDsql == null || isEnabled(cntDsql));
+	}
+
+	/**
+	 * 使用探针解析DSQL，编译执行计划
+	 */
+	private static Plan compile(Function<Map<String, ?>, JDBCSQL> parser, Map<String, ?> params, JDBCSQL expected) {
+		try {
+			JDBCSQL probeSQL = parser.apply(probes(params));
+			if (!expected.getSql().equals(probeSQL.getSql())) {
+				return UNCACHEABLE;
+			}
+			return compile(expected, probeSQL.getParams(), params);
+		} catch (RuntimeException e) {// 宏或转换器无法处理探针
+			return UNCACHEABLE;
+		}
+	}
+
+	/**
+	 * 使用探针参数及探针页码解析分页查询，编译分页查询的执行计划
+	 */
+	private static PagePlan compile(Map<String, ?> params, Page<?> page, JDBCSQL countSQL, JDBCSQL pageSQL,
+			Connection con, Function<Map<String, ?>, PageSQLParser> parsers) {
+		boolean firstPage = page.getCurrentPage() == 1;
+		try {
+			PageSQLParser parser = parsers.apply(probes(params));
+			JDBCSQL probeCountSQL = parser.countSQL();
+			if (!countSQL.getSql().equals(probeCountSQL.getSql())) {
+				return UNCACHEABLE_PAGE;
+			}
+			Plan count = compile(countSQL, probeCountSQL.getParams(), params);
+			if (count == UNCACHEABLE) {
+				return UNCACHEABLE_PAGE;
+			}
+			JDBCSQL probePageSQL = parser.pageSQL(con, new Page<Object>(
+					firstPage ? 1 : PageSQLTemplate.PROBE_CURRENT_PAGE, PageSQLTemplate.PROBE_PAGE_SIZE));
+			Plan pagePlan = compile(pageSQL, probePageSQL.getParams(), params);
+			if (pagePlan == UNCACHEABLE) {
+				return UNCACHEABLE_PAGE;
+			}
+			PagePlan plan = new PagePlan(count, pagePlan, PageSQLTemplate.of(probePageSQL.getSql(), firstPage));
+			if (!pageSQL.getSql().equals(plan.template.render(page.getPageSize(), page.getCurrentPage()))) {
+				return UNCACHEABLE_PAGE;
+			}
+			return plan;
+		} catch (Exception e) {// 宏、转换器或方言无法处理探针
+			return UNCACHEABLE_PAGE;
+		}
+	}
+
+	/**
+	 * 根据探针解析得到的JDBC参数编译执行计划，并使用实际参数验证
+	 */
+	private static Plan compile(JDBCSQL expected, List<Object> probeParams, Map<String, ?> params) {
+		int size = probeParams == null ? 0 : probeParams.size();
+		String[] names = new String[size];
+		int[] indexes = new int[size];
+		for (int i = 0; i < size; i++) {
+			Object param = probeParams.get(i);
+			if (!(param instanceof Probe)) {// 参数值经过转换、由宏生成或为null，无法确定来源
+				return UNCACHEABLE;
+			}
+			Probe probe = (Probe) param;
+			names[i] = probe.name;
+			indexes[i] = probe.index;
+		}
+		Plan plan = new Plan(expected.getId(), expected.getSql(), names, indexes);
+		List<Object> expectedParams = expected.getParams();
+		if (!plan.extract(params).equals(expectedParams == null ? new ArrayList<Object>() : expectedParams)) {
+			return UNCACHEABLE;
+		}
+		return plan;
+	}
+
+	/**
+	 * 生成探针参数：{@code null}保持不变，单值参数替换为探针，集合、数组参数替换为相同元素个数的探针列表
+	 */
+	private static Map<String, Object> probes(Map<String, ?> params) {
+		Map<String, Object> probes = new HashMap<String, Object>();
+		for (Iterator<? extends Map.Entry<String, ?>> it = params.entrySet().iterator(); it.hasNext();) {
+			Map.Entry<String, ?> entry = it.next();
+			String name = entry.getKey();
+			int size = shape(entry.getValue());
+			if (size == NULL) {
+				probes.put(name, null);
+			} else if (size == SCALAR) {
+				probes.put(name, new Probe(name, SCALAR));
+			} else {
+				List<Object> elements = new ArrayList<Object>(size);
+				for (int i = 0; i < size; i++) {
+					elements.add(new Probe(name, i));
+				}
+				probes.put(name, elements);
+			}
+		}
+		return probes;
+	}
+
+	private static Key key(String dsql, Map<String, ?> params, Object... scope) {
+		int size = params.size(), i = 0;
+		String[] names = new String[size];
+		int[] shapes = new int[size];
+		for (Iterator<? extends Map.Entry<String, ?>> it = params.entrySet().iterator(); it.hasNext(); i++) {
+			Map.Entry<String, ?> entry = it.next();
+			names[i] = entry.getKey();
+			shapes[i] = shape(entry.getValue());
+		}
+		return new Key(dsql, names, shapes, scope.length == 0 ? null : scope);
+	}
+
+	/**
+	 * 参数形态：{@code null}、单值，或集合、数组的元素个数
+	 */
+	private static int shape(Object value) {
+		if (value == null) {
+			return NULL;
+		} else if (value instanceof Collection) {
+			return ((Collection<?>) value).size();
+		} else if (value.getClass().isArray()) {
+			return Array.getLength(value);
+		}
+		return SCALAR;
+	}
+
+	private static Object[] toArray(Object value) {
+		if (value instanceof Collection) {
+			return ((Collection<?>) value).toArray();
+		} else if (value instanceof Object[]) {
+			return (Object[]) value;
+		}
+		int length = Array.getLength(value);
+		Object[] elements = new Object[length];
+		for (int i = 0; i < length; i++) {
+			elements[i] = Array.get(value, i);
+		}
+		return elements;
+	}
+
+	/**
+	 * 探针，代表某个参数（的某个元素）
+	 */
+	private static final class Probe {
+
+		private final String name;
+
+		private final int index;
+
+		private Probe(String name, int index) {
+			this.name = name;
+			this.index = index;
+		}
+
+		@Override
+		public String toString() {
+			return index == SCALAR ? name : name + "[" + index + "]";
+		}
+
+	}
+
+	/**
+	 * 执行计划
+	 */
+	private static final class Plan {
+
+		private final String id;
+
+		private final String sql;
+
+		/**
+		 * 每个JDBC参数取自的参数名
+		 */
+		private final String[] names;
+
+		/**
+		 * 每个JDBC参数取自集合或数组参数的元素下标，单值参数为 {@link DSQLPlanCache#SCALAR}
+		 */
+		private final int[] indexes;
+
+		private Plan(String id, String sql, String[] names, int[] indexes) {
+			this.id = id;
+			this.sql = sql;
+			this.names = names;
+			this.indexes = indexes;
+		}
+
+		private JDBCSQL toJDBC(Map<String, ?> params) {
+			return new JDBCSQL(id, sql, extract(params));
+		}
+
+		private List<Object> extract(Map<String, ?> params) {
+			List<Object> values = new ArrayList<Object>(names.length);
+			String name = null;
+			Object[] elements = null;
+			for (int i = 0; i < names.length; i++) {
+				if (indexes[i] == SCALAR) {
+					values.add(params.get(names[i]));
+				} else {
+					if (!names[i].equals(name)) {// 同一集合的元素通常相邻，只需转换一次
+						name = names[i];
+						elements = toArray(params.get(name));
+					}
+					values.add(elements[indexes[i]]);
+				}
+			}
+			return values;
+		}
+
+	}
+
+	/**
+	 * 分页查询的执行计划。分页查询SQL中的页容量、当前页码、偏移量及结束行号字面量在计划中为占位，使用时按实际页码填充
+	 */
+	public static final class PagePlan {
+
+		private final Plan count;
+
+		private final Plan page;
+
+		private final PageSQLTemplate template;
+
+		private PagePlan(Plan count, Plan page, PageSQLTemplate template) {
+			this.count = count;
+			this.page = page;
+			this.template = template;
+		}
+
+		/**
+		 * 生成计数查询SQL
+		 *
+		 * @param params
+		 *            查询参数
+		 * @return 返回计数查询的JDBC SQL
+		 */
+		public JDBCSQL countSQL(Map<String, ?> params) {
+			return count.toJDBC(params);
+		}
+
+		/**
+		 * 生成分页查询SQL
+		 *
+		 * @param params
+		 *            查询参数
+		 * @param pageSize
+		 *            页容量
+		 * @param currentPage
+		 *            当前页码
+		 * @return 返回分页查询的JDBC SQL
+		 */
+		public JDBCSQL pageSQL(Map<String, ?> params, int pageSize, long currentPage) {
+			return new JDBCSQL(page.id, template.render(pageSize, currentPage), page.extract(params));
+		}
+
+	}
+
+	/**
+	 * 执行计划的键
+	 */
+	private static final class Key {
+
+		private final String dsql;
+
+		private final String[] names;
+
+		private final int[] shapes;
+
+		/**
+		 * 执行计划的适用范围，例如分页查询的方言、计数DSQL及是否第一页。普通查询为 {@code null}
+		 */
+		private final Object[] scope;
+
+		private final int hashCode;
+
+		private Key(String dsql, String[] names, int[] shapes, Object[] scope) {
+			this.dsql = dsql;
+			this.names = names;
+			this.shapes = shapes;
+			this.scope = scope;
+			this.hashCode = ((31 * dsql.hashCode() + Arrays.hashCode(names)) * 31 + Arrays.hashCode(shapes)) * 31
+					+ Arrays.hashCode(scope);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return dsql.equals(other.dsql) && Arrays.equals(names, other.names) && Arrays.equals(shapes, other.shapes)
+					&& Arrays.equals(scope, other.scope);
+		}
+
+	}
+
+}
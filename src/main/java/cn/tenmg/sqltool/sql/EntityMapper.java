@@ -0,0 +1,92 @@
+package cn.tenmg.sqltool.sql;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 实体映射器。通常由 {@code cn.tenmg.sqltool.processor.EntityMapperProcessor}
+ * 在编译期为实体类生成，并通过 {@code META-INF/services/cn.tenmg.sqltool.sql.EntityMapper}
+ * 注册。存在实体映射器时，实体类元数据、属性读写及结果集行转换均使用映射器中直接访问属性的代码，不再扫描注解或通过反射访问属性
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @param <T>
+ *            实体类型
+ * @since 1.6.0
+ */
+public interface EntityMapper<T> {
+
+	/**
+	 * 获取实体类型
+	 *
+	 * @return 实体类型
+	 */
+	Class<T> getType();
+
+	/**
+	 * 获取表名
+	 *
+	 * @return 表名。未配置表名时返回 {@code null}，此时使用默认表名
+	 */
+	String getTableName();
+
+	/**
+	 * 获取属性名。属性下标即属性在该数组中的下标，子类的属性在前，父类的属性在后
+	 *
+	 * @return 属性名
+	 */
+	String[] getFieldNames();
+
+	/**
+	 * 获取列名，与属性名一一对应
+	 *
+	 * @return 列名。不是列的属性为 {@code null}，未配置列名的列为空字符串，此时使用默认列名
+	 */
+	String[] getColumnNames();
+
+	/**
+	 * 判断属性是否为主键
+	 *
+	 * @param index
+	 *            属性下标
+	 * @return 是主键返回 {@code true}，否则返回 {@code false}
+	 */
+	boolean isId(int index);
+
+	/**
+	 * 获取属性值
+	 *
+	 * @param obj
+	 *            实体对象
+	 * @param index
+	 *            属性下标
+	 * @return 属性值
+	 */
+	Object get(T obj, int index);
+
+	/**
+	 * 设置属性值
+	 *
+	 * @param obj
+	 *            实体对象
+	 * @param index
+	 *            属性下标
+	 * @param value
+	 *            属性值
+	 */
+	void set(T obj, int index, Object value);
+
+	/**
+	 * 将结果集当前行转换为实体对象
+	 *
+	 * @param rs
+	 *            结果集（已定位到当前行）
+	 * @param columnIndexes
+	 *            列索引，与属性名一一对应。结果集中没有的属性为0
+	 * @return 实体对象
+	 * @throws SQLException
+	 *             SQL异常
+	 */
+	T mapRow(ResultSet rs, int[] columnIndexes) throws SQLException;
+
+}
@@ -0,0 +1,168 @@
+package cn.tenmg.sqltool.sql;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import cn.tenmg.dsl.Script;
+import cn.tenmg.sqltool.sql.meta.EntityMeta;
+import cn.tenmg.sqltool.sql.meta.FieldMeta;
+import cn.tenmg.sqltool.sql.utils.EntityUtils;
+
+/**
+ * 实体SQL计划缓存。根据实体对象生成的SQL（例如软更新、软保存）仅取决于哪些属性参与SQL，因此以实体类及参与SQL的属性组成的位掩码为键，
+ * 缓存SQL及参数的绑定顺序。命中时只需读取属性值并按绑定顺序组织参数，不再拼接SQL。硬操作属性只影响位掩码，因此不同硬操作属性但参与SQL的属性相同的调用共用同一计划
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public class EntityPlanCache {
+
+	private final Map<Key, Plan> plans = new ConcurrentHashMap<Key, Plan>();
+
+	/**
+	 * 获取实体对象的SQL。计划未缓存时使用解析函数生成SQL并缓存其计划
+	 *
+	 * @param obj
+	 *            实体对象
+	 * @param hardFieldSet
+	 *            硬操作属性名集合，即属性值为 {@code null} 也参与SQL的属性。没有时为 {@code null}
+	 * @param update
+	 *            是否为更新操作。是则主键属性总是作为条件参与SQL，且其参数位于最后；否则主键属性与其他属性一样仅在非空时参与SQL，参数按属性顺序排列
+	 * @param parser
+	 *            解析函数，实体类元数据尚未缓存或计划未缓存时调用
+	 * @return 返回SQL对象
+	 */
+	public <T> Script<List<Object>> getScript(T obj, Set<String> hardFieldSet, boolean update,
+			Function<T, Script<List<Object>>> parser) {
+		Class<?> type = obj.getClass();
+		EntityMeta entityMeta = EntityUtils.getCachedEntityMeta(type);
+		if (entityMeta == null) {// 首次解析时缓存实体类元数据，之后的调用再缓存计划
+			return parser.apply(obj);
+		}
+		List<FieldMeta> fieldMetas = entityMeta.getFieldMetas();
+		int size = fieldMetas.size();
+		Object[] values = new Object[size];
+		long[] mask = new long[(size + 63) >>> 6];
+		for (int i = 0; i < size; i++) {
+			FieldMeta fieldMeta = fieldMetas.get(i);
+			Object value = fieldMeta.getAccessor().get(obj);
+			values[i] = value;
+			if (value != null || (update && fieldMeta.isId())
+					|| (hardFieldSet != null && hardFieldSet.contains(fieldMeta.getField().getName()))) {
+				mask[i >>> 6] |= 1L << i;
+			}
+		}
+		Key key = new Key(type, mask);
+		Plan plan = plans.get(key);
+		if (plan == null) {
+			Script<List<Object>> script = parser.apply(obj);
+			int[] indexes = indexes(mask, fieldMetas, update);
+			if (indexes.length == script.getParams().size()) {// 解析期间属性值被并发修改时不缓存
+				plans.put(key, new Plan(script.getValue(), indexes));
+			}
+			return script;
+		}
+		return plan.toScript(values);
+	}
+
+	/**
+	 * 获取已缓存的计划数
+	 *
+	 * @return 返回已缓存的计划数
+	 */
+	public int size() {
+		return plans.size();
+	}
+
+	/**
+	 * 计算参数的绑定顺序，即参与SQL的属性的下标
+	 */
+	private static int[] indexes(long[] mask, List<FieldMeta> fieldMetas, boolean update) {
+		int count = 0;
+		for (int i = 0; i < mask.length; i++) {
+			count += Long.bitCount(mask[i]);
+		}
+		int[] indexes = new int[count];
+		int index = 0;
+		for (int i = 0, size = fieldMetas.size(); i < size; i++) {
+			if ((mask[i >>> 6] & (1L << i)) != 0 && !(update && fieldMetas.get(i).isId())) {
+				indexes[index++] = i;
+			}
+		}
+		if (update) {// 更新操作的条件参数位于最后
+			for (int i = 0, size = fieldMetas.size(); i < size; i++) {
+				if (fieldMetas.get(i).isId()) {
+					indexes[index++] = i;
+				}
+			}
+		}
+		return indexes;
+	}
+
+	/**
+	 * SQL计划
+	 */
+	private static final class Plan {
+
+		private final String sql;
+
+		private final int[] indexes;
+
+		private Plan(String sql, int[] indexes) {
+			this.sql = sql;
+			this.indexes = indexes;
+		}
+
+		private Script<List<Object>> toScript(Object[] values) {
+			List<Object> params = new ArrayList<Object>(indexes.length);
+			for (int i = 0; i < indexes.length; i++) {
+				params.add(values[indexes[i]]);
+			}
+			return new Script<List<Object>>(sql, params);
+		}
+
+	}
+
+	/**
+	 * 计划的键
+	 */
+	private static final class Key {
+
+		private final Class<?> type;
+
+		private final long[] mask;
+
+		private final int hashCode;
+
+		private Key(Class<?> type, long[] mask) {
+			this.type = type;
+			this.mask = mask;
+			this.hashCode = 31 * type.hashCode() + Arrays.hashCode(mask);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return type == other.type && Arrays.equals(mask, other.mask);
+		}
+
+	}
+
+}
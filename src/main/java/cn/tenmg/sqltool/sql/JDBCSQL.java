@@ -0,0 +1,44 @@
+package cn.tenmg.sqltool.sql;
+
+import java.util.List;
+
+/**
+ * 可直接执行的JDBC SQL，即动态结构化查询语言（DSQL）解析并转换为JDBC后的SQL及其参数
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public class JDBCSQL {
+
+	private final String id;
+
+	private final String sql;
+
+	private final List<Object> params;
+
+	public JDBCSQL(String id, String sql, List<Object> params) {
+		super();
+		this.id = id;
+		this.sql = sql;
+		this.params = params;
+	}
+
+	/**
+	 * 获取动态结构化查询语言的编号
+	 *
+	 * @return 返回编号。直接使用动态结构化查询语言脚本时返回 {@code null}
+	 */
+	public String getId() {
+		return id;
+	}
+
+	public String getSql() {
+		return sql;
+	}
+
+	public List<Object> getParams() {
+		return params;
+	}
+
+}
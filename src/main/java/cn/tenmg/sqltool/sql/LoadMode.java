@@ -0,0 +1,27 @@
+package cn.tenmg.sqltool.sql;
+
+/**
+ * 批量装载方式。决定装载的行与表中已有行主键（或唯一键）冲突时的处理方式
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public enum LoadMode {
+
+	/**
+	 * 插入。出现冲突时由数据库报错
+	 */
+	INSERT,
+
+	/**
+	 * 插入，忽略冲突的行，即仅插入不存在的行
+	 */
+	IGNORE,
+
+	/**
+	 * 插入，使用装载的行替换冲突的行。例如MySQL先删除冲突的行再插入，会触发删除相关的触发器及外键级联操作，因此与硬保存（冲突时更新）的语义并不相同
+	 */
+	REPLACE
+
+}
@@ -0,0 +1,201 @@
+package cn.tenmg.sqltool.sql;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import cn.tenmg.dsl.Script;
+import cn.tenmg.dsql.DSQLFactory;
+import cn.tenmg.dsql.NamedSQL;
+import cn.tenmg.sql.paging.SQLMetaData;
+import cn.tenmg.sql.paging.utils.SQLUtils;
+import cn.tenmg.sqltool.data.Page;
+import cn.tenmg.sqltool.macro.Paging;
+
+/**
+ * 分页查询SQL解析器。先解析计数查询SQL，再解析分页查询SQL；动态结构化查询语言（DSQL）不含分页宏时，解析分页查询SQL复用解析计数查询SQL时的结果，
+ * 不再重复解析DSQL及其元数据；不计数分页和窗口函数分页则先解析分页查询SQL，需要时再解析计数查询SQL。解析器有状态，每次分页查询使用一个新的解析器，调用方负责在查询结束后调用 {@link Paging#clear()}
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public class PageSQLParser {
+
+	private final DSQLFactory DSQLFactory;
+
+	private final SQLDialect dialect;
+
+	private final String dsql;
+
+	private final String cntDsql;
+
+	private final Function<String, NamedSQL> parser;
+
+	private NamedSQL namedSQL;
+
+	private SQLMetaData sqlMetaData;
+
+	private boolean probed;
+
+	/**
+	 * 构造分页查询SQL解析器
+	 *
+	 * @param DSQLFactory
+	 *            DSQL工厂
+	 * @param dialect
+	 *            SQL方言
+	 * @param dsql
+	 *            查询的动态结构化查询语言
+	 * @param cntDsql
+	 *            计数的动态结构化查询语言，为 {@code null} 时根据查询的动态结构化查询语言生成计数查询SQL
+	 * @param parser
+	 *            使用查询参数解析动态结构化查询语言的函数
+	 */
+	public PageSQLParser(DSQLFactory DSQLFactory, SQLDialect dialect, String dsql, String cntDsql,
+			Function<String, NamedSQL> parser) {
+		super();
+		this.DSQLFactory = DSQLFactory;
+		this.dialect = dialect;
+		this.dsql = dsql;
+		this.cntDsql = cntDsql;
+		this.parser = parser;
+	}
+
+	/**
+	 * 解析计数查询SQL
+	 *
+	 * @return 返回计数查询的JDBC SQL
+	 */
+	public JDBCSQL countSQL() {
+		if (cntDsql == null && namedSQL != null) {// 已解析过不含分页宏的DSQL
+			return toJDBC(namedSQL.getId(), dialect.countSql(namedSQL.getScript(), sqlMetaData), namedSQL.getParams());
+		}
+		Paging.initCountEnv(dialect);// 初始化Paging的计数查询SQL解析环境
+		if (cntDsql == null) {
+			NamedSQL namedSQL = parser.apply(dsql);// 假设存在#[page(……)]，尝试解析COUNT查询SQL
+			if (Paging.isCounted()) {// 已被Paging解析为COUNT查询SQL
+				return toJDBC(namedSQL.getId(), namedSQL.getScript(), namedSQL.getParams());
+			}
+			String script = namedSQL.getScript();
+			this.namedSQL = namedSQL;
+			this.sqlMetaData = SQLUtils.getSQLMetaData(script);
+			return toJDBC(namedSQL.getId(), dialect.countSql(script, sqlMetaData), namedSQL.getParams());
+		}
+		NamedSQL countNamedSQL = parser.apply(cntDsql);
+		String script = countNamedSQL.getScript();
+		if (Paging.isCounted()) {
+			return toJDBC(countNamedSQL.getId(), script, countNamedSQL.getParams());
+		}
+		return toJDBC(countNamedSQL.getId(), dialect.countSql(script, SQLUtils.getSQLMetaData(script)),
+				countNamedSQL.getParams());
+	}
+
+	/**
+	 * 解析分页查询SQL
+	 *
+	 * @param con
+	 *            数据库连接
+	 * @param page
+	 *            分页对象，提供页容量和当前页码
+	 * @return 返回分页查询的JDBC SQL
+	 * @throws SQLException
+	 *             SQL异常
+	 */
+	public JDBCSQL pageSQL(Connection con, Page<?> page) throws SQLException {
+		return pageSQL(con, page, false);
+	}
+
+	/**
+	 * 解析分页查询SQL
+	 *
+	 * @param con
+	 *            数据库连接
+	 * @param page
+	 *            分页对象，提供页容量和当前页码
+	 * @param countless
+	 *            是否不计数分页。不计数分页时尽可能从当前页第一行开始查询页容量加1行，用于判断是否存在下一页，是否成功参见
+	 *            {@link #isProbed()}
+	 * @return 返回分页查询的JDBC SQL
+	 * @throws SQLException
+	 *             SQL异常
+	 */
+	public JDBCSQL pageSQL(Connection con, Page<?> page, boolean countless) throws SQLException {
+		NamedSQL namedSQL = this.namedSQL;
+		SQLMetaData sqlMetaData = this.sqlMetaData;
+		if (namedSQL == null) {
+			Paging.initPageEnv(dialect, con, page, countless);// 初始化Paging的分页查询SQL解析环境
+			namedSQL = parser.apply(dsql);// 假设存在#[page(……)]，尝试解析分页查询SQL
+			if (Paging.isPaged()) {// DSL已被Paging解析为分页查询SQL
+				probed = Paging.isProbed();
+				return toJDBC(namedSQL.getId(), namedSQL.getScript(), namedSQL.getParams());
+			}
+			sqlMetaData = SQLUtils.getSQLMetaData(namedSQL.getScript());
+			this.namedSQL = namedSQL;
+			this.sqlMetaData = sqlMetaData;
+		}
+		String script = namedSQL.getScript();
+		Map<String, Object> usedParams = namedSQL.getParams();
+		if (countless) {
+			String sql = dialect.offsetSql(con, script, usedParams, sqlMetaData,
+					(page.getCurrentPage() - 1) * page.getPageSize(), page.getPageSize() + 1);
+			if (sql != null) {
+				probed = true;
+				return toJDBC(namedSQL.getId(), sql, usedParams);
+			}
+		}
+		probed = false;
+		return toJDBC(namedSQL.getId(),
+				dialect.pageSql(con, script, usedParams, sqlMetaData, page.getPageSize(), page.getCurrentPage()),
+				usedParams);
+	}
+
+	/**
+	 * 解析同时返回总记录数的窗口函数分页查询SQL
+	 *
+	 * @param con
+	 *            数据库连接
+	 * @param page
+	 *            分页对象，提供页容量和当前页码
+	 * @return 返回窗口函数分页查询的JDBC SQL，其每一行附加了总记录数列 {@link SQLDialect#WINDOW_TOTAL_LABEL}。
+	 *         数据库不支持窗口函数或无法为该查询附加总记录数列时返回 {@code null}
+	 * @throws SQLException
+	 *             SQL异常
+	 */
+	public JDBCSQL windowPageSQL(Connection con, Page<?> page) throws SQLException {
+		NamedSQL namedSQL = this.namedSQL;
+		SQLMetaData sqlMetaData = this.sqlMetaData;
+		if (namedSQL == null) {
+			Paging.initWindowPageEnv(dialect, con, page);// 初始化Paging的窗口函数分页查询SQL解析环境
+			namedSQL = parser.apply(dsql);// 假设存在#[page(……)]，尝试解析分页查询SQL
+			if (Paging.isPaged()) {// DSL已被Paging解析为分页查询SQL
+				return Paging.isWindowed() ? toJDBC(namedSQL.getId(), namedSQL.getScript(), namedSQL.getParams())
+						: null;
+			}
+			sqlMetaData = SQLUtils.getSQLMetaData(namedSQL.getScript());
+			this.namedSQL = namedSQL;
+			this.sqlMetaData = sqlMetaData;
+		}
+		Map<String, Object> usedParams = namedSQL.getParams();
+		String sql = dialect.windowPageSql(con, namedSQL.getScript(), usedParams, sqlMetaData, page.getPageSize(),
+				page.getCurrentPage());
+		return sql == null ? null : toJDBC(namedSQL.getId(), sql, usedParams);
+	}
+
+	/**
+	 * 判断最近一次解析的分页查询SQL是否多查询了一行
+	 *
+	 * @return 返回 {@code true} 表示最近一次解析的分页查询SQL从当前页第一行开始查询页容量加1行，否则仅查询当前页
+	 */
+	public boolean isProbed() {
+		return probed;
+	}
+
+	private JDBCSQL toJDBC(String id, String namedscript, Map<String, ?> params) {
+		Script<List<Object>> sql = DSQLFactory.toJDBC(namedscript, params);
+		return new JDBCSQL(id, sql.getValue(), sql.getParams());
+	}
+
+}
@@ -0,0 +1,155 @@
+package cn.tenmg.sqltool.sql;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 分页查询SQL模板。SQL分页方言生成的分页查询SQL中，页容量、当前页码、偏移量及结束行号均为字面量；使用探针页容量及页码生成分页查询SQL后，
+ * 将这些字面量替换为占位，即可按其他页容量、页码或偏移量填充，而无需再次改写SQL
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public final class PageSQLTemplate {
+
+	/**
+	 * 探针页容量及页码，均为质数，以便在分页查询SQL中识别页容量、当前页码、偏移量及结束行号字面量
+	 */
+	public static final int PROBE_PAGE_SIZE = 9973;
+
+	public static final long PROBE_CURRENT_PAGE = 99991;
+
+	private static final int PAGE_SIZE = 0, CURRENT_PAGE = 1, OFFSET = 2, END = 3;
+
+	private static final Pattern FIRST_PAGE_LITERALS = literals(PROBE_PAGE_SIZE),
+			PAGE_LITERALS = literals(PROBE_CURRENT_PAGE * PROBE_PAGE_SIZE, (PROBE_CURRENT_PAGE - 1) * PROBE_PAGE_SIZE,
+					PROBE_CURRENT_PAGE, PROBE_PAGE_SIZE);
+
+	private final String[] fragments;
+
+	private final int[] slots;
+
+	private PageSQLTemplate(String[] fragments, int[] slots) {
+		this.fragments = fragments;
+		this.slots = slots;
+	}
+
+	/**
+	 * 根据探针分页查询SQL构造模板
+	 *
+	 * @param probeSql
+	 *            使用页容量 {@link #PROBE_PAGE_SIZE}、页码1（第一页）或 {@link #PROBE_CURRENT_PAGE} 生成的分页查询SQL
+	 * @param firstPage
+	 *            探针分页查询SQL是否为第一页
+	 * @return 返回分页查询SQL模板
+	 */
+	public static PageSQLTemplate of(String probeSql, boolean firstPage) {
+		List<String> fragments = new ArrayList<String>();
+		List<Integer> slots = new ArrayList<Integer>();
+		Matcher matcher = (firstPage ? FIRST_PAGE_LITERALS : PAGE_LITERALS).matcher(probeSql);
+		int start = 0;
+		while (matcher.find()) {
+			fragments.add(probeSql.substring(start, matcher.start()));
+			slots.add(slot(matcher.group(1)));
+			start = matcher.end();
+		}
+		fragments.add(probeSql.substring(start));
+		int[] slotArray = new int[slots.size()];
+		for (int i = 0; i < slotArray.length; i++) {
+			slotArray[i] = slots.get(i);
+		}
+		return new PageSQLTemplate(fragments.toArray(new String[fragments.size()]), slotArray);
+	}
+
+	/**
+	 * 按页容量和页码填充模板
+	 *
+	 * @param pageSize
+	 *            页容量
+	 * @param currentPage
+	 *            当前页码
+	 * @return 返回分页查询SQL
+	 */
+	public String render(int pageSize, long currentPage) {
+		StringBuilder sql = new StringBuilder(fragments[0]);
+		for (int i = 0; i < slots.length; i++) {
+			long value;
+			switch (slots[i]) {
+			case PAGE_SIZE:
+				value = pageSize;
+				break;
+			case CURRENT_PAGE:
+				value = currentPage;
+				break;
+			case OFFSET:
+				value = (currentPage - 1) * pageSize;
+				break;
+			default:
+				value = currentPage * pageSize;
+				break;
+			}
+			sql.append(value).append(fragments[i + 1]);
+		}
+		return sql.toString();
+	}
+
+	/**
+	 * 按偏移量和行数填充模板
+	 *
+	 * @param offset
+	 *            偏移量，即跳过的行数
+	 * @param limit
+	 *            最多返回的行数
+	 * @return 返回分页查询SQL。模板使用了当前页码，无法按偏移量填充时返回 {@code null}
+	 */
+	public String renderRange(long offset, int limit) {
+		StringBuilder sql = new StringBuilder(fragments[0]);
+		for (int i = 0; i < slots.length; i++) {
+			long value;
+			switch (slots[i]) {
+			case PAGE_SIZE:
+				value = limit;
+				break;
+			case OFFSET:
+				value = offset;
+				break;
+			case END:
+				value = offset + limit;
+				break;
+			default:
+				return null;
+			}
+			sql.append(value).append(fragments[i + 1]);
+		}
+		return sql.toString();
+	}
+
+	private static int slot(String literal) {
+		if (literal.equals(String.valueOf(PROBE_PAGE_SIZE))) {
+			return PAGE_SIZE;
+		} else if (literal.equals(String.valueOf(PROBE_CURRENT_PAGE))) {
+			return CURRENT_PAGE;
+		} else if (literal.equals(String.valueOf((PROBE_CURRENT_PAGE - 1) * PROBE_PAGE_SIZE))) {
+			return OFFSET;
+		}
+		return END;
+	}
+
+	/**
+	 * 匹配独立数字字面量的正则表达式，按给定顺序（长者优先）尝试
+	 */
+	private static Pattern literals(long... values) {
+		StringBuilder regex = new StringBuilder("(?<![0-9.])(");
+		for (int i = 0; i < values.length; i++) {
+			if (i > 0) {
+				regex.append("|");
+			}
+			regex.append(values[i]);
+		}
+		return Pattern.compile(regex.append(")(?![0-9.])").toString());
+	}
+
+}
@@ -1,8 +1,13 @@
 package cn.tenmg.sqltool.sql;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.List;
+import java.util.Map;
 
 import cn.tenmg.dsl.Script;
+import cn.tenmg.sql.paging.SQLMetaData;
 import cn.tenmg.sql.paging.SQLPagingDialect;
 
 /**
@@ -14,6 +19,11 @@ import cn.tenmg.sql.paging.SQLPagingDialect;
  */
 public interface SQLDialect extends SQLPagingDialect {
 
+	/**
+	 * 窗口函数分页查询SQL中总记录数列的标签
+	 */
+	String WINDOW_TOTAL_LABEL = "SQLTOOL_TOTAL";
+
 	/**
 	 * 获取软更新的更新数据操作对象。软更新是指仅对属性值不为 {@code null} 的执行更新操作。
 	 * 
@@ -113,4 +123,129 @@ public interface SQLDialect extends SQLPagingDialect {
 	 */
 	<T> Script<List<Object>> hardSave(T obj);
 
+	/**
+	 * 配置连接，使其支持使用服务端游标逐批读取大结果集。例如PostgreSQL仅在关闭自动提交时才会使用游标读取
+	 * 
+	 * @param con
+	 *            连接对象
+	 * @return 如果修改了连接的状态，返回 {@code true}，此时读取完成后需要调用 {@link #restoreCursorRead(Connection)}
+	 *         恢复连接；否则返回 {@code false}
+	 * @throws SQLException
+	 *             SQL异常
+	 */
+	boolean configureCursorRead(Connection con) throws SQLException;
+
+	/**
+	 * 恢复由 {@link #configureCursorRead(Connection)} 修改的连接状态
+	 * 
+	 * @param con
+	 *            连接对象
+	 * @throws SQLException
+	 *             SQL异常
+	 */
+	void restoreCursorRead(Connection con) throws SQLException;
+
+	/**
+	 * 配置声明对象，使其查询结果使用游标逐批读取而不是被驱动程序全部缓存在内存中
+	 * 
+	 * @param statement
+	 *            声明对象
+	 * @param fetchSize
+	 *            抓取大小
+	 * @param exclusive
+	 *            连接是否由本次读取独占（读取完成后即释放）。事务等共享的连接为 {@code false}，此时不能使用读取期间阻止该连接执行其他语句的方式
+	 * @throws SQLException
+	 *             SQL异常
+	 */
+	void configureCursorRead(Statement statement, int fetchSize, boolean exclusive) throws SQLException;
+
+	/**
+	 * 获取单条SQL语句允许绑定的最大参数个数
+	 * 
+	 * @return 返回单条SQL语句允许绑定的最大参数个数
+	 */
+	int getMaxParameters();
+
+	/**
+	 * 获取单条多行插入语句（{@code INSERT INTO ... VALUES (...), (...)}）允许插入的最大行数
+	 * 
+	 * @return 返回单条插入语句允许插入的最大行数。返回值小于2表示不支持多行插入，此时批量插入仍逐行添加批量
+	 */
+	int getMaxInsertRows();
+
+	/**
+	 * 获取批量装载器
+	 * 
+	 * @return 返回批量装载器。不支持批量装载时返回 {@code null}
+	 */
+	BulkLoader getBulkLoader();
+
+	/**
+	 * 判断驱动程序是否支持在批量执行后通过 {@code getGeneratedKeys} 获取该批全部生成的主键
+	 * 
+	 * @return 支持返回 {@code true}，否则返回 {@code false}，此时需逐行执行插入并获取生成的主键
+	 */
+	boolean isBatchGeneratedKeysSupported();
+
+	/**
+	 * 获取键集分页（seek）查询SQL。将查询SQL作为子查询，按排序键过滤出排在上一页最后一行之后的记录，按排序键排序并限制返回行数，
+	 * 例如 {@code SELECT * FROM (...) SQLTOOL_SEEK WHERE (K1, K2) > (:k1, :k2) ORDER BY K1, K2 LIMIT 10}
+	 * 
+	 * @param namedSql
+	 *            使用命名参数的查询SQL，不应包含 {@code ORDER BY} 子句
+	 * @param orderKeys
+	 *            排序键，即查询结果的列名（标签），列名后可附加 {@code ASC} 或 {@code DESC}。排序键组合必须唯一且不为 {@code null}
+	 * @param keyParamNames
+	 *            上一页最后一行各排序键值的参数名。为 {@code null} 时查询第一页
+	 * @param limit
+	 *            最多返回的行数
+	 * @return 返回使用命名参数的键集分页查询SQL
+	 */
+	String seekSql(String namedSql, String[] orderKeys, String[] keyParamNames, int limit);
+
+	/**
+	 * 获取按偏移量和行数分页的查询SQL。偏移量不必是行数的整数倍，例如不计数分页从当前页第一行开始多查询一行，用于判断是否存在下一页
+	 * 
+	 * @param con
+	 *            数据库连接
+	 * @param namedSql
+	 *            使用命名参数的查询SQL
+	 * @param params
+	 *            查询参数
+	 * @param sqlMetaData
+	 *            SQL相关数据
+	 * @param offset
+	 *            偏移量，即跳过的行数
+	 * @param limit
+	 *            最多返回的行数
+	 * @return 返回使用命名参数的分页查询SQL。无法按偏移量分页时返回 {@code null}
+	 * @throws SQLException
+	 *             SQL异常
+	 */
+	String offsetSql(Connection con, String namedSql, Map<String, ?> params, SQLMetaData sqlMetaData, long offset,
+			int limit) throws SQLException;
+
+	/**
+	 * 获取同时返回总记录数的分页查询SQL。使用窗口函数 {@code COUNT(*) OVER()} 在每一行附加列 {@link #WINDOW_TOTAL_LABEL}，
+	 * 一次查询即可得到当前页的记录和总记录数，不必再执行计数查询。当前页没有记录时无法得到总记录数，调用方应回退为执行计数查询
+	 * 
+	 * @param con
+	 *            数据库连接
+	 * @param namedSql
+	 *            使用命名参数的查询SQL
+	 * @param params
+	 *            查询参数
+	 * @param sqlMetaData
+	 *            SQL相关数据
+	 * @param pageSize
+	 *            页容量
+	 * @param currentPage
+	 *            当前页码
+	 * @return 返回使用命名参数的分页查询SQL。数据库不支持窗口函数或无法为该查询SQL附加总记录数列时返回 {@code null}
+	 * @throws SQLException
+	 *             SQL异常
+	 */
+	String windowPageSql(Connection con, String namedSql, Map<String, ?> params, SQLMetaData sqlMetaData,
+			int pageSize, long currentPage) throws SQLException;
+
 }
@@ -3,12 +3,16 @@ package cn.tenmg.sqltool.sql.dialect;
 import java.lang.reflect.Field;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 
 import cn.tenmg.dsl.Script;
 import cn.tenmg.dsl.utils.PlaceHolderUtils;
@@ -22,12 +26,16 @@ import cn.tenmg.sqltool.exception.ColumnNotFoundException;
 import cn.tenmg.sqltool.exception.DataAccessException;
 import cn.tenmg.sqltool.exception.NoColumnForUpdateException;
 import cn.tenmg.sqltool.exception.PkNotFoundException;
+import cn.tenmg.sqltool.sql.BulkLoader;
+import cn.tenmg.sqltool.sql.EntityPlanCache;
 import cn.tenmg.sqltool.sql.MergeSQL;
+import cn.tenmg.sqltool.sql.PageSQLTemplate;
 import cn.tenmg.sqltool.sql.SQLDialect;
 import cn.tenmg.sqltool.sql.UpdateSQL;
 import cn.tenmg.sqltool.sql.meta.EntityMeta;
 import cn.tenmg.sqltool.sql.meta.FieldMeta;
 import cn.tenmg.sqltool.sql.utils.EntityUtils;
+import cn.tenmg.sqltool.sql.utils.KeysetUtils;
 import cn.tenmg.sqltool.utils.JDBCExecuteUtils;
 
 /**
@@ -47,6 +55,36 @@ public abstract class AbstractSQLDialect implements SQLDialect {
 
 	protected static final int SELECT_LEN = "SELECT".length();
 
+	/**
+	 * 键集分页查询子查询的别名
+	 */
+	private static final String SEEK_ALIAS = "SQLTOOL_SEEK";
+
+	/**
+	 * 窗口函数分页查询子查询的别名及总记录数列
+	 */
+	private static final String WINDOW_ALIAS = "SQLTOOL_WINDOW",
+			WINDOW_TOTAL_COLUMN = ", COUNT(*) OVER() ".concat(WINDOW_TOTAL_LABEL);
+
+	/**
+	 * 单条SQL语句默认允许绑定的最大参数个数
+	 */
+	protected static final int MAX_PARAMETERS = 65535;
+
+	/**
+	 * 软更新（含部分硬更新）、软保存（含部分硬保存）SQL计划缓存。方言是单例，因此每个方言各自缓存
+	 */
+	private final EntityPlanCache updatePlans = new EntityPlanCache(), savePlans = new EntityPlanCache();
+
+	/**
+	 * 更新、软保存（含部分硬保存）及硬保存操作对象缓存。键包含方言、实体类及规范化（去重并排序）的硬操作属性名。操作对象是可变的，
+	 * 因此缓存的操作对象不对外暴露，每次返回其副本
+	 */
+	private static final Map<StatementKey, UpdateSQL> UPDATE_SQLS = new ConcurrentHashMap<StatementKey, UpdateSQL>();
+
+	private static final Map<StatementKey, MergeSQL> MERGE_SQLS = new ConcurrentHashMap<StatementKey, MergeSQL>(),
+			HARD_MERGE_SQLS = new ConcurrentHashMap<StatementKey, MergeSQL>();
+
 	/**
 	 * 获取SQL分页查询方言
 	 * 
@@ -135,8 +173,246 @@ public abstract class AbstractSQLDialect implements SQLDialect {
 		return getSQLPagingDialect().pageSql(con, sql, params, sqlMetaData, pageSize, currentPage);
 	}
 
+	@Override
+	public boolean configureCursorRead(Connection con) throws SQLException {
+		return false;
+	}
+
+	@Override
+	public void restoreCursorRead(Connection con) throws SQLException {
+	}
+
+	@Override
+	public void configureCursorRead(Statement statement, int fetchSize, boolean exclusive) throws SQLException {
+		statement.setFetchSize(fetchSize);
+	}
+
+	@Override
+	public int getMaxParameters() {
+		return MAX_PARAMETERS;
+	}
+
+	@Override
+	public int getMaxInsertRows() {
+		return 1;
+	}
+
+	@Override
+	public BulkLoader getBulkLoader() {
+		return null;
+	}
+
+	@Override
+	public boolean isBatchGeneratedKeysSupported() {
+		return false;
+	}
+
+	@Override
+	public String seekSql(String namedSql, String[] orderKeys, String[] keyParamNames, int limit) {
+		StringBuilder sql = new StringBuilder("SELECT * FROM (").append(namedSql).append(") ").append(SEEK_ALIAS);
+		if (keyParamNames != null) {
+			sql.append(" WHERE ");
+			appendSeekCondition(sql, orderKeys, keyParamNames);
+		}
+		sql.append(" ORDER BY ");
+		for (int i = 0; i < orderKeys.length; i++) {
+			if (i > 0) {
+				sql.append(", ");
+			}
+			sql.append(KeysetUtils.getColumn(orderKeys[i]));
+			if (KeysetUtils.isDescending(orderKeys[i])) {
+				sql.append(" DESC");
+			}
+		}
+		return limitSql(sql.toString(), limit);
+	}
+
+	@Override
+	public String offsetSql(Connection con, String namedSql, Map<String, ?> params, SQLMetaData sqlMetaData,
+			long offset, int limit) throws SQLException {
+		if (offset % limit == 0) {
+			return pageSql(con, namedSql, params, sqlMetaData, limit, offset / limit + 1);
+		}
+		// 分页方言只能按页容量和页码分页：使用探针页容量和页码生成模板，验证模板可还原实际分页查询SQL后再按偏移量填充
+		PageSQLTemplate template = PageSQLTemplate.of(pageSql(con, namedSql, params, sqlMetaData,
+				PageSQLTemplate.PROBE_PAGE_SIZE, PageSQLTemplate.PROBE_CURRENT_PAGE), false);
+		if (!pageSql(con, namedSql, params, sqlMetaData, limit, 2).equals(template.render(limit, 2))) {
+			return null;
+		}
+		return template.renderRange(offset, limit);
+	}
+
+	@Override
+	public String windowPageSql(Connection con, String namedSql, Map<String, ?> params, SQLMetaData sqlMetaData,
+			int pageSize, long currentPage) throws SQLException {
+		if (!isWindowFunctionSupported(con)) {
+			return null;
+		}
+		String windowSql = windowTotalSql(namedSql, sqlMetaData);
+		if (windowSql == null) {
+			return null;
+		}
+		return pageSql(con, windowSql, params, SQLUtils.getSQLMetaData(windowSql), pageSize, currentPage);
+	}
+
+	/**
+	 * 判断数据库是否支持窗口函数 {@code COUNT(*) OVER()}
+	 * 
+	 * @param con
+	 *            数据库连接
+	 * @return 支持返回 {@code true}，否则返回 {@code false}
+	 * @throws SQLException
+	 *             SQL异常
+	 */
+	boolean isWindowFunctionSupported(Connection con) throws SQLException {
+		return true;
+	}
+
+	/**
+	 * 为查询SQL附加总记录数列。窗口函数在 {@code WHERE}、{@code GROUP BY} 和 {@code HAVING} 之后，{@code DISTINCT}、
+	 * {@code UNION} 和行数限制之前计算，因此仅当查询SQL不含后者时才能直接在选择列表末尾附加；否则只能将其作为子查询，
+	 * 而子查询的排序不一定保留，所以含 {@code ORDER BY} 子句时返回 {@code null}
+	 * 
+	 * @param namedSql
+	 *            使用命名参数的查询SQL
+	 * @param sqlMetaData
+	 *            SQL相关数据
+	 * @return 返回附加总记录数列后的查询SQL。无法附加时返回 {@code null}
+	 */
+	String windowTotalSql(String namedSql, SQLMetaData sqlMetaData) {
+		int selectIndex = sqlMetaData.getSelectIndex(), fromIndex = sqlMetaData.getFromIndex();
+		if (selectIndex < 0 || fromIndex < 0) {
+			return null;
+		}
+		if (sqlMetaData.getLimitIndex() < 0 && sqlMetaData.getOffsetIndex() < 0 && sqlMetaData.getFetchIndex() < 0
+				&& isPlainSelectList(namedSql.substring(selectIndex + SELECT_LEN, fromIndex))
+				&& !namedSql.toUpperCase().contains("UNION")) {
+			int end = fromIndex;
+			while (end > 0 && Character.isWhitespace(namedSql.charAt(end - 1))) {
+				end--;
+			}
+			return namedSql.substring(0, end).concat(WINDOW_TOTAL_COLUMN).concat(namedSql.substring(end));
+		} else if (sqlMetaData.getOrderByIndex() < 0 && namedSql.substring(0, selectIndex).trim().isEmpty()) {
+			return "SELECT ".concat(WINDOW_ALIAS).concat(".*").concat(WINDOW_TOTAL_COLUMN).concat(" FROM (")
+					.concat(namedSql).concat(") ").concat(WINDOW_ALIAS);
+		}
+		return null;
+	}
+
+	/**
+	 * 判断选择列表能否直接在末尾附加总记录数列
+	 * 
+	 * @param selectList
+	 *            {@code SELECT} 与 {@code FROM} 之间的选择列表
+	 * @return 可以返回 {@code true}，否则返回 {@code false}
+	 */
+	boolean isPlainSelectList(String selectList) {
+		String upper = selectList.trim().toUpperCase();
+		return !upper.startsWith("DISTINCT") && !upper.startsWith("TOP ");
+	}
+
+	/**
+	 * 判断是否支持行值比较，例如 {@code (K1, K2) > (?, ?)}
+	 * 
+	 * @return 支持返回 {@code true}，否则返回 {@code false}，此时键集分页展开为 {@code K1 > ? OR (K1 = ? AND K2 > ?)}
+	 */
+	boolean isRowValueComparisonSupported() {
+		return true;
+	}
+
+	/**
+	 * 限制已排序的查询SQL最多返回的行数
+	 * 
+	 * @param sql
+	 *            以 {@code SELECT} 开头，以 {@code ORDER BY} 子句结尾的查询SQL
+	 * @param limit
+	 *            最多返回的行数
+	 * @return 返回限制行数后的查询SQL
+	 */
+	String limitSql(String sql, int limit) {
+		return sql.concat(" LIMIT ").concat(String.valueOf(limit));
+	}
+
+	private void appendSeekCondition(StringBuilder sql, String[] orderKeys, String[] keyParamNames) {
+		boolean descending = KeysetUtils.isDescending(orderKeys[0]), uniform = true;
+		for (int i = 1; i < orderKeys.length && uniform; i++) {
+			uniform = KeysetUtils.isDescending(orderKeys[i]) == descending;
+		}
+		if (orderKeys.length == 1) {
+			sql.append(KeysetUtils.getColumn(orderKeys[0])).append(descending ? " < :" : " > :")
+					.append(keyParamNames[0]);
+		} else if (uniform && isRowValueComparisonSupported()) {
+			sql.append("(");
+			for (int i = 0; i < orderKeys.length; i++) {
+				if (i > 0) {
+					sql.append(", ");
+				}
+				sql.append(KeysetUtils.getColumn(orderKeys[i]));
+			}
+			sql.append(descending ? ") < (" : ") > (");
+			for (int i = 0; i < keyParamNames.length; i++) {
+				if (i > 0) {
+					sql.append(", ");
+				}
+				sql.append(":").append(keyParamNames[i]);
+			}
+			sql.append(")");
+		} else {// (K1 > :k1 OR (K1 = :k1 AND K2 > :k2) OR ...)
+			sql.append("(");
+			for (int i = 0; i < orderKeys.length; i++) {
+				if (i > 0) {
+					sql.append(" OR (");
+					for (int j = 0; j < i; j++) {
+						sql.append(KeysetUtils.getColumn(orderKeys[j])).append(" = :").append(keyParamNames[j])
+								.append(" AND ");
+					}
+				}
+				sql.append(KeysetUtils.getColumn(orderKeys[i]))
+						.append(KeysetUtils.isDescending(orderKeys[i]) ? " < :" : " > :").append(keyParamNames[i]);
+				if (i > 0) {
+					sql.append(")");
+				}
+			}
+			sql.append(")");
+		}
+	}
+
 	@Override
 	public <T> UpdateSQL update(Class<T> type) {
+		return copy(UPDATE_SQLS.computeIfAbsent(new StatementKey(this, type, null), key -> parseUpdate(type)));
+	}
+
+	@Override
+	public <T> UpdateSQL update(Class<T> type, String... hardFields) {
+		return copy(UPDATE_SQLS.computeIfAbsent(new StatementKey(this, type, hardFields),
+				key -> parseUpdate(type, key.hardFields)));
+	}
+
+	@Override
+	public <T> MergeSQL save(Class<T> type) {
+		return copy(MERGE_SQLS.computeIfAbsent(new StatementKey(this, type, null), key -> parseSave(type)));
+	}
+
+	@Override
+	public <T> MergeSQL save(Class<T> type, String... hardFields) {
+		return copy(MERGE_SQLS.computeIfAbsent(new StatementKey(this, type, hardFields),
+				key -> parseSave(type, key.hardFields)));
+	}
+
+	@Override
+	public <T> MergeSQL hardSave(Class<T> type) {
+		return copy(HARD_MERGE_SQLS.computeIfAbsent(new StatementKey(this, type, null), key -> parseHardSave(type)));
+	}
+
+	private static UpdateSQL copy(UpdateSQL updateSQL) {
+		return new UpdateSQL(updateSQL.getScript(), new ArrayList<Field>(updateSQL.getFields()));
+	}
+
+	private static MergeSQL copy(MergeSQL mergeSql) {
+		return new MergeSQL(mergeSql.getScript(), new ArrayList<FieldMeta>(mergeSql.getFieldMetas()));
+	}
+
+	private <T> UpdateSQL parseUpdate(Class<T> type) {
 		EntityMeta entityMeta = EntityUtils.getCachedEntityMeta(type);
 		boolean hasId = false, hasGeneralColumn = false;
 		StringBuilder sets = new StringBuilder(), condition = new StringBuilder();
@@ -224,8 +500,7 @@ public abstract class AbstractSQLDialect implements SQLDialect {
 				idFields);
 	}
 
-	@Override
-	public <T> UpdateSQL update(Class<T> type, String... hardFields) {
+	private <T> UpdateSQL parseUpdate(Class<T> type, String... hardFields) {
 		Set<String> hardFieldSet = new HashSet<String>();
 		for (int i = 0; i < hardFields.length; i++) {
 			hardFieldSet.add(hardFields[i]);
@@ -326,8 +601,7 @@ public abstract class AbstractSQLDialect implements SQLDialect {
 				idFields);
 	}
 
-	@Override
-	public <T> MergeSQL save(Class<T> type) {
+	private <T> MergeSQL parseSave(Class<T> type) {
 		EntityMeta entityMeta = EntityUtils.getCachedEntityMeta(type);
 		boolean columnFound = false;
 		Map<String, StringBuilder> templateParams = getSQLTemplateParams();
@@ -373,8 +647,7 @@ public abstract class AbstractSQLDialect implements SQLDialect {
 		}
 	}
 
-	@Override
-	public <T> MergeSQL save(Class<T> type, String... hardFields) {
+	private <T> MergeSQL parseSave(Class<T> type, String... hardFields) {
 		Set<String> hardFieldSet = new HashSet<String>();
 		for (int i = 0; i < hardFields.length; i++) {
 			hardFieldSet.add(hardFields[i]);
@@ -429,8 +702,7 @@ public abstract class AbstractSQLDialect implements SQLDialect {
 		}
 	}
 
-	@Override
-	public <T> MergeSQL hardSave(Class<T> type) {
+	private <T> MergeSQL parseHardSave(Class<T> type) {
 		EntityMeta entityMeta = EntityUtils.getCachedEntityMeta(type);
 		boolean columnFound = false;
 		Map<String, StringBuilder> templateParams = getSQLTemplateParams();
@@ -478,6 +750,33 @@ public abstract class AbstractSQLDialect implements SQLDialect {
 
 	@Override
 	public <T> Script<List<Object>> update(T obj) {
+		return updatePlans.getScript(obj, null, true, this::parseUpdate);
+	}
+
+	@Override
+	public <T> Script<List<Object>> update(T obj, String... hardFields) {
+		Set<String> hardFieldSet = new HashSet<String>();
+		for (int i = 0; i < hardFields.length; i++) {
+			hardFieldSet.add(hardFields[i]);
+		}
+		return updatePlans.getScript(obj, hardFieldSet, true, o -> parseUpdate(o, hardFieldSet));
+	}
+
+	@Override
+	public <T> Script<List<Object>> save(T obj) {
+		return savePlans.getScript(obj, null, false, this::parseSave);
+	}
+
+	@Override
+	public <T> Script<List<Object>> save(T obj, String... hardFields) {
+		Set<String> hardFieldSet = new HashSet<String>();
+		for (int i = 0; i < hardFields.length; i++) {
+			hardFieldSet.add(hardFields[i]);
+		}
+		return savePlans.getScript(obj, hardFieldSet, false, o -> parseSave(o, hardFieldSet));
+	}
+
+	private <T> Script<List<Object>> parseUpdate(T obj) {
 		Class<?> type = obj.getClass();
 		EntityMeta entityMeta = EntityUtils.getCachedEntityMeta(type);
 		boolean hasId = false, hasGeneralColumn = false;
@@ -539,9 +838,8 @@ public abstract class AbstractSQLDialect implements SQLDialect {
 				List<FieldMeta> fieldMetas = entityMeta.getFieldMetas();
 				for (int i = 0, size = fieldMetas.size(); i < size; i++) {
 					FieldMeta fieldMeta = fieldMetas.get(i);
-					Field field = fieldMeta.getField();
 					String columnName = fieldMeta.getColumnName();
-					Object param = field.get(obj);
+					Object param = fieldMeta.getAccessor().get(obj);
 					if (fieldMeta.isId()) {
 						conditionValues.add(param);
 						if (hasId) {
@@ -570,12 +868,7 @@ public abstract class AbstractSQLDialect implements SQLDialect {
 		return sql(obj, hasId, hasGeneralColumn, entityMeta.getTableName(), sets, condition, values, conditionValues);
 	}
 
-	@Override
-	public <T> Script<List<Object>> update(T obj, String... hardFields) {
-		Set<String> hardFieldSet = new HashSet<String>();
-		for (int i = 0; i < hardFields.length; i++) {
-			hardFieldSet.add(hardFields[i]);
-		}
+	private <T> Script<List<Object>> parseUpdate(T obj, Set<String> hardFieldSet) {
 		Class<?> type = obj.getClass();
 		EntityMeta entityMeta = EntityUtils.getCachedEntityMeta(type);
 		boolean hasId = false, hasGeneralColumn = false;
@@ -639,7 +932,7 @@ public abstract class AbstractSQLDialect implements SQLDialect {
 					FieldMeta fieldMeta = fieldMetas.get(i);
 					Field field = fieldMeta.getField();
 					String columnName = fieldMeta.getColumnName();
-					Object param = field.get(obj);
+					Object param = fieldMeta.getAccessor().get(obj);
 					if (fieldMeta.isId()) {
 						conditionValues.add(param);
 						if (hasId) {
@@ -668,8 +961,7 @@ public abstract class AbstractSQLDialect implements SQLDialect {
 		return sql(obj, hasId, hasGeneralColumn, entityMeta.getTableName(), sets, condition, values, conditionValues);
 	}
 
-	@Override
-	public <T> Script<List<Object>> save(T obj) {
+	private <T> Script<List<Object>> parseSave(T obj) {
 		Class<?> type = obj.getClass();
 		EntityMeta entityMeta = EntityUtils.getCachedEntityMeta(type);
 		boolean columnFound = false;
@@ -688,7 +980,7 @@ public abstract class AbstractSQLDialect implements SQLDialect {
 				for (int i = 0, size = fieldMetas.size(); i < size; i++) {
 					FieldMeta fieldMeta = fieldMetas.get(i);
 					String columnName = fieldMeta.getColumnName();
-					Object param = fieldMeta.getField().get(obj);
+					Object param = fieldMeta.getAccessor().get(obj);
 					if (param != null) {// 仅插入非NULL部分的字段值
 						params.add(param);
 						if (columnFound) {
@@ -722,12 +1014,7 @@ public abstract class AbstractSQLDialect implements SQLDialect {
 		}
 	}
 
-	@Override
-	public <T> Script<List<Object>> save(T obj, String... hardFields) {
-		Set<String> hardFieldSet = new HashSet<String>();
-		for (int i = 0; i < hardFields.length; i++) {
-			hardFieldSet.add(hardFields[i]);
-		}
+	private <T> Script<List<Object>> parseSave(T obj, Set<String> hardFieldSet) {
 		Class<?> type = obj.getClass();
 		EntityMeta entityMeta = EntityUtils.getCachedEntityMeta(type);
 		boolean columnFound = false;
@@ -747,7 +1034,7 @@ public abstract class AbstractSQLDialect implements SQLDialect {
 					FieldMeta fieldMeta = fieldMetas.get(i);
 					String columnName = fieldMeta.getColumnName();
 					Field field = fieldMeta.getField();
-					Object param = field.get(obj);
+					Object param = fieldMeta.getAccessor().get(obj);
 					if (param != null || hardFieldSet.contains(field.getName())) {// 仅插入非NULL或硬保存部分的字段值
 						params.add(param);
 						if (columnFound) {
@@ -801,8 +1088,7 @@ public abstract class AbstractSQLDialect implements SQLDialect {
 				for (int i = 0, size = fieldMetas.size(); i < size; i++) {
 					FieldMeta fieldMeta = fieldMetas.get(i);
 					String columnName = fieldMeta.getColumnName();
-					Field field = fieldMeta.getField();
-					params.add(field.get(obj));
+					params.add(fieldMeta.getAccessor().get(obj));
 					if (columnFound) {
 						appendComma(templateParams, getNeedsCommaParamNames());
 					} else {
@@ -1235,4 +1521,47 @@ public abstract class AbstractSQLDialect implements SQLDialect {
 		}
 	}
 
+	/**
+	 * 操作对象缓存的键
+	 */
+	private static final class StatementKey {
+
+		private final SQLDialect dialect;
+
+		private final Class<?> type;
+
+		/**
+		 * 去重并排序后的硬操作属性名，没有指定硬操作属性（区别于指定了空的硬操作属性）时为 {@code null}
+		 */
+		private final String[] hardFields;
+
+		private final int hashCode;
+
+		private StatementKey(SQLDialect dialect, Class<?> type, String[] hardFields) {
+			this.dialect = dialect;
+			this.type = type;
+			this.hardFields = hardFields == null ? null
+					: new TreeSet<String>(Arrays.asList(hardFields)).toArray(new String[0]);
+			this.hashCode = (31 * dialect.hashCode() + type.hashCode()) * 31 + Arrays.hashCode(this.hardFields);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof StatementKey)) {
+				return false;
+			}
+			StatementKey other = (StatementKey) obj;
+			return dialect == other.dialect && type == other.type && Arrays.equals(hardFields, other.hardFields);
+		}
+
+	}
+
 }
@@ -1,5 +1,8 @@
 package cn.tenmg.sqltool.sql.dialect;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -7,6 +10,8 @@ import java.util.Map;
 import cn.tenmg.sql.paging.SQLPagingDialect;
 import cn.tenmg.sql.paging.dialect.MySQLPagingDialect;
 import cn.tenmg.sql.paging.utils.SQLUtils;
+import cn.tenmg.sqltool.sql.BulkLoader;
+import cn.tenmg.sqltool.sql.loader.MySQLLoadDataLoader;
 
 /**
  * MySQL 方言
@@ -35,11 +40,35 @@ public class MySQLDialect extends AbstractSQLDialect {
 		return INSTANCE;
 	}
 
+	@Override
+	public int getMaxInsertRows() {
+		return Integer.MAX_VALUE;
+	}
+
+	@Override
+	public BulkLoader getBulkLoader() {
+		return MySQLLoadDataLoader.getInstance();
+	}
+
+	@Override
+	public boolean isBatchGeneratedKeysSupported() {
+		return true;
+	}
+
 	@Override
 	SQLPagingDialect getSQLPagingDialect() {
 		return MySQLPagingDialect.getInstance();
 	}
 
+	/**
+	 * MySQL驱动程序默认缓存全部结果。独占的连接使用 {@code Integer.MIN_VALUE} 作为抓取大小逐行流式读取；流式读取期间该连接不能执行其他语句，
+	 * 因此共享的连接（例如事务中）仅设置抓取大小，数据源的连接开启了 {@code useCursorFetch} 时将使用服务端游标按抓取大小读取，否则仍由驱动程序缓存全部结果
+	 */
+	@Override
+	public void configureCursorRead(Statement statement, int fetchSize, boolean exclusive) throws SQLException {
+		statement.setFetchSize(exclusive ? Integer.MIN_VALUE : fetchSize);
+	}
+
 	@Override
 	String getUpdateSetIfNotNullTemplate() {
 		return UPDATE_SET_IF_NOT_NULL_TEMPLATE;
@@ -86,4 +115,12 @@ public class MySQLDialect extends AbstractSQLDialect {
 		return SET_IF_NOT_NULL_TEMPLATE;
 	}
 
-}
\ No newline at end of file
+	/**
+	 * MySQL 8.0开始支持窗口函数
+	 */
+	@Override
+	boolean isWindowFunctionSupported(Connection con) throws SQLException {
+		return con.getMetaData().getDatabaseMajorVersion() >= 8;
+	}
+
+}
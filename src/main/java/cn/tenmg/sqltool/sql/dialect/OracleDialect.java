@@ -1,5 +1,7 @@
 package cn.tenmg.sqltool.sql.dialect;
 
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -94,4 +96,27 @@ public class OracleDialect extends AbstractSQLDialect {
 		return OraclePagingDialect.getInstance();
 	}
 
+	@Override
+	boolean isRowValueComparisonSupported() {
+		return false;
+	}
+
+	@Override
+	String limitSql(String sql, int limit) {
+		return "SELECT * FROM (".concat(sql).concat(") WHERE ROWNUM <= ").concat(String.valueOf(limit));
+	}
+
+	@Override
+	boolean isWindowFunctionSupported(Connection con) throws SQLException {
+		return con.getMetaData().getDatabaseMajorVersion() >= 12;
+	}
+
+	/**
+	 * Oracle的选择列表为 {@code *} 时不能再附加其他列
+	 */
+	@Override
+	boolean isPlainSelectList(String selectList) {
+		return super.isPlainSelectList(selectList) && !"*".equals(selectList.trim());
+	}
+
 }
@@ -1,5 +1,7 @@
 package cn.tenmg.sqltool.sql.dialect;
 
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -7,6 +9,8 @@ import java.util.Map;
 import cn.tenmg.sql.paging.SQLPagingDialect;
 import cn.tenmg.sql.paging.dialect.PostgreSQLPagingDialect;
 import cn.tenmg.sql.paging.utils.SQLUtils;
+import cn.tenmg.sqltool.sql.BulkLoader;
+import cn.tenmg.sqltool.sql.loader.PostgreSQLCopyLoader;
 import cn.tenmg.sqltool.utils.JDBCExecuteUtils;
 
 /**
@@ -37,6 +41,21 @@ public class PostgreSQLDialect extends AbstractSQLDialect {
 		return INSTANCE;
 	}
 
+	@Override
+	public int getMaxInsertRows() {
+		return Integer.MAX_VALUE;
+	}
+
+	@Override
+	public BulkLoader getBulkLoader() {
+		return PostgreSQLCopyLoader.getInstance();
+	}
+
+	@Override
+	public boolean isBatchGeneratedKeysSupported() {
+		return true;
+	}
+
 	@Override
 	String getUpdateSetIfNotNullTemplate() {
 		return UPDATE_SET_IF_NOT_NULL_TEMPLATE;
@@ -92,4 +111,22 @@ public class PostgreSQLDialect extends AbstractSQLDialect {
 		return PostgreSQLPagingDialect.getInstance();
 	}
 
+	/**
+	 * PostgreSQL驱动程序仅在关闭自动提交时才会按抓取大小使用游标读取，否则会一次性读取全部结果
+	 */
+	@Override
+	public boolean configureCursorRead(Connection con) throws SQLException {
+		if (con.getAutoCommit()) {
+			con.setAutoCommit(false);
+			return true;
+		}
+		return false;
+	}
+
+	@Override
+	public void restoreCursorRead(Connection con) throws SQLException {
+		con.commit();
+		con.setAutoCommit(true);
+	}
+
 }
@@ -1,5 +1,9 @@
 package cn.tenmg.sqltool.sql.dialect;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -7,6 +11,7 @@ import java.util.Map;
 import cn.tenmg.sql.paging.SQLPagingDialect;
 import cn.tenmg.sql.paging.dialect.SQLServerPagingDialect;
 import cn.tenmg.sql.paging.utils.SQLUtils;
+import cn.tenmg.sqltool.exception.SQLExecutorException;
 import cn.tenmg.sqltool.utils.JDBCExecuteUtils;
 
 /**
@@ -27,6 +32,31 @@ public class SQLServerDialect extends AbstractSQLDialect {
 	private static final List<String> EXT_SQL_TEMPLATE_PARAM_NAMES = Arrays.asList(FIELDS, CONDITION),
 			NEEDS_COMMA_PARAM_NAMES = Arrays.asList(FIELDS, COLUMNS, VALUES);
 
+	private static final int MAX_PARAMETERS = 2100, MAX_INSERT_ROWS = 1000;
+
+	private static final String SQLSERVER_STATEMENT = "com.microsoft.sqlserver.jdbc.ISQLServerStatement",
+			ADAPTIVE = "adaptive";
+
+	/**
+	 * 驱动程序的声明对象接口及其设置响应缓冲方式的方法。使用反射访问，因此不需要在编译期依赖SQLServer驱动
+	 */
+	private static final Class<?> STATEMENT_CLASS;
+
+	private static final Method SET_RESPONSE_BUFFERING;
+
+	static {
+		Class<?> statementClass = null;
+		Method setResponseBuffering = null;
+		try {
+			statementClass = Class.forName(SQLSERVER_STATEMENT);
+			setResponseBuffering = statementClass.getMethod("setResponseBuffering", String.class);
+		} catch (ClassNotFoundException | NoSuchMethodException e) {
+			statementClass = null;
+		}
+		STATEMENT_CLASS = statementClass;
+		SET_RESPONSE_BUFFERING = setResponseBuffering;
+	}
+
 	private static final SQLServerDialect INSTANCE = new SQLServerDialect();
 
 	private SQLServerDialect() {
@@ -37,6 +67,38 @@ public class SQLServerDialect extends AbstractSQLDialect {
 		return INSTANCE;
 	}
 
+	@Override
+	public int getMaxParameters() {
+		return MAX_PARAMETERS;
+	}
+
+	@Override
+	public int getMaxInsertRows() {
+		return MAX_INSERT_ROWS;
+	}
+
+	/**
+	 * SQLServer驱动程序仅在自适应响应缓冲（{@code responseBuffering=adaptive}）下按需读取结果，连接URL配置为
+	 * {@code full} 时会一次性缓存全部结果。因此声明对象强制使用自适应响应缓冲，并保持默认的只进、只读结果集；抓取大小仅在使用服务端游标（{@code selectMethod=cursor}）时生效
+	 */
+	@Override
+	public void configureCursorRead(Statement statement, int fetchSize, boolean exclusive) throws SQLException {
+		if (STATEMENT_CLASS != null && statement.isWrapperFor(STATEMENT_CLASS)) {
+			try {
+				SET_RESPONSE_BUFFERING.invoke(statement.unwrap(STATEMENT_CLASS), ADAPTIVE);
+			} catch (InvocationTargetException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof SQLException) {
+					throw (SQLException) cause;
+				}
+				throw new SQLExecutorException(cause);
+			} catch (IllegalAccessException e) {
+				throw new SQLExecutorException(e);
+			}
+		}
+		statement.setFetchSize(fetchSize);
+	}
+
 	@Override
 	String getUpdateSetIfNotNullTemplate() {
 		return UPDATE_SET_IF_NOT_NULL_TEMPLATE;
@@ -94,4 +156,14 @@ public class SQLServerDialect extends AbstractSQLDialect {
 		return SQLServerPagingDialect.getInstance();
 	}
 
+	@Override
+	boolean isRowValueComparisonSupported() {
+		return false;
+	}
+
+	@Override
+	String limitSql(String sql, int limit) {
+		return "SELECT TOP ".concat(String.valueOf(limit)).concat(sql.substring(SELECT_LEN));
+	}
+
 }
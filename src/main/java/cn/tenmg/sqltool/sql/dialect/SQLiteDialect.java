@@ -1,5 +1,9 @@
 package cn.tenmg.sqltool.sql.dialect;
 
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -27,6 +31,8 @@ public class SQLiteDialect extends AbstractSQLDialect {
 	private static final List<String> EXT_SQL_TEMPLATE_PARAM_NAMES = Arrays.asList(IDS),
 			NEEDS_COMMA_PARAM_NAMES = Arrays.asList(COLUMNS, VALUES);
 
+	private static final int MAX_PARAMETERS = 999;
+
 	private static final SQLiteDialect INSTANCE = new SQLiteDialect();
 
 	private SQLiteDialect() {
@@ -37,6 +43,24 @@ public class SQLiteDialect extends AbstractSQLDialect {
 		return INSTANCE;
 	}
 
+	@Override
+	public int getMaxParameters() {
+		return MAX_PARAMETERS;
+	}
+
+	@Override
+	public int getMaxInsertRows() {
+		return Integer.MAX_VALUE;
+	}
+
+	/**
+	 * SQLite驱动程序通过 {@code sqlite3_step} 逐行读取结果，不会缓存全部结果，抓取大小对读取方式没有影响；而声明对象设置了最大行数且抓取大小超过最大行数时，
+	 * 设置抓取大小反而会抛出异常。因此不设置抓取大小
+	 */
+	@Override
+	public void configureCursorRead(Statement statement, int fetchSize, boolean exclusive) throws SQLException {
+	}
+
 	@Override
 	SQLPagingDialect getSQLPagingDialect() {
 		return SQLitePagingDialect.getInstance();
@@ -92,4 +116,14 @@ public class SQLiteDialect extends AbstractSQLDialect {
 		return SET_IF_NOT_NULL_TEMPLATE;
 	}
 
+	/**
+	 * SQLite 3.25.0开始支持窗口函数
+	 */
+	@Override
+	boolean isWindowFunctionSupported(Connection con) throws SQLException {
+		DatabaseMetaData metaData = con.getMetaData();
+		int majorVersion = metaData.getDatabaseMajorVersion();
+		return majorVersion > 3 || (majorVersion == 3 && metaData.getDatabaseMinorVersion() >= 25);
+	}
+
 }
@@ -0,0 +1,79 @@
+package cn.tenmg.sqltool.sql.executer;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import cn.tenmg.sqltool.RowHandler;
+import cn.tenmg.sqltool.exception.SQLExecutorException;
+import cn.tenmg.sqltool.sql.SQLDialect;
+
+/**
+ * 逐行处理查询结果的SQL执行器。声明对象由SQL方言配置为游标读取，结果集按抓取大小分批读取，每行转换后立即交给行处理器，不会在内存中保留整个结果列表
+ * 
+ * @author June wjzhao@aliyun.com
+ *
+ * @param <T>
+ *            实体类
+ *
+ * @since 1.6.0
+ */
+public class ForEachSQLExecuter<T> extends ReadOnlySQLExecuter<Long> {
+
+	protected Class<T> type;
+
+	protected RowHandler<T> rowHandler;
+
+	protected SQLDialect dialect;
+
+	protected int fetchSize;
+
+	protected boolean exclusive;
+
+	/**
+	 * 构造逐行处理查询结果的SQL执行器
+	 * 
+	 * @param type
+	 *            行数据类型
+	 * @param rowHandler
+	 *            行处理器
+	 * @param dialect
+	 *            SQL方言
+	 * @param fetchSize
+	 *            抓取大小
+	 * @param exclusive
+	 *            连接是否由本次读取独占，参见 {@link SQLDialect#configureCursorRead(java.sql.Statement, int, boolean)}
+	 */
+	public ForEachSQLExecuter(Class<T> type, RowHandler<T> rowHandler, SQLDialect dialect, int fetchSize,
+			boolean exclusive) {
+		this.type = type;
+		this.rowHandler = rowHandler;
+		this.dialect = dialect;
+		this.fetchSize = fetchSize;
+		this.exclusive = exclusive;
+	}
+
+	@Override
+	public ResultSet execute(PreparedStatement ps) throws SQLException {
+		dialect.configureCursorRead(ps, fetchSize, exclusive);
+		return ps.executeQuery();
+	}
+
+	@Override
+	public Long execute(PreparedStatement ps, ResultSet rs) throws SQLException {
+		long count = 0;
+		RowMapper<T> rowMapper = getRowMapper(rs, type);
+		try {
+			while (rs.next()) {
+				rowHandler.handle(rowMapper.mapRow(rs));
+				count++;
+			}
+		} catch (SQLException | RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new SQLExecutorException(e);
+		}
+		return count;
+	}
+
+}
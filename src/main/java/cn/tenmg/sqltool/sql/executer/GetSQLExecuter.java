@@ -44,7 +44,7 @@ public class GetSQLExecuter<T> extends ReadOnlySQLExecuter<T> {
 	public T execute(PreparedStatement ps, ResultSet rs) throws SQLException {
 		T row = null;
 		if (rs.next()) {
-			row = getRow(rs, type);
+			row = getRowMapper(rs, type).mapRow(rs);
 			if (rs.next()) {
 				throw new SQLExecutorException(
 						"Statement returned more than one row, where no more than one was expected.");
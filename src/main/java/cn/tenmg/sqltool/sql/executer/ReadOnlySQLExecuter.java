@@ -3,6 +3,9 @@ package cn.tenmg.sqltool.sql.executer;
 import java.io.InputStream;
 import java.io.Reader;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.sql.Array;
 import java.sql.Blob;
 import java.sql.Clob;
@@ -13,18 +16,22 @@ import java.sql.ResultSetMetaData;
 import java.sql.RowId;
 import java.sql.SQLException;
 import java.sql.SQLXML;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
 
 import cn.tenmg.dsl.utils.ObjectUtils;
 import cn.tenmg.dsl.utils.StringUtils;
 import cn.tenmg.sqltool.exception.SQLExecutorException;
+import cn.tenmg.sqltool.sql.EntityMapper;
 import cn.tenmg.sqltool.sql.ResultGetter;
 import cn.tenmg.sqltool.sql.SQLExecuter;
+import cn.tenmg.sqltool.sql.meta.FieldAccessor;
+import cn.tenmg.sqltool.sql.utils.EntityMapperUtils;
+import cn.tenmg.sqltool.sql.utils.FieldAccessorUtils;
 
 /**
  * 只读SQL执行器
@@ -38,10 +45,33 @@ import cn.tenmg.sqltool.sql.SQLExecuter;
 @SuppressWarnings("rawtypes")
 public abstract class ReadOnlySQLExecuter<T> implements SQLExecuter<T> {
 
-	private static final String LABLE_SPLITOR = "_";
+	private static final String LABLE_SPLITOR = "_", SETTER_PREFIX = "set", FINGERPRINT_SPLITOR = ",";
 
 	private static final Map<Class<?>, ResultGetter> RESULT_GETTERS = new HashMap<Class<?>, ResultGetter>();
 
+	private static final Map<Class<?>, Class<?>> PRIMITIVE_WRAPPERS = new HashMap<Class<?>, Class<?>>();
+
+	/**
+	 * 无法通过结果获取器获取时，需要调用特定API获取的JDBC类型（顺序即判断顺序）
+	 */
+	private static final Class<?>[] JDBC_TYPES = { Ref.class, Array.class, SQLXML.class, Blob.class, Clob.class,
+			NClob.class, RowId.class, InputStream.class, Reader.class };
+
+	/**
+	 * 每种目标类型最多缓存的行映射器数（即不同列标签指纹数），达到上限后新编译的行映射器不再缓存
+	 */
+	private static final int MAX_ROW_MAPPERS_PER_TYPE = 64;
+
+	/**
+	 * 已编译的行映射器缓存。按目标类型关联（不阻止类型被卸载），值为列标签指纹到行映射器的映射，读取无锁
+	 */
+	private static final ClassValue<Map<String, RowMapper<?>>> ROW_MAPPERS = new ClassValue<Map<String, RowMapper<?>>>() {
+		@Override
+		protected Map<String, RowMapper<?>> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<String, RowMapper<?>>();
+		}
+	};
+
 	static {
 		ServiceLoader<ResultGetter> loader = ServiceLoader.load(ResultGetter.class);
 		ResultGetter<?> resultGetter;
@@ -49,6 +79,14 @@ public abstract class ReadOnlySQLExecuter<T> implements SQLExecuter<T> {
 			resultGetter = it.next();
 			RESULT_GETTERS.put(resultGetter.getType(), resultGetter);
 		}
+		PRIMITIVE_WRAPPERS.put(boolean.class, Boolean.class);
+		PRIMITIVE_WRAPPERS.put(byte.class, Byte.class);
+		PRIMITIVE_WRAPPERS.put(short.class, Short.class);
+		PRIMITIVE_WRAPPERS.put(int.class, Integer.class);
+		PRIMITIVE_WRAPPERS.put(long.class, Long.class);
+		PRIMITIVE_WRAPPERS.put(float.class, Float.class);
+		PRIMITIVE_WRAPPERS.put(double.class, Double.class);
+		PRIMITIVE_WRAPPERS.put(char.class, Character.class);
 	}
 
 	@Override
@@ -57,91 +95,66 @@ public abstract class ReadOnlySQLExecuter<T> implements SQLExecuter<T> {
 	}
 
 	/**
-	 * 获取并将当前行结果集转换为指定类型
+	 * 获取结果集的行映射器。行映射器根据指定类型和结果集的列标签编译，并按类型和列标签指纹缓存，同一结果集的所有行应复用同一个行映射器
 	 * 
-	 * @param rs   当前行结果集
+	 * @param rs   结果集
 	 * @param type 指定类型
-	 * @return 转换为指定类型的行结果集对象
+	 * @return 返回行映射器
 	 * @throws SQLException SQL异常
 	 */
 	@SuppressWarnings("unchecked")
-	protected static <T> T getRow(ResultSet rs, Class<T> type) throws SQLException {
-		T row;
+	protected static <T> RowMapper<T> getRowMapper(ResultSet rs, Class<T> type) throws SQLException {
 		ResultGetter<?> resultGetter = RESULT_GETTERS.get(type);
-		if (resultGetter == null) {
-			if (Map.class.isAssignableFrom(type)) {
-				ResultSetMetaData rsmd = rs.getMetaData();
-				int columnCount = rsmd.getColumnCount();
-				List<String> feildNames = new ArrayList<String>();
-				for (int i = 1; i <= columnCount; i++) {
-					feildNames.add(StringUtils.toCamelCase(rsmd.getColumnLabel(i), LABLE_SPLITOR, false));
-				}
-				try {
-					row = type.getConstructor().newInstance();
-					for (int i = 1; i <= columnCount; i++) {
-						((Map<String, Object>) row).put(feildNames.get(i - 1), rs.getObject(i));
-					}
-				} catch (Exception e) {
-					throw new SQLExecutorException(e);
-				}
-			} else if (List.class.isAssignableFrom(type)) {
-				ResultSetMetaData rsmd = rs.getMetaData();
-				int columnCount = rsmd.getColumnCount();
-				try {
-					row = type.getConstructor().newInstance();
-					for (int i = 1; i <= columnCount; i++) {
-						((List<Object>) row).add(rs.getObject(i));
-					}
-				} catch (Exception e) {
-					throw new SQLExecutorException(e);
-				}
-			} else if (Ref.class.isAssignableFrom(type)) {
-				row = (T) rs.getRef(1);
-			} else if (Array.class.isAssignableFrom(type)) {
-				row = (T) rs.getArray(1);
-			} else if (SQLXML.class.isAssignableFrom(type)) {
-				row = (T) rs.getSQLXML(1);
-			} else if (Blob.class.isAssignableFrom(type)) {
-				row = (T) rs.getBlob(1);
-			} else if (Clob.class.isAssignableFrom(type)) {
-				row = (T) rs.getClob(1);
-			} else if (NClob.class.isAssignableFrom(type)) {
-				row = (T) rs.getNClob(1);
-			} else if (RowId.class.isAssignableFrom(type)) {
-				row = (T) rs.getRowId(1);
-			} else if (InputStream.class.isAssignableFrom(type)) {
-				row = (T) rs.getBinaryStream(1);
-			} else if (Reader.class.isAssignableFrom(type)) {
-				row = (T) rs.getCharacterStream(1);
-			} else {
-				Constructor<T> constructor = null;
-				try {
-					constructor = type.getConstructor();
-				} catch (Exception e) {
-				}
-				if (constructor == null) {
-					return (T) rs.getObject(1);
-				}
-				ResultSetMetaData rsmd = rs.getMetaData();
-				int columnCount = rsmd.getColumnCount();
-				List<String> fieldNames = new ArrayList<String>(columnCount);
-				for (int i = 1; i <= columnCount; i++) {
-					String attribute = StringUtils.toCamelCase(rsmd.getColumnLabel(i), LABLE_SPLITOR, false);
-					fieldNames.add(attribute);
-				}
-				try {
-					row = constructor.newInstance();
-					for (int i = 1; i <= columnCount; i++) {
-						setValue(row, fieldNames.get(i - 1), rs, i);
-					}
-				} catch (Exception e) {
-					throw new SQLExecutorException(e);
+		if (resultGetter != null) {
+			return new ResultGetterRowMapper<T>((ResultGetter<T>) resultGetter);
+		}
+		if (Map.class.isAssignableFrom(type)) {
+			String[] labels = getColumnLabels(rs);
+			String fingerprint = fingerprint(labels);
+			Map<String, RowMapper<?>> rowMappers = getRowMappers(type);
+			RowMapper<T> rowMapper = (RowMapper<T>) rowMappers.get(fingerprint);
+			if (rowMapper == null) {
+				String[] fieldNames = new String[labels.length];
+				for (int i = 0; i < labels.length; i++) {
+					fieldNames[i] = StringUtils.toCamelCase(labels[i], LABLE_SPLITOR, false);
 				}
+				rowMapper = new MapRowMapper<T>(getConstructor(type), fieldNames);
+				cacheRowMapper(rowMappers, fingerprint, rowMapper);
+			}
+			return rowMapper;
+		} else if (List.class.isAssignableFrom(type)) {
+			return new ListRowMapper<T>(getConstructor(type), rs.getMetaData().getColumnCount());
+		}
+		for (int i = 0; i < JDBC_TYPES.length; i++) {
+			if (JDBC_TYPES[i].isAssignableFrom(type)) {
+				return new ResultGetterRowMapper<T>(new JDBCTypeResultGetter(type, i));
+			}
+		}
+		EntityMapper<T> entityMapper = EntityMapperUtils.getMapper(type);
+		if (entityMapper == null) {
+			Constructor<T> constructor = null;
+			try {
+				constructor = type.getConstructor();
+			} catch (Exception e) {
+			}
+			if (constructor == null) {
+				return new ResultGetterRowMapper<T>(new JDBCTypeResultGetter(type, -1));
 			}
-		} else {
-			row = (T) resultGetter.getValue(rs, 1);
 		}
-		return row;
+		String[] labels = getColumnLabels(rs);
+		String fingerprint = fingerprint(labels);
+		Map<String, RowMapper<?>> rowMappers = getRowMappers(type);
+		RowMapper<T> rowMapper = (RowMapper<T>) rowMappers.get(fingerprint);
+		if (rowMapper == null) {
+			if (entityMapper != null) {
+				rowMapper = compile(type, entityMapper, labels);
+			}
+			if (rowMapper == null) {
+				rowMapper = compile(type, getConstructor(type), labels);
+			}
+			cacheRowMapper(rowMappers, fingerprint, rowMapper);
+		}
+		return rowMapper;
 	}
 
 	public static <T> void setValue(Object row, String fieldName, ResultSet rs, int columnIndex) throws Exception {
@@ -150,34 +163,421 @@ public abstract class ReadOnlySQLExecuter<T> implements SQLExecuter<T> {
 		if (type == null) {// 无法识别准确类型
 			value = rs.getObject(columnIndex);
 		} else {
-			ResultGetter<?> resultGetter = RESULT_GETTERS.get(type);
-			if (resultGetter == null) {// 没有定义该类型结果获取器，则进一步判断类型再调用不同API
-				if (Ref.class.isAssignableFrom(type)) {
-					value = rs.getRef(columnIndex);
-				} else if (Array.class.isAssignableFrom(type)) {
-					value = rs.getArray(columnIndex);
-				} else if (SQLXML.class.isAssignableFrom(type)) {
-					value = rs.getSQLXML(columnIndex);
-				} else if (Blob.class.isAssignableFrom(type)) {
-					value = rs.getBlob(columnIndex);
-				} else if (Clob.class.isAssignableFrom(type)) {
-					value = rs.getClob(columnIndex);
-				} else if (NClob.class.isAssignableFrom(type)) {
-					value = rs.getNClob(columnIndex);
-				} else if (RowId.class.isAssignableFrom(type)) {
-					value = rs.getRowId(columnIndex);
-				} else if (InputStream.class.isAssignableFrom(type)) {
-					value = rs.getBinaryStream(columnIndex);
-				} else if (Reader.class.isAssignableFrom(type)) {
-					value = rs.getCharacterStream(columnIndex);
-				} else {
-					value = rs.getObject(columnIndex);
+			value = getResultGetter(type).getValue(rs, columnIndex);
+		}
+		ObjectUtils.setValue(row, fieldName, value, false);
+	}
+
+	/**
+	 * 编译实体类型的行映射器。每一列的属性访问器和结果获取器在编译时确定，没有对应属性的列将被忽略
+	 * 
+	 * @param type        实体类型
+	 * @param constructor 实体类型的无参构造方法
+	 * @param labels      列标签
+	 * @return 返回行映射器
+	 */
+	private static <T> RowMapper<T> compile(Class<T> type, Constructor<T> constructor, String[] labels) {
+		int columnCount = labels.length, size = 0;
+		int[] columnIndexes = new int[columnCount];
+		FieldAccessor[] accessors = new FieldAccessor[columnCount];
+		Method[] setters = new Method[columnCount];
+		ResultGetter<?>[] resultGetters = new ResultGetter<?>[columnCount];
+		boolean[] primitives = new boolean[columnCount];
+		for (int i = 0; i < columnCount; i++) {
+			String fieldName = StringUtils.toCamelCase(labels[i], LABLE_SPLITOR, false);
+			Field field = getField(type, fieldName);
+			Class<?> valueType;
+			if (field != null) {
+				accessors[size] = FieldAccessorUtils.getAccessor(field);
+				setters[size] = null;
+				valueType = field.getType();
+			} else {
+				Method setter = getSetter(type, fieldName);
+				if (setter == null) {// 没有对应的属性
+					continue;
 				}
-			} else {// 已定义该类型结果获取器，则直接调用结果获取器的API
-				value = resultGetter.getValue(rs, columnIndex);
+				accessors[size] = null;
+				setters[size] = setter;
+				valueType = setter.getParameterTypes()[0];
 			}
+			columnIndexes[size] = i + 1;
+			resultGetters[size] = getResultGetter(valueType);
+			primitives[size] = valueType.isPrimitive();
+			size++;
 		}
-		ObjectUtils.setValue(row, fieldName, value, false);
+		return new EntityRowMapper<T>(constructor, size, columnIndexes, accessors, setters, resultGetters, primitives);
+	}
+
+	/**
+	 * 使用实体映射器编译实体类型的行映射器。有列对应实体映射器中没有、但可通过反射访问的属性或setter方法时返回 {@code null}，
+	 * 此时回退为反射的行映射器
+	 * 
+	 * @param type
+	 *            实体类型
+	 * @param entityMapper
+	 *            实体映射器
+	 * @param labels
+	 *            列标签
+	 * @return 返回行映射器或 {@code null}
+	 */
+	private static <T> RowMapper<T> compile(Class<T> type, EntityMapper<T> entityMapper, String[] labels) {
+		int[] columnIndexes = new int[entityMapper.getFieldNames().length];
+		for (int i = 0; i < labels.length; i++) {
+			String fieldName = StringUtils.toCamelCase(labels[i], LABLE_SPLITOR, false);
+			int index = EntityMapperUtils.indexOf(entityMapper, fieldName);
+			if (index >= 0) {
+				columnIndexes[index] = i + 1;// 与反射的行映射器一致，对应同一属性的列以最后一列为准
+			} else if (getField(type, fieldName) != null || getSetter(type, fieldName) != null) {
+				return null;
+			}
+		}
+		return new EntityMapperRowMapper<T>(entityMapper, columnIndexes);
+	}
+
+	/**
+	 * 获取指定类型的结果获取器
+	 * 
+	 * @param type 值类型（基本类型使用其包装类型的结果获取器）
+	 * @return 返回结果获取器
+	 */
+	public static ResultGetter<?> getResultGetter(Class<?> type) {
+		Class<?> wrapper = PRIMITIVE_WRAPPERS.get(type);
+		ResultGetter<?> resultGetter = RESULT_GETTERS.get(wrapper == null ? type : wrapper);
+		if (resultGetter == null) {// 没有定义该类型结果获取器，则进一步判断类型再调用不同API
+			for (int i = 0; i < JDBC_TYPES.length; i++) {
+				if (JDBC_TYPES[i].isAssignableFrom(type)) {
+					return new JDBCTypeResultGetter(type, i);
+				}
+			}
+			return new JDBCTypeResultGetter(type, -1);
+		}
+		return resultGetter;
+	}
+
+	static Map<String, RowMapper<?>> getRowMappers(Class<?> type) {
+		return ROW_MAPPERS.get(type);
+	}
+
+	/**
+	 * 缓存行映射器。缓存已达上限时不再缓存，并发编译的同一指纹的行映射器以先缓存的为准（两者等价）
+	 */
+	private static void cacheRowMapper(Map<String, RowMapper<?>> rowMappers, String fingerprint,
+			RowMapper<?> rowMapper) {
+		if (rowMappers.size() < MAX_ROW_MAPPERS_PER_TYPE) {
+			rowMappers.putIfAbsent(fingerprint, rowMapper);
+		}
+	}
+
+	private static <T> Constructor<T> getConstructor(Class<T> type) {
+		try {
+			return type.getConstructor();
+		} catch (Exception e) {
+			throw new SQLExecutorException(e);
+		}
+	}
+
+	private static String[] getColumnLabels(ResultSet rs) throws SQLException {
+		ResultSetMetaData rsmd = rs.getMetaData();
+		int columnCount = rsmd.getColumnCount();
+		String[] labels = new String[columnCount];
+		for (int i = 0; i < columnCount; i++) {
+			labels[i] = rsmd.getColumnLabel(i + 1);
+		}
+		return labels;
+	}
+
+	private static String fingerprint(String[] labels) {
+		StringBuilder fingerprint = new StringBuilder();
+		for (int i = 0; i < labels.length; i++) {
+			if (i > 0) {
+				fingerprint.append(FINGERPRINT_SPLITOR);
+			}
+			fingerprint.append(labels[i]);
+		}
+		return fingerprint.toString();
+	}
+
+	private static Field getField(Class<?> type, String fieldName) {
+		Class<?> current = type;
+		while (current != null && !Object.class.equals(current)) {
+			try {
+				Field field = current.getDeclaredField(fieldName);
+				int modifiers = field.getModifiers();
+				if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers)) {
+					return null;
+				}
+				return field;
+			} catch (NoSuchFieldException e) {
+				current = current.getSuperclass();
+			}
+		}
+		return null;
+	}
+
+	private static Method getSetter(Class<?> type, String fieldName) {
+		if (fieldName == null || fieldName.isEmpty()) {
+			return null;
+		}
+		String setterName = SETTER_PREFIX.concat(fieldName.substring(0, 1).toUpperCase())
+				.concat(fieldName.substring(1));
+		Method[] methods = type.getMethods();
+		for (int i = 0; i < methods.length; i++) {
+			Method method = methods[i];
+			if (method.getName().equals(setterName) && method.getParameterCount() == 1
+					&& !Modifier.isStatic(method.getModifiers())) {
+				return method;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * 使用结果获取器获取第1列值的行映射器
+	 * 
+	 * @param <T> 行数据类型
+	 */
+	private static class ResultGetterRowMapper<T> implements RowMapper<T> {
+
+		private final ResultGetter<T> resultGetter;
+
+		@SuppressWarnings("unchecked")
+		private ResultGetterRowMapper(ResultGetter<?> resultGetter) {
+			this.resultGetter = (ResultGetter<T>) resultGetter;
+		}
+
+		@Override
+		public T mapRow(ResultSet rs) throws SQLException {
+			return resultGetter.getValue(rs, 1);
+		}
+
+	}
+
+	/**
+	 * 将行转换为 {@code Map} 的行映射器
+	 * 
+	 * @param <T> 行数据类型
+	 */
+	private static class MapRowMapper<T> implements RowMapper<T> {
+
+		private final Constructor<T> constructor;
+
+		private final String[] fieldNames;
+
+		private MapRowMapper(Constructor<T> constructor, String[] fieldNames) {
+			this.constructor = constructor;
+			this.fieldNames = fieldNames;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public T mapRow(ResultSet rs) throws SQLException {
+			T row;
+			try {
+				row = constructor.newInstance();
+			} catch (Exception e) {
+				throw new SQLExecutorException(e);
+			}
+			Map<String, Object> map = (Map<String, Object>) row;
+			for (int i = 0; i < fieldNames.length; i++) {
+				map.put(fieldNames[i], rs.getObject(i + 1));
+			}
+			return row;
+		}
+
+	}
+
+	/**
+	 * 将行转换为 {@code List} 的行映射器
+	 * 
+	 * @param <T> 行数据类型
+	 */
+	private static class ListRowMapper<T> implements RowMapper<T> {
+
+		private final Constructor<T> constructor;
+
+		private final int columnCount;
+
+		private ListRowMapper(Constructor<T> constructor, int columnCount) {
+			this.constructor = constructor;
+			this.columnCount = columnCount;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public T mapRow(ResultSet rs) throws SQLException {
+			T row;
+			try {
+				row = constructor.newInstance();
+			} catch (Exception e) {
+				throw new SQLExecutorException(e);
+			}
+			List<Object> list = (List<Object>) row;
+			for (int i = 1; i <= columnCount; i++) {
+				list.add(rs.getObject(i));
+			}
+			return row;
+		}
+
+	}
+
+	/**
+	 * 将行转换为实体对象的行映射器。列索引、属性访问器（或仅有的setter方法）和结果获取器按位置一一对应
+	 * 
+	 * @param <T> 行数据类型
+	 */
+	private static class EntityRowMapper<T> implements RowMapper<T> {
+
+		private final Constructor<T> constructor;
+
+		private final int size;
+
+		private final int[] columnIndexes;
+
+		private final FieldAccessor[] accessors;
+
+		private final Method[] setters;
+
+		private final ResultGetter<?>[] resultGetters;
+
+		private final boolean[] primitives;
+
+		private EntityRowMapper(Constructor<T> constructor, int size, int[] columnIndexes, FieldAccessor[] accessors,
+				Method[] setters, ResultGetter<?>[] resultGetters, boolean[] primitives) {
+			this.constructor = constructor;
+			this.size = size;
+			this.columnIndexes = columnIndexes;
+			this.accessors = accessors;
+			this.setters = setters;
+			this.resultGetters = resultGetters;
+			this.primitives = primitives;
+		}
+
+		@Override
+		public T mapRow(ResultSet rs) throws SQLException {
+			try {
+				T row = constructor.newInstance();
+				for (int i = 0; i < size; i++) {
+					Object value = resultGetters[i].getValue(rs, columnIndexes[i]);
+					if (value == null && primitives[i]) {// 基本类型保留默认值
+						continue;
+					}
+					if (setters[i] == null) {
+						accessors[i].set(row, value);
+					} else {
+						setters[i].invoke(row, value);
+					}
+				}
+				return row;
+			} catch (SQLException e) {
+				throw e;
+			} catch (Exception e) {
+				throw new SQLExecutorException(e);
+			}
+		}
+
+	}
+
+	/**
+	 * 使用实体映射器将行转换为实体对象的行映射器
+	 * 
+	 * @param <T> 行数据类型
+	 */
+	private static class EntityMapperRowMapper<T> implements RowMapper<T> {
+
+		private final EntityMapper<T> entityMapper;
+
+		private final int[] columnIndexes;
+
+		private EntityMapperRowMapper(EntityMapper<T> entityMapper, int[] columnIndexes) {
+			this.entityMapper = entityMapper;
+			this.columnIndexes = columnIndexes;
+		}
+
+		@Override
+		public T mapRow(ResultSet rs) throws SQLException {
+			try {
+				return entityMapper.mapRow(rs, columnIndexes);
+			} catch (SQLException e) {
+				throw e;
+			} catch (Exception e) {
+				throw new SQLExecutorException(e);
+			}
+		}
+
+	}
+
+	/**
+	 * 需要调用特定API获取结果的JDBC类型结果获取器
+	 */
+	private static class JDBCTypeResultGetter implements ResultGetter<Object> {
+
+		private final Class<Object> type;
+
+		private final int kind;
+
+		@SuppressWarnings("unchecked")
+		private JDBCTypeResultGetter(Class<?> type, int kind) {
+			this.type = (Class<Object>) type;
+			this.kind = kind;
+		}
+
+		@Override
+		public Class<Object> getType() {
+			return type;
+		}
+
+		@Override
+		public Object getValue(ResultSet rs, int columnIndex) throws SQLException {
+			switch (kind) {
+			case 0:
+				return rs.getRef(columnIndex);
+			case 1:
+				return rs.getArray(columnIndex);
+			case 2:
+				return rs.getSQLXML(columnIndex);
+			case 3:
+				return rs.getBlob(columnIndex);
+			case 4:
+				return rs.getClob(columnIndex);
+			case 5:
+				return rs.getNClob(columnIndex);
+			case 6:
+				return rs.getRowId(columnIndex);
+			case 7:
+				return rs.getBinaryStream(columnIndex);
+			case 8:
+				return rs.getCharacterStream(columnIndex);
+			default:
+				return rs.getObject(columnIndex);
+			}
+		}
+
+		@Override
+		public Object getValue(ResultSet rs, String columnLabel) throws SQLException {
+			switch (kind) {
+			case 0:
+				return rs.getRef(columnLabel);
+			case 1:
+				return rs.getArray(columnLabel);
+			case 2:
+				return rs.getSQLXML(columnLabel);
+			case 3:
+				return rs.getBlob(columnLabel);
+			case 4:
+				return rs.getClob(columnLabel);
+			case 5:
+				return rs.getNClob(columnLabel);
+			case 6:
+				return rs.getRowId(columnLabel);
+			case 7:
+				return rs.getBinaryStream(columnLabel);
+			case 8:
+				return rs.getCharacterStream(columnLabel);
+			default:
+				return rs.getObject(columnLabel);
+			}
+		}
+
 	}
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,126 @@
+package cn.tenmg.sqltool.sql.executer;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import cn.tenmg.sql.paging.utils.JDBCUtils;
+import cn.tenmg.sqltool.exception.SQLExecutorException;
+
+/**
+ * 结果集迭代器。逐行转换结果集，迭代结束、发生异常或显式关闭时释放结果集、声明以及附加的资源（例如由迭代器持有的连接）
+ * 
+ * @author June wjzhao@aliyun.com
+ *
+ * @param <T>
+ *            行数据类型
+ * 
+ * @since 1.6.0
+ */
+public class ResultSetIterator<T> implements Iterator<T>, AutoCloseable {
+
+	private final PreparedStatement ps;
+
+	private final ResultSet rs;
+
+	private final RowMapper<T> rowMapper;
+
+	private final AutoCloseable resource;
+
+	private boolean fetched = false, hasNext = false, closed = false;
+
+	/**
+	 * 创建结果集迭代器
+	 * 
+	 * @param ps
+	 *            准备声明对象
+	 * @param rs
+	 *            结果集
+	 * @param type
+	 *            行数据类型
+	 * @param resource
+	 *            关闭结果集和声明后需要一并关闭的资源（例如迭代器持有的连接），没有时为 {@code null}
+	 * @throws SQLException
+	 *             SQL异常
+	 */
+	public ResultSetIterator(PreparedStatement ps, ResultSet rs, Class<T> type, AutoCloseable resource)
+			throws SQLException {
+		this.ps = ps;
+		this.rs = rs;
+		this.rowMapper = ReadOnlySQLExecuter.getRowMapper(rs, type);
+		this.resource = resource;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (!fetched) {
+			if (closed) {
+				return false;
+			}
+			try {
+				hasNext = rs.next();
+			} catch (SQLException e) {
+				close();
+				throw new SQLExecutorException(e);
+			}
+			fetched = true;
+			if (!hasNext) {
+				close();
+			}
+		}
+		return hasNext;
+	}
+
+	@Override
+	public T next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		fetched = false;
+		try {
+			return rowMapper.mapRow(rs);
+		} catch (SQLException e) {
+			close();
+			throw new SQLExecutorException(e);
+		} catch (RuntimeException e) {
+			close();
+			throw e;
+		}
+	}
+
+	@Override
+	public void close() {
+		if (!closed) {
+			closed = true;
+			hasNext = false;
+			fetched = true;
+			JDBCUtils.close(rs);
+			JDBCUtils.close(ps);
+			if (resource != null) {
+				try {
+					resource.close();
+				} catch (Exception e) {
+					e.printStackTrace();
+				}
+			}
+		}
+	}
+
+	/**
+	 * 将迭代器包装为顺序流。流关闭时关闭迭代器
+	 * 
+	 * @return 返回顺序流
+	 */
+	public Stream<T> stream() {
+		return StreamSupport
+				.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false)
+				.onClose(this::close);
+	}
+
+}
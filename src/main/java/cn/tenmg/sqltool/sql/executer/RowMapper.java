@@ -0,0 +1,26 @@
+package cn.tenmg.sqltool.sql.executer;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 行映射器。根据结果集的列结构编译一次，之后每行直接按列索引转换，不再重复读取结果集元数据
+ * 
+ * @author June wjzhao@aliyun.com
+ *
+ * @param <T> 行数据类型
+ * 
+ * @since 1.6.0
+ */
+public interface RowMapper<T> {
+
+	/**
+	 * 将结果集当前行转换为指定类型的对象
+	 * 
+	 * @param rs 结果集（已定位到当前行）
+	 * @return 返回转换后的行对象
+	 * @throws SQLException SQL异常
+	 */
+	T mapRow(ResultSet rs) throws SQLException;
+
+}
@@ -0,0 +1,64 @@
+package cn.tenmg.sqltool.sql.executer;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 键集分页（seek）查询的SQL执行器。查询SQL应比页容量多查询一行，多出的一行不返回，仅用于判断是否存在下一页；
+ * 存在下一页时记录本页最后一行的排序键值
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @param <T>
+ *            实体类
+ *
+ * @since 1.6.0
+ */
+public class SeekSQLExecuter<T> extends SelectSQLExecuter<T> {
+
+	private final String[] keyColumns;
+
+	private final int pageSize;
+
+	private Object[] nextKeys;
+
+	public SeekSQLExecuter(Class<T> type, String[] keyColumns, int pageSize) {
+		super(type);
+		this.keyColumns = keyColumns;
+		this.pageSize = pageSize;
+	}
+
+	@Override
+	public List<T> execute(PreparedStatement ps, ResultSet rs) throws SQLException {
+		List<T> rows = new ArrayList<T>(pageSize);
+		RowMapper<T> rowMapper = getRowMapper(rs, type);
+		Object[] keys = null;
+		while (rs.next()) {
+			if (rows.size() == pageSize) {// 存在下一页
+				nextKeys = keys;
+				break;
+			}
+			rows.add(rowMapper.mapRow(rs));
+			if (rows.size() == pageSize) {
+				keys = new Object[keyColumns.length];
+				for (int i = 0; i < keyColumns.length; i++) {
+					keys[i] = rs.getObject(keyColumns[i]);
+				}
+			}
+		}
+		return rows;
+	}
+
+	/**
+	 * 获取下一页的排序键值（本页最后一行的排序键值）
+	 *
+	 * @return 返回下一页的排序键值。不存在下一页时返回 {@code null}
+	 */
+	public Object[] getNextKeys() {
+		return nextKeys;
+	}
+
+}
@@ -38,8 +38,9 @@ public class SelectSQLExecuter<T> extends ReadOnlySQLExecuter<List<T>> {
 	@Override
 	public List<T> execute(PreparedStatement ps, ResultSet rs) throws SQLException {
 		List<T> rows = new ArrayList<T>();
+		RowMapper<T> rowMapper = getRowMapper(rs, type);
 		while (rs.next()) {
-			rows.add(getRow(rs, type));
+			rows.add(rowMapper.mapRow(rs));
 		}
 		return rows;
 	}
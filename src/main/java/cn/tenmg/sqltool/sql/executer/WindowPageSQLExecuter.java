@@ -0,0 +1,77 @@
+package cn.tenmg.sqltool.sql.executer;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import cn.tenmg.dsl.utils.StringUtils;
+
+/**
+ * 窗口函数分页查询的SQL执行器。查询结果的每一行都附加了总记录数列，执行器从第一行读取总记录数，并将该列从键值对或列表类型的行中移除
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @param <T>
+ *            实体类
+ *
+ * @since 1.6.0
+ */
+public class WindowPageSQLExecuter<T> extends SelectSQLExecuter<T> {
+
+	private final String totalLabel;
+
+	private Long total;
+
+	public WindowPageSQLExecuter(Class<T> type, String totalLabel) {
+		super(type);
+		this.totalLabel = totalLabel;
+	}
+
+	@SuppressWarnings("rawtypes")
+	@Override
+	public List<T> execute(PreparedStatement ps, ResultSet rs) throws SQLException {
+		List<T> rows = new ArrayList<T>();
+		RowMapper<T> rowMapper = getRowMapper(rs, type);
+		ResultSetMetaData metaData = rs.getMetaData();
+		int totalIndex = 0;
+		for (int i = 1, count = metaData.getColumnCount(); i <= count; i++) {
+			if (totalLabel.equalsIgnoreCase(metaData.getColumnLabel(i))) {
+				totalIndex = i;
+			}
+		}
+		if (totalIndex == 0) {// 外层查询未选择总记录数列
+			while (rs.next()) {
+				rows.add(rowMapper.mapRow(rs));
+			}
+			return rows;
+		}
+		String totalKey = StringUtils.toCamelCase(metaData.getColumnLabel(totalIndex), "_", false);
+		while (rs.next()) {
+			if (total == null) {
+				total = rs.getLong(totalIndex);
+			}
+			T row = rowMapper.mapRow(rs);
+			if (row instanceof Map) {
+				((Map) row).remove(totalKey);
+			} else if (row instanceof List) {
+				((List) row).remove(totalIndex - 1);
+			}
+			rows.add(row);
+		}
+		return rows;
+	}
+
+	/**
+	 * 获取总记录数
+	 *
+	 * @return 返回总记录数。查询结果为空或不含总记录数列时返回 {@code null}
+	 */
+	public Long getTotal() {
+		return total;
+	}
+
+}
@@ -0,0 +1,149 @@
+package cn.tenmg.sqltool.sql.loader;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import cn.tenmg.sqltool.sql.BulkLoader;
+import cn.tenmg.sqltool.sql.LoadMode;
+import cn.tenmg.sqltool.sql.meta.EntityMeta;
+import cn.tenmg.sqltool.sql.meta.FieldAccessor;
+import cn.tenmg.sqltool.sql.meta.FieldMeta;
+import cn.tenmg.sqltool.sql.parser.InsertDMLParser;
+import cn.tenmg.sqltool.sql.utils.EntityUtils;
+import cn.tenmg.sqltool.utils.JDBCExecuteUtils;
+
+/**
+ * 抽象文本批量装载器。按实体类元数据的列顺序，使用 {@link TextRowInputStream} 将实体对象编码为文本数据流交由数据库装载
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public abstract class AbstractTextBulkLoader implements BulkLoader {
+
+	private static final Set<Class<?>> SUPPORTED_TYPES = new HashSet<Class<?>>(Arrays.asList(String.class,
+			char.class, Character.class, boolean.class, Boolean.class, byte.class, Byte.class, short.class,
+			Short.class, int.class, Integer.class, long.class, Long.class, float.class, Float.class, double.class,
+			Double.class, BigDecimal.class, BigInteger.class, java.util.Date.class, java.sql.Date.class,
+			java.sql.Time.class, java.sql.Timestamp.class, LocalDate.class, LocalDateTime.class, LocalTime.class));
+
+	private final Map<Class<?>, String[]> sqls = new ConcurrentHashMap<Class<?>, String[]>();
+
+	/**
+	 * 判断驱动程序是否可用
+	 *
+	 * @return 可用返回 {@code true}，否则返回 {@code false}
+	 */
+	abstract boolean isDriverAvailable();
+
+	/**
+	 * 判断是否支持指定的装载方式
+	 *
+	 * @param mode
+	 *            装载方式
+	 * @return 支持返回 {@code true}，否则返回 {@code false}
+	 */
+	abstract boolean supports(LoadMode mode);
+
+	/**
+	 * 获取装载SQL
+	 *
+	 * @param tableName
+	 *            表名
+	 * @param columns
+	 *            逗号分隔的列名
+	 * @param mode
+	 *            装载方式
+	 * @return 返回装载SQL
+	 */
+	abstract String getSql(String tableName, String columns, LoadMode mode);
+
+	/**
+	 * 使用数据流装载数据
+	 *
+	 * @param con
+	 *            连接对象
+	 * @param sql
+	 *            装载SQL
+	 * @param mode
+	 *            装载方式
+	 * @param in
+	 *            文本数据流
+	 * @param rows
+	 *            数据流包含的行数
+	 * @return 返回装载的行数
+	 * @throws SQLException
+	 *             SQL异常
+	 */
+	abstract long load(Connection con, String sql, LoadMode mode, TextRowInputStream in, int rows)
+			throws SQLException;
+
+	@Override
+	public boolean supports(Class<?> type, LoadMode mode) {
+		if (!isDriverAvailable() || !supports(mode)) {
+			return false;
+		}
+		List<FieldMeta> fieldMetas = getEntityMeta(type).getFieldMetas();
+		for (int i = 0, size = fieldMetas.size(); i < size; i++) {
+			if (!SUPPORTED_TYPES.contains(fieldMetas.get(i).getField().getType())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public String getSql(Class<?> type, LoadMode mode) {
+		String[] modeSqls = sqls.get(type);
+		if (modeSqls == null) {
+			modeSqls = new String[LoadMode.values().length];
+			sqls.put(type, modeSqls);
+		}
+		String sql = modeSqls[mode.ordinal()];
+		if (sql == null) {
+			EntityMeta entityMeta = getEntityMeta(type);
+			List<FieldMeta> fieldMetas = entityMeta.getFieldMetas();
+			StringBuilder columns = new StringBuilder();
+			for (int i = 0, size = fieldMetas.size(); i < size; i++) {
+				if (i > 0) {
+					columns.append(JDBCExecuteUtils.COMMA_SPACE);
+				}
+				columns.append(fieldMetas.get(i).getColumnName());
+			}
+			sql = getSql(entityMeta.getTableName(), columns.toString(), mode);
+			modeSqls[mode.ordinal()] = sql;
+		}
+		return sql;
+	}
+
+	@Override
+	public <T> long load(Connection con, String sql, LoadMode mode, List<T> rows) throws SQLException {
+		List<FieldMeta> fieldMetas = getEntityMeta(rows.get(0).getClass()).getFieldMetas();
+		FieldAccessor[] accessors = new FieldAccessor[fieldMetas.size()];
+		for (int i = 0; i < accessors.length; i++) {
+			accessors[i] = fieldMetas.get(i).getAccessor();
+		}
+		return load(con, sql, mode, new TextRowInputStream(rows, accessors), rows.size());
+	}
+
+	private static EntityMeta getEntityMeta(Class<?> type) {
+		EntityMeta entityMeta = EntityUtils.getCachedEntityMeta(type);
+		if (entityMeta == null) {// 解析插入数据操纵语言的同时会缓存实体类元数据
+			InsertDMLParser.getInstance().parse(type);
+			entityMeta = EntityUtils.getCachedEntityMeta(type);
+		}
+		return entityMeta;
+	}
+
+}
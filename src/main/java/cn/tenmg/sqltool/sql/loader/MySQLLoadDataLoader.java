@@ -0,0 +1,124 @@
+package cn.tenmg.sqltool.sql.loader;
+
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+
+import cn.tenmg.sqltool.exception.SQLExecutorException;
+import cn.tenmg.sqltool.sql.LoadMode;
+
+/**
+ * MySQL批量装载器。通过Connector/J的 {@code setLocalInfileInputStream} 将数据流交给
+ * {@code LOAD DATA LOCAL INFILE} 装载，不需要临时文件，支持 {@link LoadMode} 的全部装载方式。驱动程序的类使用反射访问，
+ * 因此不需要在编译期依赖MySQL驱动；使用时连接需开启 {@code allowLoadLocalInfile=true}。MySQL对 {@code LOCAL}
+ * 装载的主键冲突及数据转换错误仅产生警告并跳过（或截断）该行，因此使用 {@link LoadMode#INSERT} 装载时会检查受影响行数及警告，
+ * 有行未装载或产生警告时抛出异常，由调用方回滚
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public class MySQLLoadDataLoader extends AbstractTextBulkLoader {
+
+	public static final String NAME = "load";
+
+	private static final String LOAD_DATA = "LOAD DATA LOCAL INFILE 'stream'%s INTO TABLE %s CHARACTER SET utf8mb4 (%s)",
+			IGNORE = " IGNORE", REPLACE = " REPLACE", EMPTY = "";
+
+	/**
+	 * Connector/J 8.x及5.x中声明 {@code setLocalInfileInputStream} 方法的类
+	 */
+	private static final String[] STATEMENT_CLASS_NAMES = { "com.mysql.cj.jdbc.JdbcStatement",
+			"com.mysql.jdbc.Statement" };
+
+	private static final MySQLLoadDataLoader INSTANCE = new MySQLLoadDataLoader();
+
+	private final Class<?> statementClass;
+
+	private final Method setLocalInfileInputStream;
+
+	private MySQLLoadDataLoader() {
+		super();
+		Class<?> statementClass = null;
+		Method setLocalInfileInputStream = null;
+		for (int i = 0; i < STATEMENT_CLASS_NAMES.length && statementClass == null; i++) {
+			try {
+				Class<?> cls = Class.forName(STATEMENT_CLASS_NAMES[i]);
+				setLocalInfileInputStream = cls.getMethod("setLocalInfileInputStream", InputStream.class);
+				statementClass = cls;
+			} catch (ClassNotFoundException | NoSuchMethodException e) {
+				continue;
+			}
+		}
+		this.statementClass = statementClass;
+		this.setLocalInfileInputStream = setLocalInfileInputStream;
+	}
+
+	public static final MySQLLoadDataLoader getInstance() {
+		return INSTANCE;
+	}
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+
+	@Override
+	boolean isDriverAvailable() {
+		return statementClass != null;
+	}
+
+	@Override
+	boolean supports(LoadMode mode) {
+		return true;
+	}
+
+	@Override
+	String getSql(String tableName, String columns, LoadMode mode) {
+		String modifier;
+		switch (mode) {
+		case IGNORE:
+			modifier = IGNORE;
+			break;
+		case REPLACE:
+			modifier = REPLACE;
+			break;
+		default:
+			modifier = EMPTY;
+			break;
+		}
+		return String.format(LOAD_DATA, modifier, tableName, columns);
+	}
+
+	@Override
+	long load(Connection con, String sql, LoadMode mode, TextRowInputStream in, int rows) throws SQLException {
+		Statement statement = con.createStatement();
+		try {
+			setLocalInfileInputStream.invoke(statement.unwrap(statementClass), in);
+			long count = statement.executeUpdate(sql);
+			if (LoadMode.INSERT.equals(mode)) {
+				SQLWarning warning = statement.getWarnings();
+				if (count != rows || warning != null) {
+					throw new SQLException("LOAD DATA LOCAL INFILE loaded " + count + " of " + rows + " rows"
+							+ (warning == null ? "" : ": ".concat(warning.getMessage())), warning);
+				}
+			}
+			return count;
+		} catch (InvocationTargetException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof SQLException) {
+				throw (SQLException) cause;
+			}
+			throw new SQLExecutorException(cause);
+		} catch (IllegalAccessException e) {
+			throw new SQLExecutorException(e);
+		} finally {
+			statement.close();
+		}
+	}
+
+}
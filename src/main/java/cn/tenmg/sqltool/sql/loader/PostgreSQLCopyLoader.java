@@ -0,0 +1,89 @@
+package cn.tenmg.sqltool.sql.loader;
+
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import cn.tenmg.sqltool.exception.SQLExecutorException;
+import cn.tenmg.sqltool.sql.LoadMode;
+
+/**
+ * PostgreSQL批量装载器。通过驱动程序的 {@code CopyManager.copyIn} 执行 {@code COPY ... FROM STDIN}
+ * 装载实体对象，仅支持 {@link LoadMode#INSERT} 装载方式。驱动程序的类使用反射访问，因此不需要在编译期依赖PostgreSQL驱动
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public class PostgreSQLCopyLoader extends AbstractTextBulkLoader {
+
+	public static final String NAME = "copy";
+
+	private static final String COPY = "COPY %s (%s) FROM STDIN", PG_CONNECTION = "org.postgresql.PGConnection",
+			COPY_MANAGER = "org.postgresql.copy.CopyManager";
+
+	private static final PostgreSQLCopyLoader INSTANCE = new PostgreSQLCopyLoader();
+
+	private final Class<?> connectionClass;
+
+	private final Method getCopyAPI, copyIn;
+
+	private PostgreSQLCopyLoader() {
+		super();
+		Class<?> connectionClass = null;
+		Method getCopyAPI = null, copyIn = null;
+		try {
+			connectionClass = Class.forName(PG_CONNECTION);
+			getCopyAPI = connectionClass.getMethod("getCopyAPI");
+			copyIn = Class.forName(COPY_MANAGER).getMethod("copyIn", String.class, InputStream.class);
+		} catch (ClassNotFoundException | NoSuchMethodException e) {
+			connectionClass = null;
+		}
+		this.connectionClass = connectionClass;
+		this.getCopyAPI = getCopyAPI;
+		this.copyIn = copyIn;
+	}
+
+	public static final PostgreSQLCopyLoader getInstance() {
+		return INSTANCE;
+	}
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+
+	@Override
+	boolean isDriverAvailable() {
+		return connectionClass != null;
+	}
+
+	@Override
+	boolean supports(LoadMode mode) {
+		return LoadMode.INSERT.equals(mode);
+	}
+
+	@Override
+	String getSql(String tableName, String columns, LoadMode mode) {
+		return String.format(COPY, tableName, columns);
+	}
+
+	@Override
+	long load(Connection con, String sql, LoadMode mode, TextRowInputStream in, int rows) throws SQLException {
+		try {
+			Object copyManager = getCopyAPI.invoke(con.unwrap(connectionClass));
+			return (Long) copyIn.invoke(copyManager, sql, in);
+		} catch (InvocationTargetException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof SQLException) {
+				throw (SQLException) cause;
+			}
+			throw new SQLExecutorException(cause);
+		} catch (IllegalAccessException e) {
+			throw new SQLExecutorException(e);
+		}
+	}
+
+}
@@ -0,0 +1,181 @@
+package cn.tenmg.sqltool.sql.loader;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import cn.tenmg.sqltool.sql.meta.FieldAccessor;
+
+/**
+ * 文本行输入流。按需将实体对象逐个编码为制表符分隔、换行结尾的UTF-8文本行，空值编码为 {@code \N}，反斜杠、制表符及换行符使用反斜杠转义。
+ * 该格式同时被PostgreSQL的 {@code COPY ... FROM STDIN}（文本格式）和MySQL的 {@code LOAD DATA}（默认格式）接受。
+ * 编码直接写入可复用的字节缓冲区，不为每行拼接字符串，也不需要临时文件
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public class TextRowInputStream extends InputStream {
+
+	private static final int CHUNK_SIZE = 8192;
+
+	private static final byte TAB = '\t', NEW_LINE = '\n', BACKSLASH = '\\', NULL = 'N', TRUE = '1', FALSE = '0';
+
+	private final List<?> rows;
+
+	private final FieldAccessor[] accessors;
+
+	private byte[] buf = new byte[CHUNK_SIZE * 2];
+
+	private int index, pos, count;
+
+	public TextRowInputStream(List<?> rows, FieldAccessor[] accessors) {
+		super();
+		this.rows = rows;
+		this.accessors = accessors;
+	}
+
+	@Override
+	public int read() {
+		if (pos >= count && !fill()) {
+			return -1;
+		}
+		return buf[pos++] & 0xff;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) {
+		if (len == 0) {
+			return 0;
+		}
+		if (pos >= count && !fill()) {
+			return -1;
+		}
+		int n = Math.min(len, count - pos);
+		System.arraycopy(buf, pos, b, off, n);
+		pos += n;
+		return n;
+	}
+
+	@Override
+	public int available() {
+		return count - pos;
+	}
+
+	/**
+	 * 将后续实体对象编码到缓冲区，直至缓冲区的数据达到块大小或已无实体对象
+	 *
+	 * @return 编码了数据返回 {@code true}，已无实体对象返回 {@code false}
+	 */
+	private boolean fill() {
+		pos = 0;
+		count = 0;
+		int size = rows.size();
+		while (count < CHUNK_SIZE && index < size) {
+			writeRow(rows.get(index++));
+		}
+		return count > 0;
+	}
+
+	private void writeRow(Object obj) {
+		for (int i = 0; i < accessors.length; i++) {
+			if (i > 0) {
+				write(TAB);
+			}
+			writeValue(accessors[i].get(obj));
+		}
+		write(NEW_LINE);
+	}
+
+	private void writeValue(Object value) {
+		if (value == null) {
+			write(BACKSLASH);
+			write(NULL);
+		} else if (value instanceof String) {
+			writeEscaped((String) value);
+		} else if (value instanceof Boolean) {
+			write(((Boolean) value).booleanValue() ? TRUE : FALSE);
+		} else if (value instanceof BigDecimal) {
+			writeAscii(((BigDecimal) value).toPlainString());
+		} else if (value instanceof Number) {
+			writeAscii(value.toString());
+		} else if (value instanceof Character) {
+			writeEscaped(value.toString());
+		} else if (value instanceof java.util.Date && !(value instanceof java.sql.Date || value instanceof java.sql.Time
+				|| value instanceof Timestamp)) {
+			writeAscii(new Timestamp(((java.util.Date) value).getTime()).toString());
+		} else if (value instanceof LocalDateTime) {// ISO格式会省略为0的秒，且并非所有数据库都接受其日期与时间之间的“T”
+			writeAscii(Timestamp.valueOf((LocalDateTime) value).toString());
+		} else {// java.sql.Date、java.sql.Time、Timestamp、LocalDate及LocalTime
+			writeAscii(value.toString());
+		}
+	}
+
+	private void writeAscii(String s) {
+		int len = s.length();
+		ensureCapacity(len);
+		for (int i = 0; i < len; i++) {
+			buf[count++] = (byte) s.charAt(i);
+		}
+	}
+
+	private void writeEscaped(String s) {
+		int len = s.length();
+		ensureCapacity(len * 3);
+		for (int i = 0; i < len; i++) {
+			char c = s.charAt(i);
+			if (c < 0x80) {
+				switch (c) {
+				case '\\':
+					buf[count++] = BACKSLASH;
+					buf[count++] = BACKSLASH;
+					break;
+				case '\t':
+					buf[count++] = BACKSLASH;
+					buf[count++] = 't';
+					break;
+				case '\n':
+					buf[count++] = BACKSLASH;
+					buf[count++] = 'n';
+					break;
+				case '\r':
+					buf[count++] = BACKSLASH;
+					buf[count++] = 'r';
+					break;
+				default:
+					buf[count++] = (byte) c;
+					break;
+				}
+			} else if (c < 0x800) {
+				buf[count++] = (byte) (0xc0 | (c >> 6));
+				buf[count++] = (byte) (0x80 | (c & 0x3f));
+			} else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(s.charAt(i + 1))) {
+				int codePoint = Character.toCodePoint(c, s.charAt(++i));
+				buf[count++] = (byte) (0xf0 | (codePoint >> 18));
+				buf[count++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+				buf[count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+				buf[count++] = (byte) (0x80 | (codePoint & 0x3f));
+			} else {
+				buf[count++] = (byte) (0xe0 | (c >> 12));
+				buf[count++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+				buf[count++] = (byte) (0x80 | (c & 0x3f));
+			}
+		}
+	}
+
+	private void write(byte b) {
+		ensureCapacity(1);
+		buf[count++] = b;
+	}
+
+	private void ensureCapacity(int n) {
+		if (count + n > buf.length) {
+			byte[] newBuf = new byte[Math.max(buf.length * 2, count + n)];
+			System.arraycopy(buf, 0, newBuf, 0, count);
+			buf = newBuf;
+		}
+	}
+
+}
@@ -0,0 +1,240 @@
+package cn.tenmg.sqltool.sql.meta;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import cn.tenmg.sqltool.exception.DataAccessException;
+
+/**
+ * 属性访问器。优先使用编译期生成的实体映射器读写属性，不存在时使用 {@code Field} 反射访问。
+ * 属性访问器同时根据属性声明的类型确定参数绑定方式，绑定时直接调用对应类型的 {@code PreparedStatement} 方法，空值使用确定的SQL类型绑定
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public class FieldAccessor {
+
+	private static final int OBJECT = 0, BOOLEAN = 1, BYTE = 2, SHORT = 3, INT = 4, LONG = 5, FLOAT = 6, DOUBLE = 7,
+			STRING = 8, BIG_DECIMAL = 9, TIMESTAMP = 10, DATE = 11, TIME = 12, BYTES = 13;
+
+	private final Field field;
+
+	private final Function<Object, Object> getter;
+
+	private final BiConsumer<Object, Object> setter;
+
+	/**
+	 * 参数绑定方式
+	 */
+	private final int bindType;
+
+	/**
+	 * 绑定空值时使用的SQL类型
+	 */
+	private final int sqlType;
+
+	public FieldAccessor(Field field, Function<Object, Object> getter, BiConsumer<Object, Object> setter) {
+		super();
+		this.field = field;
+		this.getter = getter;
+		this.setter = setter;
+		Class<?> type = field.getType();
+		if (boolean.class.equals(type) || Boolean.class.equals(type)) {
+			bindType = BOOLEAN;
+			sqlType = Types.BIT;// 较早的Oracle驱动程序（ojdbc6/7）不支持 Types.BOOLEAN
+		} else if (byte.class.equals(type) || Byte.class.equals(type)) {
+			bindType = BYTE;
+			sqlType = Types.TINYINT;
+		} else if (short.class.equals(type) || Short.class.equals(type)) {
+			bindType = SHORT;
+			sqlType = Types.SMALLINT;
+		} else if (int.class.equals(type) || Integer.class.equals(type)) {
+			bindType = INT;
+			sqlType = Types.INTEGER;
+		} else if (long.class.equals(type) || Long.class.equals(type)) {
+			bindType = LONG;
+			sqlType = Types.BIGINT;
+		} else if (float.class.equals(type) || Float.class.equals(type)) {
+			bindType = FLOAT;
+			sqlType = Types.REAL;
+		} else if (double.class.equals(type) || Double.class.equals(type)) {
+			bindType = DOUBLE;
+			sqlType = Types.DOUBLE;
+		} else if (String.class.equals(type)) {
+			bindType = STRING;
+			sqlType = Types.VARCHAR;
+		} else if (BigDecimal.class.equals(type)) {
+			bindType = BIG_DECIMAL;
+			sqlType = Types.NUMERIC;
+		} else if (Timestamp.class.equals(type)) {
+			bindType = TIMESTAMP;
+			sqlType = Types.TIMESTAMP;
+		} else if (java.sql.Date.class.equals(type)) {
+			bindType = DATE;
+			sqlType = Types.DATE;
+		} else if (Time.class.equals(type)) {
+			bindType = TIME;
+			sqlType = Types.TIME;
+		} else if (byte[].class.equals(type)) {
+			bindType = BYTES;
+			sqlType = Types.VARBINARY;
+		} else {
+			bindType = OBJECT;
+			if (LocalDateTime.class.equals(type) || java.util.Date.class.equals(type)) {
+				sqlType = Types.TIMESTAMP;
+			} else if (LocalDate.class.equals(type)) {
+				sqlType = Types.DATE;
+			} else if (LocalTime.class.equals(type)) {
+				sqlType = Types.TIME;
+			} else {// 无法确定SQL类型，仍交由驱动程序处理
+				sqlType = Types.OTHER;
+			}
+		}
+	}
+
+	public Field getField() {
+		return field;
+	}
+
+	/**
+	 * 获取绑定空值时使用的SQL类型
+	 * 
+	 * @return 返回SQL类型（{@code java.sql.Types}）
+	 */
+	public int getSqlType() {
+		return sqlType;
+	}
+
+	/**
+	 * 获取实体对象的属性值
+	 *
+	 * @param obj
+	 *            实体对象
+	 * @return 返回属性值
+	 */
+	public Object get(Object obj) {
+		if (getter == null) {
+			try {
+				return field.get(obj);
+			} catch (IllegalArgumentException | IllegalAccessException e) {
+				throw new DataAccessException(e);
+			}
+		}
+		return getter.apply(obj);
+	}
+
+	/**
+	 * 设置实体对象的属性值
+	 *
+	 * @param obj
+	 *            实体对象
+	 * @param value
+	 *            属性值
+	 */
+	public void set(Object obj, Object value) {
+		if (setter == null) {
+			try {
+				field.set(obj, value);
+			} catch (IllegalArgumentException | IllegalAccessException e) {
+				throw new DataAccessException(e);
+			}
+		} else {
+			setter.accept(obj, value);
+		}
+	}
+
+	/**
+	 * 将实体对象的属性值绑定到准备声明对象的指定参数
+	 *
+	 * @param ps
+	 *            准备声明对象
+	 * @param parameterIndex
+	 *            参数索引（从1开始）
+	 * @param obj
+	 *            实体对象
+	 * @throws SQLException
+	 *             SQL异常
+	 */
+	public void bind(PreparedStatement ps, int parameterIndex, Object obj) throws SQLException {
+		bindValue(ps, parameterIndex, get(obj));
+	}
+
+	/**
+	 * 将已取得的属性值绑定到准备声明对象的指定参数
+	 *
+	 * @param ps
+	 *            准备声明对象
+	 * @param parameterIndex
+	 *            参数索引（从1开始）
+	 * @param value
+	 *            属性值
+	 * @throws SQLException
+	 *             SQL异常
+	 */
+	public void bindValue(PreparedStatement ps, int parameterIndex, Object value) throws SQLException {
+		if (value == null) {
+			if (sqlType == Types.OTHER) {
+				ps.setObject(parameterIndex, null);
+			} else {
+				ps.setNull(parameterIndex, sqlType);
+			}
+			return;
+		}
+		switch (bindType) {
+		case BOOLEAN:
+			ps.setBoolean(parameterIndex, (Boolean) value);
+			break;
+		case BYTE:
+			ps.setByte(parameterIndex, (Byte) value);
+			break;
+		case SHORT:
+			ps.setShort(parameterIndex, (Short) value);
+			break;
+		case INT:
+			ps.setInt(parameterIndex, (Integer) value);
+			break;
+		case LONG:
+			ps.setLong(parameterIndex, (Long) value);
+			break;
+		case FLOAT:
+			ps.setFloat(parameterIndex, (Float) value);
+			break;
+		case DOUBLE:
+			ps.setDouble(parameterIndex, (Double) value);
+			break;
+		case STRING:
+			ps.setString(parameterIndex, (String) value);
+			break;
+		case BIG_DECIMAL:
+			ps.setBigDecimal(parameterIndex, (BigDecimal) value);
+			break;
+		case TIMESTAMP:
+			ps.setTimestamp(parameterIndex, (Timestamp) value);
+			break;
+		case DATE:
+			ps.setDate(parameterIndex, (java.sql.Date) value);
+			break;
+		case TIME:
+			ps.setTime(parameterIndex, (Time) value);
+			break;
+		case BYTES:
+			ps.setBytes(parameterIndex, (byte[]) value);
+			break;
+		default:
+			ps.setObject(parameterIndex, value);
+			break;
+		}
+	}
+
+}
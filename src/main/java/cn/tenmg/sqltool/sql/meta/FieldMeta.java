@@ -2,6 +2,8 @@ package cn.tenmg.sqltool.sql.meta;
 
 import java.lang.reflect.Field;
 
+import cn.tenmg.sqltool.sql.utils.FieldAccessorUtils;
+
 /**
  * 属性元数据
  * 
@@ -13,6 +15,8 @@ public class FieldMeta {
 
 	private Field field;
 
+	private FieldAccessor accessor;
+
 	private String columnName;
 
 	private boolean id;
@@ -23,6 +27,16 @@ public class FieldMeta {
 
 	public void setField(Field field) {
 		this.field = field;
+		this.accessor = FieldAccessorUtils.getAccessor(field);
+	}
+
+	/**
+	 * 获取属性访问器。读取或设置实体对象的属性值应通过属性访问器进行
+	 * 
+	 * @return 返回属性访问器
+	 */
+	public FieldAccessor getAccessor() {
+		return accessor;
 	}
 
 	public String getColumnName() {
@@ -44,6 +58,7 @@ public class FieldMeta {
 	public FieldMeta(Field field, String columnName) {
 		super();
 		this.field = field;
+		this.accessor = FieldAccessorUtils.getAccessor(field);
 		this.columnName = columnName;
 	}
 
@@ -2,7 +2,6 @@ package cn.tenmg.sqltool.sql.parser;
 
 import cn.tenmg.sqltool.sql.DML;
 import cn.tenmg.sqltool.sql.DMLParser;
-import cn.tenmg.sqltool.sql.utils.DMLUtils;
 import cn.tenmg.sqltool.sql.utils.EntityUtils;
 
 /**
@@ -14,19 +13,23 @@ import cn.tenmg.sqltool.sql.utils.EntityUtils;
  */
 public abstract class AbstractDMLParser implements DMLParser {
 
+	/**
+	 * 各实体类的数据操纵语言缓存。缓存挂在实体类上，命中时无需拼接键也无需加锁，并随实体类一同卸载
+	 */
+	private final ClassValue<DML> dmls = new ClassValue<DML>() {
+		@Override
+		protected DML computeValue(Class<?> type) {
+			DML dml = new DML();
+			parseDML(dml, type, EntityUtils.getTableName(type));
+			return dml;
+		}
+	};
+
 	protected abstract <T> void parseDML(DML dml, Class<T> type, String tableName);
 
 	@Override
 	public <T> DML parse(Class<T> type) {
-		String className = this.getClass().getSimpleName();
-		String key = type.getName().concat(className.substring(0, className.length() - 6));
-		DML dml = DMLUtils.getCachedDML(key);
-		if (dml == null) {
-			dml = new DML();
-			parseDML(dml, type, EntityUtils.getTableName(type));
-			DMLUtils.cacheDML(key, dml);
-		}
-		return dml;
+		return dmls.get(type);
 	}
 
 }
@@ -0,0 +1,113 @@
+package cn.tenmg.sqltool.sql.parser;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import cn.tenmg.sql.paging.utils.SQLUtils;
+import cn.tenmg.sqltool.exception.ColumnNotFoundException;
+import cn.tenmg.sqltool.exception.PkNotFoundException;
+import cn.tenmg.sqltool.sql.DML;
+import cn.tenmg.sqltool.sql.meta.EntityMeta;
+import cn.tenmg.sqltool.sql.meta.FieldMeta;
+import cn.tenmg.sqltool.sql.utils.EntityUtils;
+import cn.tenmg.sqltool.utils.JDBCExecuteUtils;
+
+/**
+ * 生成主键的插入数据操纵语言解析器。与 {@link InsertDMLParser} 不同，生成的插入语句不包含由数据库生成（例如自增列、序列默认值）的主键列。
+ * 默认所有主键均由数据库生成；也可以指定由数据库生成的主键，其余主键（例如复合主键中由应用程序赋值的部分）仍作为插入列
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public class GeneratedKeyInsertDMLParser extends AbstractDMLParser {
+
+	private static final String INSERT = "INSERT INTO %s(%s) VALUES (%s)";
+
+	private static final GeneratedKeyInsertDMLParser INSTANCE = new GeneratedKeyInsertDMLParser();
+
+	/**
+	 * 各实体类指定由数据库生成的主键时的数据操纵语言缓存，键为由数据库生成的主键的位掩码
+	 */
+	private final ClassValue<Map<Long, DML>> partialDmls = new ClassValue<Map<Long, DML>>() {
+		@Override
+		protected Map<Long, DML> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<Long, DML>();
+		}
+	};
+
+	private GeneratedKeyInsertDMLParser() {
+		super();
+	}
+
+	public static final GeneratedKeyInsertDMLParser getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * 解析插入数据操纵语言，生成的插入语句只省略由数据库生成的主键列
+	 * 
+	 * @param type
+	 *            实体类
+	 * @param generatedKeys
+	 *            由数据库生成的主键的位掩码，第i位对应实体类中第i个主键属性（从0开始）
+	 * @return 返回数据操纵语言
+	 */
+	public <T> DML parse(Class<T> type, long generatedKeys) {
+		return partialDmls.get(type).computeIfAbsent(generatedKeys, key -> {
+			DML dml = new DML();
+			parseDML(dml, type, EntityUtils.getTableName(type), key);
+			return dml;
+		});
+	}
+
+	@Override
+	protected <T> void parseDML(DML dml, Class<T> type, String tableName) {
+		parseDML(dml, type, tableName, -1L);
+	}
+
+	private <T> void parseDML(DML dml, Class<T> type, String tableName, long generatedKeys) {
+		EntityMeta entityMeta = EntityUtils.getCachedEntityMeta(type);
+		if (entityMeta == null) {// 解析插入数据操纵语言的同时会缓存实体类元数据
+			InsertDMLParser.getInstance().parse(type);
+			entityMeta = EntityUtils.getCachedEntityMeta(type);
+		}
+		boolean idFlag = false, flag = false;
+		int idIndex = 0;
+		List<Field> fields = new ArrayList<Field>();
+		StringBuilder columns = new StringBuilder(), values = new StringBuilder();
+		List<FieldMeta> fieldMetas = entityMeta.getFieldMetas();
+		FieldMeta fieldMeta;
+		for (int i = 0, size = fieldMetas.size(); i < size; i++) {
+			fieldMeta = fieldMetas.get(i);
+			if (fieldMeta.isId() && (generatedKeys & (1L << idIndex++)) != 0) {
+				idFlag = true;
+			} else {
+				fields.add(fieldMeta.getField());
+				if (flag) {
+					columns.append(JDBCExecuteUtils.COMMA_SPACE);
+					values.append(JDBCExecuteUtils.COMMA_SPACE);
+				} else {
+					flag = true;
+				}
+				columns.append(fieldMeta.getColumnName());
+				values.append(SQLUtils.PARAM_MARK);
+			}
+		}
+		if (!idFlag) {
+			throw new PkNotFoundException(
+					"Primary key not found in class ".concat(type.getName()).concat(", please use @Id to config"));
+		}
+		if (flag) {
+			dml.setSql(String.format(INSERT, tableName, columns, values));
+			dml.setFields(fields);
+		} else {
+			throw new ColumnNotFoundException("Column except primary key not found in class ".concat(type.getName())
+					.concat(", please use @Column to config"));
+		}
+	}
+
+}
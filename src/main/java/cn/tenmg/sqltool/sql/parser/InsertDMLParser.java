@@ -4,7 +4,9 @@ import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import cn.tenmg.dsl.utils.StringUtils;
 import cn.tenmg.sql.paging.utils.SQLUtils;
@@ -26,7 +28,9 @@ import cn.tenmg.sqltool.utils.JDBCExecuteUtils;
  */
 public class InsertDMLParser extends AbstractDMLParser {
 
-	private static final String INSERT = "INSERT INTO %s(%s) VALUES (%s)";
+	private static final String INSERT = "INSERT INTO %s(%s) VALUES (%s)", VALUES = " VALUES ";
+
+	private static final Map<DML, Map<Integer, String>> MULTI_ROW_SQLS = new ConcurrentHashMap<DML, Map<Integer, String>>();
 
 	private static final InsertDMLParser INSTANCE = new InsertDMLParser();
 	
@@ -38,6 +42,33 @@ public class InsertDMLParser extends AbstractDMLParser {
 		return INSTANCE;
 	}
 
+	/**
+	 * 获取多行插入SQL（{@code INSERT INTO ... VALUES (...), (...)}）。相同插入数据操纵语言及行数的SQL只拼接一次
+	 * 
+	 * @param dml
+	 *            由本解析器解析得到的插入数据操纵语言
+	 * @param rows
+	 *            行数
+	 * @return 返回多行插入SQL
+	 */
+	public String getMultiRowSql(DML dml, int rows) {
+		Map<Integer, String> sqls = MULTI_ROW_SQLS.get(dml);
+		if (sqls == null) {
+			sqls = new ConcurrentHashMap<Integer, String>();
+			Map<Integer, String> existed = ((ConcurrentHashMap<DML, Map<Integer, String>>) MULTI_ROW_SQLS)
+					.putIfAbsent(dml, sqls);
+			if (existed != null) {
+				sqls = existed;
+			}
+		}
+		String sql = sqls.get(rows);
+		if (sql == null) {
+			sql = toMultiRowSql(dml.getSql(), rows);
+			sqls.put(rows, sql);
+		}
+		return sql;
+	}
+
 	@Override
 	protected <T> void parseDML(DML dml, Class<T> type, String tableName) {
 		boolean flag = false;
@@ -109,4 +140,15 @@ public class InsertDMLParser extends AbstractDMLParser {
 		}
 	}
 
+	private static String toMultiRowSql(String sql, int rows) {
+		int index = sql.lastIndexOf(VALUES) + VALUES.length();
+		String values = sql.substring(index);
+		StringBuilder sb = new StringBuilder(index + (values.length() + JDBCExecuteUtils.COMMA_SPACE.length()) * rows);
+		sb.append(sql, 0, index).append(values);
+		for (int i = 1; i < rows; i++) {
+			sb.append(JDBCExecuteUtils.COMMA_SPACE).append(values);
+		}
+		return sb.toString();
+	}
+
 }
@@ -1,7 +1,7 @@
 package cn.tenmg.sqltool.sql.utils;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import cn.tenmg.sqltool.sql.DML;
 
@@ -15,14 +15,14 @@ import cn.tenmg.sqltool.sql.DML;
 public abstract class DMLUtils {
 
 	private static final class DMLCacheHolder {
-		private static volatile Map<String, DML> CACHE = new HashMap<String, DML>();
+		private static final Map<String, DML> CACHE = new ConcurrentHashMap<String, DML>();
 	}
 
 	public static DML getCachedDML(String key) {
 		return DMLCacheHolder.CACHE.get(key);
 	}
 
-	public static synchronized void cacheDML(String key, DML dml) {
+	public static void cacheDML(String key, DML dml) {
 		DMLCacheHolder.CACHE.put(key, dml);
 	}
 
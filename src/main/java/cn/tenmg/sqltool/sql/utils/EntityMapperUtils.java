@@ -0,0 +1,112 @@
+package cn.tenmg.sqltool.sql.utils;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+import cn.tenmg.dsl.utils.StringUtils;
+import cn.tenmg.sqltool.exception.ColumnNotFoundException;
+import cn.tenmg.sqltool.sql.EntityMapper;
+import cn.tenmg.sqltool.sql.meta.EntityMeta;
+import cn.tenmg.sqltool.sql.meta.FieldMeta;
+
+/**
+ * 实体映射器工具类。实体映射器通过 {@link ServiceLoader} 加载
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+@SuppressWarnings("rawtypes")
+public abstract class EntityMapperUtils {
+
+	private static final Map<Class<?>, EntityMapper<?>> MAPPERS = new HashMap<Class<?>, EntityMapper<?>>();
+
+	static {
+		ServiceLoader<EntityMapper> loader = ServiceLoader.load(EntityMapper.class);
+		EntityMapper<?> mapper;
+		for (Iterator<EntityMapper> it = loader.iterator(); it.hasNext();) {
+			mapper = it.next();
+			MAPPERS.put(mapper.getType(), mapper);
+		}
+	}
+
+	/**
+	 * 获取实体类的实体映射器
+	 *
+	 * @param type
+	 *            实体类
+	 * @return 返回实体映射器。没有为该实体类生成实体映射器时返回 {@code null}
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> EntityMapper<T> getMapper(Class<T> type) {
+		return (EntityMapper<T>) MAPPERS.get(type);
+	}
+
+	/**
+	 * 获取属性下标
+	 *
+	 * @param mapper
+	 *            实体映射器
+	 * @param fieldName
+	 *            属性名
+	 * @return 返回属性下标。实体映射器中没有该属性时返回-1
+	 */
+	public static int indexOf(EntityMapper<?> mapper, String fieldName) {
+		String[] fieldNames = mapper.getFieldNames();
+		for (int i = 0; i < fieldNames.length; i++) {
+			if (fieldNames[i].equals(fieldName)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * 根据实体映射器构造实体类元数据。列名、主键均由实体映射器提供，不再扫描注解
+	 *
+	 * @param mapper
+	 *            实体映射器
+	 * @return 返回实体类元数据
+	 */
+	public static EntityMeta toEntityMeta(EntityMapper<?> mapper) {
+		Class<?> type = mapper.getType();
+		String[] fieldNames = mapper.getFieldNames(), columnNames = mapper.getColumnNames();
+		List<FieldMeta> fieldMetas = new ArrayList<FieldMeta>();
+		for (int i = 0; i < fieldNames.length; i++) {
+			String columnName = columnNames[i];
+			if (columnName == null) {
+				continue;
+			}
+			Field field = getField(type, fieldNames[i]);
+			if (StringUtils.isBlank(columnName)) {
+				columnName = StringUtils.camelToUnderline(fieldNames[i], true);
+			}
+			FieldMeta fieldMeta = new FieldMeta(field, columnName);
+			fieldMeta.setId(mapper.isId(i));
+			fieldMetas.add(fieldMeta);
+		}
+		String tableName = mapper.getTableName();
+		return new EntityMeta(tableName == null ? EntityUtils.getTableName(type) : tableName, fieldMetas);
+	}
+
+	private static Field getField(Class<?> type, String fieldName) {
+		Class<?> current = type;
+		while (current != null && !Object.class.equals(current)) {
+			try {
+				Field field = current.getDeclaredField(fieldName);
+				field.setAccessible(true);
+				return field;
+			} catch (NoSuchFieldException e) {
+				current = current.getSuperclass();
+			}
+		}
+		throw new ColumnNotFoundException("Field ".concat(fieldName).concat(" not found in class ")
+				.concat(type.getName()).concat(", please regenerate its entity mapper"));
+	}
+
+}
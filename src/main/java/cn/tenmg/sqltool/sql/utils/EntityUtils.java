@@ -2,10 +2,8 @@ package cn.tenmg.sqltool.sql.utils;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 
 import cn.tenmg.dsl.Script;
@@ -16,6 +14,8 @@ import cn.tenmg.sqltool.config.annotion.Id;
 import cn.tenmg.sqltool.config.annotion.Table;
 import cn.tenmg.sqltool.exception.DataAccessException;
 import cn.tenmg.sqltool.exception.PkNotFoundException;
+import cn.tenmg.sqltool.sql.EntityMapper;
+import cn.tenmg.sqltool.sql.EntityPlanCache;
 import cn.tenmg.sqltool.sql.meta.EntityMeta;
 import cn.tenmg.sqltool.sql.meta.FieldMeta;
 import cn.tenmg.sqltool.utils.JDBCExecuteUtils;
@@ -31,19 +31,43 @@ public abstract class EntityUtils {
 
 	private static final String SELECT_SQL_TPL = "SELECT %s FROM %s%s", SPACE_WHERE_SPACE = " WHERE ";
 
-	private static final class EntityMetaCacheHolder {
-		private static volatile Map<Class<?>, EntityMeta> CACHE = new HashMap<Class<?>, EntityMeta>();
+	/**
+	 * 按条件查询SQL计划缓存
+	 */
+	private static final EntityPlanCache SELECT_PLANS = new EntityPlanCache();
+
+	/**
+	 * 实体类元数据缓存。元数据挂在实体类上，读取时无需加锁，并随实体类一同卸载。实体类存在实体映射器时直接使用映射器提供的元数据
+	 */
+	private static final ClassValue<EntityMetaHolder> ENTITY_METAS = new ClassValue<EntityMetaHolder>() {
+		@Override
+		protected EntityMetaHolder computeValue(Class<?> type) {
+			EntityMetaHolder holder = new EntityMetaHolder();
+			EntityMapper<?> mapper = EntityMapperUtils.getMapper(type);
+			if (mapper != null) {
+				holder.entityMeta = EntityMapperUtils.toEntityMeta(mapper);
+			}
+			return holder;
+		}
+	};
+
+	private static final class EntityMetaHolder {
+		private volatile EntityMeta entityMeta;
 	}
 
 	public static EntityMeta getCachedEntityMeta(Class<?> type) {
-		return EntityMetaCacheHolder.CACHE.get(type);
+		return ENTITY_METAS.get(type).entityMeta;
 	}
 
-	public static synchronized void cacheEntityMeta(Class<?> type, EntityMeta entityMeta) {
-		EntityMetaCacheHolder.CACHE.put(type, entityMeta);
+	public static void cacheEntityMeta(Class<?> type, EntityMeta entityMeta) {
+		ENTITY_METAS.get(type).entityMeta = entityMeta;
 	}
 
 	public static final String getTableName(Class<?> type) {
+		EntityMapper<?> mapper = EntityMapperUtils.getMapper(type);
+		if (mapper != null && mapper.getTableName() != null) {
+			return mapper.getTableName();
+		}
 		Table table = type.getAnnotation(Table.class);
 		String tableName;
 		if (table != null) {
@@ -55,6 +79,10 @@ public abstract class EntityUtils {
 	}
 
 	public static <T> Script<List<Object>> parseSelect(T obj) {
+		return SELECT_PLANS.getScript(obj, null, false, EntityUtils::parse);
+	}
+
+	private static <T> Script<List<Object>> parse(T obj) {
 		StringBuilder columns = new StringBuilder(), criteria = new StringBuilder();
 		List<Object> params = new ArrayList<Object>();
 		boolean hasColumn = false, hasWhere = false;
@@ -119,7 +147,7 @@ public abstract class EntityUtils {
 				for (int i = 0, size = fieldMetas.size(); i < size; i++) {
 					fieldMeta = fieldMetas.get(i);
 					String columnName = fieldMeta.getColumnName();
-					Object param = fieldMeta.getField().get(obj);
+					Object param = fieldMeta.getAccessor().get(obj);
 					if (param != null) {
 						params.add(param);
 						if (hasWhere) {
@@ -161,11 +189,7 @@ public abstract class EntityUtils {
 	public static <T> List<Object> getParams(T obj, List<Field> fields) {
 		List<Object> params = new ArrayList<Object>();
 		for (int i = 0, size = fields.size(); i < size; i++) {
-			try {
-				params.add(fields.get(i).get(obj));
-			} catch (IllegalArgumentException | IllegalAccessException e) {
-				throw new DataAccessException(e);
-			}
+			params.add(FieldAccessorUtils.getAccessor(fields.get(i)).get(obj));
 		}
 		return params;
 	}
@@ -0,0 +1,76 @@
+package cn.tenmg.sqltool.sql.utils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import cn.tenmg.sqltool.sql.EntityMapper;
+import cn.tenmg.sqltool.sql.meta.FieldAccessor;
+
+/**
+ * 属性访问器工具类。属性的声明类存在编译期生成的实体映射器时，使用实体映射器读写属性；否则使用预先设置为可访问的 {@code Field}
+ * 反射直接读写属性（不调用getter/setter方法）。属性访问器按属性缓存
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public abstract class FieldAccessorUtils {
+
+	private static final Map<Field, FieldAccessor> CACHE = new ConcurrentHashMap<Field, FieldAccessor>();
+
+	/**
+	 * 获取属性访问器
+	 *
+	 * @param field
+	 *            属性
+	 * @return 返回属性访问器
+	 */
+	public static FieldAccessor getAccessor(Field field) {
+		FieldAccessor accessor = CACHE.get(field);
+		if (accessor == null) {
+			accessor = createAccessor(field);
+			FieldAccessor existed = ((ConcurrentHashMap<Field, FieldAccessor>) CACHE).putIfAbsent(field, accessor);
+			if (existed != null) {
+				accessor = existed;
+			}
+		}
+		return accessor;
+	}
+
+	/**
+	 * 获取属性访问器数组。用于在批量操作开始前一次性确定所有属性的访问器
+	 *
+	 * @param fields
+	 *            属性列表
+	 * @return 返回与属性列表一一对应的属性访问器数组
+	 */
+	public static FieldAccessor[] getAccessors(List<Field> fields) {
+		FieldAccessor[] accessors = new FieldAccessor[fields.size()];
+		for (int i = 0; i < accessors.length; i++) {
+			accessors[i] = getAccessor(fields.get(i));
+		}
+		return accessors;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static FieldAccessor createAccessor(Field field) {
+		Function<Object, Object> getter = null;
+		BiConsumer<Object, Object> setter = null;
+		EntityMapper<Object> mapper = (EntityMapper<Object>) EntityMapperUtils.getMapper(field.getDeclaringClass());
+		int index = mapper == null || Modifier.isStatic(field.getModifiers()) ? -1
+				: EntityMapperUtils.indexOf(mapper, field.getName());
+		if (index >= 0) {
+			getter = obj -> mapper.get(obj, index);
+			setter = (obj, value) -> mapper.set(obj, index, value);
+		} else {
+			field.setAccessible(true);
+		}
+		return new FieldAccessor(field, getter, setter);
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,204 @@
+package cn.tenmg.sqltool.sql.utils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Date;
+
+import cn.tenmg.sqltool.exception.ConvertException;
+
+/**
+ * 键集分页（seek）工具类。提供排序键解析，以及排序键值与游标之间的转换
+ * <p>
+ * 游标由每个排序键值的类型标记和Base64URL编码的文本组成，不使用Java序列化，因此可以安全地交给客户端并原样传回。
+ * 排序键值不能为 {@code null}（{@code null} 无法参与 {@code >}、{@code <} 比较，下一页将遗漏或重复数据），且只支持字符串、数值、布尔及常用日期时间类型，
+ * 其他类型无法还原为原类型，编码时直接抛出异常
+ * </p>
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public abstract class KeysetUtils {
+
+	private static final String DESC = "DESC", ASC = "ASC";
+
+	private static final char SEPARATOR = '.', STRING = 'S', INTEGER = 'I', LONG = 'L', DECIMAL = 'D',
+			BIG_INTEGER = 'G', DOUBLE = 'F', BOOLEAN = 'B', TIMESTAMP = 'T', DATE = 'd', TIME = 't',
+			LOCAL_DATE_TIME = 'l', LOCAL_DATE = 'a';
+
+	/**
+	 * 获取排序键的列名（标签）
+	 *
+	 * @param orderKey
+	 *            排序键，列名后可附加 {@code ASC} 或 {@code DESC}，例如 {@code "CREATE_TIME DESC"}
+	 * @return 返回列名
+	 */
+	public static String getColumn(String orderKey) {
+		String key = orderKey.trim();
+		int index = key.lastIndexOf(' ');
+		if (index > 0) {
+			String direction = key.substring(index + 1);
+			if (DESC.equalsIgnoreCase(direction) || ASC.equalsIgnoreCase(direction)) {
+				return key.substring(0, index).trim();
+			}
+		}
+		return key;
+	}
+
+	/**
+	 * 判断排序键是否降序
+	 *
+	 * @param orderKey
+	 *            排序键
+	 * @return 降序返回 {@code true}，否则返回 {@code false}
+	 */
+	public static boolean isDescending(String orderKey) {
+		String key = orderKey.trim();
+		int index = key.lastIndexOf(' ');
+		return index > 0 && DESC.equalsIgnoreCase(key.substring(index + 1));
+	}
+
+	/**
+	 * 将排序键值编码为游标
+	 *
+	 * @param values
+	 *            排序键值
+	 * @return 返回游标
+	 * @throws ConvertException
+	 *             排序键值为 {@code null} 或类型不受支持时抛出
+	 */
+	public static String encode(Object... values) {
+		StringBuilder token = new StringBuilder();
+		for (int i = 0; i < values.length; i++) {
+			if (i > 0) {
+				token.append(SEPARATOR);
+			}
+			Object value = values[i];
+			if (value == null) {
+				throw new ConvertException("The value of keyset order key " + i
+						+ " is null, keyset pagination requires non-null order keys");
+			}
+			char type;
+			String text;
+			if (value instanceof String) {
+				type = STRING;
+				text = (String) value;
+			} else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+				type = INTEGER;
+				text = value.toString();
+			} else if (value instanceof Long) {
+				type = LONG;
+				text = value.toString();
+			} else if (value instanceof BigDecimal) {
+				type = DECIMAL;
+				text = ((BigDecimal) value).toPlainString();
+			} else if (value instanceof BigInteger) {
+				type = BIG_INTEGER;
+				text = value.toString();
+			} else if (value instanceof Double || value instanceof Float) {
+				type = DOUBLE;
+				text = value.toString();
+			} else if (value instanceof Boolean) {
+				type = BOOLEAN;
+				text = value.toString();
+			} else if (value instanceof Timestamp) {
+				type = TIMESTAMP;
+				text = value.toString();
+			} else if (value instanceof java.sql.Date) {
+				type = DATE;
+				text = value.toString();
+			} else if (value instanceof Time) {
+				type = TIME;
+				text = value.toString();
+			} else if (value instanceof Date) {
+				type = TIMESTAMP;
+				text = new Timestamp(((Date) value).getTime()).toString();
+			} else if (value instanceof LocalDateTime) {
+				type = LOCAL_DATE_TIME;
+				text = value.toString();
+			} else if (value instanceof LocalDate) {
+				type = LOCAL_DATE;
+				text = value.toString();
+			} else {
+				throw new ConvertException("Unsupported keyset order key type: " + value.getClass().getName());
+			}
+			token.append(type).append(
+					Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8)));
+		}
+		return token.toString();
+	}
+
+	/**
+	 * 将游标解码为排序键值
+	 *
+	 * @param token
+	 *            游标
+	 * @return 返回排序键值，均不为 {@code null}
+	 * @throws ConvertException
+	 *             游标无效时抛出
+	 */
+	public static Object[] decode(String token) {
+		String[] parts = token.split("\\" + SEPARATOR, -1);
+		Object[] values = new Object[parts.length];
+		try {
+			for (int i = 0; i < parts.length; i++) {
+				String part = parts[i];
+				if (part.isEmpty()) {
+					throw new ConvertException("Invalid keyset token: ".concat(token));
+				}
+				char type = part.charAt(0);
+				String text = new String(Base64.getUrlDecoder().decode(part.substring(1)), StandardCharsets.UTF_8);
+				switch (type) {
+				case STRING:
+					values[i] = text;
+					break;
+				case INTEGER:
+					values[i] = Integer.valueOf(text);
+					break;
+				case LONG:
+					values[i] = Long.valueOf(text);
+					break;
+				case DECIMAL:
+					values[i] = new BigDecimal(text);
+					break;
+				case BIG_INTEGER:
+					values[i] = new BigInteger(text);
+					break;
+				case DOUBLE:
+					values[i] = Double.valueOf(text);
+					break;
+				case BOOLEAN:
+					values[i] = Boolean.valueOf(text);
+					break;
+				case TIMESTAMP:
+					values[i] = Timestamp.valueOf(text);
+					break;
+				case DATE:
+					values[i] = java.sql.Date.valueOf(text);
+					break;
+				case TIME:
+					values[i] = Time.valueOf(text);
+					break;
+				case LOCAL_DATE_TIME:
+					values[i] = LocalDateTime.parse(text);
+					break;
+				case LOCAL_DATE:
+					values[i] = LocalDate.parse(text);
+					break;
+				default:
+					throw new ConvertException("Invalid keyset token: ".concat(token));
+				}
+			}
+		} catch (IllegalArgumentException | java.time.DateTimeException e) {
+			throw new ConvertException("Invalid keyset token: ".concat(token), e);
+		}
+		return values;
+	}
+
+}
@@ -0,0 +1,241 @@
+package cn.tenmg.sqltool.sql.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import cn.tenmg.sqltool.exception.IllegalCallException;
+import cn.tenmg.sqltool.sql.JDBCSQL;
+
+/**
+ * 动态结构化查询语言（DSQL）参数工具类
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public abstract class ParamsUtils {
+
+	private static final Pattern LITERAL = Pattern.compile("'(?:[^']|'')*'"),
+			IN_LIST = Pattern.compile("(?i)\\bIN\\s*\\(\\s*:([\\w.]+)\\s*\\)"),
+			NOT_IN_LIST = Pattern.compile("(?i)\\bNOT\\s+IN\\s*\\(\\s*:([\\w.]+)\\s*\\)"),
+			UNSPLITTABLE = Pattern.compile(
+					"(?i)\\b(?:ORDER\\s+BY|GROUP\\s+BY|HAVING|DISTINCT|UNION|INTERSECT|EXCEPT|MINUS|LIMIT|OFFSET|FETCH|TOP|ROWNUM)\\b"
+							+ "|\\b(?:COUNT|SUM|AVG|MIN|MAX|OVER)\\s*\\(");
+
+	/**
+	 * 将参数键值对转换为查询参数集
+	 *
+	 * @param params
+	 *            参数键值对，例如 {@code "name1", value1, "name2", value2}
+	 * @return 返回查询参数集。参数个数不是偶数或参数名不是字符串时返回 {@code null}
+	 */
+	public static Map<String, Object> toMap(Object... params) {
+		if (params == null || params.length % 2 != 0) {
+			return null;
+		}
+		Map<String, Object> map = new HashMap<String, Object>();
+		for (int i = 0; i < params.length; i += 2) {
+			if (!(params[i] instanceof String)) {
+				return null;
+			}
+			map.put((String) params[i], params[i + 1]);
+		}
+		return map;
+	}
+
+	/**
+	 * 获取命名参数脚本中构成 {@code IN} 列表的参数名，即 {@code IN (:ids)} 中的 {@code ids}。字符串字面量中的内容将被忽略
+	 *
+	 * @param namedScript
+	 *            使用命名参数的脚本
+	 * @return 返回构成 {@code IN} 列表的参数名
+	 */
+	public static Set<String> getInListParamNames(String namedScript) {
+		Set<String> names = new HashSet<String>();
+		if (namedScript != null) {
+			Matcher matcher = IN_LIST.matcher(removeLiterals(namedScript));
+			while (matcher.find()) {
+				names.add(matcher.group(1));
+			}
+		}
+		return names;
+	}
+
+	/**
+	 * 将查询参数集中构成 {@code IN} 列表的集合、对象数组参数重复最后一个元素补齐至2的幂个元素，使 {@code IN (:ids)} 展开后的SQL只有少数几种，
+	 * 便于数据库连接池、驱动和数据库复用预编译语句及执行计划。其他参数（例如作为数组整体绑定的参数）保持不变
+	 *
+	 * @param params
+	 *            查询参数集
+	 * @param names
+	 *            构成 {@code IN} 列表的参数名
+	 * @return 返回补齐后的查询参数集。无需补齐时返回原查询参数集
+	 */
+	public static Map<String, ?> padInLists(Map<String, ?> params, Set<String> names) {
+		if (params == null || names.isEmpty()) {
+			return params;
+		}
+		Map<String, Object> padded = null;
+		for (Iterator<String> it = names.iterator(); it.hasNext();) {
+			String name = it.next();
+			Object value = params.get(name), paddedValue = padInList(value);
+			if (paddedValue != value) {
+				if (padded == null) {
+					padded = new HashMap<String, Object>(params);
+				}
+				padded.put(name, paddedValue);
+			}
+		}
+		return padded == null ? params : padded;
+	}
+
+	/**
+	 * 当JDBC参数个数超过上限时，将元素最多的 {@code IN} 列表参数去除重复元素后拆分为多段，补齐后分别转换为JDBC SQL。拆分后各段SQL的结果合并后才是完整结果，
+	 * 因此含排序、分页、去重、分组、聚合、窗口函数或集合运算的SQL不能拆分；{@code NOT IN} 列表每段只排除部分元素，合并结果将包含本应排除的行，因此也不拆分，
+	 * 而是在每段SQL中完整保留
+	 *
+	 * @param sql
+	 *            未拆分时的JDBC SQL
+	 * @param namedScript
+	 *            使用命名参数的脚本
+	 * @param params
+	 *            查询参数集（未补齐）
+	 * @param maxParameters
+	 *            单条SQL语句允许绑定的最大参数个数
+	 * @param compiler
+	 *            将使用命名参数的脚本及查询参数集转换为JDBC SQL的函数
+	 * @return 返回拆分后的JDBC SQL。无需拆分或没有可拆分的 {@code IN} 列表参数时，仅包含未拆分时的JDBC SQL
+	 * @throws IllegalCallException
+	 *             需要拆分但SQL的结果不能按 {@code IN} 列表元素拆分合并时抛出
+	 */
+	public static List<JDBCSQL> splitInList(JDBCSQL sql, String namedScript, Map<String, ?> params,
+			int maxParameters, Function<Map<String, ?>, JDBCSQL> compiler) {
+		int total = sql.getParams() == null ? 0 : sql.getParams().size();
+		if (total <= maxParameters || params == null) {
+			return Collections.singletonList(sql);
+		}
+		String script = removeLiterals(namedScript);
+		Set<String> names = getInListParamNames(namedScript), notInNames = new HashSet<String>();
+		Matcher notIn = NOT_IN_LIST.matcher(script);
+		while (notIn.find()) {
+			notInNames.add(notIn.group(1));
+		}
+		String name = null;
+		List<Object> elements = null;
+		for (Iterator<String> it = names.iterator(); it.hasNext();) {
+			String current = it.next();
+			if (notInNames.contains(current)) {
+				continue;
+			}
+			List<Object> list = toList(params.get(current));
+			if (list != null && (elements == null || list.size() > elements.size())) {
+				name = current;
+				elements = list;
+			}
+		}
+		if (elements == null || elements.size() < 2) {
+			return Collections.singletonList(sql);
+		}
+		Matcher matcher = UNSPLITTABLE.matcher(script);
+		if (matcher.find()) {
+			throw new IllegalCallException("The number of parameters " + total + " exceeds the limit " + maxParameters
+					+ ", but the SQL cannot be split by IN list parameter " + name + " because it contains "
+					+ matcher.group().replaceAll("\\s+", " ").toUpperCase());
+		}
+		Map<String, Object> chunkParams = new HashMap<String, Object>(params);
+		List<Object> distinct = new ArrayList<Object>(new LinkedHashSet<Object>(elements));
+		if (distinct.size() < elements.size()) {// 去除重复元素，避免同一元素出现在多段中导致合并的查询结果重复
+			elements = distinct;
+			chunkParams.put(name, elements);
+			JDBCSQL deduplicated = compiler.apply(padInLists(chunkParams, names));
+			total = deduplicated.getParams() == null ? 0 : deduplicated.getParams().size();
+			if (total <= maxParameters || elements.size() < 2) {
+				return Collections.singletonList(deduplicated);
+			}
+		}
+		int size = elements.size(),
+				chunkSize = floorPowerOfTwo((int) Math.max(1, (long) bucket(size) * maxParameters / total));
+		while (true) {
+			List<JDBCSQL> sqls = new ArrayList<JDBCSQL>((size + chunkSize - 1) / chunkSize);
+			boolean fits = true;
+			for (int from = 0; from < size; from += chunkSize) {
+				chunkParams.put(name, elements.subList(from, Math.min(size, from + chunkSize)));
+				JDBCSQL chunk = compiler.apply(padInLists(chunkParams, names));
+				if (chunk.getParams() != null && chunk.getParams().size() > maxParameters && chunkSize > 1) {
+					fits = false;
+					break;
+				}
+				sqls.add(chunk);
+			}
+			if (fits) {
+				return sqls;
+			}
+			chunkSize >>= 1;
+		}
+	}
+
+	/**
+	 * 获取不小于元素个数的最小的2的幂
+	 *
+	 * @param size
+	 *            元素个数
+	 * @return 返回补齐后的元素个数
+	 */
+	public static int bucket(int size) {
+		return size <= 1 ? size : Integer.highestOneBit(size - 1) << 1;
+	}
+
+	private static int floorPowerOfTwo(int size) {
+		return Integer.highestOneBit(size);
+	}
+
+	/**
+	 * 将字符串字面量替换为空字符串字面量，避免将其中的内容识别为SQL关键字或参数
+	 */
+	private static String removeLiterals(String script) {
+		return LITERAL.matcher(script).replaceAll("''");
+	}
+
+	private static Object padInList(Object value) {
+		List<Object> elements = toList(value);
+		if (elements == null) {
+			return value;
+		}
+		int size = elements.size(), bucket = bucket(size);
+		if (bucket == size) {
+			return value;
+		}
+		List<Object> padded = new ArrayList<Object>(bucket);
+		padded.addAll(elements);
+		Object last = elements.get(size - 1);
+		for (int i = size; i < bucket; i++) {
+			padded.add(last);
+		}
+		return padded;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<Object> toList(Object value) {
+		if (value instanceof List) {
+			return (List<Object>) value;
+		} else if (value instanceof Collection) {
+			return new ArrayList<Object>((Collection<Object>) value);
+		} else if (value instanceof Object[]) {
+			return Arrays.asList((Object[]) value);
+		}
+		return null;
+	}
+
+}
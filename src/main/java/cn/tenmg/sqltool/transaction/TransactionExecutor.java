@@ -2,17 +2,25 @@ package cn.tenmg.sqltool.transaction;
 
 import java.io.Serializable;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import cn.tenmg.dsl.Script;
 import cn.tenmg.dsl.utils.CollectionUtils;
 import cn.tenmg.dsql.DSQLFactory;
 import cn.tenmg.dsql.NamedSQL;
+import cn.tenmg.sqltool.RowHandler;
 import cn.tenmg.sqltool.sql.DML;
+import cn.tenmg.sqltool.sql.DSQLPlanCache;
+import cn.tenmg.sqltool.sql.JDBCSQL;
 import cn.tenmg.sqltool.sql.SQLDialect;
 import cn.tenmg.sqltool.sql.executer.ExecuteSQLExecuter;
 import cn.tenmg.sqltool.sql.executer.ExecuteUpdateSQLExecuter;
+import cn.tenmg.sqltool.sql.executer.ForEachSQLExecuter;
 import cn.tenmg.sqltool.sql.executer.GetSQLExecuter;
 import cn.tenmg.sqltool.sql.executer.SelectSQLExecuter;
 import cn.tenmg.sqltool.sql.parser.DeleteDMLParser;
@@ -20,6 +28,7 @@ import cn.tenmg.sqltool.sql.parser.GetDMLParser;
 import cn.tenmg.sqltool.sql.parser.InsertDMLParser;
 import cn.tenmg.sqltool.sql.parser.UpdateDMLParser;
 import cn.tenmg.sqltool.sql.utils.EntityUtils;
+import cn.tenmg.sqltool.sql.utils.ParamsUtils;
 import cn.tenmg.sqltool.utils.JDBCExecuteUtils;
 
 /**
@@ -42,6 +51,12 @@ public class TransactionExecutor implements Serializable {
 
 	private SQLDialect dialect;
 
+	private int fetchSize = 1000;
+
+	private transient DSQLPlanCache dsqlPlanCache;
+
+	private boolean inListPadding;
+
 	public TransactionExecutor(boolean showSql, DSQLFactory DSQLFactory, SQLDialect dialect) {
 		super();
 		this.showSql = showSql;
@@ -49,6 +64,35 @@ public class TransactionExecutor implements Serializable {
 		this.dialect = dialect;
 	}
 
+	public TransactionExecutor(boolean showSql, DSQLFactory DSQLFactory, SQLDialect dialect, int fetchSize) {
+		this(showSql, DSQLFactory, dialect);
+		this.fetchSize = fetchSize;
+	}
+
+	/**
+	 * 构造事务执行器
+	 * 
+	 * @param showSql
+	 *            是否打印执行的SQL
+	 * @param DSQLFactory
+	 *            DSQL工厂
+	 * @param dialect
+	 *            SQL方言
+	 * @param fetchSize
+	 *            游标读取时每次获取的行数
+	 * @param dsqlPlanCache
+	 *            DSQL执行计划缓存，为 {@code null} 时不使用缓存
+	 * @param inListPadding
+	 *            是否补齐 {@code IN} 列表参数，并在JDBC参数个数超过方言允许的上限时拆分执行
+	 * @since 1.6.0
+	 */
+	public TransactionExecutor(boolean showSql, DSQLFactory DSQLFactory, SQLDialect dialect, int fetchSize,
+			DSQLPlanCache dsqlPlanCache, boolean inListPadding) {
+		this(showSql, DSQLFactory, dialect, fetchSize);
+		this.dsqlPlanCache = dsqlPlanCache;
+		this.inListPadding = inListPadding;
+	}
+
 	/**
 	 * 插入操作
 	 * 
@@ -341,7 +385,7 @@ public class TransactionExecutor implements Serializable {
 	 *             SQL异常
 	 */
 	public <T extends Serializable> T get(Class<T> type, String dsql, Object... params) throws SQLException {
-		return get(DSQLFactory.parse(dsql, params), type);
+		return get(toJDBCSQL(dsql, params), type);
 	}
 
 	/**
@@ -359,7 +403,7 @@ public class TransactionExecutor implements Serializable {
 	 *             SQL异常
 	 */
 	public <T extends Serializable> T get(Class<T> type, String dsql, Map<String, ?> params) throws SQLException {
-		return get(DSQLFactory.parse(dsql, params), type);
+		return get(toJDBCSQL(dsql, params), type);
 	}
 
 	/**
@@ -377,7 +421,7 @@ public class TransactionExecutor implements Serializable {
 	 *             SQL异常
 	 */
 	public <T extends Serializable> List<T> select(Class<T> type, String dsql, Object... params) throws SQLException {
-		return select(DSQLFactory.parse(dsql, params), type);
+		return select(toJDBCSQLs(dsql, params), type);
 	}
 
 	/**
@@ -396,7 +440,85 @@ public class TransactionExecutor implements Serializable {
 	 */
 	public <T extends Serializable> List<T> select(Class<T> type, String dsql, Map<String, ?> params)
 			throws SQLException {
-		return select(DSQLFactory.parse(dsql, params), type);
+		return select(toJDBCSQLs(dsql, params), type);
+	}
+
+	/**
+	 * 使用动态结构化查询语言（DSQL）流式查询，并将每一行组装为对象后交给行处理器处理，不会在内存中保留整个结果列表。其中类型可以是实体对象，
+	 * 也可以是String、Number、Date、BigDecimal类型，这时将处理结果集中的第1列的值
+	 * 
+	 * @param type
+	 *            对象类型
+	 * @param dsql
+	 *            动态结构化查询语言
+	 * @param rowHandler
+	 *            行处理器
+	 * @param params
+	 *            查询参数键值集
+	 * @return 返回处理的行数
+	 * @throws SQLException
+	 *             SQL异常
+	 */
+	public <T> long forEach(Class<T> type, String dsql, RowHandler<T> rowHandler, Object... params)
+			throws SQLException {
+		return forEach(toJDBCSQLs(dsql, params), type, rowHandler);
+	}
+
+	/**
+	 * 使用动态结构化查询语言（DSQL）流式查询，并将每一行组装为对象后交给行处理器处理，不会在内存中保留整个结果列表。其中类型可以是实体对象，
+	 * 也可以是String、Number、Date、BigDecimal类型，这时将处理结果集中的第1列的值
+	 * 
+	 * @param type
+	 *            对象类型
+	 * @param dsql
+	 *            动态结构化查询语言
+	 * @param rowHandler
+	 *            行处理器
+	 * @param params
+	 *            查询参数键值集
+	 * @return 返回处理的行数
+	 * @throws SQLException
+	 *             SQL异常
+	 */
+	public <T> long forEach(Class<T> type, String dsql, RowHandler<T> rowHandler, Map<String, ?> params)
+			throws SQLException {
+		return forEach(toJDBCSQLs(dsql, params), type, rowHandler);
+	}
+
+	/**
+	 * 使用动态结构化查询语言（DSQL）流式查询，返回逐行组装对象的流。流使用当前事务的连接，使用完毕后必须在事务结束前关闭（建议使用
+	 * try-with-resources），遍历结束时也会自动释放结果集
+	 * 
+	 * @param type
+	 *            对象类型
+	 * @param dsql
+	 *            动态结构化查询语言
+	 * @param params
+	 *            查询参数键值集
+	 * @return 返回对象流
+	 * @throws SQLException
+	 *             SQL异常
+	 */
+	public <T> Stream<T> stream(Class<T> type, String dsql, Object... params) throws SQLException {
+		return stream(toJDBCSQL(dsql, params), type);
+	}
+
+	/**
+	 * 使用动态结构化查询语言（DSQL）流式查询，返回逐行组装对象的流。流使用当前事务的连接，使用完毕后必须在事务结束前关闭（建议使用
+	 * try-with-resources），遍历结束时也会自动释放结果集
+	 * 
+	 * @param type
+	 *            对象类型
+	 * @param dsql
+	 *            动态结构化查询语言
+	 * @param params
+	 *            查询参数键值集
+	 * @return 返回对象流
+	 * @throws SQLException
+	 *             SQL异常
+	 */
+	public <T> Stream<T> stream(Class<T> type, String dsql, Map<String, ?> params) throws SQLException {
+		return stream(toJDBCSQL(dsql, params), type);
 	}
 
 	/**
@@ -411,7 +533,7 @@ public class TransactionExecutor implements Serializable {
 	 *             SQL异常
 	 */
 	public boolean execute(String dsql, Object... params) throws SQLException {
-		return this.execute(DSQLFactory.parse(dsql, params));
+		return this.execute(toJDBCSQL(dsql, params));
 	}
 
 	/**
@@ -426,7 +548,7 @@ public class TransactionExecutor implements Serializable {
 	 *             SQL异常
 	 */
 	public boolean execute(String dsql, Map<String, ?> params) throws SQLException {
-		return this.execute(DSQLFactory.parse(dsql, params));
+		return this.execute(toJDBCSQL(dsql, params));
 	}
 
 	/**
@@ -441,7 +563,7 @@ public class TransactionExecutor implements Serializable {
 	 *             SQL异常
 	 */
 	public int executeUpdate(String dsql, Object... params) throws SQLException {
-		return executeUpdate(DSQLFactory.parse(dsql, params));
+		return executeUpdate(toJDBCSQLs(dsql, params));
 	}
 
 	/**
@@ -456,30 +578,100 @@ public class TransactionExecutor implements Serializable {
 	 *             SQL异常
 	 */
 	public int executeUpdate(String dsql, Map<String, ?> params) throws SQLException {
-		return executeUpdate(DSQLFactory.parse(dsql, params));
+		return executeUpdate(toJDBCSQLs(dsql, params));
+	}
+
+	private JDBCSQL toJDBCSQL(String dsql, Object... params) {
+		Map<String, Object> map = dsqlPlanCache == null ? null : ParamsUtils.toMap(params);
+		if (map == null) {
+			return DSQLPlanCache.toJDBC(DSQLFactory, DSQLFactory.parse(dsql, params), inListPadding);
+		}
+		return dsqlPlanCache.toJDBC(DSQLFactory, dsql, map, inListPadding);
+	}
+
+	private JDBCSQL toJDBCSQL(String dsql, Map<String, ?> params) {
+		if (dsqlPlanCache == null) {
+			return DSQLPlanCache.toJDBC(DSQLFactory, DSQLFactory.parse(dsql, params), inListPadding);
+		}
+		return dsqlPlanCache.toJDBC(DSQLFactory, dsql, params, inListPadding);
+	}
+
+	private List<JDBCSQL> toJDBCSQLs(String dsql, Object... params) {
+		return toJDBCSQLs(toJDBCSQL(dsql, params), () -> DSQLFactory.parse(dsql, params));
 	}
 
-	private boolean execute(NamedSQL namedSQL) throws SQLException {
-		Script<List<Object>> sql = DSQLFactory.toJDBC(namedSQL);
+	private List<JDBCSQL> toJDBCSQLs(String dsql, Map<String, ?> params) {
+		return toJDBCSQLs(toJDBCSQL(dsql, params), () -> DSQLFactory.parse(dsql, params));
+	}
+
+	/**
+	 * 参数个数超过方言允许的上限时，重新解析DSQL并按 {@code IN} 列表参数拆分
+	 */
+	private List<JDBCSQL> toJDBCSQLs(JDBCSQL sql, Supplier<NamedSQL> parser) {
+		int maxParameters = dialect.getMaxParameters();
+		if (!inListPadding || sql.getParams() == null || sql.getParams().size() <= maxParameters) {
+			return Collections.singletonList(sql);
+		}
+		NamedSQL namedSQL = parser.get();
+		return ParamsUtils.splitInList(sql, namedSQL.getScript(), namedSQL.getParams(), maxParameters,
+				chunkParams -> DSQLPlanCache.toJDBC(DSQLFactory, namedSQL.getId(), namedSQL.getScript(), chunkParams));
+	}
+
+	private boolean execute(JDBCSQL sql) throws SQLException {
 		return (boolean) JDBCExecuteUtils.execute(CurrentConnectionHolder.get(), ExecuteSQLExecuter.getInstance(),
-				namedSQL.getId(), sql.getValue(), sql.getParams(), showSql);
+				sql.getId(), sql.getSql(), sql.getParams(), showSql);
+	}
+
+	private int executeUpdate(List<JDBCSQL> sqls) throws SQLException {
+		int count = 0;
+		for (int i = 0, size = sqls.size(); i < size; i++) {
+			count += executeUpdate(sqls.get(i));
+		}
+		return count;
 	}
 
-	private int executeUpdate(NamedSQL namedSQL) throws SQLException {
-		Script<List<Object>> sql = DSQLFactory.toJDBC(namedSQL);
+	private int executeUpdate(JDBCSQL sql) throws SQLException {
 		return JDBCExecuteUtils.execute(CurrentConnectionHolder.get(), ExecuteUpdateSQLExecuter.getInstance(),
-				namedSQL.getId(), sql.getValue(), sql.getParams(), showSql);
+				sql.getId(), sql.getSql(), sql.getParams(), showSql);
 	}
 
-	private <T extends Serializable> T get(NamedSQL namedSQL, Class<T> type) throws SQLException {
-		Script<List<Object>> sql = DSQLFactory.toJDBC(namedSQL);
-		return JDBCExecuteUtils.execute(CurrentConnectionHolder.get(), new GetSQLExecuter<T>(type), namedSQL.getId(),
-				sql.getValue(), sql.getParams(), showSql);
+	private <T extends Serializable> T get(JDBCSQL sql, Class<T> type) throws SQLException {
+		return JDBCExecuteUtils.execute(CurrentConnectionHolder.get(), new GetSQLExecuter<T>(type), sql.getId(),
+				sql.getSql(), sql.getParams(), showSql);
 	}
 
-	private <T extends Serializable> List<T> select(NamedSQL namedSQL, Class<T> type) throws SQLException {
-		Script<List<Object>> sql = DSQLFactory.toJDBC(namedSQL);
-		return JDBCExecuteUtils.execute(CurrentConnectionHolder.get(), new SelectSQLExecuter<T>(type), namedSQL.getId(),
-				sql.getValue(), sql.getParams(), showSql);
+	private <T extends Serializable> List<T> select(List<JDBCSQL> sqls, Class<T> type) throws SQLException {
+		if (sqls.size() == 1) {
+			return select(sqls.get(0), type);
+		}
+		List<T> rows = new ArrayList<T>();
+		for (int i = 0, size = sqls.size(); i < size; i++) {
+			rows.addAll(select(sqls.get(i), type));
+		}
+		return rows;
+	}
+
+	private <T extends Serializable> List<T> select(JDBCSQL sql, Class<T> type) throws SQLException {
+		return JDBCExecuteUtils.execute(CurrentConnectionHolder.get(), new SelectSQLExecuter<T>(type), sql.getId(),
+				sql.getSql(), sql.getParams(), showSql);
+	}
+
+	private <T> long forEach(List<JDBCSQL> sqls, Class<T> type, RowHandler<T> rowHandler) throws SQLException {
+		long count = 0;
+		for (int i = 0, size = sqls.size(); i < size; i++) {
+			count += forEach(sqls.get(i), type, rowHandler);
+		}
+		return count;
+	}
+
+	private <T> long forEach(JDBCSQL sql, Class<T> type, RowHandler<T> rowHandler) throws SQLException {
+		return JDBCExecuteUtils.execute(CurrentConnectionHolder.get(),
+				new ForEachSQLExecuter<T>(type, rowHandler, dialect, fetchSize, false), sql.getId(), sql.getSql(),
+				sql.getParams(), showSql);
+	}
+
+	private <T> Stream<T> stream(JDBCSQL sql, Class<T> type) throws SQLException {
+		return JDBCExecuteUtils.iterator(CurrentConnectionHolder.get(), dialect, type, sql.getId(),
+				sql.getSql(), sql.getParams(), fetchSize, showSql, false, null).stream();
 	}
 }
@@ -0,0 +1,159 @@
+package cn.tenmg.sqltool.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import cn.tenmg.sqltool.config.annotion.Column;
+import cn.tenmg.sqltool.config.annotion.Table;
+import cn.tenmg.sqltool.exception.IllegalConfigException;
+
+/**
+ * 实体类扫描工具类。扫描包（含子包）下使用 {@link Table} 注解或含有使用 {@link Column} 注解的属性的具体类，支持目录和JAR包中的类
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public abstract class EntityScanUtils {
+
+	private static final String PACKAGE_SPLIT = ",", CLASS_SUFFIX = ".class", FILE_PROTOCOL = "file",
+			JAR_PROTOCOL = "jar";
+
+	/**
+	 * 扫描实体类
+	 *
+	 * @param basePackages
+	 *            包名，多个包名之间使用逗号分隔
+	 * @return 返回扫描到的实体类
+	 */
+	public static List<Class<?>> scan(String basePackages) {
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		if (classLoader == null) {
+			classLoader = EntityScanUtils.class.getClassLoader();
+		}
+		Set<String> classNames = new LinkedHashSet<String>();
+		String[] packages = basePackages.split(PACKAGE_SPLIT);
+		for (int i = 0; i < packages.length; i++) {
+			String basePackage = packages[i].trim();
+			if (basePackage.isEmpty()) {
+				continue;
+			}
+			String path = basePackage.replace('.', '/');
+			try {
+				Enumeration<URL> urls = classLoader.getResources(path);
+				while (urls.hasMoreElements()) {
+					URL url = urls.nextElement();
+					if (FILE_PROTOCOL.equals(url.getProtocol())) {
+						scanDirectory(new File(url.toURI()), basePackage, classNames);
+					} else if (JAR_PROTOCOL.equals(url.getProtocol())) {
+						scanJar(url, path, basePackage, classNames);
+					}
+				}
+			} catch (IOException | URISyntaxException e) {
+				throw new IllegalConfigException("Unable to scan entity package ".concat(basePackage), e);
+			}
+		}
+		List<Class<?>> types = new ArrayList<Class<?>>();
+		for (String className : classNames) {
+			Class<?> type;
+			try {
+				type = Class.forName(className, false, classLoader);
+			} catch (ClassNotFoundException | LinkageError e) {// 依赖缺失的类不可能作为实体类使用
+				continue;
+			}
+			if (isEntity(type)) {
+				types.add(type);
+			}
+		}
+		return types;
+	}
+
+	/**
+	 * 判断是否为实体类
+	 *
+	 * @param type
+	 *            类
+	 * @return 使用 {@link Table} 注解或含有使用 {@link Column} 注解的属性的具体类返回 {@code true}，否则返回 {@code false}
+	 */
+	public static boolean isEntity(Class<?> type) {
+		if (type.isInterface() || type.isAnnotation() || type.isEnum() || Modifier.isAbstract(type.getModifiers())) {
+			return false;
+		}
+		if (type.isAnnotationPresent(Table.class)) {
+			return true;
+		}
+		Class<?> current = type;
+		while (current != null && !Object.class.equals(current)) {
+			Field[] fields;
+			try {
+				fields = current.getDeclaredFields();
+			} catch (LinkageError e) {
+				return false;
+			}
+			for (int i = 0; i < fields.length; i++) {
+				if (fields[i].isAnnotationPresent(Column.class)) {
+					return true;
+				}
+			}
+			current = current.getSuperclass();
+		}
+		return false;
+	}
+
+	private static void scanDirectory(File directory, String packageName, Set<String> classNames) {
+		File[] files = directory.listFiles();
+		if (files == null) {
+			return;
+		}
+		for (int i = 0; i < files.length; i++) {
+			File file = files[i];
+			String name = file.getName();
+			if (file.isDirectory()) {
+				scanDirectory(file, packageName.concat(".").concat(name), classNames);
+			} else if (name.endsWith(CLASS_SUFFIX) && name.indexOf('-') < 0) {// 排除package-info、module-info
+				classNames.add(packageName.concat(".").concat(name.substring(0, name.length() - CLASS_SUFFIX.length())));
+			}
+		}
+	}
+
+	private static void scanJar(URL url, String path, String packageName, Set<String> classNames) throws IOException {
+		URLConnection connection = url.openConnection();
+		if (!(connection instanceof JarURLConnection)) {
+			return;
+		}
+		JarURLConnection jarConnection = (JarURLConnection) connection;
+		jarConnection.setUseCaches(false);
+		String prefix = jarConnection.getEntryName();// 嵌套的类路径（例如BOOT-INF/classes/）下的条目名称含有前缀
+		if (prefix == null) {
+			prefix = path;
+		}
+		prefix = prefix.endsWith("/") ? prefix : prefix.concat("/");
+		JarFile jarFile = jarConnection.getJarFile();
+		try {
+			Enumeration<JarEntry> entries = jarFile.entries();
+			while (entries.hasMoreElements()) {
+				String name = entries.nextElement().getName();
+				if (name.startsWith(prefix) && name.endsWith(CLASS_SUFFIX) && name.indexOf('-') < 0) {
+					classNames.add(packageName.concat(".").concat(
+							name.substring(prefix.length(), name.length() - CLASS_SUFFIX.length()).replace('/', '.')));
+				}
+			}
+		} finally {
+			jarFile.close();
+		}
+	}
+
+}
@@ -1,11 +1,20 @@
 package cn.tenmg.sqltool.utils;
 
 import java.lang.reflect.Field;
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.sql.DataSource;
 
@@ -14,16 +23,31 @@ import org.slf4j.LoggerFactory;
 
 import cn.tenmg.dsl.utils.StringUtils;
 import cn.tenmg.sql.paging.utils.JDBCUtils;
-import cn.tenmg.sqltool.exception.DataAccessException;
+import cn.tenmg.sqltool.data.BatchResult;
+import cn.tenmg.sqltool.exception.BatchCheckpointException;
+import cn.tenmg.sqltool.exception.PkNotFoundException;
 import cn.tenmg.sqltool.exception.SQLExecutorException;
+import cn.tenmg.sqltool.sql.BatchSizeController;
+import cn.tenmg.sqltool.sql.BulkLoader;
 import cn.tenmg.sqltool.sql.DML;
 import cn.tenmg.sqltool.sql.DMLParser;
+import cn.tenmg.sqltool.sql.JDBCSQL;
+import cn.tenmg.sqltool.sql.LoadMode;
 import cn.tenmg.sqltool.sql.MergeSQL;
+import cn.tenmg.sqltool.sql.ResultGetter;
 import cn.tenmg.sqltool.sql.SQLDialect;
 import cn.tenmg.sqltool.sql.SQLExecuter;
 import cn.tenmg.sqltool.sql.UpdateSQL;
+import cn.tenmg.sqltool.sql.executer.ExecuteUpdateSQLExecuter;
+import cn.tenmg.sqltool.sql.executer.ReadOnlySQLExecuter;
+import cn.tenmg.sqltool.sql.executer.ResultSetIterator;
+import cn.tenmg.sqltool.sql.meta.FieldAccessor;
 import cn.tenmg.sqltool.sql.meta.FieldMeta;
+import cn.tenmg.sqltool.sql.parser.GeneratedKeyInsertDMLParser;
+import cn.tenmg.sqltool.sql.parser.InsertDMLParser;
 import cn.tenmg.sqltool.sql.parser.UpdateDMLParser;
+import cn.tenmg.sqltool.sql.utils.EntityUtils;
+import cn.tenmg.sqltool.sql.utils.FieldAccessorUtils;
 
 /**
  * JDBC执行工具类
@@ -78,6 +102,98 @@ public abstract class JDBCExecuteUtils {
 		}
 	}
 
+	/**
+	 * 在同一连接的同一事务中依次执行多个更新SQL语句，任意一个执行失败时全部回滚
+	 * 
+	 * @param dataSource
+	 *            数据源
+	 * @param sqls
+	 *            JDBC SQL列表
+	 * @param showSql
+	 *            是否打印SQL
+	 * @return 返回受影响行数之和
+	 */
+	public static int executeUpdate(DataSource dataSource, List<JDBCSQL> sqls, boolean showSql) {
+		Connection con = null;
+		try {
+			con = dataSource.getConnection();
+			con.setAutoCommit(false);
+			int count = 0;
+			for (int i = 0, size = sqls.size(); i < size; i++) {
+				JDBCSQL sql = sqls.get(i);
+				count += execute(con, ExecuteUpdateSQLExecuter.getInstance(), sql.getId(), sql.getSql(),
+						sql.getParams(), showSql);
+			}
+			con.commit();
+			return count;
+		} catch (SQLException e) {
+			try {
+				con.rollback();
+			} catch (Exception ex) {
+				ex.printStackTrace();
+			}
+			throw new SQLExecutorException(e);
+		} finally {
+			JDBCUtils.close(con);
+		}
+	}
+
+	/**
+	 * 执行一个查询SQL语句并返回逐行转换的结果集迭代器。声明对象由SQL方言配置为游标读取，迭代器使用完毕后必须关闭
+	 *
+	 * @param con
+	 *            连接对象
+	 * @param dialect
+	 *            SQL方言
+	 * @param type
+	 *            行数据类型
+	 * @param id
+	 *            DSQL编号
+	 * @param sql
+	 *            SQL语句
+	 * @param params
+	 *            参数
+	 * @param fetchSize
+	 *            抓取大小
+	 * @param showSql
+	 *            是否打印SQL
+	 * @param exclusive
+	 *            连接是否由迭代器独占，参见 {@link SQLDialect#configureCursorRead(java.sql.Statement, int, boolean)}
+	 * @param resource
+	 *            迭代器关闭时需要一并关闭的资源，没有时为 {@code null}。执行失败时该资源也会被关闭
+	 * @return 返回结果集迭代器
+	 * @throws SQLException
+	 *             SQL异常
+	 */
+	public static <T> ResultSetIterator<T> iterator(Connection con, SQLDialect dialect, Class<T> type, String id,
+			String sql, List<Object> params, int fetchSize, boolean showSql, boolean exclusive,
+			AutoCloseable resource) throws SQLException {
+		PreparedStatement ps = null;
+		ResultSet rs = null;
+		try {
+			ps = con.prepareStatement(sql);
+			JDBCUtils.setParams(ps, params);
+			if (showSql && log.isInfoEnabled()) {
+				log.info(logPrefix(id, sql).append(sql).append(COMMA_SPACE).append("parameters: ")
+						.append(JSONUtils.toJSONString(params)).toString());
+			}
+			dialect.configureCursorRead(ps, fetchSize, exclusive);
+			rs = ps.executeQuery();
+			return new ResultSetIterator<T>(ps, rs, type, resource);
+		} catch (SQLException | RuntimeException e) {
+			JDBCUtils.close(rs);
+			JDBCUtils.close(ps);
+			if (resource != null) {
+				try {
+					resource.close();
+				} catch (Exception ex) {
+					ex.printStackTrace();
+				}
+			}
+			throw e;
+		}
+	}
+
 	/**
 	 * 使用实体对象列表批处理插入、更新或删除数据
 	 * 
@@ -99,13 +215,13 @@ public abstract class JDBCExecuteUtils {
 		try {
 			DML dml = dmlParser.parse(rows.get(0).getClass());
 			String sql = dml.getSql();
-			List<Field> fields = dml.getFields();
+			FieldAccessor[] accessors = FieldAccessorUtils.getAccessors(dml.getFields());
 			ps = con.prepareStatement(sql);
 			if (showSql && log.isInfoEnabled()) {
 				log(sql);
 			}
 			for (int i = 0, size = rows.size(); i < size; i++) {
-				addBatch(ps, rows.get(i), fields);
+				addBatch(ps, rows.get(i), accessors);
 			}
 			return getCount(ps.executeBatch());
 		} finally {
@@ -129,10 +245,27 @@ public abstract class JDBCExecuteUtils {
 	 */
 	public static <T> void saveBatch(DataSource dataSource, MergeSQL mergeSql, List<T> rows, int batchSize,
 			boolean showSql) {
+		saveBatch(dataSource, mergeSql, rows, new BatchSizeController(batchSize), showSql);
+	}
+
+	/**
+	 * 使用实体对象列表分批插入或更新数据
+	 * 
+	 * @param dataSource
+	 *            数据源
+	 * @param mergeSql
+	 *            合并数据SQL
+	 * @param rows
+	 *            实体对象列表
+	 * @param batchSizeController
+	 *            批容量控制器
+	 * @param showSql
+	 *            是否打印SQL
+	 */
+	public static <T> void saveBatch(DataSource dataSource, MergeSQL mergeSql, List<T> rows,
+			BatchSizeController batchSizeController, boolean showSql) {
 		Connection con = null;
-		PreparedStatement ps = null;
 		try {
-			int size = rows.size(), current = 0, times = (int) Math.ceil(size / (double) batchSize);
 			con = dataSource.getConnection();
 			con.setAutoCommit(false);
 			con.setReadOnly(false);
@@ -141,17 +274,11 @@ public abstract class JDBCExecuteUtils {
 			if (showSql && log.isInfoEnabled()) {
 				log(sql);
 			}
-			ps = con.prepareStatement(sql);
-			while (current < times) {
-				int end = (current + 1) * batchSize, last = end < size ? end : size;
-				for (int i = current * batchSize; i < last; i++) {
-					addBatch(ps, fieldMetas, rows.get(i));
-				}
-				ps.executeBatch();
-				con.commit();
-				ps.clearBatch();
-				current++;
+			FieldAccessor[] accessors = new FieldAccessor[fieldMetas.size()];
+			for (int i = 0; i < accessors.length; i++) {
+				accessors[i] = fieldMetas.get(i).getAccessor();
 			}
+			PipelinedBatchUtils.executeBatch(con, sql, rows, accessors, batchSizeController);
 		} catch (SQLException e) {
 			try {
 				con.rollback();
@@ -160,7 +287,6 @@ public abstract class JDBCExecuteUtils {
 			}
 			throw new SQLExecutorException(e);
 		} finally {
-			JDBCUtils.clear(ps);
 			JDBCUtils.close(con);
 		}
 	}
@@ -183,26 +309,140 @@ public abstract class JDBCExecuteUtils {
 	 */
 	public static <T> void executeBatch(DataSource dataSource, String sql, List<T> rows,
 			List<Field> fields, int batchSize, boolean showSql) {
+		executeBatch(dataSource, sql, rows, fields, new BatchSizeController(batchSize), showSql);
+	}
+
+	/**
+	 * 使用实体对象列表分批执行SQL
+	 * 
+	 * @param dataSource
+	 *            数据源
+	 * @param sql
+	 *            SQL
+	 * @param rows
+	 *            实体对象列表
+	 * @param fields
+	 *            字段列表
+	 * @param batchSizeController
+	 *            批容量控制器
+	 * @param showSql
+	 *            是否打印SQL
+	 */
+	public static <T> void executeBatch(DataSource dataSource, String sql, List<T> rows, List<Field> fields,
+			BatchSizeController batchSizeController, boolean showSql) {
 		Connection con = null;
-		PreparedStatement ps = null;
 		try {
 			con = dataSource.getConnection();
 			con.setAutoCommit(false);
 			con.setReadOnly(false);
+			if (showSql && log.isInfoEnabled()) {
+				log(sql);
+			}
+			PipelinedBatchUtils.executeBatch(con, sql, rows, FieldAccessorUtils.getAccessors(fields),
+					batchSizeController);
+		} catch (SQLException e) {
+			try {
+				con.rollback();
+			} catch (Exception ex) {
+				ex.printStackTrace();
+			}
+			throw new SQLExecutorException(e);
+		} finally {
+			JDBCUtils.close(con);
+		}
+	}
+
+	/**
+	 * 使用实体对象列表分批插入数据。方言支持多行插入时，将多行数据合并为一条 {@code INSERT INTO ... VALUES (...), (...)}
+	 * 语句执行，每条语句的行数受批容量、方言允许的最大插入行数及最大参数个数共同限制；不支持时逐行添加批量
+	 * 
+	 * @param dataSource
+	 *            数据源
+	 * @param dialect
+	 *            SQL方言
+	 * @param rows
+	 *            实体对象列表
+	 * @param batchSize
+	 *            批容量
+	 * @param showSql
+	 *            是否打印SQL
+	 */
+	public static <T> void insertBatch(DataSource dataSource, SQLDialect dialect, List<T> rows, int batchSize,
+			boolean showSql) {
+		insertBatch(dataSource, dialect, rows, new BatchSizeController(batchSize), showSql);
+	}
+
+	/**
+	 * 使用实体对象列表分批插入数据。方言支持多行插入时，将多行数据合并为一条 {@code INSERT INTO ... VALUES (...), (...)}
+	 * 语句执行，每条语句的行数受批容量、方言允许的最大插入行数及最大参数个数共同限制；不支持时逐行添加批量
+	 * 
+	 * @param dataSource
+	 *            数据源
+	 * @param dialect
+	 *            SQL方言
+	 * @param rows
+	 *            实体对象列表
+	 * @param batchSizeController
+	 *            批容量控制器
+	 * @param showSql
+	 *            是否打印SQL
+	 */
+	public static <T> void insertBatch(DataSource dataSource, SQLDialect dialect, List<T> rows,
+			BatchSizeController batchSizeController, boolean showSql) {
+		InsertDMLParser dmlParser = InsertDMLParser.getInstance();
+		DML dml = dmlParser.parse(rows.get(0).getClass());
+		List<Field> fields = dml.getFields();
+		int rowsPerStatement = Math.min(batchSizeController.getBatchSize(),
+				Math.min(dialect.getMaxInsertRows(), dialect.getMaxParameters() / fields.size()));
+		if (rowsPerStatement < 2) {
+			executeBatch(dataSource, dml.getSql(), rows, fields, batchSizeController, showSql);
+			return;
+		}
+		Connection con = null;
+		PreparedStatement ps = null, rest = null;
+		try {
+			con = dataSource.getConnection();
+			con.setAutoCommit(false);
+			con.setReadOnly(false);
+			String sql = dmlParser.getMultiRowSql(dml, rowsPerStatement);
 			ps = con.prepareStatement(sql);
 			if (showSql && log.isInfoEnabled()) {
 				log(sql);
 			}
-			int size = rows.size(), current = 0, times = (int) Math.ceil(size / (double) batchSize);
-			while (current < times) {
-				int end = (current + 1) * batchSize, last = end < size ? end : size;
-				for (int i = current * batchSize; i < last; i++) {
-					addBatch(ps, rows.get(i), fields);
+			FieldAccessor[] accessors = FieldAccessorUtils.getAccessors(fields);
+			int size = rows.size(), restRows = 0;
+			for (int start = 0, last; start < size; start = last) {
+				long begin = System.nanoTime();
+				int batchSize = batchSizeController.getBatchSize();
+				if (batchSize > rowsPerStatement) {// 批容量取语句行数的整数倍，避免反复准备剩余行的SQL
+					batchSize -= batchSize % rowsPerStatement;
+				}
+				last = Math.min(start + batchSize, size);
+				int i = start;
+				for (; i + rowsPerStatement <= last; i += rowsPerStatement) {
+					bind(ps, rows, i, rowsPerStatement, accessors);
+					ps.addBatch();
+				}
+				if (i > start) {
+					ps.executeBatch();
+					ps.clearBatch();
+				}
+				if (i < last) {// 剩余不足一条语句的行，使用对应行数的SQL执行
+					int remain = last - i;
+					if (remain != restRows) {
+						JDBCUtils.close(rest);
+						sql = dmlParser.getMultiRowSql(dml, remain);
+						rest = con.prepareStatement(sql);
+						restRows = remain;
+						if (showSql && log.isInfoEnabled()) {
+							log(sql);
+						}
+					}
+					bind(rest, rows, i, remain, accessors);
+					rest.executeUpdate();
 				}
-				ps.executeBatch();
 				con.commit();
-				ps.clearBatch();
-				current++;
+				batchSizeController.record(last - start, System.nanoTime() - begin);
 			}
 		} catch (SQLException e) {
 			try {
@@ -212,11 +452,180 @@ public abstract class JDBCExecuteUtils {
 			}
 			throw new SQLExecutorException(e);
 		} finally {
+			JDBCUtils.close(rest);
 			JDBCUtils.clear(ps);
 			JDBCUtils.close(con);
 		}
 	}
 
+	/**
+	 * 使用批量装载器分批装载实体对象，每批使用一次装载并提交
+	 * 
+	 * @param dataSource
+	 *            数据源
+	 * @param bulkLoader
+	 *            批量装载器
+	 * @param mode
+	 *            装载方式
+	 * @param rows
+	 *            实体对象列表
+	 * @param batchSize
+	 *            批容量
+	 * @param showSql
+	 *            是否打印SQL
+	 */
+	public static <T> void load(DataSource dataSource, BulkLoader bulkLoader, LoadMode mode, List<T> rows,
+			int batchSize, boolean showSql) {
+		Connection con = null;
+		try {
+			con = dataSource.getConnection();
+			con.setAutoCommit(false);
+			con.setReadOnly(false);
+			String sql = bulkLoader.getSql(rows.get(0).getClass(), mode);
+			if (showSql && log.isInfoEnabled()) {
+				log(sql);
+			}
+			for (int start = 0, size = rows.size(); start < size; start += batchSize) {
+				bulkLoader.load(con, sql, mode, rows.subList(start, Math.min(start + batchSize, size)));
+				con.commit();
+			}
+		} catch (SQLException e) {
+			try {
+				con.rollback();
+			} catch (Exception ex) {
+				ex.printStackTrace();
+			}
+			throw new SQLExecutorException(e);
+		} finally {
+			JDBCUtils.close(con);
+		}
+	}
+
+	/**
+	 * 分批插入实体对象，并将数据库生成的主键写回实体对象的主键属性，每批执行后提交。值为 {@code null}
+	 * 的主键由数据库生成，插入语句不包含这些主键列；已赋值的主键（例如复合主键中由应用程序赋值的部分）正常插入。
+	 * 每批中的实体对象按由数据库生成的主键分组执行，驱动程序支持批量获取生成的主键时，每组执行后按语句顺序获取该组的主键；否则逐行执行并获取主键
+	 * 
+	 * @param dataSource
+	 *            数据源
+	 * @param dialect
+	 *            SQL方言
+	 * @param rows
+	 *            实体对象列表
+	 * @param batchSize
+	 *            批容量
+	 * @param showSql
+	 *            是否打印SQL
+	 * @return 返回受影响行数
+	 */
+	public static <T> int insertReturningKeys(DataSource dataSource, SQLDialect dialect, List<T> rows, int batchSize,
+			boolean showSql) {
+		Class<?> type = rows.get(0).getClass();
+		InsertDMLParser.getInstance().parse(type);// 解析插入数据操纵语言的同时会缓存实体类元数据
+		List<FieldMeta> keyFieldMetas = new ArrayList<FieldMeta>(), fieldMetas = EntityUtils.getCachedEntityMeta(type)
+				.getFieldMetas();
+		for (int i = 0, size = fieldMetas.size(); i < size; i++) {
+			FieldMeta fieldMeta = fieldMetas.get(i);
+			if (fieldMeta.isId()) {
+				keyFieldMetas.add(fieldMeta);
+			}
+		}
+		if (keyFieldMetas.isEmpty()) {
+			throw new PkNotFoundException(
+					"Primary key not found in class ".concat(type.getName()).concat(", please use @Id to config"));
+		}
+		Map<Long, PreparedStatement> statements = new HashMap<Long, PreparedStatement>();
+		Connection con = null;
+		try {
+			con = dataSource.getConnection();
+			con.setAutoCommit(false);
+			con.setReadOnly(false);
+			int count = 0;
+			for (int start = 0, size = rows.size(); start < size; start += batchSize) {
+				Map<Long, List<T>> groups = new LinkedHashMap<Long, List<T>>();
+				for (int i = start, last = Math.min(start + batchSize, size); i < last; i++) {
+					T row = rows.get(i);
+					groups.computeIfAbsent(getGeneratedKeys(row, keyFieldMetas), key -> new ArrayList<T>()).add(row);
+				}
+				for (Map.Entry<Long, List<T>> entry : groups.entrySet()) {
+					count += insertReturningKeys(con, dialect, type, keyFieldMetas, entry.getKey(), entry.getValue(),
+							statements, showSql);
+				}
+				con.commit();
+			}
+			return count;
+		} catch (SQLException e) {
+			try {
+				con.rollback();
+			} catch (Exception ex) {
+				ex.printStackTrace();
+			}
+			throw new SQLExecutorException(e);
+		} finally {
+			for (PreparedStatement ps : statements.values()) {
+				JDBCUtils.close(ps);
+			}
+			JDBCUtils.close(con);
+		}
+	}
+
+	/**
+	 * 使用实体对象列表从指定偏移量开始分批执行SQL，每批执行后提交。批按批容量对齐（第N批为下标从 {@code N * batchSize}
+	 * 开始的实体对象），因此偏移量不是批容量的整数倍时，首批仅包含至批边界的实体对象。某批执行失败时，回滚该批并根据
+	 * {@link BatchUpdateException#getUpdateCounts()} 拆分重试，直至将失败的行隔离，其余的行照常提交
+	 * 
+	 * @param dataSource
+	 *            数据源
+	 * @param sql
+	 *            SQL
+	 * @param rows
+	 *            实体对象列表
+	 * @param fields
+	 *            与SQL参数一一对应的属性
+	 * @param offset
+	 *            偏移量，即开始执行的实体对象的下标
+	 * @param batchSize
+	 *            批容量
+	 * @param showSql
+	 *            是否打印SQL
+	 * @return 返回检查点批处理结果
+	 * @throws BatchCheckpointException
+	 *             发生无法隔离到行的错误时抛出，其中包含中断前的检查点批处理结果
+	 */
+	public static <T> BatchResult<T> checkpointBatch(DataSource dataSource, String sql, List<T> rows,
+			List<Field> fields, int offset, int batchSize, boolean showSql) {
+		BatchResult<T> result = new BatchResult<T>(offset, offset / batchSize - 1);
+		Connection con = null;
+		PreparedStatement ps = null;
+		try {
+			con = dataSource.getConnection();
+			con.setAutoCommit(false);
+			con.setReadOnly(false);
+			ps = con.prepareStatement(sql);
+			if (showSql && log.isInfoEnabled()) {
+				log(sql);
+			}
+			FieldAccessor[] accessors = FieldAccessorUtils.getAccessors(fields);
+			for (int start = offset, size = rows.size(), end; start < size; start = end) {
+				end = Math.min((start / batchSize + 1) * batchSize, size);
+				isolate(con, ps, rows, start, end, accessors, result);
+				result.setOffset(end);
+				result.setLastCommittedChunk((end - 1) / batchSize);
+			}
+			return result;
+		} catch (SQLException | RuntimeException e) {
+			try {
+				con.rollback();
+			} catch (Exception ex) {
+				ex.printStackTrace();
+			}
+			throw new BatchCheckpointException(e, result);
+		} finally {
+			JDBCUtils.close(ps);
+			JDBCUtils.close(con);
+		}
+	}
+
 	/**
 	 * 使用实体对象列表分批执行更新SQL
 	 * 
@@ -233,29 +642,36 @@ public abstract class JDBCExecuteUtils {
 	 */
 	public static <T> void updateBatch(DataSource dataSource, UpdateSQL updateSql, List<T> rows, int batchSize,
 			boolean showSql) {
+		updateBatch(dataSource, updateSql, rows, new BatchSizeController(batchSize), showSql);
+	}
+
+	/**
+	 * 使用实体对象列表分批执行更新SQL
+	 * 
+	 * @param dataSource
+	 *            数据源
+	 * @param updateSql
+	 *            更新SQL
+	 * @param rows
+	 *            实体对象列表
+	 * @param batchSizeController
+	 *            批容量控制器
+	 * @param showSql
+	 *            是否打印SQL
+	 */
+	public static <T> void updateBatch(DataSource dataSource, UpdateSQL updateSql, List<T> rows,
+			BatchSizeController batchSizeController, boolean showSql) {
 		Connection con = null;
-		PreparedStatement ps = null;
 		try {
-			int size = rows.size(), current = 0, times = (int) Math.ceil(size / (double) batchSize);
 			con = dataSource.getConnection();
 			con.setAutoCommit(false);
 			con.setReadOnly(false);
 			String sql = updateSql.getScript();
-			List<Field> fields = updateSql.getFields();
+			FieldAccessor[] accessors = FieldAccessorUtils.getAccessors(updateSql.getFields());
 			if (showSql && log.isInfoEnabled()) {
 				log(sql);
 			}
-			ps = con.prepareStatement(sql);
-			while (current < times) {
-				int end = (current + 1) * batchSize, last = end < size ? end : size;
-				for (int i = current * batchSize; i < last; i++) {
-					addBatch(ps, rows.get(i), fields);
-				}
-				ps.executeBatch();
-				con.commit();
-				ps.clearBatch();
-				current++;
-			}
+			PipelinedBatchUtils.executeBatch(con, sql, rows, accessors, batchSizeController);
 		} catch (SQLException e) {
 			try {
 				con.rollback();
@@ -264,7 +680,6 @@ public abstract class JDBCExecuteUtils {
 			}
 			throw new SQLExecutorException(e);
 		} finally {
-			JDBCUtils.clear(ps);
 			JDBCUtils.close(con);
 		}
 	}
@@ -289,13 +704,13 @@ public abstract class JDBCExecuteUtils {
 		PreparedStatement ps = null;
 		try {
 			String sql = updateSQL.getScript();
-			List<Field> fields = updateSQL.getFields();
+			FieldAccessor[] accessors = FieldAccessorUtils.getAccessors(updateSQL.getFields());
 			if (showSql && log.isInfoEnabled()) {
 				log(sql);
 			}
 			ps = con.prepareStatement(sql);
 			for (int i = 0, size = rows.size(); i < size; i++) {
-				addBatch(ps, rows.get(i), fields);
+				addBatch(ps, rows.get(i), accessors);
 			}
 			return getCount(ps.executeBatch());
 		} finally {
@@ -322,13 +737,13 @@ public abstract class JDBCExecuteUtils {
 		try {
 			DML dml = UpdateDMLParser.getInstance().parse(rows.get(0).getClass());
 			String sql = dml.getSql();
-			List<Field> fields = dml.getFields();
+			FieldAccessor[] accessors = FieldAccessorUtils.getAccessors(dml.getFields());
 			ps = con.prepareStatement(sql);
 			if (showSql && log.isInfoEnabled()) {
 				log(sql);
 			}
 			for (int i = 0, size = rows.size(); i < size; i++) {
-				addBatch(ps, rows.get(i), fields);
+				addBatch(ps, rows.get(i), accessors);
 			}
 			return getCount(ps.executeBatch());
 		} finally {
@@ -419,15 +834,193 @@ public abstract class JDBCExecuteUtils {
 	private static final <T> void addBatch(PreparedStatement ps, List<FieldMeta> fieldMetas, T obj)
 			throws SQLException {
 		for (int i = 0, size = fieldMetas.size(); i < size; i++) {
-			try {
-				ps.setObject(i + 1, fieldMetas.get(i).getField().get(obj));
-			} catch (Exception e) {
-				throw new DataAccessException(e);
-			}
+			fieldMetas.get(i).getAccessor().bind(ps, i + 1, obj);
 		}
 		ps.addBatch();
 	}
 
+	/**
+	 * 绑定、执行并提交实体对象列表中指定范围的行。绑定或执行失败时回滚并拆分重试：驱动程序在首个失败的语句处停止时，该语句之前的行作为一批，
+	 * 失败的行单独执行，之后的行作为另一批；驱动程序继续执行后续语句时，标记为 {@code Statement.EXECUTE_FAILED}
+	 * 的行单独执行，其间的行各作为一批；无法判断失败的行（包括驱动程序未抛出 {@code BatchUpdateException}）时对半拆分。
+	 * 单独执行仍失败的行记录到检查点批处理结果中；连接异常无法隔离到行，直接抛出
+	 */
+	private static final <T> void isolate(Connection con, PreparedStatement ps, List<T> rows, int from, int to,
+			FieldAccessor[] accessors, BatchResult<T> result) throws SQLException {
+		try {
+			for (int i = from; i < to; i++) {
+				addBatch(ps, rows.get(i), accessors);
+			}
+			ps.executeBatch();
+			con.commit();
+			ps.clearBatch();
+			return;
+		} catch (SQLException e) {
+			if (isConnectionError(e)) {
+				throw e;
+			}
+			ps.clearBatch();
+			con.rollback();
+			int count = to - from;
+			if (count == 1) {
+				result.addFailure(from, rows.get(from), e);
+				return;
+			}
+			int[] counts = e instanceof BatchUpdateException ? ((BatchUpdateException) e).getUpdateCounts() : null;
+			if (counts != null && counts.length > 0 && counts.length < count) {
+				int failed = from + counts.length;
+				isolate(con, ps, rows, from, failed, accessors, result);
+				isolate(con, ps, rows, failed, failed + 1, accessors, result);
+				if (failed + 1 < to) {
+					isolate(con, ps, rows, failed + 1, to, accessors, result);
+				}
+			} else if (counts != null && counts.length == count && indexOf(counts, Statement.EXECUTE_FAILED) >= 0) {
+				int start = from;
+				for (int i = 0; i < count; i++) {
+					if (counts[i] == Statement.EXECUTE_FAILED) {
+						if (from + i > start) {
+							isolate(con, ps, rows, start, from + i, accessors, result);
+						}
+						isolate(con, ps, rows, from + i, from + i + 1, accessors, result);
+						start = from + i + 1;
+					}
+				}
+				if (start < to) {
+					isolate(con, ps, rows, start, to, accessors, result);
+				}
+			} else {
+				int middle = (from + to) >>> 1;
+				isolate(con, ps, rows, from, middle, accessors, result);
+				isolate(con, ps, rows, middle, to, accessors, result);
+			}
+		}
+	}
+
+	/**
+	 * 获取实体对象中由数据库生成的主键（即值为 {@code null} 的主键）的位掩码，第i位对应第i个主键属性
+	 */
+	private static final <T> long getGeneratedKeys(T row, List<FieldMeta> keyFieldMetas) {
+		long generatedKeys = 0;
+		for (int i = 0, size = keyFieldMetas.size(); i < size; i++) {
+			if (keyFieldMetas.get(i).getAccessor().get(row) == null) {
+				generatedKeys |= 1L << i;
+			}
+		}
+		return generatedKeys;
+	}
+
+	/**
+	 * 插入一组由数据库生成相同主键的实体对象，并将生成的主键写回。没有由数据库生成的主键时直接批量插入。同一组的预编译语句在多批之间复用
+	 * 
+	 * @return 返回受影响行数
+	 */
+	private static final <T> int insertReturningKeys(Connection con, SQLDialect dialect, Class<?> type,
+			List<FieldMeta> keyFieldMetas, long generatedKeys, List<T> rows, Map<Long, PreparedStatement> statements,
+			boolean showSql) throws SQLException {
+		List<FieldMeta> generatedKeyFieldMetas = new ArrayList<FieldMeta>();
+		for (int i = 0, size = keyFieldMetas.size(); i < size; i++) {
+			if ((generatedKeys & (1L << i)) != 0) {
+				generatedKeyFieldMetas.add(keyFieldMetas.get(i));
+			}
+		}
+		int keys = generatedKeyFieldMetas.size();
+		String[] keyColumns = new String[keys];
+		FieldAccessor[] keyAccessors = new FieldAccessor[keys];
+		ResultGetter<?>[] resultGetters = new ResultGetter<?>[keys];
+		for (int i = 0; i < keys; i++) {
+			FieldMeta fieldMeta = generatedKeyFieldMetas.get(i);
+			keyColumns[i] = fieldMeta.getColumnName();
+			keyAccessors[i] = fieldMeta.getAccessor();
+			resultGetters[i] = ReadOnlySQLExecuter.getResultGetter(fieldMeta.getField().getType());
+		}
+		DML dml = keys == 0 ? InsertDMLParser.getInstance().parse(type)
+				: GeneratedKeyInsertDMLParser.getInstance().parse(type, generatedKeys);
+		PreparedStatement ps = statements.get(generatedKeys);
+		if (ps == null) {
+			String sql = dml.getSql();
+			ps = keys == 0 ? con.prepareStatement(sql) : con.prepareStatement(sql, keyColumns);
+			statements.put(generatedKeys, ps);
+			if (showSql && log.isInfoEnabled()) {
+				log(sql);
+			}
+		}
+		FieldAccessor[] accessors = FieldAccessorUtils.getAccessors(dml.getFields());
+		int count = 0;
+		if (keys == 0 || dialect.isBatchGeneratedKeysSupported()) {
+			for (int i = 0, size = rows.size(); i < size; i++) {
+				addBatch(ps, rows.get(i), accessors);
+			}
+			int[] counts = ps.executeBatch();
+			ps.clearBatch();
+			for (int i = 0; i < counts.length; i++) {
+				count += counts[i] == Statement.SUCCESS_NO_INFO ? 1 : counts[i];
+			}
+			if (keys > 0) {
+				int generated = setKeys(ps.getGeneratedKeys(), rows, 0, keyAccessors, resultGetters);
+				if (generated != rows.size()) {
+					throw new SQLException("Expected " + rows.size() + " rows of generated keys but got " + generated);
+				}
+			}
+		} else {
+			for (int i = 0, size = rows.size(); i < size; i++) {
+				T row = rows.get(i);
+				for (int j = 0; j < accessors.length; j++) {
+					accessors[j].bind(ps, j + 1, row);
+				}
+				count += ps.executeUpdate();
+				if (setKeys(ps.getGeneratedKeys(), rows, i, keyAccessors, resultGetters) != 1) {
+					throw new SQLException("Expected 1 row of generated keys but got none");
+				}
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * 按顺序将结果集中的主键写回从指定下标开始的实体对象，并关闭结果集。驱动程序返回的列少于主键列时（例如MySQL仅返回自增列），仅写回前面的主键属性
+	 * 
+	 * @return 返回写回主键的实体对象个数
+	 */
+	private static final <T> int setKeys(ResultSet rs, List<T> rows, int from, FieldAccessor[] keyAccessors,
+			ResultGetter<?>[] resultGetters) throws SQLException {
+		try {
+			int i = from, columns = Math.min(keyAccessors.length, rs.getMetaData().getColumnCount());
+			while (rs.next()) {
+				if (i == rows.size()) {
+					throw new SQLException("Got more rows of generated keys than inserted rows");
+				}
+				T row = rows.get(i++);
+				for (int j = 0; j < columns; j++) {
+					Object value = resultGetters[j].getValue(rs, j + 1);
+					if (value != null) {
+						keyAccessors[j].set(row, value);
+					}
+				}
+			}
+			return i - from;
+		} finally {
+			rs.close();
+		}
+	}
+
+	/**
+	 * 判断是否为连接异常（SQL状态以 {@code 08} 开头或为连接、可恢复异常）
+	 */
+	private static final boolean isConnectionError(SQLException e) {
+		String sqlState = e.getSQLState();
+		return e instanceof SQLTransientConnectionException || e instanceof SQLNonTransientConnectionException
+				|| e instanceof SQLRecoverableException || (sqlState != null && sqlState.startsWith("08"));
+	}
+
+	private static final int indexOf(int[] values, int value) {
+		for (int i = 0; i < values.length; i++) {
+			if (values[i] == value) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
 	/**
 	 * 添加一个批量
 	 * 
@@ -435,22 +1028,46 @@ public abstract class JDBCExecuteUtils {
 	 *            准备声明对象
 	 * @param obj
 	 *            实体对象
-	 * @param fields
-	 *            属性列表
+	 * @param accessors
+	 *            属性访问器
 	 * @throws SQLException
 	 *             SQL异常
 	 */
-	private static final <T> void addBatch(PreparedStatement ps, T obj, List<Field> fields) throws SQLException {
-		for (int i = 0, size = fields.size(); i < size; i++) {
-			try {
-				ps.setObject(i + 1, fields.get(i).get(obj));
-			} catch (Exception e) {
-				throw new DataAccessException(e);
-			}
+	private static final <T> void addBatch(PreparedStatement ps, T obj, FieldAccessor[] accessors)
+			throws SQLException {
+		for (int i = 0; i < accessors.length; i++) {
+			accessors[i].bind(ps, i + 1, obj);
 		}
 		ps.addBatch();
 	}
 
+	/**
+	 * 将连续多个实体对象的属性值依次绑定到多行插入语句的参数
+	 * 
+	 * @param ps
+	 *            准备声明对象
+	 * @param rows
+	 *            实体对象列表
+	 * @param from
+	 *            起始实体对象索引
+	 * @param count
+	 *            绑定的实体对象个数
+	 * @param accessors
+	 *            属性访问器
+	 * @throws SQLException
+	 *             SQL异常
+	 */
+	private static final <T> void bind(PreparedStatement ps, List<T> rows, int from, int count,
+			FieldAccessor[] accessors) throws SQLException {
+		int parameterIndex = 1;
+		for (int i = from, to = from + count; i < to; i++) {
+			T obj = rows.get(i);
+			for (int j = 0; j < accessors.length; j++) {
+				accessors[j].bind(ps, parameterIndex++, obj);
+			}
+		}
+	}
+
 	/**
 	 * 根据批量提交返回结果集汇总影响行数
 	 * 
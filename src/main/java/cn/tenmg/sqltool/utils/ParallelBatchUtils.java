@@ -0,0 +1,210 @@
+package cn.tenmg.sqltool.utils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import cn.tenmg.sqltool.exception.SQLExecutorException;
+import cn.tenmg.sqltool.sql.meta.EntityMeta;
+import cn.tenmg.sqltool.sql.meta.FieldAccessor;
+import cn.tenmg.sqltool.sql.meta.FieldMeta;
+import cn.tenmg.sqltool.sql.parser.InsertDMLParser;
+import cn.tenmg.sqltool.sql.utils.EntityUtils;
+
+/**
+ * 并行批处理工具类。将实体对象列表拆分为多个分区，每个分区由独立的工作线程执行（批处理方法会从连接池获取各自的连接）。
+ * 每个分区按批独立提交，一个分区失败只会回滚该分区当前的批，不影响其他分区；所有分区结束后抛出首个分区的异常，其余分区的异常作为其抑制异常。
+ * 首个分区总是在当前线程执行，其余分区提交给调用方提供的线程池
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public abstract class ParallelBatchUtils {
+
+	private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+	/**
+	 * 常见连接池获取最大连接数的方法名（DBCP2、DBCP、Druid、HikariCP、C3P0、Tomcat JDBC）
+	 */
+	private static final String[] MAX_POOL_SIZE_METHODS = { "getMaxTotal", "getMaxActive", "getMaximumPoolSize",
+			"getMaxPoolSize" };
+
+	private static final Map<DataSource, Integer> MAX_POOL_SIZES = new ConcurrentHashMap<DataSource, Integer>();
+
+	/**
+	 * 创建并行批处理使用的线程池。线程数固定，为并行度减1（首个分区在当前线程执行），线程均为守护线程
+	 *
+	 * @param parallelism
+	 *            并行度
+	 * @return 返回线程池
+	 */
+	public static ExecutorService newExecutor(int parallelism) {
+		return Executors.newFixedThreadPool(Math.max(parallelism - 1, 1), runnable -> {
+			Thread thread = new Thread(runnable, "sqltool-batch-" + THREAD_NUMBER.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * 获取数据源允许的并行度。每个分区使用各自的连接，因此并行度不超过连接池的最大连接数；无法获取最大连接数时返回配置的并行度
+	 *
+	 * @param dataSource
+	 *            数据源
+	 * @param parallelism
+	 *            配置的并行度
+	 * @return 返回数据源允许的并行度
+	 */
+	public static int getParallelism(DataSource dataSource, int parallelism) {
+		if (parallelism <= 1) {
+			return parallelism;
+		}
+		int maxPoolSize = MAX_POOL_SIZES.computeIfAbsent(dataSource, ParallelBatchUtils::getMaxPoolSize);
+		return maxPoolSize > 0 ? Math.min(parallelism, maxPoolSize) : parallelism;
+	}
+
+	/**
+	 * 分区执行批处理。分区数不超过并行度，且每个分区至少包含一批实体对象；仅有一个分区时直接在当前线程执行
+	 *
+	 * @param rows
+	 *            实体对象列表
+	 * @param batchSize
+	 *            批容量
+	 * @param parallelism
+	 *            并行度
+	 * @param partitionById
+	 *            是否根据主键属性值的哈希值分区。是则相同主键的实体对象总是位于同一分区，可以减少分区之间的锁冲突；实体没有主键时按顺序分区
+	 * @param executor
+	 *            执行其余分区的线程池
+	 * @param batch
+	 *            批处理，参数为分区的实体对象列表
+	 */
+	public static <T> void execute(List<T> rows, int batchSize, int parallelism, boolean partitionById,
+			ExecutorService executor, Consumer<List<T>> batch) {
+		int partitions = Math.min(parallelism, (rows.size() + batchSize - 1) / batchSize);
+		if (partitions <= 1) {
+			batch.accept(rows);
+			return;
+		}
+		List<List<T>> parts = partitionById ? partitionById(rows, partitions) : null;
+		if (parts == null) {
+			parts = partition(rows, partitions);
+		}
+		List<Future<?>> futures = new ArrayList<Future<?>>(parts.size() - 1);
+		for (int i = 1, size = parts.size(); i < size; i++) {
+			List<T> part = parts.get(i);
+			futures.add(executor.submit(() -> batch.accept(part)));
+		}
+		RuntimeException exception = null;
+		try {
+			batch.accept(parts.get(0));
+		} catch (RuntimeException e) {
+			exception = e;
+		}
+		for (int i = 0, size = futures.size(); i < size; i++) {
+			try {
+				futures.get(i).get();
+			} catch (ExecutionException | InterruptedException e) {
+				Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+				if (exception == null) {
+					exception = cause instanceof RuntimeException ? (RuntimeException) cause
+							: new SQLExecutorException(cause);
+				} else {
+					exception.addSuppressed(cause);
+				}
+				if (e instanceof InterruptedException) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+		if (exception != null) {
+			throw exception;
+		}
+	}
+
+	/**
+	 * 按顺序将实体对象列表拆分为连续的分区
+	 */
+	private static <T> List<List<T>> partition(List<T> rows, int partitions) {
+		List<List<T>> parts = new ArrayList<List<T>>(partitions);
+		int size = rows.size(), partSize = (size + partitions - 1) / partitions;
+		for (int start = 0; start < size; start += partSize) {
+			parts.add(rows.subList(start, Math.min(start + partSize, size)));
+		}
+		return parts;
+	}
+
+	/**
+	 * 根据主键属性值的哈希值拆分实体对象列表。实体没有主键时返回 {@code null}
+	 */
+	private static <T> List<List<T>> partitionById(List<T> rows, int partitions) {
+		Class<?> type = rows.get(0).getClass();
+		EntityMeta entityMeta = EntityUtils.getCachedEntityMeta(type);
+		if (entityMeta == null) {// 解析插入数据操纵语言的同时会缓存实体类元数据
+			InsertDMLParser.getInstance().parse(type);
+			entityMeta = EntityUtils.getCachedEntityMeta(type);
+		}
+		List<FieldAccessor> idAccessors = new ArrayList<FieldAccessor>();
+		List<FieldMeta> fieldMetas = entityMeta.getFieldMetas();
+		for (int i = 0, size = fieldMetas.size(); i < size; i++) {
+			FieldMeta fieldMeta = fieldMetas.get(i);
+			if (fieldMeta.isId()) {
+				idAccessors.add(fieldMeta.getAccessor());
+			}
+		}
+		if (idAccessors.isEmpty()) {
+			return null;
+		}
+		int size = rows.size(), capacity = size / partitions + 1;
+		List<List<T>> parts = new ArrayList<List<T>>(partitions);
+		for (int i = 0; i < partitions; i++) {
+			parts.add(new ArrayList<T>(capacity));
+		}
+		for (int i = 0; i < size; i++) {
+			T row = rows.get(i);
+			int hash = 1;
+			for (int j = 0, count = idAccessors.size(); j < count; j++) {
+				Object value = idAccessors.get(j).get(row);
+				hash = 31 * hash + (value == null ? 0 : value.hashCode());
+			}
+			parts.get(Math.floorMod(hash, partitions)).add(row);
+		}
+		for (int i = parts.size() - 1; i >= 0; i--) {
+			if (parts.get(i).isEmpty()) {
+				parts.remove(i);
+			}
+		}
+		return parts;
+	}
+
+	/**
+	 * 获取连接池的最大连接数。无法获取时返回0
+	 */
+	private static int getMaxPoolSize(DataSource dataSource) {
+		Class<?> type = dataSource.getClass();
+		for (int i = 0; i < MAX_POOL_SIZE_METHODS.length; i++) {
+			try {
+				Method method = type.getMethod(MAX_POOL_SIZE_METHODS[i]);
+				Object maxPoolSize = method.invoke(dataSource);
+				if (maxPoolSize instanceof Number) {
+					return ((Number) maxPoolSize).intValue();
+				}
+			} catch (Exception e) {
+				// 该连接池不支持此方法
+			}
+		}
+		return 0;
+	}
+
+}
@@ -0,0 +1,146 @@
+package cn.tenmg.sqltool.utils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import cn.tenmg.sql.paging.utils.JDBCUtils;
+import cn.tenmg.sqltool.exception.SQLExecutorException;
+import cn.tenmg.sqltool.sql.BatchSizeController;
+import cn.tenmg.sqltool.sql.meta.FieldAccessor;
+
+/**
+ * 流水线批处理工具类。同一SQL使用两个准备声明对象轮流执行：当前线程执行并提交第N批的同时，工作线程读取并转换第N+1批实体对象的属性值，
+ * 绑定到另一个准备声明对象，使绑定与数据库执行重叠，总耗时趋近于两者中的较大者而不是两者之和。工作线程最多领先一批，因此内存占用是有界的；
+ * 所有批仍在同一连接上按顺序执行并提交。驱动程序绑定参数时需要获取连接锁（例如MySQL）时，绑定会等待执行结束，此时退化为顺序执行，结果不变
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public abstract class PipelinedBatchUtils {
+
+	private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+	/**
+	 * 绑定下一批的线程池。每次批处理最多同时占用一个工作线程，空闲的线程会被回收，线程均为守护线程
+	 */
+	private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+		Thread thread = new Thread(runnable, "sqltool-pipeline-" + THREAD_NUMBER.incrementAndGet());
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/**
+	 * 使用流水线分批执行SQL，每批执行后提交。每批的批容量在开始绑定该批时确定，每批执行并提交后记录其耗时（不含已与上一批执行重叠的绑定耗时）；
+	 * 仅有一批时直接在当前线程绑定并执行
+	 *
+	 * @param con
+	 *            连接对象
+	 * @param sql
+	 *            SQL
+	 * @param rows
+	 *            实体对象列表
+	 * @param accessors
+	 *            与SQL参数一一对应的属性访问器
+	 * @param batchSizeController
+	 *            批容量控制器
+	 * @throws SQLException
+	 *             SQL异常
+	 */
+	public static <T> void executeBatch(Connection con, String sql, List<T> rows, FieldAccessor[] accessors,
+			BatchSizeController batchSizeController) throws SQLException {
+		PreparedStatement[] statements = new PreparedStatement[2];
+		FutureTask<Void> binding = null;
+		try {
+			int size = rows.size(), start = 0, end = Math.min(batchSizeController.getBatchSize(), size);
+			statements[0] = con.prepareStatement(sql);
+			bind(statements[0], rows, start, end, accessors);
+			for (int i = 0;; i++) {
+				PreparedStatement ps = statements[i & 1];
+				int next = end;
+				if (end < size) {
+					if (statements[(i + 1) & 1] == null) {
+						statements[(i + 1) & 1] = con.prepareStatement(sql);
+					}
+					PreparedStatement other = statements[(i + 1) & 1];
+					int from = end, to = Math.min(end + batchSizeController.getBatchSize(), size);
+					binding = new FutureTask<Void>(() -> {
+						bind(other, rows, from, to, accessors);
+						return null;
+					});
+					EXECUTOR.execute(binding);
+					next = to;
+				}
+				long begin = System.nanoTime();
+				ps.executeBatch();
+				con.commit();
+				ps.clearBatch();
+				batchSizeController.record(end - start, System.nanoTime() - begin);
+				if (binding == null) {
+					return;
+				}
+				join(binding);
+				binding = null;
+				start = end;
+				end = next;
+			}
+		} finally {
+			if (binding != null) {// 执行失败时等待绑定结束，再关闭其使用的准备声明对象
+				binding.run();
+				try {
+					binding.get();
+				} catch (ExecutionException e) {
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			JDBCUtils.clear(statements[0]);
+			JDBCUtils.clear(statements[1]);
+		}
+	}
+
+	/**
+	 * 将实体对象列表中指定范围的行逐行绑定并添加到批量
+	 */
+	private static <T> void bind(PreparedStatement ps, List<T> rows, int from, int to, FieldAccessor[] accessors)
+			throws SQLException {
+		for (int i = from; i < to; i++) {
+			T row = rows.get(i);
+			for (int j = 0; j < accessors.length; j++) {
+				accessors[j].bind(ps, j + 1, row);
+			}
+			ps.addBatch();
+		}
+	}
+
+	/**
+	 * 等待下一批绑定完成。工作线程尚未开始绑定时由当前线程绑定，因此不会因线程池繁忙而等待
+	 */
+	private static void join(FutureTask<Void> binding) throws SQLException {
+		binding.run();
+		try {
+			binding.get();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof SQLException) {
+				throw (SQLException) cause;
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new SQLExecutorException(cause);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLExecutorException(e);
+		}
+	}
+
+}
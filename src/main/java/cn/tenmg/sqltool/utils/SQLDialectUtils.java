@@ -2,9 +2,9 @@ package cn.tenmg.sqltool.utils;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
 import cn.tenmg.sql.paging.SQLPagingDialect;
 import cn.tenmg.sqltool.SqltoolContext;
@@ -22,8 +22,8 @@ public class SQLDialectUtils {
 	private static final String JDBC_PRODUCT_SPLIT = ":", SQL_DIALECT_PREFIX = "sql.dialect.",
 			GET_INSTANCE_METHOD = "getInstance";
 
-	private static volatile Map<String, SQLDialect> URL_KEY_DIALECTS = new HashMap<String, SQLDialect>(),
-			PRODUCT_KEY_DIALECTS = new HashMap<String, SQLDialect>();
+	private static final Map<String, SQLDialect> URL_KEY_DIALECTS = new ConcurrentHashMap<String, SQLDialect>(),
+			PRODUCT_KEY_DIALECTS = new ConcurrentHashMap<String, SQLDialect>();
 
 	public static SQLDialect getSQLDialect(Map<String, String> options) {
 		return getSQLDialect(options.get("url"));
@@ -33,56 +33,57 @@ public class SQLDialectUtils {
 		return getSQLDialect(properties.getProperty("url"));
 	}
 
-	@SuppressWarnings("unchecked")
 	public static SQLDialect getSQLDialect(String url) {
+		if (url == null) {
+			return null;
+		}
+		SQLDialect dialect = URL_KEY_DIALECTS.get(url);
+		if (dialect == null) {
+			String tmp = url.substring(url.indexOf(JDBC_PRODUCT_SPLIT) + 1),
+					product = tmp.substring(0, tmp.indexOf(JDBC_PRODUCT_SPLIT));
+			dialect = PRODUCT_KEY_DIALECTS.get(product);
+			if (dialect == null) {
+				dialect = newSQLDialect(product);
+				if (dialect == null) {
+					return null;
+				}
+				SQLDialect cached = PRODUCT_KEY_DIALECTS.putIfAbsent(product, dialect);
+				if (cached != null) {
+					dialect = cached;
+				}
+			}
+			URL_KEY_DIALECTS.putIfAbsent(url, dialect);
+		}
+		return dialect;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static SQLDialect newSQLDialect(String product) {
 		SQLDialect dialect = null;
-		if (URL_KEY_DIALECTS.containsKey(url)) {
-			dialect = URL_KEY_DIALECTS.get(url);
-		} else if (url != null) {
-			synchronized (URL_KEY_DIALECTS) {
-				if (URL_KEY_DIALECTS.containsKey(url)) {
-					dialect = URL_KEY_DIALECTS.get(url);
-				} else {
-					String tmp = url.substring(url.indexOf(JDBC_PRODUCT_SPLIT) + 1),
-							product = tmp.substring(0, tmp.indexOf(JDBC_PRODUCT_SPLIT));
-					if (PRODUCT_KEY_DIALECTS.containsKey(product)) {
-						dialect = PRODUCT_KEY_DIALECTS.get(product);
-					} else {
-						synchronized (PRODUCT_KEY_DIALECTS) {
-							if (PRODUCT_KEY_DIALECTS.containsKey(product)) {
-								dialect = PRODUCT_KEY_DIALECTS.get(product);
-							} else {
-								String className = SqltoolContext.getProperty(
-										SQL_DIALECT_PREFIX + tmp.substring(0, tmp.indexOf(JDBC_PRODUCT_SPLIT)));
-								try {
-									Class<SQLPagingDialect> cls = (Class<SQLPagingDialect>) Class.forName(className);
-									Method method;
-									try {
-										if ((method = cls.getMethod(GET_INSTANCE_METHOD)) != null) {
-											try {
-												dialect = (SQLDialect) method.invoke(null);
-											} catch (IllegalAccessException | IllegalArgumentException
-													| InvocationTargetException e) {
-												e.printStackTrace();
-											}
-										}
-									} catch (NoSuchMethodException | SecurityException e) {
-										try {
-											dialect = (SQLDialect) cls.newInstance();
-										} catch (InstantiationException | IllegalAccessException ex) {
-											ex.printStackTrace();
-										}
-									}
-								} catch (ClassNotFoundException e) {
-									e.printStackTrace();
-								}
-								PRODUCT_KEY_DIALECTS.put(product, dialect);
-							}
-						}
+		String className = SqltoolContext.getProperty(SQL_DIALECT_PREFIX + product);
+		if (className == null) {// 不支持的数据库产品
+			return null;
+		}
+		try {
+			Class<SQLPagingDialect> cls = (Class<SQLPagingDialect>) Class.forName(className);
+			Method method;
+			try {
+				if ((method = cls.getMethod(GET_INSTANCE_METHOD)) != null) {
+					try {
+						dialect = (SQLDialect) method.invoke(null);
+					} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+						e.printStackTrace();
 					}
-					PRODUCT_KEY_DIALECTS.put(url, dialect);
+				}
+			} catch (NoSuchMethodException | SecurityException e) {
+				try {
+					dialect = (SQLDialect) cls.newInstance();
+				} catch (InstantiationException | IllegalAccessException ex) {
+					ex.printStackTrace();
 				}
 			}
+		} catch (ClassNotFoundException e) {
+			e.printStackTrace();
 		}
 		return dialect;
 	}
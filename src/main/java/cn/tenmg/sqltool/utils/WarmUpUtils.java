@@ -0,0 +1,169 @@
+package cn.tenmg.sqltool.utils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import cn.tenmg.sql.paging.utils.JDBCUtils;
+import cn.tenmg.sqltool.exception.SQLExecutorException;
+import cn.tenmg.sqltool.sql.DMLParser;
+import cn.tenmg.sqltool.sql.SQLDialect;
+import cn.tenmg.sqltool.sql.parser.DeleteDMLParser;
+import cn.tenmg.sqltool.sql.parser.GeneratedKeyInsertDMLParser;
+import cn.tenmg.sqltool.sql.parser.GetDMLParser;
+import cn.tenmg.sqltool.sql.parser.InsertDMLParser;
+import cn.tenmg.sqltool.sql.parser.UpdateDMLParser;
+
+/**
+ * 预热工具类。实体类首次使用时需要扫描注解并生成SQL，预热在启动时并行完成这些工作，避免首批请求的延迟尖峰
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public abstract class WarmUpUtils {
+
+	private static final Logger log = LoggerFactory.getLogger(WarmUpUtils.class);
+
+	private static final DMLParser[] DML_PARSERS = { InsertDMLParser.getInstance(), UpdateDMLParser.getInstance(),
+			DeleteDMLParser.getInstance(), GetDMLParser.getInstance(), GeneratedKeyInsertDMLParser.getInstance() };
+
+	private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+	/**
+	 * 预热实体类。解析并缓存实体类元数据、数据操纵语言，以及各方言的更新、保存SQL。实体类由专用线程池并行处理，线程数不超过处理器数，
+	 * 预热结束后关闭该线程池；实体类不支持的操作（例如没有主键的实体类不支持更新）将被跳过
+	 *
+	 * @param types
+	 *            实体类
+	 * @param dialects
+	 *            方言
+	 * @return 返回各方言下预热生成的SQL
+	 */
+	public static Map<SQLDialect, Set<String>> warmUp(Collection<Class<?>> types, Collection<SQLDialect> dialects) {
+		if (types.isEmpty()) {
+			return sqls(dialects);
+		}
+		int threads = Math.min(types.size(), Runtime.getRuntime().availableProcessors());
+		ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "sqltool-warm-up-" + THREAD_NUMBER.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			List<Future<Map<SQLDialect, List<String>>>> futures = new ArrayList<Future<Map<SQLDialect, List<String>>>>(
+					types.size());
+			for (Class<?> type : types) {
+				futures.add(executor.submit(() -> warmUp(type, dialects)));
+			}
+			Map<SQLDialect, Set<String>> sqls = sqls(dialects);
+			for (int i = 0, size = futures.size(); i < size; i++) {
+				for (Map.Entry<SQLDialect, List<String>> entry : futures.get(i).get().entrySet()) {
+					sqls.get(entry.getKey()).addAll(entry.getValue());
+				}
+			}
+			return sqls;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLExecutorException(e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new SQLExecutorException(cause);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * 在数据源的连接上预编译SQL。对于启用了预编译语句缓存的连接池或使用服务端预编译的驱动程序，可避免首次执行时的预编译开销。
+	 * 预编译失败（例如该数据源中不存在实体类对应的表）的SQL将被跳过
+	 *
+	 * @param dataSource
+	 *            数据源
+	 * @param sqls
+	 *            SQL
+	 * @return 返回预编译成功的SQL数
+	 */
+	public static int prepare(DataSource dataSource, Collection<String> sqls) {
+		int count = 0;
+		Connection con = null;
+		try {
+			con = dataSource.getConnection();
+			for (String sql : sqls) {
+				PreparedStatement ps = null;
+				try {
+					ps = con.prepareStatement(sql);
+					count++;
+				} catch (SQLException e) {
+					if (log.isDebugEnabled()) {
+						log.debug("Skip preparing SQL: ".concat(sql), e);
+					}
+				} finally {
+					JDBCUtils.close(ps);
+				}
+			}
+		} catch (SQLException e) {
+			throw new SQLExecutorException(e);
+		} finally {
+			JDBCUtils.close(con);
+		}
+		return count;
+	}
+
+	private static Map<SQLDialect, Set<String>> sqls(Collection<SQLDialect> dialects) {
+		Map<SQLDialect, Set<String>> sqls = new HashMap<SQLDialect, Set<String>>();
+		for (SQLDialect dialect : dialects) {
+			sqls.put(dialect, new LinkedHashSet<String>());
+		}
+		return sqls;
+	}
+
+	private static Map<SQLDialect, List<String>> warmUp(Class<?> type, Collection<SQLDialect> dialects) {
+		List<String> dmls = new ArrayList<String>();
+		for (int i = 0; i < DML_PARSERS.length; i++) {
+			DMLParser parser = DML_PARSERS[i];
+			add(type, dmls, () -> parser.parse(type).getSql());
+		}
+		Map<SQLDialect, List<String>> sqls = new HashMap<SQLDialect, List<String>>();
+		for (SQLDialect dialect : dialects) {
+			List<String> dialectSqls = new ArrayList<String>(dmls);
+			add(type, dialectSqls, () -> dialect.update(type).getScript());
+			add(type, dialectSqls, () -> dialect.save(type).getScript());
+			add(type, dialectSqls, () -> dialect.hardSave(type).getScript());
+			sqls.put(dialect, dialectSqls);
+		}
+		return sqls;
+	}
+
+	private static void add(Class<?> type, List<String> sqls, Supplier<String> parser) {
+		try {
+			sqls.add(parser.get());
+		} catch (RuntimeException e) {// 实体类不支持该操作
+			if (log.isDebugEnabled()) {
+				log.debug("Skip warming up an operation of class ".concat(type.getName()), e);
+			}
+		}
+	}
+
+}
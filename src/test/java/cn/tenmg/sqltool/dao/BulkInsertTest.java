@@ -0,0 +1,41 @@
+package cn.tenmg.sqltool.dao;
+
+import java.util.Arrays;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import cn.tenmg.sqltool.Dao;
+import cn.tenmg.sqltool.exception.IllegalCallException;
+import cn.tenmg.sqltool.sql.LoadMode;
+import cn.tenmg.sqltool.sql.StaffInfo;
+import cn.tenmg.sqltool.sql.SQLiteTestUtils;
+
+/**
+ * 批量装载回退测试。SQLite没有批量装载器
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public class BulkInsertTest {
+
+	@Test
+	public void insertFallsBackToInsertBatch() {
+		Dao dao = SQLiteTestUtils.createDao(new Properties());
+		dao.bulkInsert(Arrays.asList(new StaffInfo("1"), new StaffInfo("2")), LoadMode.INSERT);
+		Assertions.assertEquals(2,
+				SQLiteTestUtils.count(dao.getDefaultDataSource(), "SELECT COUNT(*) FROM STAFF_INFO"));
+	}
+
+	@Test
+	public void replaceDoesNotFallBackToHardSave() {
+		Dao dao = SQLiteTestUtils.createDao(new Properties());
+		Assertions.assertThrows(IllegalCallException.class,
+				() -> dao.bulkInsert(Arrays.asList(new StaffInfo("1")), LoadMode.REPLACE));
+		Assertions.assertThrows(IllegalCallException.class,
+				() -> dao.bulkInsert(Arrays.asList(new StaffInfo("1")), LoadMode.IGNORE));
+	}
+
+}
@@ -0,0 +1,101 @@
+package cn.tenmg.sqltool.dao;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import cn.tenmg.sqltool.Dao;
+import cn.tenmg.sqltool.config.annotion.Column;
+import cn.tenmg.sqltool.config.annotion.Id;
+import cn.tenmg.sqltool.config.annotion.Table;
+import cn.tenmg.sqltool.sql.SQLiteTestUtils;
+import cn.tenmg.sqltool.sql.parser.GeneratedKeyInsertDMLParser;
+
+/**
+ * 数据库生成主键的写回测试
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public class GeneratedKeyTest {
+
+	@Test
+	public void omitOnlyGeneratedKeys() {
+		Assertions.assertEquals("INSERT INTO ORDER_LINE(ORDER_ID, NAME) VALUES (?, ?)",
+				GeneratedKeyInsertDMLParser.getInstance().parse(OrderLine.class, 2).getSql());
+		Assertions.assertEquals("INSERT INTO ORDER_LINE(NAME) VALUES (?)",
+				GeneratedKeyInsertDMLParser.getInstance().parse(OrderLine.class).getSql());
+	}
+
+	@Test
+	public void writeBackKeys() {
+		Dao dao = createDao();
+		List<OrderLine> rows = new ArrayList<OrderLine>();
+		for (int i = 0; i < 25; i++) {
+			rows.add(new OrderLine("o" + (i % 3), null, "line" + i));
+		}
+		dao.insertBatchReturningKeys(rows, 10);
+		for (int i = 0; i < rows.size(); i++) {
+			OrderLine row = rows.get(i);
+			Assertions.assertNotNull(row.lineId);
+			Assertions.assertEquals("o" + (i % 3), row.orderId);// 应用程序赋值的主键保持不变
+			Assertions.assertEquals(1, SQLiteTestUtils.count(dao.getDefaultDataSource(),
+					"SELECT COUNT(*) FROM ORDER_LINE WHERE LINE_ID = " + row.lineId + " AND ORDER_ID = '" + row.orderId
+							+ "' AND NAME = '" + row.name + "'"));
+		}
+	}
+
+	@Test
+	public void keepAssignedKeys() {
+		Dao dao = createDao();
+		OrderLine assigned = new OrderLine("a", 100L, "assigned"), generated = new OrderLine("b", null, "generated");
+		dao.insertBatchReturningKeys(Arrays.asList(assigned, generated), 10);
+		Assertions.assertEquals(100L, assigned.lineId);
+		Assertions.assertEquals(101L, generated.lineId);
+		Assertions.assertEquals(1, SQLiteTestUtils.count(dao.getDefaultDataSource(),
+				"SELECT COUNT(*) FROM ORDER_LINE WHERE LINE_ID = 100 AND NAME = 'assigned'"));
+
+		OrderLine single = new OrderLine("c", null, "single");
+		Assertions.assertEquals(1, dao.insertReturningKeys(single));
+		Assertions.assertEquals(102L, single.lineId);
+	}
+
+	private static Dao createDao() {
+		Dao dao = SQLiteTestUtils.createDao(new Properties());
+		SQLiteTestUtils.execute(dao.getDefaultDataSource(),
+				"CREATE TABLE ORDER_LINE (LINE_ID INTEGER PRIMARY KEY AUTOINCREMENT, ORDER_ID VARCHAR(20), NAME VARCHAR(20))");
+		return dao;
+	}
+
+	@Table(name = "ORDER_LINE")
+	public static class OrderLine {
+
+		@Id
+		@Column
+		private String orderId;
+
+		@Id
+		@Column
+		private Long lineId;
+
+		@Column
+		private String name;
+
+		public OrderLine() {
+			super();
+		}
+
+		public OrderLine(String orderId, Long lineId, String name) {
+			this.orderId = orderId;
+			this.lineId = lineId;
+			this.name = name;
+		}
+
+	}
+
+}
@@ -0,0 +1,84 @@
+package cn.tenmg.sqltool.dao;
+
+import java.util.Iterator;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import cn.tenmg.sqltool.Dao;
+import cn.tenmg.sqltool.sql.SQLiteTestUtils;
+import cn.tenmg.sqltool.sql.StaffInfo;
+
+/**
+ * 实体对象迭代器及流的批处理测试
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public class StreamBatchTest {
+
+	@Test
+	public void insertAndUpdateInChunks() {
+		Dao dao = SQLiteTestUtils.createDao(new Properties());
+		AtomicBoolean closed = new AtomicBoolean();
+		Stream<StaffInfo> rows = staffs(25, "a").onClose(() -> closed.set(true));
+		Assertions.assertEquals(25, dao.insertBatch(rows, 10));
+		Assertions.assertTrue(closed.get());
+		Assertions.assertEquals(25,
+				SQLiteTestUtils.count(dao.getDefaultDataSource(), "SELECT COUNT(*) FROM STAFF_INFO"));
+
+		Assertions.assertEquals(25, dao.updateBatch(staffs(25, "b").iterator(), 10));
+		Assertions.assertEquals(25, SQLiteTestUtils.count(dao.getDefaultDataSource(),
+				"SELECT COUNT(*) FROM STAFF_INFO WHERE STAFF_NAME = 'b'"));
+	}
+
+	@Test
+	public void readOneChunkAtATime() {
+		Dao dao = SQLiteTestUtils.createDao(new Properties());
+		dao.insertBatch(staffs(25, "a").iterator(), 10);
+		// 第二块与已有记录主键冲突，首块已提交，且第二块之后的实体对象不会被读取
+		AtomicInteger read = new AtomicInteger();
+		Iterator<StaffInfo> rows = new Iterator<StaffInfo>() {
+
+			@Override
+			public boolean hasNext() {
+				return read.get() < 40;
+			}
+
+			@Override
+			public StaffInfo next() {
+				int i = read.getAndIncrement();
+				return new StaffInfo(i < 10 ? "n" + i : String.valueOf(i));
+			}
+
+		};
+		Assertions.assertThrows(RuntimeException.class, () -> dao.insertBatch(rows, 10));
+		Assertions.assertEquals(20, read.get());
+		Assertions.assertEquals(35,
+				SQLiteTestUtils.count(dao.getDefaultDataSource(), "SELECT COUNT(*) FROM STAFF_INFO"));
+	}
+
+	@Test
+	public void closeStreamOnFailure() {
+		Dao dao = SQLiteTestUtils.createDao(new Properties());
+		AtomicBoolean closed = new AtomicBoolean();
+		Stream<StaffInfo> rows = Stream.concat(staffs(5, "a"), staffs(5, "a")).onClose(() -> closed.set(true));
+		Assertions.assertThrows(RuntimeException.class, () -> dao.insertBatch(rows, 10));
+		Assertions.assertTrue(closed.get());
+	}
+
+	private static Stream<StaffInfo> staffs(int count, String staffName) {
+		return IntStream.range(0, count).mapToObj(i -> {
+			StaffInfo staffInfo = new StaffInfo(String.valueOf(i));
+			staffInfo.setStaffName(staffName);
+			return staffInfo;
+		});
+	}
+
+}
@@ -0,0 +1,250 @@
+package cn.tenmg.sqltool.processor;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import cn.tenmg.sqltool.sql.EntityMapper;
+
+/**
+ * 实体映射器注解处理器测试。使用 javac 编译测试实体并加载生成的实体映射器
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public class EntityMapperProcessorTest {
+
+	private static final String PACKAGE = "cn.tenmg.demo";
+
+	@TempDir
+	Path dir;
+
+	@Test
+	public void inheritedField() throws Exception {
+		Map<String, String> sources = new LinkedHashMap<String, String>();
+		sources.put("cn.tenmg.demo.base.BaseEntity", "package cn.tenmg.demo.base;\n"
+				+ "import cn.tenmg.sqltool.config.annotion.*;\n"
+				+ "public abstract class BaseEntity {\n"
+				+ "	@Id @Column private Long id;\n"
+				+ "	protected String remark;\n"
+				+ "	public Long getId() { return id; }\n"
+				+ "	public void setId(Long id) { this.id = id; }\n"
+				+ "}\n");
+		sources.put("cn.tenmg.demo.Parent", "package cn.tenmg.demo;\n"
+				+ "import cn.tenmg.sqltool.config.annotion.*;\n"
+				+ "public abstract class Parent extends cn.tenmg.demo.base.BaseEntity {\n"
+				+ "	@Column(name = \"PARENT_CODE\") String code;\n"
+				+ "}\n");
+		sources.put("cn.tenmg.demo.Order", "package cn.tenmg.demo;\n"
+				+ "import cn.tenmg.sqltool.config.annotion.*;\n"
+				+ "@Table(name = \"ORDERS\")\n"
+				+ "public class Order extends Parent {\n"
+				+ "	String name;\n"
+				+ "}\n");
+		Result result = compile(sources);
+		EntityMapper<Object> mapper = result.mapper("cn.tenmg.demo.OrderEntityMapper");
+		Assertions.assertEquals("ORDERS", mapper.getTableName());
+		// 与反射一致，子类属性在前，父类属性在后；其他包中父类的 protected 属性无法访问且未映射列，忽略
+		Assertions.assertArrayEquals(new String[] { "name", "code", "id" }, mapper.getFieldNames());
+		Assertions.assertArrayEquals(new String[] { null, "PARENT_CODE", "" }, mapper.getColumnNames());
+		Assertions.assertFalse(mapper.isId(1));
+		Assertions.assertTrue(mapper.isId(2));
+		Object order = mapper.getType().getConstructor().newInstance();
+		mapper.set(order, 1, "c");
+		mapper.set(order, 2, 9L);
+		Assertions.assertEquals("c", mapper.get(order, 1));
+		Assertions.assertEquals(9L, mapper.get(order, 2));
+		Assertions.assertEquals(9L, order.getClass().getMethod("getId").invoke(order));
+		Assertions.assertFalse(result.hasMapper("cn.tenmg.demo.ParentEntityMapper"));// 抽象类不生成
+	}
+
+	@Test
+	public void primitiveField() throws Exception {
+		Result result = compile(source("Item", "@Table\npublic class Item {\n"
+				+ "	@Id @Column int id;\n"
+				+ "	@Column long amount = 3;\n"
+				+ "	@Column boolean active;\n"
+				+ "}\n"));
+		EntityMapper<Object> mapper = result.mapper("cn.tenmg.demo.ItemEntityMapper");
+		Object item = mapper.getType().getConstructor().newInstance();
+		mapper.set(item, 0, 5);
+		mapper.set(item, 1, null);// 基本类型保留默认值
+		mapper.set(item, 2, true);
+		Assertions.assertEquals(5, mapper.get(item, 0));
+		Assertions.assertEquals(3L, mapper.get(item, 1));
+		Assertions.assertEquals(true, mapper.get(item, 2));
+		try (Connection con = DriverManager.getConnection("jdbc:sqlite::memory:");
+				Statement st = con.createStatement();
+				ResultSet rs = st.executeQuery("SELECT 7 AS id, NULL AS amount, 'true' AS active")) {
+			Assertions.assertTrue(rs.next());
+			Object row = mapper.mapRow(rs, new int[] { 1, 2, 3 });
+			Assertions.assertEquals(7, mapper.get(row, 0));
+			Assertions.assertEquals(3L, mapper.get(row, 1));
+			Assertions.assertEquals(true, mapper.get(row, 2));
+		}
+	}
+
+	@Test
+	public void getterSetterOnlyField() throws Exception {
+		Result result = compile(source("Staff", "@Table\npublic class Staff {\n"
+				+ "	@Id @Column private String staffId;\n"
+				+ "	@Column private boolean leader;\n"
+				+ "	public String getStaffId() { return staffId; }\n"
+				+ "	public void setStaffId(String staffId) { this.staffId = \"setter:\" + staffId; }\n"
+				+ "	public boolean isLeader() { return leader; }\n"
+				+ "	public void setLeader(boolean leader) { this.leader = leader; }\n"
+				+ "}\n"),
+				source("Hidden", "@Table\npublic class Hidden {\n"
+						+ "	@Id @Column private String hiddenId;\n"
+						+ "	public String getHiddenId() { return hiddenId; }\n"
+						+ "}\n"));
+		EntityMapper<Object> mapper = result.mapper("cn.tenmg.demo.StaffEntityMapper");
+		try (Connection con = DriverManager.getConnection("jdbc:sqlite::memory:");
+				Statement st = con.createStatement();
+				ResultSet rs = st.executeQuery("SELECT 'a' AS staff_id, 'true' AS leader")) {
+			Assertions.assertTrue(rs.next());
+			Object row = mapper.mapRow(rs, new int[] { 1, 2 });
+			Assertions.assertEquals("setter:a", mapper.get(row, 0));// 经过setter方法
+			Assertions.assertEquals(true, mapper.get(row, 1));
+		}
+		// 没有setter方法的映射列无法访问，不生成实体映射器并给出警告
+		Assertions.assertFalse(result.hasMapper("cn.tenmg.demo.HiddenEntityMapper"));
+		Assertions.assertTrue(result.warnings.stream().anyMatch(warning -> warning.contains("hiddenId")));
+	}
+
+	@Test
+	public void nestedClass() throws Exception {
+		Result result = compile(source("Outer", "public class Outer {\n"
+				+ "	@Table(name = \"NESTED\")\n"
+				+ "	public static class Nested {\n"
+				+ "		@Id @Column String nestedId;\n"
+				+ "	}\n"
+				+ "	@Table\n"
+				+ "	public class Inner {\n"
+				+ "		@Id @Column String innerId;\n"
+				+ "	}\n"
+				+ "	@Table\n"
+				+ "	private static class Secret {\n"
+				+ "		@Id @Column String secretId;\n"
+				+ "	}\n"
+				+ "}\n"));
+		EntityMapper<Object> mapper = result.mapper("cn.tenmg.demo.Outer_NestedEntityMapper");
+		Assertions.assertEquals("cn.tenmg.demo.Outer$Nested", mapper.getType().getName());
+		Assertions.assertEquals("NESTED", mapper.getTableName());
+		Object nested = mapper.getType().getConstructor().newInstance();
+		mapper.set(nested, 0, "n");
+		Assertions.assertEquals("n", mapper.get(nested, 0));
+		Assertions.assertFalse(result.hasMapper("cn.tenmg.demo.Outer_InnerEntityMapper"));// 非静态内部类不生成
+		Assertions.assertFalse(result.hasMapper("cn.tenmg.demo.Outer_SecretEntityMapper"));// 私有类不生成
+		Assertions.assertEquals(Arrays.asList("cn.tenmg.demo.Outer_NestedEntityMapper"), result.services);
+	}
+
+	private static Map<String, String> source(String simpleName, String body) {
+		Map<String, String> sources = new LinkedHashMap<String, String>();
+		sources.put(PACKAGE + "." + simpleName,
+				"package " + PACKAGE + ";\nimport cn.tenmg.sqltool.config.annotion.*;\n" + body);
+		return sources;
+	}
+
+	@SafeVarargs
+	private final Result compile(Map<String, String>... sources) throws IOException {
+		Path src = dir.resolve("src"), classes = dir.resolve("classes");
+		Files.createDirectories(classes);
+		List<File> files = new ArrayList<File>();
+		for (Map<String, String> map : sources) {
+			for (Map.Entry<String, String> entry : map.entrySet()) {
+				Path file = src.resolve(entry.getKey().replace('.', '/') + ".java");
+				Files.createDirectories(file.getParent());
+				Files.write(file, entry.getValue().getBytes(StandardCharsets.UTF_8));
+				files.add(file.toFile());
+			}
+		}
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+		try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null,
+				StandardCharsets.UTF_8)) {
+			boolean success = compiler.getTask(null, fileManager, diagnostics,
+					Arrays.asList("-classpath", getClassPath(), "-d", classes.toString(),
+							"-processor", EntityMapperProcessor.class.getName()),
+					null, fileManager.getJavaFileObjectsFromFiles(files)).call();
+			Assertions.assertTrue(success, diagnostics.getDiagnostics().toString());
+		}
+		List<String> warnings = new ArrayList<String>();
+		for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+			if (diagnostic.getKind() == Diagnostic.Kind.WARNING) {
+				warnings.add(diagnostic.getMessage(null));
+			}
+		}
+		Path serviceFile = classes.resolve("META-INF/services/" + EntityMapper.class.getName());
+		List<String> services = Files.exists(serviceFile) ? Files.readAllLines(serviceFile, StandardCharsets.UTF_8)
+				: new ArrayList<String>();
+		return new Result(new URLClassLoader(new URL[] { classes.toUri().toURL() }, getClass().getClassLoader()),
+				services, warnings);
+	}
+
+	/**
+	 * 编译类路径。使用 sqltool 类所在位置，避免测试运行器未通过 {@code java.class.path} 传递类路径
+	 */
+	private static String getClassPath() throws IOException {
+		try {
+			return Paths.get(EntityMapperProcessor.class.getProtectionDomain().getCodeSource().getLocation().toURI())
+					.toString() + File.pathSeparator + System.getProperty("java.class.path");
+		} catch (URISyntaxException e) {
+			throw new IOException(e);
+		}
+	}
+
+	private static class Result {
+
+		private final ClassLoader classLoader;
+
+		private final List<String> services;
+
+		private final List<String> warnings;
+
+		private Result(ClassLoader classLoader, List<String> services, List<String> warnings) {
+			this.classLoader = classLoader;
+			this.services = services;
+			this.warnings = warnings;
+		}
+
+		private boolean hasMapper(String name) {
+			return services.contains(name);
+		}
+
+		@SuppressWarnings("unchecked")
+		private EntityMapper<Object> mapper(String name) throws ReflectiveOperationException {
+			Assertions.assertTrue(hasMapper(name), services.toString());
+			return (EntityMapper<Object>) classLoader.loadClass(name).getConstructor().newInstance();
+		}
+
+	}
+
+}
@@ -0,0 +1,81 @@
+package cn.tenmg.sqltool.sql;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 批容量控制器测试
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public class BatchSizeControllerTest {
+
+	private static final long MILLIS = 1000000L;
+
+	@Test
+	public void fixed() {
+		BatchSizeController controller = new BatchSizeController(500);
+		controller.record(500, 1);
+		controller.record(500, 1000 * MILLIS);
+		Assertions.assertFalse(controller.isAdaptive());
+		Assertions.assertEquals(500, controller.getBatchSize());
+	}
+
+	@Test
+	public void growAtMostTwice() {
+		BatchSizeController controller = new BatchSizeController(100, 10, 10000, 100);
+		controller.record(100, MILLIS);// 理想批容量为10000
+		Assertions.assertEquals(200, controller.getBatchSize());
+		controller.record(200, MILLIS);
+		Assertions.assertEquals(400, controller.getBatchSize());
+	}
+
+	@Test
+	public void shrinkAtMostHalf() {
+		BatchSizeController controller = new BatchSizeController(1000, 10, 10000, 100);
+		controller.record(1000, 1000000 * MILLIS);// 理想批容量为0
+		Assertions.assertEquals(500, controller.getBatchSize());
+	}
+
+	@Test
+	public void moveHalfwayToIdeal() {
+		BatchSizeController controller = new BatchSizeController(1000, 10, 10000, 100);
+		controller.record(1000, 125 * MILLIS);// 理想批容量为800
+		Assertions.assertEquals(900, controller.getBatchSize());
+	}
+
+	@Test
+	public void clampToBounds() {
+		BatchSizeController controller = new BatchSizeController(300, 100, 500, 100);
+		controller.record(300, MILLIS);
+		Assertions.assertEquals(500, controller.getBatchSize());
+		controller.record(500, 100000 * MILLIS);
+		Assertions.assertEquals(250, controller.getBatchSize());
+		controller.record(250, 100000 * MILLIS);
+		Assertions.assertEquals(125, controller.getBatchSize());
+		controller.record(125, 100000 * MILLIS);
+		Assertions.assertEquals(100, controller.getBatchSize());
+		Assertions.assertEquals(100, new BatchSizeController(1, 100, 500, 100).getBatchSize());
+		Assertions.assertEquals(500, new BatchSizeController(5000, 100, 500, 100).getBatchSize());
+	}
+
+	@Test
+	public void partialBatchDoesNotGrow() {
+		BatchSizeController controller = new BatchSizeController(1000, 10, 10000, 100);
+		controller.record(10, MILLIS);
+		Assertions.assertEquals(1000, controller.getBatchSize());
+		controller.record(10, 1000 * MILLIS);// 未满批的耗时仍可使批容量减小
+		Assertions.assertEquals(500, controller.getBatchSize());
+	}
+
+	@Test
+	public void ignoreInvalidSamples() {
+		BatchSizeController controller = new BatchSizeController(1000, 10, 10000, 100);
+		controller.record(0, MILLIS);
+		controller.record(1000, 0);
+		Assertions.assertEquals(1000, controller.getBatchSize());
+	}
+
+}
@@ -0,0 +1,240 @@
+package cn.tenmg.sqltool.sql;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import cn.tenmg.sqltool.data.Page;
+import cn.tenmg.sqltool.sql.DSQLPlanCache.PagePlan;
+import cn.tenmg.sqltool.sql.dialect.MySQLDialect;
+import cn.tenmg.sqltool.sql.dialect.OracleDialect;
+
+/**
+ * DSQL执行计划缓存测试。使用模拟的解析函数及分页查询SQL解析器代替DSQL工厂
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public class DSQLPlanCacheTest {
+
+	private static final String ID = "find_staff";
+
+	@Test
+	public void reuseProbedPlan() {
+		AtomicInteger calls = new AtomicInteger();
+		DSQLPlanCache cache = new DSQLPlanCache(16, new HashSet<String>(Arrays.asList(ID)));
+		JDBCSQL sql = cache.toJDBC(ID, params("ids", Arrays.asList(1, 2), "name", "a"), inList(calls));
+		Assertions.assertEquals(2, calls.get());// 实际解析及探针解析
+		Assertions.assertEquals(Arrays.asList(1, 2, "a"), sql.getParams());
+		sql = cache.toJDBC(ID, params("ids", new int[] { 3, 4 }, "name", "b"), inList(calls));
+		Assertions.assertEquals(2, calls.get());// 命中计划，不再解析
+		Assertions.assertEquals("SELECT * FROM STAFF_INFO WHERE STAFF_ID IN (?, ?) AND STAFF_NAME = ?", sql.getSql());
+		Assertions.assertEquals(Arrays.asList(3, 4, "b"), sql.getParams());
+		cache.toJDBC(ID, params("ids", Arrays.asList(1, 2, 3), "name", "a"), inList(calls));
+		Assertions.assertEquals(4, calls.get());// 参数形态不同，重新解析并编译计划
+		Assertions.assertEquals(2, cache.size());
+	}
+
+	@Test
+	public void rejectConvertedParams() {
+		AtomicInteger calls = new AtomicInteger();
+		DSQLPlanCache cache = new DSQLPlanCache(16, new HashSet<String>(Arrays.asList(ID)));
+		Function<Map<String, ?>, JDBCSQL> parser = params -> {
+			calls.incrementAndGet();
+			return new JDBCSQL(ID, "SELECT * FROM STAFF_INFO WHERE STAFF_NAME = ?",
+					new ArrayList<Object>(Arrays.asList(String.valueOf(params.get("name")).toUpperCase())));
+		};
+		cache.toJDBC(ID, params("name", "a"), parser);
+		JDBCSQL sql = cache.toJDBC(ID, params("name", "b"), parser);
+		Assertions.assertEquals(Arrays.asList("B"), sql.getParams());
+		Assertions.assertEquals(3, calls.get());// 参数值经过转换，探针验证失败，该形态始终正常解析
+	}
+
+	@Test
+	public void rejectValueDependentBranchOnProbe() {
+		AtomicInteger calls = new AtomicInteger();
+		DSQLPlanCache cache = new DSQLPlanCache(16, new HashSet<String>(Arrays.asList(ID)));
+		JDBCSQL sql = cache.toJDBC(ID, params("type", "A", "name", "a"), branch(calls));
+		Assertions.assertTrue(sql.getSql().contains("POSITION"));
+		Assertions.assertEquals(2, calls.get());
+		// 探针不等于 'A'，解析得到的SQL与实际不一致，不缓存计划
+		sql = cache.toJDBC(ID, params("type", "B", "name", "b"), branch(calls));
+		Assertions.assertFalse(sql.getSql().contains("POSITION"));
+		Assertions.assertEquals(Arrays.asList("b"), sql.getParams());
+		Assertions.assertEquals(3, calls.get());
+	}
+
+	@Test
+	public void branchFlipNotCachedUnlessEnabled() {
+		AtomicInteger calls = new AtomicInteger();
+		DSQLPlanCache cache = new DSQLPlanCache(16, new HashSet<String>(Arrays.asList("other")));
+		Assertions.assertFalse(cache.isEnabled(ID));
+		// 首次调用未进入分支，探针也不会进入，若启用缓存后续进入分支的调用将命中错误的计划
+		JDBCSQL sql = cache.toJDBC(ID, params("type", "B", "name", "b"), branch(calls));
+		Assertions.assertFalse(sql.getSql().contains("POSITION"));
+		sql = cache.toJDBC(ID, params("type", "A", "name", "a"), branch(calls));
+		Assertions.assertTrue(sql.getSql().contains("POSITION"));
+		Assertions.assertEquals(Arrays.asList("A", "a"), sql.getParams());
+		Assertions.assertEquals(2, calls.get());// 未启用，每次均正常解析且不使用探针
+		Assertions.assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void maxSize() {
+		AtomicInteger calls = new AtomicInteger();
+		DSQLPlanCache cache = new DSQLPlanCache(1, new HashSet<String>(Arrays.asList(ID)));
+		cache.toJDBC(ID, params("ids", Arrays.asList(1), "name", "a"), inList(calls));
+		cache.toJDBC(ID, params("ids", Arrays.asList(1, 2), "name", "a"), inList(calls));
+		cache.toJDBC(ID, params("ids", Arrays.asList(1, 2), "name", "a"), inList(calls));
+		Assertions.assertEquals(1, cache.size());
+		Assertions.assertEquals(4, calls.get());// 达到最大形态数后不再编译计划
+	}
+
+	@Test
+	public void pagePlan() throws SQLException {
+		DSQLPlanCache cache = new DSQLPlanCache(16, new HashSet<String>(Arrays.asList(ID)));
+		SQLDialect dialect = MySQLDialect.getInstance();
+		Map<String, Object> params = params("position", "p");
+		Assertions.assertNull(cache.getPagePlan(dialect, ID, null, params, 3));
+		cachePagePlan(cache, dialect, params, new Page<Object>(3, 10));
+		PagePlan plan = cache.getPagePlan(dialect, ID, null, params("position", "q"), 5);
+		Assertions.assertNotNull(plan);
+		JDBCSQL countSQL = plan.countSQL(params("position", "q"));
+		Assertions.assertEquals("SELECT COUNT(*) FROM STAFF_INFO WHERE POSITION = ?", countSQL.getSql());
+		Assertions.assertEquals(Arrays.asList("q"), countSQL.getParams());
+		JDBCSQL pageSQL = plan.pageSQL(params("position", "q"), 20, 5);
+		Assertions.assertEquals("SELECT * FROM STAFF_INFO WHERE POSITION = ? LIMIT 80, 20", pageSQL.getSql());
+		Assertions.assertEquals(Arrays.asList("q"), pageSQL.getParams());
+		// 第一页及其他方言的分页查询使用各自的计划
+		Assertions.assertNull(cache.getPagePlan(dialect, ID, null, params, 1));
+		Assertions.assertNull(cache.getPagePlan(OracleDialect.getInstance(), ID, null, params, 3));
+		cachePagePlan(cache, dialect, params, new Page<Object>(1, 10));
+		Assertions.assertEquals("SELECT * FROM STAFF_INFO WHERE POSITION = ? LIMIT 15",
+				cache.getPagePlan(dialect, ID, null, params, 1).pageSQL(params, 15, 1).getSql());
+	}
+
+	@Test
+	public void pagePlanNotCachedUnlessEnabled() throws SQLException {
+		DSQLPlanCache cache = new DSQLPlanCache(16, new HashSet<String>(Arrays.asList("other")));
+		SQLDialect dialect = MySQLDialect.getInstance();
+		Map<String, Object> params = params("position", "p");
+		cachePagePlan(cache, dialect, params, new Page<Object>(3, 10));
+		Assertions.assertNull(cache.getPagePlan(dialect, ID, null, params, 3));
+		Assertions.assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void rejectValueDependentPagePlan() throws SQLException {
+		DSQLPlanCache cache = new DSQLPlanCache(16, new HashSet<String>(Arrays.asList(ID)));
+		SQLDialect dialect = MySQLDialect.getInstance();
+		Map<String, Object> params = params("position", "A");// 探针不等于 'A'，计数查询SQL不一致
+		cachePagePlan(cache, dialect, params, new Page<Object>(3, 10));
+		Assertions.assertNull(cache.getPagePlan(dialect, ID, null, params, 3));
+		Assertions.assertEquals(1, cache.size());
+	}
+
+	/**
+	 * 模拟分页查询首次执行后缓存执行计划
+	 */
+	private static void cachePagePlan(DSQLPlanCache cache, SQLDialect dialect, Map<String, ?> params, Page<?> page)
+			throws SQLException {
+		PageSQLParser parser = pageParser(params);
+		cache.cachePagePlan(dialect, ID, null, params, page, parser.countSQL(), parser.pageSQL(null, page), null,
+				DSQLPlanCacheTest::pageParser);
+	}
+
+	/**
+	 * 模拟 {@code SELECT * FROM STAFF_INFO WHERE POSITION = :position} 的分页查询，{@code position} 为 {@code 'A'} 时不计数
+	 */
+	private static PageSQLParser pageParser(Map<String, ?> params) {
+		return new PageSQLParser(null, null, ID, null, null) {
+
+			@Override
+			public JDBCSQL countSQL() {
+				if ("A".equals(params.get("position"))) {
+					return new JDBCSQL(ID, "SELECT 0", new ArrayList<Object>());
+				}
+				return new JDBCSQL(ID, "SELECT COUNT(*) FROM STAFF_INFO WHERE POSITION = ?",
+						new ArrayList<Object>(Arrays.asList(params.get("position"))));
+			}
+
+			@Override
+			public JDBCSQL pageSQL(Connection con, Page<?> page) {
+				long currentPage = page.getCurrentPage();
+				int pageSize = page.getPageSize();
+				return new JDBCSQL(ID, "SELECT * FROM STAFF_INFO WHERE POSITION = ? LIMIT "
+						+ (currentPage == 1 ? String.valueOf(pageSize) : (currentPage - 1) * pageSize + ", " + pageSize),
+						new ArrayList<Object>(Arrays.asList(params.get("position"))));
+			}
+
+		};
+	}
+
+	/**
+	 * 模拟 {@code SELECT * FROM STAFF_INFO WHERE STAFF_ID IN (:ids) AND STAFF_NAME = :name}
+	 */
+	private static Function<Map<String, ?>, JDBCSQL> inList(AtomicInteger calls) {
+		return params -> {
+			calls.incrementAndGet();
+			List<Object> values = new ArrayList<Object>();
+			StringBuilder sql = new StringBuilder("SELECT * FROM STAFF_INFO WHERE STAFF_ID IN (");
+			Object ids = params.get("ids");
+			Collection<?> elements = ids instanceof Collection ? (Collection<?>) ids : toList((int[]) ids);
+			for (Object element : elements) {
+				if (!values.isEmpty()) {
+					sql.append(", ");
+				}
+				sql.append("?");
+				values.add(element);
+			}
+			values.add(params.get("name"));
+			return new JDBCSQL(ID, sql.append(") AND STAFF_NAME = ?").toString(), values);
+		};
+	}
+
+	/**
+	 * 模拟 {@code SELECT * FROM STAFF_INFO WHERE STAFF_NAME = :name #[if(:type == 'A') AND POSITION = :type]}
+	 */
+	private static Function<Map<String, ?>, JDBCSQL> branch(AtomicInteger calls) {
+		return params -> {
+			calls.incrementAndGet();
+			List<Object> values = new ArrayList<Object>();
+			String sql = "SELECT * FROM STAFF_INFO WHERE STAFF_NAME = ?";
+			if ("A".equals(params.get("type"))) {
+				sql = "SELECT * FROM STAFF_INFO WHERE POSITION = ? AND STAFF_NAME = ?";
+				values.add(params.get("type"));
+			}
+			values.add(params.get("name"));
+			return new JDBCSQL(ID, sql, values);
+		};
+	}
+
+	private static List<Object> toList(int[] array) {
+		List<Object> list = new ArrayList<Object>();
+		for (int value : array) {
+			list.add(value);
+		}
+		return list;
+	}
+
+	private static Map<String, Object> params(Object... params) {
+		Map<String, Object> map = new HashMap<String, Object>();
+		for (int i = 0; i < params.length; i += 2) {
+			map.put((String) params[i], params[i + 1]);
+		}
+		return map;
+	}
+
+}
@@ -0,0 +1,91 @@
+package cn.tenmg.sqltool.sql;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import cn.tenmg.dsl.Script;
+import cn.tenmg.sqltool.sql.dialect.MySQLDialect;
+import cn.tenmg.sqltool.sql.parser.InsertDMLParser;
+
+/**
+ * 实体SQL计划缓存测试
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public class EntityPlanCacheTest {
+
+	@Test
+	public void reusePlanForSameMask() {
+		InsertDMLParser.getInstance().parse(StaffInfo.class);// 缓存实体类元数据
+		EntityPlanCache cache = new EntityPlanCache();
+		AtomicInteger calls = new AtomicInteger();
+		Function<StaffInfo, Script<List<Object>>> parser = counting(calls, MySQLDialect.getInstance()::update);
+		Script<List<Object>> first = cache.getScript(staff("1", "a", null), null, true, parser),
+				second = cache.getScript(staff("2", "b", null), null, true, parser);
+		Assertions.assertEquals(1, calls.get());
+		Assertions.assertEquals(first.getValue(), second.getValue());
+		Assertions.assertEquals(Arrays.asList("b", "2"), second.getParams());// 更新条件参数位于最后
+		Assertions.assertEquals(1, cache.size());
+	}
+
+	@Test
+	public void parseForDifferentMask() {
+		InsertDMLParser.getInstance().parse(StaffInfo.class);
+		EntityPlanCache cache = new EntityPlanCache();
+		AtomicInteger calls = new AtomicInteger();
+		Function<StaffInfo, Script<List<Object>>> parser = counting(calls, MySQLDialect.getInstance()::update);
+		cache.getScript(staff("1", "a", null), null, true, parser);
+		Script<List<Object>> script = cache.getScript(staff("1", "a", "p"), null, true, parser);
+		Assertions.assertEquals(2, calls.get());
+		Assertions.assertEquals(Arrays.asList("a", "p", "1"), script.getParams());
+		Assertions.assertEquals(2, cache.size());
+	}
+
+	@Test
+	public void foldHardFieldsIntoMask() {
+		InsertDMLParser.getInstance().parse(StaffInfo.class);
+		EntityPlanCache cache = new EntityPlanCache();
+		AtomicInteger calls = new AtomicInteger();
+		cache.getScript(staff("1", "a", null), null, true, counting(calls, MySQLDialect.getInstance()::update));
+		Script<List<Object>> script = cache.getScript(staff("2", null, null), Collections.singleton("staffName"), true,
+				counting(calls, obj -> MySQLDialect.getInstance().update(obj, "staffName")));
+		Assertions.assertEquals(1, calls.get());// 硬更新的空属性与非空属性参与SQL的方式相同
+		Assertions.assertEquals(Arrays.asList(null, "2"), script.getParams());
+	}
+
+	@Test
+	public void orderParamsByFieldsWhenNotUpdate() {
+		InsertDMLParser.getInstance().parse(StaffInfo.class);
+		EntityPlanCache cache = new EntityPlanCache();
+		AtomicInteger calls = new AtomicInteger();
+		Function<StaffInfo, Script<List<Object>>> parser = counting(calls, MySQLDialect.getInstance()::save);
+		cache.getScript(staff("1", null, "p"), null, false, parser);
+		Script<List<Object>> script = cache.getScript(staff("2", null, "q"), null, false, parser);
+		Assertions.assertEquals(1, calls.get());
+		Assertions.assertEquals(Arrays.asList("2", "q"), script.getParams());
+	}
+
+	private static <T> Function<T, Script<List<Object>>> counting(AtomicInteger calls,
+			Function<T, Script<List<Object>>> parser) {
+		return obj -> {
+			calls.incrementAndGet();
+			return parser.apply(obj);
+		};
+	}
+
+	private static StaffInfo staff(String staffId, String staffName, String position) {
+		StaffInfo staffInfo = new StaffInfo(staffId);
+		staffInfo.setStaffName(staffName);
+		staffInfo.setPosition(position);
+		return staffInfo;
+	}
+
+}
@@ -0,0 +1,63 @@
+package cn.tenmg.sqltool.sql;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 分页查询SQL模板测试
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public class PageSQLTemplateTest {
+
+	private static final int SIZE = PageSQLTemplate.PROBE_PAGE_SIZE;
+
+	private static final long PAGE = PageSQLTemplate.PROBE_CURRENT_PAGE, OFFSET = (PAGE - 1) * SIZE,
+			END = PAGE * SIZE;
+
+	@Test
+	public void limitOffset() {
+		PageSQLTemplate template = PageSQLTemplate.of("SELECT * FROM STAFF_INFO LIMIT " + OFFSET + ", " + SIZE, false);
+		Assertions.assertEquals("SELECT * FROM STAFF_INFO LIMIT 20, 10", template.render(10, 3));
+		Assertions.assertEquals("SELECT * FROM STAFF_INFO LIMIT 0, 10", template.render(10, 1));
+		Assertions.assertEquals("SELECT * FROM STAFF_INFO LIMIT 5, 7", template.renderRange(5, 7));
+	}
+
+	@Test
+	public void rowNumberRange() {
+		PageSQLTemplate template = PageSQLTemplate.of("SELECT * FROM (SELECT T.*, ROWNUM RN FROM STAFF_INFO T WHERE ROWNUM <= "
+				+ END + ") WHERE RN > " + OFFSET, false);
+		Assertions.assertEquals(
+				"SELECT * FROM (SELECT T.*, ROWNUM RN FROM STAFF_INFO T WHERE ROWNUM <= 30) WHERE RN > 20",
+				template.render(10, 3));
+		Assertions.assertEquals(
+				"SELECT * FROM (SELECT T.*, ROWNUM RN FROM STAFF_INFO T WHERE ROWNUM <= 12) WHERE RN > 5",
+				template.renderRange(5, 7));
+	}
+
+	@Test
+	public void firstPage() {
+		PageSQLTemplate template = PageSQLTemplate.of("SELECT * FROM STAFF_INFO LIMIT " + SIZE, true);
+		Assertions.assertEquals("SELECT * FROM STAFF_INFO LIMIT 20", template.render(20, 1));
+		Assertions.assertEquals("SELECT * FROM STAFF_INFO LIMIT 15", template.renderRange(0, 15));
+	}
+
+	@Test
+	public void currentPageLiteral() {
+		PageSQLTemplate template = PageSQLTemplate.of("EXEC PAGE_QUERY " + PAGE + ", " + SIZE, false);
+		Assertions.assertEquals("EXEC PAGE_QUERY 3, 10", template.render(10, 3));
+		Assertions.assertNull(template.renderRange(20, 10));// 使用页码的模板无法按偏移量填充
+	}
+
+	@Test
+	public void ignoreEmbeddedLiterals() {
+		String sql = "SELECT * FROM STAFF_INFO WHERE STAFF_ID = '" + SIZE + "1' AND A = 1" + SIZE + " AND B = 0." + SIZE
+				+ " LIMIT " + OFFSET + ", " + SIZE;
+		PageSQLTemplate template = PageSQLTemplate.of(sql, false);
+		Assertions.assertEquals("SELECT * FROM STAFF_INFO WHERE STAFF_ID = '" + SIZE + "1' AND A = 1" + SIZE
+				+ " AND B = 0." + SIZE + " LIMIT 20, 10", template.render(10, 3));
+	}
+
+}
@@ -0,0 +1,93 @@
+package cn.tenmg.sqltool.sql;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+
+import javax.sql.DataSource;
+
+import org.sqlite.SQLiteDataSource;
+
+import cn.tenmg.sqltool.Dao;
+import cn.tenmg.sqltool.SqltoolFactory;
+
+/**
+ * 单元测试使用的SQLite临时数据库工具类。每个数据源对应一个临时文件数据库，连接之间共享数据
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public abstract class SQLiteTestUtils {
+
+	private static final String URL_PREFIX = "jdbc:sqlite:";
+
+	/**
+	 * 创建临时文件数据库的数据源，并在其中创建员工信息表
+	 * 
+	 * @return 返回数据源
+	 */
+	public static DataSource createDataSource() {
+		return createDataSource(createDatabase());
+	}
+
+	/**
+	 * 使用临时文件数据库创建数据库访问对象，并在其中创建员工信息表
+	 * 
+	 * @param properties
+	 *            数据源以外的其他配置
+	 * @return 返回数据库访问对象
+	 */
+	public static Dao createDao(Properties properties) {
+		Properties config = new Properties();
+		config.putAll(properties);
+		config.setProperty("sqltool.datasource.type", "org.apache.commons.dbcp2.BasicDataSource");
+		config.setProperty("sqltool.datasource.driverClassName", "org.sqlite.JDBC");
+		config.setProperty("sqltool.datasource.url", URL_PREFIX + createDatabase().getAbsolutePath());
+		return SqltoolFactory.createDao(config);
+	}
+
+	private static File createDatabase() {
+		try {
+			File file = File.createTempFile("sqltool", ".db");
+			file.deleteOnExit();
+			execute(createDataSource(file),
+					"CREATE TABLE STAFF_INFO (STAFF_ID VARCHAR(20) PRIMARY KEY, STAFF_NAME VARCHAR(30), POSITION VARCHAR(30))");
+			return file;
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static DataSource createDataSource(File file) {
+		SQLiteDataSource dataSource = new SQLiteDataSource();
+		dataSource.setUrl(URL_PREFIX + file.getAbsolutePath());
+		return dataSource;
+	}
+
+	public static void execute(DataSource dataSource, String... sqls) {
+		try (Connection con = dataSource.getConnection(); Statement st = con.createStatement()) {
+			for (int i = 0; i < sqls.length; i++) {
+				st.execute(sqls[i]);
+			}
+		} catch (SQLException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	public static long count(DataSource dataSource, String sql) {
+		try (Connection con = dataSource.getConnection();
+				Statement st = con.createStatement();
+				ResultSet rs = st.executeQuery(sql)) {
+			rs.next();
+			return rs.getLong(1);
+		} catch (SQLException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
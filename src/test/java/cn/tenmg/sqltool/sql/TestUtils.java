@@ -6,10 +6,14 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Assertions;
 
 import cn.tenmg.sqltool.Dao;
+import cn.tenmg.sqltool.data.BatchResult;
+import cn.tenmg.sqltool.data.KeysetPage;
 import cn.tenmg.sqltool.data.Page;
 
 public abstract class TestUtils {
@@ -51,8 +55,16 @@ public abstract class TestUtils {
 		get(dao);
 		// 测试多条记录查询
 		select(dao);
+		// 测试流式查询
+		stream(dao);
 		// 测试分页查询
 		page(dao);
+		// 测试不计数分页查询
+		pageWithoutCount(dao);
+		// 测试窗口函数分页查询
+		pageWithWindowCount(dao);
+		// 测试键集分页查询
+		seek(dao);
 		// 测试执行语句
 		execute(dao);
 		// 测试执行更新语句
@@ -160,6 +172,24 @@ public abstract class TestUtils {
 		staffInfos.add(staffInfo);
 		dao.insertBatch(staffInfos);
 		Assertions.assertEquals(defaultBatchSize + 1, dao.get(Long.class, "get_total_staff_count").intValue());
+
+		// 使用迭代器逐批插入
+		dao.execute("DELETE FROM STAFF_INFO"); // 清空表
+		Assertions.assertEquals(defaultBatchSize + 1, dao.insertBatch(staffInfos.iterator(), defaultBatchSize));
+		Assertions.assertEquals(defaultBatchSize + 1, dao.get(Long.class, "get_total_staff_count").intValue());
+
+		// 未启用自适应批容量时使用默认批容量
+		Assertions.assertEquals(defaultBatchSize, dao.getBatchSize(StaffInfo.class));
+
+		// 检查点批量插入，主键重复的行被隔离，其余的行照常提交
+		dao.execute("DELETE FROM STAFF_INFO"); // 清空表
+		staffInfos.add(staffInfos.get(0));
+		BatchResult<StaffInfo> result = dao.checkpointInsertBatch(staffInfos, 0, defaultBatchSize);
+		Assertions.assertEquals(staffInfos.size(), result.getOffset());
+		Assertions.assertEquals(1, result.getLastCommittedChunk());
+		Assertions.assertEquals(1, result.getFailures().size());
+		Assertions.assertEquals(staffInfos.size() - 1, result.getFailures().get(0).getIndex());
+		Assertions.assertEquals(defaultBatchSize + 1, dao.get(Long.class, "get_total_staff_count").intValue());
 	}
 
 	private static void update(Dao dao) {
@@ -718,6 +748,189 @@ public abstract class TestUtils {
 		Assertions.assertLinesMatch(staffIds, selectedStaffIds);
 	}
 
+	private static void stream(Dao dao) {
+		dao.execute("DELETE FROM STAFF_INFO"); // 清空表
+		// 初始化数据
+		StaffInfo sharry = new StaffInfo("000001"), june = new StaffInfo("000002");
+		sharry.setStaffName("Sharry");
+		june.setStaffName("June");
+		dao.save(Arrays.asList(sharry, june));
+
+		/**
+		 * 逐行处理查询结果
+		 * 
+		 * Handle query results row by row
+		 */
+		List<String> staffNames = new ArrayList<String>();
+		long count = dao.forEach(StaffInfo.class, "find_staff_info_by_staff_ids",
+				staffInfo -> staffNames.add(staffInfo.getStaffName()), "staffIds",
+				new String[] { "000001", "000002" });
+		Assertions.assertEquals(2L, count);
+		Assertions.assertLinesMatch(Arrays.asList("Sharry", "June"), staffNames);
+
+		/**
+		 * 使用流查询结果
+		 * 
+		 * Query results as a stream
+		 */
+		try (Stream<StaffInfo> stream = dao.stream(StaffInfo.class, "find_staff_info_by_staff_ids", "staffIds",
+				new String[] { "000001", "000002" })) {
+			Assertions.assertLinesMatch(Arrays.asList("Sharry", "June"),
+					stream.map(StaffInfo::getStaffName).collect(Collectors.toList()));
+		}
+	}
+
+	private static void seek(Dao dao) {
+		dao.execute("DELETE FROM STAFF_INFO"); // 清空表
+
+		// 初始化数据
+		List<StaffInfo> staffInfos = new ArrayList<StaffInfo>();
+		StaffInfo staffInfo;
+		for (int i = 1; i <= 25; i++) {
+			staffInfo = new StaffInfo(df.format(i));
+			staffInfo.setStaffName("" + i);
+			staffInfo.setPosition(position);
+			staffInfos.add(staffInfo);
+		}
+		dao.save(staffInfos);
+
+		/**
+		 * 按游标逐页查询，直至最后一页
+		 * 
+		 * Seek page by page with the cursor until the last page
+		 */
+		String[] orderKeys = { "STAFF_ID" };
+		List<String> staffIds = new ArrayList<String>();
+		String lastKey = null;
+		int pages = 0;
+		do {
+			KeysetPage<StaffInfo> page = dao.seek(StaffInfo.class,
+					"SELECT * FROM STAFF_INFO WHERE POSITION = :position", orderKeys, lastKey, 10, "position", position);
+			Assertions.assertTrue(page.getRows().size() <= 10);
+			for (StaffInfo row : page.getRows()) {
+				staffIds.add(row.getStaffId());
+			}
+			lastKey = page.getNextKey();
+			pages++;
+		} while (lastKey != null);
+		Assertions.assertEquals(3, pages);
+		Assertions.assertEquals(25, staffIds.size());
+		for (int i = 0; i < staffIds.size(); i++) {
+			Assertions.assertEquals(df.format(i + 1), staffIds.get(i));
+		}
+
+		/**
+		 * 降序
+		 * 
+		 * Descending order
+		 */
+		KeysetPage<StaffInfo> page = dao.seek(StaffInfo.class, "SELECT * FROM STAFF_INFO",
+				new String[] { "STAFF_ID DESC" }, null, 10);
+		Assertions.assertEquals(df.format(25), page.getRows().get(0).getStaffId());
+		page = dao.seek(StaffInfo.class, "SELECT * FROM STAFF_INFO", new String[] { "STAFF_ID DESC" },
+				page.getNextKey(), 10);
+		Assertions.assertEquals(df.format(15), page.getRows().get(0).getStaffId());
+	}
+
+	private static void pageWithoutCount(Dao dao) {
+		dao.execute("DELETE FROM STAFF_INFO"); // 清空表
+
+		// 初始化数据
+		List<StaffInfo> staffInfos = new ArrayList<StaffInfo>();
+		StaffInfo staffInfo;
+		for (int i = 1; i <= 25; i++) {
+			staffInfo = new StaffInfo(df.format(i));
+			staffInfo.setStaffName("" + i);
+			staffInfo.setPosition(position);
+			staffInfos.add(staffInfo);
+		}
+		dao.save(staffInfos);
+
+		/**
+		 * 逐页查询，直至不存在下一页
+		 * 
+		 * Query page by page until there is no next page
+		 */
+		String dsql = "SELECT * FROM STAFF_INFO WHERE POSITION = :position ORDER BY STAFF_ID";
+		for (long currentPage = 1; currentPage <= 3; currentPage++) {
+			Page<StaffInfo> page = dao.pageWithoutCount(StaffInfo.class, dsql, currentPage, 10, "position",
+					position);
+			Assertions.assertTrue(page.isTotalUnknown());
+			Assertions.assertNull(page.getTotal());
+			Assertions.assertNull(page.getTotalPage());
+			Assertions.assertEquals(currentPage < 3, page.isHasNext());
+			Assertions.assertEquals(currentPage < 3 ? 10 : 5, page.getRows().size());
+			Assertions.assertEquals(df.format((currentPage - 1) * 10 + 1), page.getRows().get(0).getStaffId());
+		}
+
+		/**
+		 * 使用分页宏
+		 * 
+		 * Use the paging macro
+		 */
+		Map<String, Object> params = new HashMap<String, Object>();
+		params.put("staffName", "1");
+		Page<StaffInfo> page = dao.pageWithoutCount(StaffInfo.class, "page_staff_info_staff_name_like", 1, 10,
+				params);
+		Assertions.assertTrue(page.isHasNext());
+		Assertions.assertEquals(10, page.getRows().size());
+		page = dao.pageWithoutCount(StaffInfo.class, "page_staff_info_staff_name_like", 2, 10, params);
+		Assertions.assertFalse(page.isHasNext());
+		Assertions.assertEquals(2, page.getRows().size());// 1、10～19、21
+	}
+
+	private static void pageWithWindowCount(Dao dao) {
+		dao.execute("DELETE FROM STAFF_INFO"); // 清空表
+
+		// 初始化数据
+		List<StaffInfo> staffInfos = new ArrayList<StaffInfo>();
+		StaffInfo staffInfo;
+		for (int i = 1; i <= 25; i++) {
+			staffInfo = new StaffInfo(df.format(i));
+			staffInfo.setStaffName("" + i);
+			staffInfo.setPosition(position);
+			staffInfos.add(staffInfo);
+		}
+		dao.save(staffInfos);
+
+		String dsql = "SELECT * FROM STAFF_INFO WHERE POSITION = :position ORDER BY STAFF_ID";
+		Page<StaffInfo> page = dao.pageWithWindowCount(StaffInfo.class, dsql, 1, 10, "position", position);
+		Assertions.assertEquals(25, page.getTotal().intValue());
+		Assertions.assertEquals(3, page.getTotalPage().intValue());
+		Assertions.assertTrue(page.isHasNext());
+		Assertions.assertEquals(10, page.getRows().size());
+		Assertions.assertEquals(df.format(1), page.getRows().get(0).getStaffId());
+
+		page = dao.pageWithWindowCount(StaffInfo.class, dsql, 3, 10, "position", position);
+		Assertions.assertEquals(25, page.getTotal().intValue());
+		Assertions.assertFalse(page.isHasNext());
+		Assertions.assertEquals(5, page.getRows().size());
+
+		/**
+		 * 当前页没有记录时回退为执行计数查询
+		 * 
+		 * Fall back to the count query when the current page is empty
+		 */
+		page = dao.pageWithWindowCount(StaffInfo.class, dsql, 4, 10, "position", position);
+		Assertions.assertEquals(25, page.getTotal().intValue());
+		Assertions.assertTrue(page.getRows() == null || page.getRows().isEmpty());
+
+		page = dao.pageWithWindowCount(StaffInfo.class, dsql, 1, 10, "position", "Nobody");
+		Assertions.assertEquals(0, page.getTotal().intValue());
+		Assertions.assertEquals(0, page.getTotalPage().intValue());
+
+		/**
+		 * 使用分页宏
+		 * 
+		 * Use the paging macro
+		 */
+		Map<String, Object> params = new HashMap<String, Object>();
+		params.put("staffName", "1");
+		page = dao.pageWithWindowCount(StaffInfo.class, "page_staff_info_staff_name_like", 1, 10, params);
+		Assertions.assertEquals(12, page.getTotal().intValue());// 1、10～19、21
+		Assertions.assertEquals(10, page.getRows().size());
+	}
+
 	private static void page(Dao dao) {
 		dao.execute("DELETE FROM STAFF_INFO"); // 清空表
 
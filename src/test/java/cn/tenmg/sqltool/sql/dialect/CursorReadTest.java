@@ -0,0 +1,66 @@
+package cn.tenmg.sqltool.sql.dialect;
+
+import java.lang.reflect.Proxy;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 游标读取配置测试
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public class CursorReadTest {
+
+	@Test
+	public void mysqlStreamsOnlyOnExclusiveConnection() throws SQLException {
+		List<String> calls = new ArrayList<String>();
+		MySQLDialect.getInstance().configureCursorRead(recorder(calls), 1000, true);
+		MySQLDialect.getInstance().configureCursorRead(recorder(calls), 1000, false);
+		Assertions.assertEquals(Arrays.asList("setFetchSize(" + Integer.MIN_VALUE + ")", "setFetchSize(1000)"), calls);
+	}
+
+	@Test
+	public void defaultSetsFetchSize() throws SQLException {
+		List<String> calls = new ArrayList<String>();
+		PostgreSQLDialect.getInstance().configureCursorRead(recorder(calls), 500, true);
+		OracleDialect.getInstance().configureCursorRead(recorder(calls), 500, false);
+		Assertions.assertEquals(Arrays.asList("setFetchSize(500)", "setFetchSize(500)"), calls);
+	}
+
+	@Test
+	public void sqliteKeepsFetchSize() throws SQLException {
+		List<String> calls = new ArrayList<String>();
+		SQLiteDialect.getInstance().configureCursorRead(recorder(calls), 500, true);
+		Assertions.assertTrue(calls.isEmpty());// 驱动程序逐行读取，不设置抓取大小
+	}
+
+	@Test
+	public void sqlServerWithoutDriverSetsFetchSize() throws SQLException {
+		List<String> calls = new ArrayList<String>();
+		SQLServerDialect.getInstance().configureCursorRead(recorder(calls), 500, false);
+		Assertions.assertEquals(Arrays.asList("setFetchSize(500)"), calls);// 未加载SQLServer驱动，无法设置响应缓冲方式
+	}
+
+	/**
+	 * 只允许设置抓取大小，读取连接元数据等其他调用均视为失败
+	 */
+	private static Statement recorder(List<String> calls) {
+		return (Statement) Proxy.newProxyInstance(CursorReadTest.class.getClassLoader(),
+				new Class<?>[] { Statement.class }, (proxy, method, args) -> {
+					if ("setFetchSize".equals(method.getName())) {
+						calls.add("setFetchSize(" + args[0] + ")");
+						return null;
+					}
+					throw new SQLException("Unexpected call: " + method.getName());
+				});
+	}
+
+}
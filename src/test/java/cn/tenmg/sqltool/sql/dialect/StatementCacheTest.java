@@ -0,0 +1,69 @@
+package cn.tenmg.sqltool.sql.dialect;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import cn.tenmg.sqltool.sql.MergeSQL;
+import cn.tenmg.sqltool.sql.StaffInfo;
+import cn.tenmg.sqltool.sql.UpdateSQL;
+import cn.tenmg.sqltool.sql.parser.InsertDMLParser;
+
+/**
+ * 更新、保存操作对象缓存测试
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public class StatementCacheTest {
+
+	@Test
+	public void returnCopiesOfCachedUpdateSQL() {
+		InsertDMLParser.getInstance().parse(StaffInfo.class);// 缓存实体类元数据
+		MySQLDialect dialect = MySQLDialect.getInstance();
+		UpdateSQL first = dialect.update(StaffInfo.class);
+		String script = first.getScript();
+		int fields = first.getFields().size();
+		first.setScript("UPDATE NOTHING");
+		first.getFields().clear();
+		UpdateSQL second = dialect.update(StaffInfo.class);
+		Assertions.assertNotSame(first, second);
+		Assertions.assertEquals(script, second.getScript());
+		Assertions.assertEquals(fields, second.getFields().size());
+	}
+
+	@Test
+	public void returnCopiesOfCachedMergeSQL() {
+		InsertDMLParser.getInstance().parse(StaffInfo.class);
+		PostgreSQLDialect dialect = PostgreSQLDialect.getInstance();
+		MergeSQL first = dialect.save(StaffInfo.class);
+		String script = first.getScript();
+		first.setScript("INSERT NOTHING");
+		first.getFieldMetas().clear();
+		MergeSQL second = dialect.save(StaffInfo.class);
+		Assertions.assertEquals(script, second.getScript());
+		Assertions.assertEquals(3, second.getFieldMetas().size());
+		Assertions.assertNotEquals(script, dialect.hardSave(StaffInfo.class).getScript());
+	}
+
+	@Test
+	public void normalizeHardFields() {
+		InsertDMLParser.getInstance().parse(StaffInfo.class);
+		MySQLDialect dialect = MySQLDialect.getInstance();
+		Assertions.assertEquals(dialect.update(StaffInfo.class, "staffName", "position").getScript(),
+				dialect.update(StaffInfo.class, "position", "staffName", "position").getScript());
+		Assertions.assertNotEquals(dialect.update(StaffInfo.class).getScript(),
+				dialect.update(StaffInfo.class, "staffName").getScript());
+	}
+
+	@Test
+	public void keepMutableBeans() {
+		UpdateSQL updateSQL = new UpdateSQL();
+		updateSQL.setScript("UPDATE T SET A = ?");
+		Assertions.assertEquals("UPDATE T SET A = ?", updateSQL.getScript());
+		MergeSQL mergeSql = new MergeSQL();
+		mergeSql.setScript("MERGE INTO T");
+		Assertions.assertEquals("MERGE INTO T", mergeSql.getScript());
+	}
+
+}
@@ -0,0 +1,105 @@
+package cn.tenmg.sqltool.sql.executer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 行映射器编译及缓存测试
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public class ReadOnlySQLExecuterTest {
+
+	@Test
+	public void mapRows() throws SQLException {
+		try (Connection con = DriverManager.getConnection("jdbc:sqlite::memory:");
+				Statement st = con.createStatement()) {
+			st.execute("CREATE TABLE row_entity (id VARCHAR(10), age INT, nick_name VARCHAR(20))");
+			st.execute("INSERT INTO row_entity VALUES ('1', 18, 'a'), ('2', NULL, 'b')");
+			try (ResultSet rs = st.executeQuery("SELECT id, age, nick_name FROM row_entity ORDER BY id")) {
+				RowMapper<RowEntity> rowMapper = ReadOnlySQLExecuter.getRowMapper(rs, RowEntity.class);
+				Assertions.assertTrue(rs.next());
+				RowEntity row = rowMapper.mapRow(rs);
+				Assertions.assertEquals("1", row.id);
+				Assertions.assertEquals(18, row.age);
+				Assertions.assertEquals("a", row.getNickName());
+				Assertions.assertTrue(rs.next());
+				row = rowMapper.mapRow(rs);
+				Assertions.assertEquals(0, row.age);// 基本类型保留默认值
+				Assertions.assertSame(rowMapper, ReadOnlySQLExecuter.getRowMapper(rs, RowEntity.class));
+			}
+		}
+	}
+
+	@Test
+	public void rowMappersBounded() throws SQLException {
+		try (Connection con = DriverManager.getConnection("jdbc:sqlite::memory:");
+				Statement st = con.createStatement()) {
+			for (int i = 0; i < 100; i++) {
+				try (ResultSet rs = st.executeQuery("SELECT 1 AS c" + i)) {
+					ReadOnlySQLExecuter.getRowMapper(rs, BoundedEntity.class);
+				}
+			}
+			Map<String, RowMapper<?>> rowMappers = ReadOnlySQLExecuter.getRowMappers(BoundedEntity.class);
+			Assertions.assertEquals(64, rowMappers.size());
+			Assertions.assertTrue(rowMappers.containsKey("c0"));
+			Assertions.assertFalse(rowMappers.containsKey("c99"));// 达到上限后不再缓存
+			try (ResultSet rs = st.executeQuery("SELECT 1 AS c99")) {
+				Assertions.assertNotNull(ReadOnlySQLExecuter.getRowMapper(rs, BoundedEntity.class));
+			}
+		}
+	}
+
+	@Test
+	public void mapList() throws SQLException {
+		try (Connection con = DriverManager.getConnection("jdbc:sqlite::memory:");
+				Statement st = con.createStatement();
+				ResultSet rs = st.executeQuery("SELECT 1 AS a, 'x' AS b")) {
+			@SuppressWarnings("rawtypes")
+			RowMapper<java.util.ArrayList> rowMapper = ReadOnlySQLExecuter.getRowMapper(rs, java.util.ArrayList.class);
+			Assertions.assertTrue(rs.next());
+			List<?> row = rowMapper.mapRow(rs);
+			Assertions.assertEquals(2, row.size());
+			Assertions.assertEquals("x", row.get(1));
+		}
+	}
+
+	public static class RowEntity {
+
+		private String id;
+
+		private int age;
+
+		private String nick;
+
+		public String getNickName() {
+			return nick;
+		}
+
+		public void setNickName(String nickName) {
+			this.nick = nickName;
+		}
+
+	}
+
+	public static class BoundedEntity {
+
+		private Integer value;
+
+		public Integer getValue() {
+			return value;
+		}
+
+	}
+
+}
@@ -0,0 +1,92 @@
+package cn.tenmg.sqltool.sql.meta;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import cn.tenmg.sqltool.sql.utils.FieldAccessorUtils;
+
+/**
+ * 属性访问器类型化参数绑定测试
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public class FieldAccessorTest {
+
+	@Test
+	public void bindTyped() throws Exception {
+		List<String> calls = new ArrayList<String>();
+		PreparedStatement ps = recorder(calls);
+		Entity entity = new Entity();
+		entity.count = 3;
+		entity.total = 5L;
+		entity.name = "a";
+		entity.amount = new BigDecimal("1.5");
+		entity.createTime = new Timestamp(0);
+		entity.localTime = LocalDateTime.of(2020, 1, 1, 0, 0);
+		bind(ps, entity, "count", "total", "name", "amount", "createTime", "localTime");
+		Assertions.assertEquals(Arrays.asList("setInt(1, 3)", "setLong(2, 5)", "setString(3, a)",
+				"setBigDecimal(4, 1.5)", "setTimestamp(5, " + entity.createTime + ")",
+				"setObject(6, 2020-01-01T00:00)"), calls);
+	}
+
+	@Test
+	public void bindNullTyped() throws Exception {
+		List<String> calls = new ArrayList<String>();
+		PreparedStatement ps = recorder(calls);
+		bind(ps, new Entity(), "total", "name", "amount", "createTime", "localTime", "other", "enabled");
+		Assertions.assertEquals(Arrays.asList("setNull(1, " + Types.BIGINT + ")", "setNull(2, " + Types.VARCHAR + ")",
+				"setNull(3, " + Types.NUMERIC + ")", "setNull(4, " + Types.TIMESTAMP + ")",
+				"setNull(5, " + Types.TIMESTAMP + ")", "setObject(6, null)", "setNull(7, " + Types.BIT + ")"), calls);
+	}
+
+	private static void bind(PreparedStatement ps, Entity entity, String... fieldNames) throws Exception {
+		for (int i = 0; i < fieldNames.length; i++) {
+			FieldAccessorUtils.getAccessor(Entity.class.getDeclaredField(fieldNames[i])).bind(ps, i + 1, entity);
+		}
+	}
+
+	private static PreparedStatement recorder(List<String> calls) {
+		return (PreparedStatement) Proxy.newProxyInstance(FieldAccessorTest.class.getClassLoader(),
+				new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> {
+					if (method.getName().startsWith("set")) {
+						calls.add(method.getName() + "(" + args[0] + ", " + args[1] + ")");
+						return null;
+					}
+					throw new SQLException("Unsupported: " + method.getName());
+				});
+	}
+
+	public static class Entity {
+
+		private int count;
+
+		private Long total;
+
+		private String name;
+
+		private BigDecimal amount;
+
+		private Timestamp createTime;
+
+		private LocalDateTime localTime;
+
+		private Object other;
+
+		private Boolean enabled;
+
+	}
+
+}
@@ -0,0 +1,30 @@
+package cn.tenmg.sqltool.sql.parser;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import cn.tenmg.sqltool.sql.DML;
+import cn.tenmg.sqltool.sql.StaffInfo;
+
+/**
+ * 插入数据操纵语言解析器测试
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public class InsertDMLParserTest {
+
+	@Test
+	public void multiRowSql() {
+		InsertDMLParser parser = InsertDMLParser.getInstance();
+		DML dml = parser.parse(StaffInfo.class);
+		Assertions.assertEquals("INSERT INTO STAFF_INFO(STAFF_ID, STAFF_NAME, POSITION) VALUES (?, ?, ?)", dml.getSql());
+		Assertions.assertEquals(dml.getSql(), parser.getMultiRowSql(dml, 1));
+		Assertions.assertEquals(
+				"INSERT INTO STAFF_INFO(STAFF_ID, STAFF_NAME, POSITION) VALUES (?, ?, ?), (?, ?, ?), (?, ?, ?)",
+				parser.getMultiRowSql(dml, 3));
+		Assertions.assertSame(parser.getMultiRowSql(dml, 3), parser.getMultiRowSql(dml, 3));
+	}
+
+}
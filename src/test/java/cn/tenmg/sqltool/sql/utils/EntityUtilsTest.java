@@ -0,0 +1,80 @@
+package cn.tenmg.sqltool.sql.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import cn.tenmg.sqltool.config.annotion.Column;
+import cn.tenmg.sqltool.config.annotion.Id;
+import cn.tenmg.sqltool.sql.DML;
+import cn.tenmg.sqltool.sql.meta.EntityMeta;
+import cn.tenmg.sqltool.sql.parser.InsertDMLParser;
+
+/**
+ * 实体类元数据及数据操纵语言缓存测试
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public class EntityUtilsTest {
+
+	@Test
+	public void parseOnceUnderContention() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Callable<DML>> tasks = new ArrayList<Callable<DML>>();
+			for (int i = 0; i < 32; i++) {
+				tasks.add(() -> InsertDMLParser.getInstance().parse(ContendedEntity.class));
+			}
+			List<Future<DML>> futures = executor.invokeAll(tasks);
+			DML dml = futures.get(0).get();
+			for (int i = 1; i < futures.size(); i++) {
+				Assertions.assertSame(dml, futures.get(i).get());
+			}
+			Assertions.assertEquals("INSERT INTO CONTENDED_ENTITY(ID, NAME) VALUES (?, ?)", dml.getSql());
+		} finally {
+			executor.shutdown();
+		}
+		EntityMeta entityMeta = EntityUtils.getCachedEntityMeta(ContendedEntity.class);
+		Assertions.assertEquals("CONTENDED_ENTITY", entityMeta.getTableName());
+		Assertions.assertEquals(2, entityMeta.getFieldMetas().size());
+	}
+
+	@Test
+	public void cacheEntityMetaPerClass() {
+		Assertions.assertNull(EntityUtils.getCachedEntityMeta(UncachedEntity.class));
+		EntityMeta entityMeta = new EntityMeta("UNCACHED", new ArrayList<>());
+		EntityUtils.cacheEntityMeta(UncachedEntity.class, entityMeta);
+		Assertions.assertSame(entityMeta, EntityUtils.getCachedEntityMeta(UncachedEntity.class));
+		Assertions.assertNull(EntityUtils.getCachedEntityMeta(ContendedEntity.Sub.class));
+	}
+
+	public static class ContendedEntity {
+
+		@Id
+		@Column
+		private String id;
+
+		@Column
+		private String name;
+
+		public static class Sub extends ContendedEntity {
+		}
+
+	}
+
+	public static class UncachedEntity {
+
+		@Column
+		private String id;
+
+	}
+
+}
@@ -0,0 +1,74 @@
+package cn.tenmg.sqltool.sql.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import cn.tenmg.sqltool.exception.DataAccessException;
+import cn.tenmg.sqltool.sql.meta.FieldAccessor;
+
+/**
+ * 属性访问器测试
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public class FieldAccessorUtilsTest {
+
+	@Test
+	public void accessFieldNotProperty() throws Exception {
+		FieldAccessor accessor = FieldAccessorUtils.getAccessor(Entity.class.getDeclaredField("name"));
+		Entity entity = new Entity();
+		accessor.set(entity, "a");
+		Assertions.assertEquals("a", entity.name);// 不经过setter方法
+		Assertions.assertEquals("a", accessor.get(entity));// 不经过getter方法
+	}
+
+	@Test
+	public void accessPrimitiveField() throws Exception {
+		FieldAccessor accessor = FieldAccessorUtils.getAccessor(Entity.class.getDeclaredField("age"));
+		Entity entity = new Entity();
+		accessor.set(entity, 18);
+		Assertions.assertEquals(18, entity.age);
+		Assertions.assertEquals(18, accessor.get(entity));
+		Assertions.assertThrows(DataAccessException.class, () -> accessor.set(entity, "18"));
+	}
+
+	@Test
+	public void accessInheritedField() throws Exception {
+		FieldAccessor accessor = FieldAccessorUtils.getAccessor(Entity.class.getDeclaredField("name"));
+		SubEntity entity = new SubEntity();
+		accessor.set(entity, "b");
+		Assertions.assertEquals("b", accessor.get(entity));
+		Assertions.assertSame(accessor, FieldAccessorUtils.getAccessor(Entity.class.getDeclaredField("name")));
+	}
+
+	public static class Entity {
+
+		private String name;
+
+		private int age;
+
+		public String getName() {
+			return "getter:" + name;
+		}
+
+		public void setName(String name) {
+			this.name = "setter:" + name;
+		}
+
+		public int getAge() {
+			return age + 1;
+		}
+
+		public void setAge(int age) {
+			this.age = age + 1;
+		}
+
+	}
+
+	public static class SubEntity extends Entity {
+
+	}
+
+}
@@ -0,0 +1,61 @@
+package cn.tenmg.sqltool.sql.utils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import cn.tenmg.sqltool.exception.ConvertException;
+
+/**
+ * 键集分页游标编码测试
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public class KeysetUtilsTest {
+
+	@Test
+	public void roundTrip() {
+		Object[] values = { "a.b", 1, 2L, new BigDecimal("1.50"), new BigInteger("12345678901234567890"), 1.5D,
+				true, Timestamp.valueOf("2020-01-01 12:00:00.123"), java.sql.Date.valueOf("2020-01-01"),
+				Time.valueOf("12:00:00"), LocalDateTime.of(2020, 1, 1, 12, 0), LocalDate.of(2020, 1, 1) };
+		Assertions.assertArrayEquals(values, KeysetUtils.decode(KeysetUtils.encode(values)));
+	}
+
+	@Test
+	public void rejectNull() {
+		Assertions.assertThrows(ConvertException.class, () -> KeysetUtils.encode("a", null));
+		Assertions.assertThrows(ConvertException.class, () -> KeysetUtils.decode("SYQ.N"));// 不再接受含null的游标
+	}
+
+	@Test
+	public void rejectUnsupportedType() {
+		Assertions.assertThrows(ConvertException.class, () -> KeysetUtils.encode(UUID.randomUUID()));
+		Assertions.assertThrows(ConvertException.class, () -> KeysetUtils.encode(OffsetDateTime.now()));
+	}
+
+	@Test
+	public void rejectInvalidToken() {
+		Assertions.assertThrows(ConvertException.class, () -> KeysetUtils.decode("IYQ"));// 不是整数
+		Assertions.assertThrows(ConvertException.class, () -> KeysetUtils.decode("S.."));
+		Assertions.assertThrows(ConvertException.class, () -> KeysetUtils.decode("XYQ"));
+	}
+
+	@Test
+	public void orderKey() {
+		Assertions.assertEquals("CREATE_TIME", KeysetUtils.getColumn(" CREATE_TIME desc "));
+		Assertions.assertTrue(KeysetUtils.isDescending("CREATE_TIME DESC"));
+		Assertions.assertFalse(KeysetUtils.isDescending("CREATE_TIME ASC"));
+		Assertions.assertEquals("STAFF_ID", KeysetUtils.getColumn("STAFF_ID"));
+	}
+
+}
@@ -0,0 +1,175 @@
+package cn.tenmg.sqltool.sql.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import cn.tenmg.sqltool.exception.IllegalCallException;
+import cn.tenmg.sqltool.sql.JDBCSQL;
+
+/**
+ * {@code IN} 列表参数补齐及拆分测试
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public class ParamsUtilsTest {
+
+	private static final Pattern PARAM = Pattern.compile(":([\\w.]+)");
+
+	@Test
+	public void inListParamNames() {
+		Assertions.assertEquals(new HashSet<String>(Arrays.asList("ids", "codes")),
+				ParamsUtils.getInListParamNames("SELECT * FROM STAFF_INFO WHERE STAFF_ID IN (:ids) AND A = :a"
+						+ " AND B = 'x IN (:fake)' AND POSITION in( :codes ) AND C = ANY(:array)"));
+	}
+
+	@Test
+	public void padInListsOnly() {
+		Map<String, Object> params = new HashMap<String, Object>();
+		params.put("ids", Arrays.asList(1, 2, 3));
+		params.put("array", new Object[] { 1, 2, 3 });
+		Map<String, ?> padded = ParamsUtils.padInLists(params, new HashSet<String>(Arrays.asList("ids")));
+		Assertions.assertEquals(Arrays.asList(1, 2, 3, 3), padded.get("ids"));
+		Assertions.assertSame(params.get("array"), padded.get("array"));// 不构成IN列表的数组参数保持不变
+		Assertions.assertEquals(Arrays.asList(1, 2, 3), params.get("ids"));// 不修改原参数
+		Assertions.assertSame(params, ParamsUtils.padInLists(params, new HashSet<String>()));
+	}
+
+	@Test
+	public void splitInList() {
+		String script = "DELETE FROM STAFF_INFO WHERE STAFF_ID IN (:ids) AND POSITION = :position";
+		List<Object> ids = new ArrayList<Object>();
+		for (int i = 0; i < 10; i++) {
+			ids.add(i);
+		}
+		Map<String, Object> params = new HashMap<String, Object>();
+		params.put("ids", ids);
+		params.put("position", "p");
+		List<JDBCSQL> sqls = ParamsUtils.splitInList(compile(script, ParamsUtils.padInLists(params,
+				ParamsUtils.getInListParamNames(script))), script, params, 5, chunkParams -> compile(script, chunkParams));
+		// 补齐后共17个参数，超过上限5，每段4个元素，最后一段2个元素
+		Assertions.assertEquals(3, sqls.size());
+		Assertions.assertEquals(Arrays.asList(0, 1, 2, 3, "p"), sqls.get(0).getParams());
+		Assertions.assertEquals(Arrays.asList(4, 5, 6, 7, "p"), sqls.get(1).getParams());
+		Assertions.assertEquals(Arrays.asList(8, 9, "p"), sqls.get(2).getParams());
+		Assertions.assertEquals("DELETE FROM STAFF_INFO WHERE STAFF_ID IN (?, ?) AND POSITION = ?",
+				sqls.get(2).getSql());
+	}
+
+	@Test
+	public void splitLargestInListOnly() {
+		String script = "SELECT * FROM STAFF_INFO WHERE STAFF_ID IN (:ids) AND POSITION = ANY(:positions)";
+		Map<String, Object> params = new HashMap<String, Object>();
+		params.put("ids", Arrays.asList(1, 2));
+		params.put("positions", Arrays.asList("a", "b", "c", "d", "e", "f", "g", "h"));
+		JDBCSQL sql = compile(script, params);
+		List<JDBCSQL> sqls = ParamsUtils.splitInList(sql, script, params, 4, chunkParams -> compile(script, chunkParams));
+		Assertions.assertEquals(2, sqls.size());// 只拆分构成IN列表的参数
+		Assertions.assertEquals(Arrays.asList(1, "a", "b", "c", "d", "e", "f", "g", "h"), sqls.get(0).getParams());
+	}
+
+	@Test
+	public void keepNotInList() {
+		Map<String, Object> params = new HashMap<String, Object>();
+		params.put("ids", Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8));
+		String notIn = "DELETE FROM STAFF_INFO WHERE STAFF_ID NOT IN (:ids)";
+		JDBCSQL sql = compile(notIn, params);
+		// 每段只排除部分元素会删除几乎全部的行，因此不拆分
+		Assertions.assertEquals(Arrays.asList(sql),
+				ParamsUtils.splitInList(sql, notIn, params, 4, chunkParams -> compile(notIn, chunkParams)));
+		params.put("positions", Arrays.asList("a", "b", "c", "d", "e", "f", "g", "h"));
+		String mixed = "SELECT * FROM STAFF_INFO WHERE STAFF_ID IN (:ids) AND POSITION not  in (:positions)";
+		List<JDBCSQL> sqls = ParamsUtils.splitInList(compile(mixed, params), mixed, params, 12,
+				chunkParams -> compile(mixed, chunkParams));
+		Assertions.assertEquals(2, sqls.size());// 拆分IN列表，NOT IN列表在每段中完整保留
+		Assertions.assertEquals(Arrays.asList(1, 2, 3, 4, "a", "b", "c", "d", "e", "f", "g", "h"),
+				sqls.get(0).getParams());
+		Assertions.assertEquals(Arrays.asList(5, 6, 7, 8, "a", "b", "c", "d", "e", "f", "g", "h"),
+				sqls.get(1).getParams());
+	}
+
+	@Test
+	public void deduplicateBeforeSplit() {
+		String script = "SELECT * FROM STAFF_INFO WHERE STAFF_ID IN (:ids)";
+		Map<String, Object> params = new HashMap<String, Object>();
+		params.put("ids", Arrays.asList(1, 2, 1, 3, 2, 4, 5, 6, 5, 7, 8));
+		List<JDBCSQL> sqls = ParamsUtils.splitInList(compile(script, params), script, params, 4,
+				chunkParams -> compile(script, chunkParams));
+		Assertions.assertEquals(2, sqls.size());
+		Assertions.assertEquals(Arrays.asList(1, 2, 3, 4), sqls.get(0).getParams());
+		Assertions.assertEquals(Arrays.asList(5, 6, 7, 8), sqls.get(1).getParams());
+		params.put("ids", Arrays.asList(1, 2, 1, 2, 3, 3));
+		sqls = ParamsUtils.splitInList(compile(script, params), script, params, 4,
+				chunkParams -> compile(script, chunkParams));
+		Assertions.assertEquals(1, sqls.size());// 去除重复元素后未超过上限，无需拆分
+		Assertions.assertEquals(Arrays.asList(1, 2, 3, 3), sqls.get(0).getParams());
+	}
+
+	@Test
+	public void rejectUnsplittable() {
+		Map<String, Object> params = new HashMap<String, Object>();
+		params.put("ids", Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8));
+		for (String clause : Arrays.asList("SELECT * FROM STAFF_INFO WHERE STAFF_ID IN (:ids) ORDER BY STAFF_NAME",
+				"SELECT * FROM STAFF_INFO WHERE STAFF_ID IN (:ids) LIMIT 10",
+				"SELECT DISTINCT POSITION FROM STAFF_INFO WHERE STAFF_ID IN (:ids)",
+				"SELECT POSITION FROM STAFF_INFO WHERE STAFF_ID IN (:ids) GROUP BY POSITION",
+				"SELECT COUNT(*) FROM STAFF_INFO WHERE STAFF_ID IN (:ids)",
+				"SELECT max (STAFF_NAME) FROM STAFF_INFO WHERE STAFF_ID IN (:ids)")) {
+			Assertions.assertThrows(IllegalCallException.class, () -> ParamsUtils.splitInList(compile(clause, params),
+					clause, params, 4, chunkParams -> compile(clause, chunkParams)), clause);
+		}
+		String literal = "SELECT * FROM STAFF_INFO WHERE STAFF_ID IN (:ids) AND STAFF_NAME <> 'ORDER BY'";
+		Assertions.assertEquals(2, ParamsUtils.splitInList(compile(literal, params), literal, params, 4,
+				chunkParams -> compile(literal, chunkParams)).size());
+	}
+
+	@Test
+	public void noSplitWithinLimit() {
+		String script = "SELECT * FROM STAFF_INFO WHERE STAFF_ID IN (:ids) ORDER BY STAFF_NAME";
+		Map<String, Object> params = new HashMap<String, Object>();
+		params.put("ids", Arrays.asList(1, 2, 3));
+		JDBCSQL sql = compile(script, params);
+		Function<Map<String, ?>, JDBCSQL> compiler = chunkParams -> {
+			throw new AssertionError();
+		};
+		Assertions.assertEquals(Arrays.asList(sql), ParamsUtils.splitInList(sql, script, params, 3, compiler));
+	}
+
+	/**
+	 * 模拟将使用命名参数的脚本转换为JDBC SQL，集合参数展开为多个占位符
+	 */
+	private static JDBCSQL compile(String script, Map<String, ?> params) {
+		List<Object> values = new ArrayList<Object>();
+		StringBuffer sql = new StringBuffer();
+		Matcher matcher = PARAM.matcher(script);
+		while (matcher.find()) {
+			Object value = params.get(matcher.group(1));
+			StringBuilder placeholders = new StringBuilder();
+			if (value instanceof Collection) {
+				for (Object element : (Collection<?>) value) {
+					placeholders.append(placeholders.length() == 0 ? "?" : ", ?");
+					values.add(element);
+				}
+			} else {
+				placeholders.append("?");
+				values.add(value);
+			}
+			matcher.appendReplacement(sql, placeholders.toString());
+		}
+		matcher.appendTail(sql);
+		return new JDBCSQL(null, sql.toString(), values);
+	}
+
+}
@@ -0,0 +1,263 @@
+package cn.tenmg.sqltool.utils;
+
+import java.lang.reflect.Proxy;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import cn.tenmg.sqltool.Dao;
+import cn.tenmg.sqltool.data.BatchResult;
+import cn.tenmg.sqltool.exception.BatchCheckpointException;
+import cn.tenmg.sqltool.sql.DML;
+import cn.tenmg.sqltool.sql.SQLiteTestUtils;
+import cn.tenmg.sqltool.sql.StaffInfo;
+import cn.tenmg.sqltool.sql.parser.InsertDMLParser;
+
+/**
+ * 检查点批处理测试
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public class CheckpointBatchTest {
+
+	/**
+	 * 驱动程序在首个失败的语句处停止，更新计数只包含之前的语句
+	 */
+	private static final int STOP_AT_FIRST_FAILURE = 0;
+
+	/**
+	 * 驱动程序继续执行失败语句之后的语句，失败的语句以 {@code Statement.EXECUTE_FAILED} 标记
+	 */
+	private static final int CONTINUE_AFTER_FAILURE = 1;
+
+	/**
+	 * 驱动程序不提供更新计数
+	 */
+	private static final int NO_UPDATE_COUNTS = 2;
+
+	@Test
+	public void isolateFailingRows() {
+		Dao dao = SQLiteTestUtils.createDao(new Properties());
+		dao.insert(Arrays.asList(new StaffInfo("3"), new StaffInfo("17")));
+		BatchResult<StaffInfo> result = dao.checkpointInsertBatch(staffs(25), 0, 10);
+		Assertions.assertEquals(25, result.getOffset());
+		Assertions.assertEquals(2, result.getLastCommittedChunk());
+		Assertions.assertEquals(Arrays.asList(3, 17), indexes(result));
+		Assertions.assertEquals("17", result.getFailures().get(1).getRow().getStaffId());
+		Assertions.assertEquals(25,
+				SQLiteTestUtils.count(dao.getDefaultDataSource(), "SELECT COUNT(*) FROM STAFF_INFO"));
+	}
+
+	@Test
+	public void resumeFromOffset() {
+		Dao dao = SQLiteTestUtils.createDao(new Properties());
+		BatchResult<StaffInfo> result = dao.checkpointInsertBatch(staffs(25), 15, 10);
+		Assertions.assertEquals(25, result.getOffset());
+		Assertions.assertEquals(2, result.getLastCommittedChunk());
+		Assertions.assertTrue(result.getFailures().isEmpty());
+		Assertions.assertEquals(10,
+				SQLiteTestUtils.count(dao.getDefaultDataSource(), "SELECT COUNT(*) FROM STAFF_INFO"));
+		result = dao.checkpointInsertBatch(staffs(25), 25, 10);
+		Assertions.assertEquals(25, result.getOffset());
+		Assertions.assertEquals(2, result.getLastCommittedChunk());
+	}
+
+	@Test
+	public void isolateByDriverBehaviour() {
+		for (int mode = STOP_AT_FIRST_FAILURE; mode <= NO_UPDATE_COUNTS; mode++) {
+			FakeDatabase database = new FakeDatabase(mode, "2", "5", "6", "13");
+			BatchResult<StaffInfo> result = checkpointBatch(database, staffs(15), 0);
+			Assertions.assertEquals(Arrays.asList(2, 5, 6, 13), indexes(result), "mode " + mode);
+			Assertions.assertEquals(11, database.committed.size(), "mode " + mode);
+			Assertions.assertEquals(15, result.getOffset());
+			Assertions.assertEquals(1, result.getLastCommittedChunk());
+		}
+	}
+
+	@Test
+	public void interruptWithProgress() {
+		FakeDatabase database = new FakeDatabase(STOP_AT_FIRST_FAILURE);
+		database.brokenAfterCommits = 1;
+		BatchCheckpointException e = Assertions.assertThrows(BatchCheckpointException.class,
+				() -> checkpointBatch(database, staffs(25), 0));
+		Assertions.assertEquals(10, e.getResult().getOffset());
+		Assertions.assertEquals(0, e.getResult().getLastCommittedChunk());
+		Assertions.assertEquals(10, database.committed.size());
+	}
+
+	@Test
+	public void isolateBindFailures() {
+		FakeDatabase database = new FakeDatabase(STOP_AT_FIRST_FAILURE, "12");
+		database.unbindableIds.add("4");
+		BatchResult<StaffInfo> result = checkpointBatch(database, staffs(15), 0);
+		Assertions.assertEquals(Arrays.asList(4, 12), indexes(result));// 绑定失败的行与执行失败的行一样被隔离
+		Assertions.assertEquals("Conversion failed: 4", result.getFailures().get(0).getException().getMessage());
+		Assertions.assertEquals(13, database.committed.size());
+		Assertions.assertEquals(15, result.getOffset());
+	}
+
+	@Test
+	public void rollbackOnRuntimeException() {
+		FakeDatabase database = new FakeDatabase(STOP_AT_FIRST_FAILURE);
+		database.brokenIds.add("13");
+		BatchCheckpointException e = Assertions.assertThrows(BatchCheckpointException.class,
+				() -> checkpointBatch(database, staffs(25), 0));
+		Assertions.assertTrue(e.getCause() instanceof IllegalStateException);
+		Assertions.assertEquals(10, e.getResult().getOffset());
+		Assertions.assertEquals(1, database.rollbacks);// 当前批已添加的行随回滚丢弃
+		Assertions.assertEquals(10, database.committed.size());
+	}
+
+	private static BatchResult<StaffInfo> checkpointBatch(FakeDatabase database, List<StaffInfo> rows, int offset) {
+		DML dml = InsertDMLParser.getInstance().parse(StaffInfo.class);
+		return JDBCExecuteUtils.checkpointBatch(database.dataSource(), dml.getSql(), rows, dml.getFields(), offset, 10,
+				false);
+	}
+
+	private static List<StaffInfo> staffs(int count) {
+		List<StaffInfo> rows = new ArrayList<StaffInfo>();
+		for (int i = 0; i < count; i++) {
+			rows.add(new StaffInfo(String.valueOf(i)));
+		}
+		return rows;
+	}
+
+	private static List<Integer> indexes(BatchResult<?> result) {
+		List<Integer> indexes = new ArrayList<Integer>();
+		for (BatchResult.Failure<?> failure : result.getFailures()) {
+			indexes.add(failure.getIndex());
+		}
+		return indexes;
+	}
+
+	/**
+	 * 模拟不同驱动程序批处理失败行为的数据库。主键为指定值的行插入失败
+	 */
+	private static class FakeDatabase {
+
+		private final int mode;
+
+		private final Set<String> failingIds;
+
+		private final List<String> batch = new ArrayList<String>(), pending = new ArrayList<String>(),
+				committed = new ArrayList<String>();
+
+		private final Set<String> unbindableIds = new HashSet<String>(), brokenIds = new HashSet<String>();
+
+		private int brokenAfterCommits = -1, rollbacks;
+
+		FakeDatabase(int mode, String... failingIds) {
+			this.mode = mode;
+			this.failingIds = new HashSet<String>(Arrays.asList(failingIds));
+		}
+
+		DataSource dataSource() {
+			return proxy(DataSource.class, (proxy, method, args) -> {
+				if ("getConnection".equals(method.getName())) {
+					return connection();
+				}
+				throw new UnsupportedOperationException(method.getName());
+			});
+		}
+
+		private Connection connection() {
+			return proxy(Connection.class, (proxy, method, args) -> {
+				switch (method.getName()) {
+				case "prepareStatement":
+					return statement();
+				case "commit":
+					if (brokenAfterCommits == 0) {
+						throw new SQLTransientConnectionException("Connection lost");
+					}
+					brokenAfterCommits--;
+					committed.addAll(pending);
+					pending.clear();
+					return null;
+				case "rollback":
+					rollbacks++;
+					pending.clear();
+					return null;
+				default:
+					return null;
+				}
+			});
+		}
+
+		private PreparedStatement statement() {
+			return proxy(PreparedStatement.class, (proxy, method, args) -> {
+				switch (method.getName()) {
+				case "setString":
+					if (unbindableIds.contains(args[1])) {
+						throw new SQLException("Conversion failed: " + args[1]);
+					} else if (brokenIds.contains(args[1])) {
+						throw new IllegalStateException("Accessor failed: " + args[1]);
+					}
+					if ((Integer) args[0] == 1) {
+						batch.add((String) args[1]);
+					}
+					return null;
+				case "clearBatch":
+					batch.clear();
+					return null;
+				case "executeBatch":
+					return executeBatch();
+				default:
+					return null;
+				}
+			});
+		}
+
+		private int[] executeBatch() throws SQLException {
+			List<Integer> counts = new ArrayList<Integer>();
+			boolean failed = false;
+			for (String id : batch) {
+				if (failingIds.contains(id)) {
+					if (mode == STOP_AT_FIRST_FAILURE) {
+						throw new BatchUpdateException(toArray(counts));
+					}
+					failed = true;
+					counts.add(Statement.EXECUTE_FAILED);
+				} else {
+					pending.add(id);
+					counts.add(1);
+				}
+			}
+			if (failed) {
+				throw new BatchUpdateException(mode == NO_UPDATE_COUNTS ? null : toArray(counts));
+			}
+			return toArray(counts);
+		}
+
+		private static int[] toArray(List<Integer> values) {
+			int[] array = new int[values.size()];
+			for (int i = 0; i < array.length; i++) {
+				array[i] = values.get(i);
+			}
+			return array;
+		}
+
+		@SuppressWarnings("unchecked")
+		private static <P> P proxy(Class<P> type, java.lang.reflect.InvocationHandler handler) {
+			return (P) Proxy.newProxyInstance(CheckpointBatchTest.class.getClassLoader(), new Class<?>[] { type },
+					handler);
+		}
+
+	}
+
+}
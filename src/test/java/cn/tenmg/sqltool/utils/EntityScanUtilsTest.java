@@ -0,0 +1,94 @@
+package cn.tenmg.sqltool.utils;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import cn.tenmg.sqltool.utils.scan.ScanEntity;
+import cn.tenmg.sqltool.utils.scan.TableEntity;
+import cn.tenmg.sqltool.utils.scan.sub.SubEntity;
+
+/**
+ * 实体类扫描测试
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public class EntityScanUtilsTest {
+
+	private static final String SCAN_PACKAGE = "cn.tenmg.sqltool.utils.scan";
+
+	@Test
+	public void scanDirectory() {
+		Assertions.assertEquals(Arrays.asList(ScanEntity.class.getName(), TableEntity.class.getName(),
+				SubEntity.class.getName()), names(EntityScanUtils.scan(" ," + SCAN_PACKAGE)));
+	}
+
+	@Test
+	public void scanJar() throws Exception {
+		File jar = File.createTempFile("sqltool-scan", ".jar");
+		jar.deleteOnExit();
+		String path = SCAN_PACKAGE.replace('.', '/');
+		File directory = new File(ScanEntity.class.getResource("/" + path).toURI());
+		try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+			addEntries(out, directory, path);
+		}
+		Thread thread = Thread.currentThread();
+		ClassLoader contextClassLoader = thread.getContextClassLoader();
+		try (URLClassLoader classLoader = new URLClassLoader(new URL[] { jar.toURI().toURL() }, null) {
+			@Override
+			protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+				if (name.startsWith(SCAN_PACKAGE)) {// 扫描的类从JAR包加载
+					return super.loadClass(name, resolve);
+				}
+				return contextClassLoader.loadClass(name);
+			}
+		}) {
+			thread.setContextClassLoader(classLoader);
+			List<Class<?>> types = EntityScanUtils.scan(SCAN_PACKAGE);
+			Assertions.assertEquals(Arrays.asList(ScanEntity.class.getName(), TableEntity.class.getName(),
+					SubEntity.class.getName()), names(types));
+			Assertions.assertSame(classLoader, types.get(0).getClassLoader());
+		} finally {
+			thread.setContextClassLoader(contextClassLoader);
+		}
+	}
+
+	private static void addEntries(JarOutputStream out, File directory, String path) throws IOException {
+		out.putNextEntry(new JarEntry(path + "/"));
+		out.closeEntry();
+		for (File file : directory.listFiles()) {
+			String name = path + "/" + file.getName();
+			if (file.isDirectory()) {
+				addEntries(out, file, name);
+			} else {
+				out.putNextEntry(new JarEntry(name));
+				out.write(Files.readAllBytes(file.toPath()));
+				out.closeEntry();
+			}
+		}
+	}
+
+	private static List<String> names(List<Class<?>> types) {
+		List<String> names = new ArrayList<String>();
+		for (Class<?> type : types) {
+			names.add(type.getName());
+		}
+		Collections.sort(names);
+		return names;
+	}
+
+}
@@ -0,0 +1,53 @@
+package cn.tenmg.sqltool.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import cn.tenmg.sqltool.sql.SQLiteTestUtils;
+import cn.tenmg.sqltool.sql.StaffInfo;
+import cn.tenmg.sqltool.sql.dialect.OracleDialect;
+import cn.tenmg.sqltool.sql.dialect.SQLiteDialect;
+
+/**
+ * 多行插入批处理测试
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public class InsertBatchTest {
+
+	@Test
+	public void multiRowInsert() {
+		DataSource dataSource = SQLiteTestUtils.createDataSource();
+		List<StaffInfo> rows = rows(1000);
+		// SQLite每条语句最多999个参数，即每条语句333行，批容量500时每批包含1条333行的语句和1条167行的语句
+		JDBCExecuteUtils.insertBatch(dataSource, SQLiteDialect.getInstance(), rows, 500, false);
+		Assertions.assertEquals(1000, SQLiteTestUtils.count(dataSource, "SELECT COUNT(*) FROM STAFF_INFO"));
+		Assertions.assertEquals(1, SQLiteTestUtils.count(dataSource,
+				"SELECT COUNT(*) FROM STAFF_INFO WHERE STAFF_ID = '999' AND STAFF_NAME = 'name999'"));
+	}
+
+	@Test
+	public void singleRowBatchFallback() {
+		DataSource dataSource = SQLiteTestUtils.createDataSource();
+		JDBCExecuteUtils.insertBatch(dataSource, OracleDialect.getInstance(), rows(7), 3, false);
+		Assertions.assertEquals(7, SQLiteTestUtils.count(dataSource, "SELECT COUNT(*) FROM STAFF_INFO"));
+	}
+
+	private static List<StaffInfo> rows(int size) {
+		List<StaffInfo> rows = new ArrayList<StaffInfo>(size);
+		for (int i = 0; i < size; i++) {
+			StaffInfo staffInfo = new StaffInfo(String.valueOf(i));
+			staffInfo.setStaffName("name" + i);
+			rows.add(staffInfo);
+		}
+		return rows;
+	}
+
+}
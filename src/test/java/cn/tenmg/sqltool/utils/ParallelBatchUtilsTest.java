@@ -0,0 +1,152 @@
+package cn.tenmg.sqltool.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import cn.tenmg.sqltool.Dao;
+import cn.tenmg.sqltool.sql.SQLiteTestUtils;
+import cn.tenmg.sqltool.sql.StaffInfo;
+
+/**
+ * 并行批处理测试
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public class ParallelBatchUtilsTest {
+
+	@Test
+	public void executeOnBoundedExecutor() {
+		List<Integer> rows = new ArrayList<Integer>();
+		for (int i = 0; i < 100; i++) {
+			rows.add(i);
+		}
+		Set<String> threads = ConcurrentHashMap.newKeySet();
+		List<Integer> done = Collections.synchronizedList(new ArrayList<Integer>());
+		ExecutorService executor = ParallelBatchUtils.newExecutor(3);
+		try {
+			ParallelBatchUtils.execute(rows, 10, 3, false, executor, part -> {
+				threads.add(Thread.currentThread().getName());
+				done.addAll(part);
+			});
+		} finally {
+			executor.shutdown();
+		}
+		Assertions.assertEquals(100, done.size());
+		Assertions.assertTrue(threads.contains(Thread.currentThread().getName()));// 首个分区在当前线程执行
+		Assertions.assertTrue(threads.size() <= 3);
+	}
+
+	@Test
+	public void singlePartitionRunsInline() {
+		List<Integer> rows = Collections.nCopies(10, 1);
+		AtomicInteger parts = new AtomicInteger();
+		ParallelBatchUtils.execute(rows, 10, 4, false, null, part -> parts.incrementAndGet());
+		Assertions.assertEquals(1, parts.get());
+	}
+
+	@Test
+	public void throwFirstFailure() {
+		List<Integer> rows = new ArrayList<Integer>();
+		for (int i = 0; i < 30; i++) {
+			rows.add(i);
+		}
+		ExecutorService executor = ParallelBatchUtils.newExecutor(3);
+		try {
+			IllegalStateException e = Assertions.assertThrows(IllegalStateException.class,
+					() -> ParallelBatchUtils.execute(rows, 10, 3, false, executor, part -> {
+						throw new IllegalStateException(String.valueOf(part.get(0)));
+					}));
+			Assertions.assertEquals("0", e.getMessage());
+			Assertions.assertEquals(2, e.getSuppressed().length);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void parallelismCappedByPoolSize() throws Exception {
+		try (BasicDataSource dataSource = new BasicDataSource()) {
+			dataSource.setMaxTotal(2);
+			Assertions.assertEquals(2, ParallelBatchUtils.getParallelism(dataSource, 8));
+			Assertions.assertEquals(1, ParallelBatchUtils.getParallelism(dataSource, 1));
+		}
+		Assertions.assertEquals(8, ParallelBatchUtils.getParallelism(SQLiteTestUtils.createDataSource(), 8));
+	}
+
+	@Test
+	public void daoUsesSuppliedExecutor() {
+		Properties properties = new Properties();
+		properties.setProperty("sqltool.batchParallelism", "3");
+		properties.setProperty("sqltool.defaultBatchSize", "10");
+		Dao dao = SQLiteTestUtils.createDao(properties);
+		AtomicInteger submitted = new AtomicInteger();
+		ExecutorService delegate = Executors.newSingleThreadExecutor();
+		ExecutorService executor = new AbstractExecutorService() {
+
+			@Override
+			public void execute(Runnable command) {
+				submitted.incrementAndGet();
+				delegate.execute(command);
+			}
+
+			@Override
+			public void shutdown() {
+				delegate.shutdown();
+			}
+
+			@Override
+			public List<Runnable> shutdownNow() {
+				return delegate.shutdownNow();
+			}
+
+			@Override
+			public boolean isShutdown() {
+				return delegate.isShutdown();
+			}
+
+			@Override
+			public boolean isTerminated() {
+				return delegate.isTerminated();
+			}
+
+			@Override
+			public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+				return delegate.awaitTermination(timeout, unit);
+			}
+
+		};
+		dao.setBatchExecutor(executor);
+		try {
+			List<StaffInfo> rows = new ArrayList<StaffInfo>();
+			for (int i = 0; i < 30; i++) {
+				StaffInfo staffInfo = new StaffInfo(String.valueOf(i));
+				staffInfo.setStaffName("Staff " + i);
+				rows.add(staffInfo);
+			}
+			dao.insertBatch(rows);
+			Assertions.assertEquals(30,
+					SQLiteTestUtils.count(dao.getDefaultDataSource(), "SELECT COUNT(*) FROM STAFF_INFO"));
+			Assertions.assertEquals(2, submitted.get());
+		} finally {
+			dao.shutdownBatchExecutor();
+			Assertions.assertFalse(executor.isShutdown());// 调用方提供的线程池由调用方关闭
+			executor.shutdown();
+		}
+	}
+
+}
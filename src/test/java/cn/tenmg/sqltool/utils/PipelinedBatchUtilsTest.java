@@ -0,0 +1,159 @@
+package cn.tenmg.sqltool.utils;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import cn.tenmg.sqltool.sql.BatchSizeController;
+import cn.tenmg.sqltool.sql.DML;
+import cn.tenmg.sqltool.sql.SQLiteTestUtils;
+import cn.tenmg.sqltool.sql.StaffInfo;
+import cn.tenmg.sqltool.sql.meta.FieldAccessor;
+import cn.tenmg.sqltool.sql.parser.InsertDMLParser;
+import cn.tenmg.sqltool.sql.utils.FieldAccessorUtils;
+
+/**
+ * 流水线批处理测试
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public class PipelinedBatchUtilsTest {
+
+	private static final DML DML = InsertDMLParser.getInstance().parse(StaffInfo.class);
+
+	private static final FieldAccessor[] ACCESSORS = FieldAccessorUtils.getAccessors(DML.getFields());
+
+	@Test
+	public void executeAllChunks() {
+		DataSource dataSource = SQLiteTestUtils.createDataSource();
+		JDBCExecuteUtils.executeBatch(dataSource, DML.getSql(), staffs(10), DML.getFields(),
+				new BatchSizeController(3), false);
+		Assertions.assertEquals(10, SQLiteTestUtils.count(dataSource, "SELECT COUNT(*) FROM STAFF_INFO"));
+	}
+
+	@Test
+	public void bindNextChunkWhileExecuting() throws SQLException {
+		Recorder recorder = new Recorder();
+		PipelinedBatchUtils.executeBatch(recorder.connection(), DML.getSql(), staffs(7), ACCESSORS,
+				new BatchSizeController(3));
+		Assertions.assertTrue(recorder.overlapped.get());// 第1批执行期间，工作线程已开始绑定第2批
+		Assertions.assertEquals(2, recorder.statements.get());// 两个准备声明对象轮流使用
+		Assertions.assertEquals(3, recorder.commits.get());
+		Assertions.assertEquals(7, recorder.executed.get());
+		Assertions.assertEquals(2, recorder.closed.get());
+	}
+
+	@Test
+	public void bindFailureAfterCommittedChunk() {
+		Recorder recorder = new Recorder();
+		recorder.failOn = "4";
+		SQLException e = Assertions.assertThrows(SQLException.class, () -> PipelinedBatchUtils
+				.executeBatch(recorder.connection(), DML.getSql(), staffs(7), ACCESSORS, new BatchSizeController(3)));
+		Assertions.assertEquals("Bind failed: 4", e.getMessage());
+		Assertions.assertEquals(1, recorder.commits.get());// 第1批已提交，绑定失败的第2批未执行
+		Assertions.assertEquals(3, recorder.executed.get());
+		Assertions.assertEquals(2, recorder.closed.get());
+	}
+
+	@Test
+	public void singleChunkInline() throws SQLException {
+		Recorder recorder = new Recorder();
+		PipelinedBatchUtils.executeBatch(recorder.connection(), DML.getSql(), staffs(3), ACCESSORS,
+				new BatchSizeController(3));
+		Assertions.assertEquals(1, recorder.statements.get());
+		Assertions.assertEquals(Collections.singletonList(Thread.currentThread().getName()), recorder.bindThreads);
+	}
+
+	private static List<StaffInfo> staffs(int count) {
+		List<StaffInfo> staffs = new ArrayList<StaffInfo>();
+		for (int i = 0; i < count; i++) {
+			staffs.add(new StaffInfo(String.valueOf(i)));
+		}
+		return staffs;
+	}
+
+	/**
+	 * 记录调用的模拟连接。第1批执行时等待其他线程开始绑定第2批，以验证绑定与执行重叠
+	 */
+	private static class Recorder {
+
+		private final Thread caller = Thread.currentThread();
+
+		private final CountDownLatch nextBinding = new CountDownLatch(1);
+
+		private final AtomicBoolean overlapped = new AtomicBoolean();
+
+		private final AtomicInteger statements = new AtomicInteger(), commits = new AtomicInteger(),
+				executed = new AtomicInteger(), closed = new AtomicInteger();
+
+		private final List<String> bindThreads = Collections.synchronizedList(new ArrayList<String>());
+
+		private volatile String failOn;
+
+		Connection connection() {
+			return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+					(proxy, method, args) -> {
+						if ("prepareStatement".equals(method.getName())) {
+							statements.incrementAndGet();
+							return statement();
+						} else if ("commit".equals(method.getName())) {
+							commits.incrementAndGet();
+							return null;
+						}
+						throw new SQLException("Unexpected call: " + method.getName());
+					});
+		}
+
+		private PreparedStatement statement() {
+			AtomicInteger rows = new AtomicInteger();
+			return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+					new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> {
+						String name = method.getName();
+						if (name.startsWith("set")) {
+							if (args[1] != null && args[1].equals(failOn)) {
+								throw new SQLException("Bind failed: " + failOn);
+							}
+							if (!bindThreads.contains(Thread.currentThread().getName())) {
+								bindThreads.add(Thread.currentThread().getName());
+							}
+							if (Thread.currentThread() != caller) {
+								nextBinding.countDown();
+							}
+							return null;
+						} else if ("addBatch".equals(name)) {
+							rows.incrementAndGet();
+							return null;
+						} else if ("executeBatch".equals(name)) {
+							if (commits.get() == 0 && nextBinding.await(5, TimeUnit.SECONDS)) {
+								overlapped.set(true);
+							}
+							executed.addAndGet(rows.get());
+							return new int[rows.getAndSet(0)];
+						} else if ("clearBatch".equals(name)) {
+							return null;
+						} else if ("close".equals(name)) {
+							closed.incrementAndGet();
+							return null;
+						}
+						throw new SQLException("Unexpected call: " + name);
+					});
+		}
+
+	}
+
+}
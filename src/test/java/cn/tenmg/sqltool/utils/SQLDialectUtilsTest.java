@@ -0,0 +1,34 @@
+package cn.tenmg.sqltool.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import cn.tenmg.sqltool.sql.dialect.MySQLDialect;
+import cn.tenmg.sqltool.sql.dialect.PostgreSQLDialect;
+
+/**
+ * 方言工具类测试
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public class SQLDialectUtilsTest {
+
+	@Test
+	public void resolveByProduct() {
+		Assertions.assertSame(MySQLDialect.getInstance(),
+				SQLDialectUtils.getSQLDialect("jdbc:mysql://127.0.0.1:3306/a?useSSL=false"));
+		Assertions.assertSame(MySQLDialect.getInstance(), SQLDialectUtils.getSQLDialect("jdbc:mysql://127.0.0.1:3306/b"));
+		Assertions.assertSame(MySQLDialect.getInstance(), SQLDialectUtils.getSQLDialect("jdbc:mysql://127.0.0.1:3306/b"));
+		Assertions.assertSame(PostgreSQLDialect.getInstance(),
+				SQLDialectUtils.getSQLDialect("jdbc:postgresql://127.0.0.1:5432/a"));
+	}
+
+	@Test
+	public void unsupportedProduct() {
+		Assertions.assertNull(SQLDialectUtils.getSQLDialect("jdbc:unknown://127.0.0.1/a"));
+		Assertions.assertNull(SQLDialectUtils.getSQLDialect((String) null));
+	}
+
+}
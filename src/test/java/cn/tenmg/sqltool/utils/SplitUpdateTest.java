@@ -0,0 +1,103 @@
+package cn.tenmg.sqltool.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import cn.tenmg.sqltool.exception.SQLExecutorException;
+import cn.tenmg.sqltool.sql.JDBCSQL;
+import cn.tenmg.sqltool.sql.SQLiteTestUtils;
+import cn.tenmg.sqltool.sql.utils.ParamsUtils;
+
+/**
+ * 拆分后的更新语句在同一事务中执行的测试
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public class SplitUpdateTest {
+
+	@Test
+	public void executeInOneTransaction() {
+		DataSource dataSource = SQLiteTestUtils.createDataSource();
+		SQLiteTestUtils.execute(dataSource, "INSERT INTO STAFF_INFO VALUES ('1', 'a', 'p'), ('2', 'b', 'p'), ('3', 'c', 'p')");
+		int count = JDBCExecuteUtils.executeUpdate(dataSource,
+				Arrays.asList(delete("1", "2"), delete("3", "3")), false);
+		Assertions.assertEquals(3, count);
+		Assertions.assertEquals(0, SQLiteTestUtils.count(dataSource, "SELECT COUNT(*) FROM STAFF_INFO"));
+	}
+
+	@Test
+	public void rollbackAllOnFailure() {
+		DataSource dataSource = SQLiteTestUtils.createDataSource();
+		SQLiteTestUtils.execute(dataSource, "INSERT INTO STAFF_INFO VALUES ('1', 'a', 'p'), ('2', 'b', 'p')");
+		JDBCSQL invalid = new JDBCSQL(null, "DELETE FROM NOT_EXISTS WHERE STAFF_ID IN (?)",
+				new ArrayList<Object>(Arrays.asList("2")));
+		Assertions.assertThrows(SQLExecutorException.class,
+				() -> JDBCExecuteUtils.executeUpdate(dataSource, Arrays.asList(delete("1", "1"), invalid), false));
+		// 第一段已执行的删除随事务回滚
+		Assertions.assertEquals(2, SQLiteTestUtils.count(dataSource, "SELECT COUNT(*) FROM STAFF_INFO"));
+	}
+
+	@Test
+	public void notInDeleteNotSplit() {
+		DataSource dataSource = SQLiteTestUtils.createDataSource();
+		SQLiteTestUtils.execute(dataSource,
+				"INSERT INTO STAFF_INFO VALUES ('1', 'a', 'p'), ('2', 'b', 'p'), ('3', 'c', 'p'), ('4', 'd', 'p'), ('5', 'e', 'p')");
+		String script = "DELETE FROM STAFF_INFO WHERE STAFF_ID NOT IN (:ids)";
+		Map<String, Object> params = new HashMap<String, Object>();
+		params.put("ids", Arrays.asList("1", "2", "3", "4"));
+		List<JDBCSQL> sqls = ParamsUtils.splitInList(notIn(params), script, params, 2, SplitUpdateTest::notIn);
+		Assertions.assertEquals(1, sqls.size());
+		// 若拆分为 NOT IN ('1', '2') 和 NOT IN ('3', '4') 两段，将删除全部5行
+		Assertions.assertEquals(1, JDBCExecuteUtils.executeUpdate(dataSource, sqls, false));
+		Assertions.assertEquals(4, SQLiteTestUtils.count(dataSource, "SELECT COUNT(*) FROM STAFF_INFO"));
+	}
+
+	@Test
+	public void deleteDuplicatedIdsOnce() {
+		DataSource dataSource = SQLiteTestUtils.createDataSource();
+		SQLiteTestUtils.execute(dataSource,
+				"INSERT INTO STAFF_INFO VALUES ('1', 'a', 'p'), ('2', 'b', 'p'), ('3', 'c', 'p'), ('4', 'd', 'p'), ('5', 'e', 'p')");
+		String script = "DELETE FROM STAFF_INFO WHERE STAFF_ID IN (:ids)";
+		Map<String, Object> params = new HashMap<String, Object>();
+		params.put("ids", Arrays.asList("1", "2", "1", "3", "2", "4"));
+		List<JDBCSQL> sqls = ParamsUtils.splitInList(in(params), script, params, 2, SplitUpdateTest::in);
+		Assertions.assertEquals(2, sqls.size());
+		Assertions.assertEquals(4, JDBCExecuteUtils.executeUpdate(dataSource, sqls, false));
+		Assertions.assertEquals(1, SQLiteTestUtils.count(dataSource, "SELECT COUNT(*) FROM STAFF_INFO"));
+	}
+
+	/**
+	 * 模拟将 {@code DELETE FROM STAFF_INFO WHERE STAFF_ID IN (:ids)} 转换为JDBC SQL
+	 */
+	private static JDBCSQL in(Map<String, ?> params) {
+		return delete(((List<?>) params.get("ids")).toArray(new String[0]));
+	}
+
+	/**
+	 * 模拟将 {@code DELETE FROM STAFF_INFO WHERE STAFF_ID NOT IN (:ids)} 转换为JDBC SQL
+	 */
+	private static JDBCSQL notIn(Map<String, ?> params) {
+		JDBCSQL sql = in(params);
+		return new JDBCSQL(null, sql.getSql().replace(" IN ", " NOT IN "), sql.getParams());
+	}
+
+	private static JDBCSQL delete(String... ids) {
+		List<Object> params = new ArrayList<Object>(Arrays.asList((Object[]) ids));
+		StringBuilder sql = new StringBuilder("DELETE FROM STAFF_INFO WHERE STAFF_ID IN (");
+		for (int i = 0; i < ids.length; i++) {
+			sql.append(i == 0 ? "?" : ", ?");
+		}
+		return new JDBCSQL(null, sql.append(")").toString(), params);
+	}
+
+}
@@ -0,0 +1,64 @@
+package cn.tenmg.sqltool.utils;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import cn.tenmg.sqltool.sql.SQLDialect;
+import cn.tenmg.sqltool.sql.SQLiteTestUtils;
+import cn.tenmg.sqltool.sql.StaffInfo;
+import cn.tenmg.sqltool.sql.dialect.MySQLDialect;
+import cn.tenmg.sqltool.sql.dialect.PostgreSQLDialect;
+import cn.tenmg.sqltool.sql.parser.InsertDMLParser;
+import cn.tenmg.sqltool.utils.scan.TableEntity;
+
+/**
+ * 预热工具类测试
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public class WarmUpUtilsTest {
+
+	@Test
+	public void warmUpEachDialect() throws InterruptedException {
+		Map<SQLDialect, Set<String>> sqls = WarmUpUtils.warmUp(Arrays.asList(StaffInfo.class, TableEntity.class),
+				Arrays.asList(MySQLDialect.getInstance(), PostgreSQLDialect.getInstance()));
+		String insert = InsertDMLParser.getInstance().parse(StaffInfo.class).getSql();
+		Set<String> mysql = sqls.get(MySQLDialect.getInstance()), postgresql = sqls.get(PostgreSQLDialect.getInstance());
+		Assertions.assertTrue(mysql.contains(insert));
+		Assertions.assertTrue(mysql.contains(MySQLDialect.getInstance().update(StaffInfo.class).getScript()));
+		Assertions.assertTrue(postgresql.contains(PostgreSQLDialect.getInstance().save(StaffInfo.class).getScript()));
+		Assertions.assertFalse(mysql.contains(PostgreSQLDialect.getInstance().save(StaffInfo.class).getScript()));
+		for (String sql : mysql) {// 没有列的实体类不支持任何操作，被跳过
+			Assertions.assertFalse(sql.contains("SCAN_TABLE"), sql);
+		}
+		for (Thread thread : Thread.getAllStackTraces().keySet()) {// 预热结束后关闭专用线程池
+			if (thread.getName().startsWith("sqltool-warm-up-")) {
+				thread.join(1000);
+				Assertions.assertFalse(thread.isAlive(), thread.getName());
+			}
+		}
+	}
+
+	@Test
+	public void warmUpNothing() {
+		Map<SQLDialect, Set<String>> sqls = WarmUpUtils.warmUp(Arrays.asList(),
+				Arrays.asList(MySQLDialect.getInstance()));
+		Assertions.assertTrue(sqls.get(MySQLDialect.getInstance()).isEmpty());
+	}
+
+	@Test
+	public void prepareSkipsInvalidSql() {
+		DataSource dataSource = SQLiteTestUtils.createDataSource();
+		Assertions.assertEquals(2, WarmUpUtils.prepare(dataSource,
+				Arrays.asList("SELECT * FROM STAFF_INFO", "SELECT * FROM MISSING_TABLE", "DELETE FROM STAFF_INFO")));
+	}
+
+}
@@ -0,0 +1,19 @@
+package cn.tenmg.sqltool.utils.scan;
+
+import cn.tenmg.sqltool.config.annotion.Column;
+import cn.tenmg.sqltool.config.annotion.Id;
+
+/**
+ * 实体扫描测试使用的抽象类，不是实体类
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public abstract class AbstractScanEntity {
+
+	@Id
+	@Column
+	private String id;
+
+}
@@ -0,0 +1,14 @@
+package cn.tenmg.sqltool.utils.scan;
+
+/**
+ * 实体扫描测试使用的普通类，不是实体类
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public class NotEntity {
+
+	private String id;
+
+}
@@ -0,0 +1,22 @@
+package cn.tenmg.sqltool.utils.scan;
+
+import cn.tenmg.sqltool.config.annotion.Column;
+import cn.tenmg.sqltool.config.annotion.Id;
+
+/**
+ * 实体扫描测试使用的实体类（使用 {@link Column} 注解的属性）
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public class ScanEntity {
+
+	@Id
+	@Column
+	private String id;
+
+	@Column
+	private String name;
+
+}
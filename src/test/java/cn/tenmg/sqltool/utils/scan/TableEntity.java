@@ -0,0 +1,17 @@
+package cn.tenmg.sqltool.utils.scan;
+
+import cn.tenmg.sqltool.config.annotion.Table;
+
+/**
+ * 实体扫描测试使用的实体类（使用 {@link Table} 注解）
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+@Table(name = "SCAN_TABLE")
+public class TableEntity {
+
+	private String id;
+
+}
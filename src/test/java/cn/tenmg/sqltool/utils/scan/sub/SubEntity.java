@@ -0,0 +1,14 @@
+package cn.tenmg.sqltool.utils.scan.sub;
+
+import cn.tenmg.sqltool.utils.scan.AbstractScanEntity;
+
+/**
+ * 实体扫描测试使用的子包中的实体类（继承使用 {@code Column} 注解的属性）
+ *
+ * @author June wjzhao@aliyun.com
+ *
+ * @since 1.6.0
+ */
+public class SubEntity extends AbstractScanEntity {
+
+}